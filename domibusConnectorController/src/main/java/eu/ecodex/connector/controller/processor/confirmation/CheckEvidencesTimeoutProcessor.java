@@ -11,6 +11,7 @@
 package eu.ecodex.connector.controller.processor.confirmation;
 
 import eu.ecodex.connector.controller.exception.DomibusConnectorControllerException;
+import java.util.Optional;
 
 /**
  * The CheckEvidencesTimeoutProcessor interface represents a processor that checks the timeout
@@ -23,4 +24,11 @@ import eu.ecodex.connector.controller.exception.DomibusConnectorControllerExcept
  */
 public interface CheckEvidencesTimeoutProcessor {
     void checkEvidencesTimeout() throws DomibusConnectorControllerException;
+
+    /**
+     * Returns the counters of the last completed run.
+     *
+     * @return the statistics or an empty Optional if no run has been completed yet
+     */
+    Optional<EvidencesTimeoutCheckStatistics> getLastRunStatistics();
 }
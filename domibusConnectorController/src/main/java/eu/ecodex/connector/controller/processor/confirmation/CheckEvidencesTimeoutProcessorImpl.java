@@ -15,25 +15,35 @@ import eu.ecodex.connector.controller.exception.DomibusConnectorControllerExcept
 import eu.ecodex.connector.controller.exception.DomibusConnectorMessageException;
 import eu.ecodex.connector.controller.spring.EvidencesTimeoutConfigurationProperties;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
-import eu.ecodex.connector.domain.model.DomibusConnectorMessageDetails;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDeliveryInfo;
 import eu.ecodex.connector.persistence.service.DCMessagePersistenceService;
 import eu.ecodex.connector.tools.LoggingMDCPropertyNames;
 import eu.ecodex.connector.tools.logging.LoggingMarker;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * The CheckEvidencesTimeoutProcessorImpl class is an implementation of
  * the CheckEvidencesTimeoutProcessor interface.
  * It provides a method to check the timeout for evidences.
+ *
+ * <p>The messages are scanned in pages ordered by the database id. Only messages which have been
+ * delivered to the gateway before the smallest configured timeout are fetched and only as
+ * lightweight projections; the full message is loaded only when an evidence has to be created.
+ * Each page is processed within its own transaction.
  */
 @Service
 public class CheckEvidencesTimeoutProcessorImpl implements CheckEvidencesTimeoutProcessor {
@@ -43,20 +53,28 @@ public class CheckEvidencesTimeoutProcessorImpl implements CheckEvidencesTimeout
     private final EvidencesTimeoutConfigurationProperties evidencesTimeoutConfigurationProperties;
     private final DCMessagePersistenceService persistenceService;
     private final CreateEvidenceTimeoutConfirmationStep createEvidenceTimeoutConfirmationStep;
+    private final TransactionTemplate pageTransactionTemplate;
+    private volatile EvidencesTimeoutCheckStatistics lastRunStatistics;
 
     /**
      * CheckEvidencesTimeoutProcessorImpl is a class that handles the checking of message timeouts
      * and initiates further processing based on the configuration properties.
      * This class requires an instance of EvidencesTimeoutConfigurationProperties,
-     * DCMessagePersistenceService, and CreateEvidenceTimeoutConfirmationStep to be initialized.
+     * DCMessagePersistenceService, CreateEvidenceTimeoutConfirmationStep and
+     * PlatformTransactionManager to be initialized.
      */
     public CheckEvidencesTimeoutProcessorImpl(
         EvidencesTimeoutConfigurationProperties evidencesTimeoutConfigurationProperties,
         DCMessagePersistenceService persistenceService,
-        CreateEvidenceTimeoutConfirmationStep createEvidenceTimeoutConfirmationStep) {
+        CreateEvidenceTimeoutConfirmationStep createEvidenceTimeoutConfirmationStep,
+        PlatformTransactionManager transactionManager) {
         this.evidencesTimeoutConfigurationProperties = evidencesTimeoutConfigurationProperties;
         this.persistenceService = persistenceService;
         this.createEvidenceTimeoutConfirmationStep = createEvidenceTimeoutConfirmationStep;
+        var txDef = new DefaultTransactionDefinition();
+        txDef.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        txDef.setReadOnly(true);
+        this.pageTransactionTemplate = new TransactionTemplate(transactionManager, txDef);
     }
 
     @Override
@@ -65,14 +83,14 @@ public class CheckEvidencesTimeoutProcessorImpl implements CheckEvidencesTimeout
     )
     public void checkEvidencesTimeout() throws DomibusConnectorControllerException {
         LOGGER.info("Job for checking evidence timeouts triggered.");
-        var start = new Date();
+        var statistics = new EvidencesTimeoutCheckStatistics(Instant.now());
 
         // only check for timeout of RELAY_REMMD_ACCEPTANCE/REJECTION evidences if the timeout
         // is set in the connector.properties
         if (evidencesTimeoutConfigurationProperties.getRelayREMMDTimeout().getMilliseconds() > 0
             || evidencesTimeoutConfigurationProperties.getRelayREMMDWarnTimeout()
             .getMilliseconds() > 0) {
-            checkNotRejectedNorConfirmedWithoutRelayREMMD();
+            checkNotRejectedNorConfirmedWithoutRelayREMMD(statistics);
         }
 
         // only check for timeout of DELIVERY/NON_DELIVERY evidences if the timeout is set
@@ -80,161 +98,159 @@ public class CheckEvidencesTimeoutProcessorImpl implements CheckEvidencesTimeout
         if (evidencesTimeoutConfigurationProperties.getDeliveryTimeout().getMilliseconds() > 0
             || evidencesTimeoutConfigurationProperties.getDeliveryWarnTimeout()
             .getMilliseconds() > 0) {
-            checkNotRejectedNorConfirmedAndWithoutDelivery();
+            checkNotRejectedNorConfirmedAndWithoutDelivery(statistics);
         }
 
-        LOGGER.debug(
-            "Job for checking evidence timeouts finished in {} ms.",
-            (System.currentTimeMillis() - start.getTime())
+        statistics.finish(Instant.now());
+        lastRunStatistics = statistics;
+        LOGGER.info("Job for checking evidence timeouts finished: [{}]", statistics);
+    }
+
+    @Override
+    public Optional<EvidencesTimeoutCheckStatistics> getLastRunStatistics() {
+        return Optional.ofNullable(lastRunStatistics);
+    }
+
+    /**
+     * Checks all messages that are not rejected, not confirmed yet, and without
+     * a RELAY_REMMD_ACCEPTANCE/REJECTION evidence for the relayREMMD timeouts.
+     *
+     * @param statistics the counters of the current run
+     */
+    void checkNotRejectedNorConfirmedWithoutRelayREMMD(
+        EvidencesTimeoutCheckStatistics statistics) {
+        checkTimeouts(
+            new TimeoutCheck(
+                evidencesTimeoutConfigurationProperties.getRelayREMMDTimeout().getDuration(),
+                evidencesTimeoutConfigurationProperties.getRelayREMMDWarnTimeout().getDuration(),
+                persistenceService::findOutgoingMessagesNotRejectedNorConfirmedAndWithoutRelayREMMD,
+                createEvidenceTimeoutConfirmationStep::createRelayRemmdFailureAndSendIt,
+                "Message [{}] reached relayREMMD timeout. A RelayREMMDFailure evidence has been "
+                    + "generated and sent.",
+                "Message [{}] reached warning limit for relayREMMD confirmation timeout. "
+                    + "No RelayREMMD evidence for this message has been received yet!"
+            ), statistics
         );
     }
 
     /**
-     * Retrieves all messages that are not rejected, not confirmed yet, and without
-     * a RELAY_REMMD_ACCEPTANCE/REJECTION evidence from the database.
-     * It then iterates through each message and calls
-     * the {@link #checkNotRejectedNorConfirmedWithoutRelayREMMD(DomibusConnectorMessage)} method.
+     * Checks all messages that are not rejected, not confirmed yet, and without
+     * a DELIVERY/NON_DELIVERY evidence for the delivery timeouts.
      *
-     * @throws DomibusConnectorControllerException if an error occurs during the process
+     * @param statistics the counters of the current run
      */
-    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
-    public void checkNotRejectedNorConfirmedWithoutRelayREMMD()
-        throws DomibusConnectorControllerException {
-        // Request database to get all messages not rejected and not confirmed yet and without a
-        // RELAY_REMMD_ACCEPTANCE/REJECTION evidence
-        List<DomibusConnectorMessage> messages =
-            persistenceService.findOutgoingMessagesNotRejectedNorConfirmedAndWithoutRelayREMMD();
-        LOGGER.trace(
-            "Checking [{}] messages for not rejected nor confirmed withoutRelayREMMD",
-            messages.size()
+    void checkNotRejectedNorConfirmedAndWithoutDelivery(
+        EvidencesTimeoutCheckStatistics statistics) {
+        checkTimeouts(
+            new TimeoutCheck(
+                evidencesTimeoutConfigurationProperties.getDeliveryTimeout().getDuration(),
+                evidencesTimeoutConfigurationProperties.getDeliveryWarnTimeout().getDuration(),
+                persistenceService::findOutgoingMessagesNotRejectedNorConfirmedAndWithoutDelivery,
+                createEvidenceTimeoutConfirmationStep::createNonDeliveryAndSendIt,
+                "Message [{}] reached Delivery confirmation timeout. A NonDelivery evidence has "
+                    + "been generated and sent.",
+                "Message [{}] reached warning limit for delivery confirmation timeout. "
+                    + "No Delivery evidence for this message has been received yet!"
+            ), statistics
         );
-        messages.forEach(this::checkNotRejectedNorConfirmedWithoutRelayREMMD);
     }
 
-    void checkNotRejectedNorConfirmedWithoutRelayREMMD(DomibusConnectorMessage message) {
-        var messageId = message.getConnectorMessageId().toString();
+    private void checkTimeouts(
+        TimeoutCheck timeoutCheck, EvidencesTimeoutCheckStatistics statistics) {
+        Optional<Duration> smallestTimeout = Stream.of(
+                timeoutCheck.timeout(), timeoutCheck.warnTimeout())
+            .filter(CheckEvidencesTimeoutProcessorImpl::isEnabled)
+            .min(Comparator.naturalOrder());
+        if (smallestTimeout.isEmpty()) {
+            return;
+        }
+        var now = Instant.now();
+        var deliveredBefore = Date.from(now.minus(smallestTimeout.get()));
+        int pageSize = evidencesTimeoutConfigurationProperties.getCheckPageSize();
+
+        long lastId = 0;
+        List<DomibusConnectorMessageDeliveryInfo> page;
+        do {
+            long afterId = lastId;
+            page = pageTransactionTemplate.execute(status -> {
+                List<DomibusConnectorMessageDeliveryInfo> messages =
+                    timeoutCheck.pageLoader().load(deliveredBefore, afterId, pageSize);
+                messages.forEach(m -> checkTimeout(timeoutCheck, m, now, statistics));
+                return messages;
+            });
+            statistics.incrementPages();
+            if (page != null && !page.isEmpty()) {
+                lastId = page.getLast().getId();
+            }
+        } while (page != null && page.size() == pageSize);
+    }
+
+    private void checkTimeout(
+        TimeoutCheck timeoutCheck, DomibusConnectorMessageDeliveryInfo deliveryInfo,
+        Instant now, EvidencesTimeoutCheckStatistics statistics) {
+        var messageId = deliveryInfo.getConnectorMessageId().getConnectorMessageId();
         try (var mdcCloseable = org.slf4j.MDC.putCloseable(
             LoggingMDCPropertyNames.MDC_DOMIBUS_CONNECTOR_MESSAGE_ID_PROPERTY_NAME, messageId)) {
-            CurrentBusinessDomain.setCurrentBusinessDomain(message.getMessageLaneId());
-            var relayREMMDTimeout =
-                evidencesTimeoutConfigurationProperties.getRelayREMMDTimeout().getDuration();
-            var relayREMMDWarnTimeout =
-                evidencesTimeoutConfigurationProperties.getRelayREMMDWarnTimeout().getDuration();
+            statistics.incrementCheckedMessages();
+            var sinceDelivery =
+                Duration.between(deliveryInfo.getDeliveredToGateway().toInstant(), now);
 
             // if it is later than the evaluated timeout given
-            if (Duration.between(getDeliveryTime(message), Instant.now())
-                .compareTo(relayREMMDTimeout) > 0) {
+            if (isEnabled(timeoutCheck.timeout())
+                && sinceDelivery.compareTo(timeoutCheck.timeout()) > 0) {
                 try {
-                    createEvidenceTimeoutConfirmationStep.createRelayRemmdFailureAndSendIt(message);
-                    String warning = "Message [{}] reached relayREMMD timeout. A RelayREMMDFailure "
-                        + "evidence has been generated and sent.";
+                    DomibusConnectorMessage message =
+                        persistenceService.findMessageByConnectorMessageId(messageId);
+                    CurrentBusinessDomain.setCurrentBusinessDomain(message.getMessageLaneId());
+                    timeoutCheck.timeoutHandler().handle(message);
+                    statistics.incrementTimeouts();
                     LOGGER.warn(
-                        LoggingMarker.Log4jMarker.BUSINESS_LOG,
-                        warning,
-                        message.getConnectorMessageIdAsString()
+                        LoggingMarker.Log4jMarker.BUSINESS_LOG, timeoutCheck.timeoutLogMessage(),
+                        messageId
+                    );
+                } catch (DomibusConnectorMessageException
+                         | DomibusConnectorControllerException e) {
+                    statistics.incrementFailures();
+                    LOGGER.error(
+                        "Exception occurred while processing the evidence timeout of message [{}]",
+                        messageId, e
                     );
-                } catch (DomibusConnectorMessageException e) {
-                    // throw new DomibusConnectorControllerException(e);
-                    LOGGER.error("Exception occurred while checking relayREMMDTimeout", e);
+                } finally {
+                    CurrentBusinessDomain.setCurrentBusinessDomain(null);
                 }
                 return;
             }
-            if (Duration.between(getDeliveryTime(message), Instant.now())
-                .compareTo(relayREMMDWarnTimeout) > 0) {
-                String warning = "Message [{}] reached warning limit for relayREMMD confirmation "
-                    + "timeout. No RelayREMMD evidence for this message has been received yet!";
+            if (isEnabled(timeoutCheck.warnTimeout())
+                && sinceDelivery.compareTo(timeoutCheck.warnTimeout()) > 0) {
+                statistics.incrementWarnings();
                 LOGGER.warn(
-                    LoggingMarker.Log4jMarker.BUSINESS_LOG,
-                    warning,
-                    message.getConnectorMessageId()
+                    LoggingMarker.Log4jMarker.BUSINESS_LOG, timeoutCheck.warnLogMessage(),
+                    messageId
                 );
             }
-        } finally {
-            CurrentBusinessDomain.setCurrentBusinessDomain(null);
         }
     }
 
     /**
-     * Retrieves all messages that are not rejected, not confirmed yet, and without
-     * a DELIVERY/NON_DELIVERY evidence from the database.
-     * It then iterates through each message and calls the
-     * {@link #checkNotRejectedNorConfirmedAndWithoutDelivery(DomibusConnectorMessage)}
-     * method.
-     *
-     * @throws DomibusConnectorControllerException if an error occurs during the process
+     * A duration of 0 disables the timeout.
      */
-    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
-    public void checkNotRejectedNorConfirmedAndWithoutDelivery()
-        throws DomibusConnectorControllerException {
-        // Request database to get all messages not rejected yet and without a DELIVERY/NON_DELIVERY
-        // evidence
-        List<DomibusConnectorMessage> messages =
-            persistenceService.findOutgoingMessagesNotRejectedNorConfirmedAndWithoutDelivery();
-        LOGGER.trace(
-            "Checking [{}] messages for confirmation timeout notRejectedWithoutDelivery",
-            messages.size()
-        );
-        messages.forEach(this::checkNotRejectedNorConfirmedAndWithoutDelivery);
+    private static boolean isEnabled(Duration timeout) {
+        return timeout != null && timeout.isPositive();
     }
 
-    void checkNotRejectedNorConfirmedAndWithoutDelivery(DomibusConnectorMessage message) {
-        var messageId = message.getConnectorMessageId().toString();
-        try (var mdcCloseable = org.slf4j.MDC.putCloseable(
-            LoggingMDCPropertyNames.MDC_DOMIBUS_CONNECTOR_MESSAGE_ID_PROPERTY_NAME, messageId)) {
-            CurrentBusinessDomain.setCurrentBusinessDomain(message.getMessageLaneId());
-            LOGGER.trace("checkNotRejectedWithoutDelivery# checking message: [{}]");
-            var deliveryTimeout =
-                evidencesTimeoutConfigurationProperties.getDeliveryTimeout().getDuration();
-            var deliveryWarnTimeout =
-                evidencesTimeoutConfigurationProperties.getDeliveryWarnTimeout().getDuration();
+    @FunctionalInterface
+    private interface PageLoader {
+        List<DomibusConnectorMessageDeliveryInfo> load(
+            Date deliveredBefore, long afterId, int maxResults);
+    }
 
-            // if it is later than the evaluated timeout given
-            if (Duration.between(getDeliveryTime(message), Instant.now())
-                .compareTo(deliveryTimeout) > 0) {
-                try {
-                    createEvidenceTimeoutConfirmationStep.createNonDeliveryAndSendIt(message);
-                    LOGGER.warn(
-                        LoggingMarker.Log4jMarker.BUSINESS_LOG,
-                        "Message [{}] reached Delivery confirmation timeout."
-                            + "A NonDelivery evidence has been generated and sent.",
-                        message.getConnectorMessageIdAsString()
-                    );
-                } catch (DomibusConnectorMessageException e) {
-                    throw new DomibusConnectorControllerException(e);
-                }
-                return;
-            }
-            if (Duration.between(getDeliveryTime(message), Instant.now())
-                .compareTo(deliveryWarnTimeout) > 0) {
-                LOGGER.warn(
-                    LoggingMarker.Log4jMarker.BUSINESS_LOG,
-                    "Message [{}] reached warning limit for delivery confirmation "
-                        + "timeout. No Delivery evidence for this message has been received yet!",
-                    message.getConnectorMessageId()
-                );
-            }
-        } finally {
-            CurrentBusinessDomain.setCurrentBusinessDomain(null);
-        }
+    @FunctionalInterface
+    private interface TimeoutHandler {
+        void handle(DomibusConnectorMessage message);
     }
 
-    private Instant getDeliveryTime(DomibusConnectorMessage message) {
-        DomibusConnectorMessageDetails details = message.getMessageDetails();
-        if (details.getDirection() == null) {
-            throw new IllegalArgumentException("Message direction is not set!");
-        }
-        Date deliveryDate;
-        switch (details.getDirection()) {
-            case GATEWAY_TO_BACKEND:
-                deliveryDate = details.getDeliveredToBackend();
-                break;
-            case BACKEND_TO_GATEWAY:
-                deliveryDate = details.getDeliveredToGateway();
-                break;
-            default:
-                throw new IllegalStateException(
-                    "Unknown message direction, cannot process any timeouts!");
-        }
-        return deliveryDate.toInstant();
+    private record TimeoutCheck(
+        Duration timeout, Duration warnTimeout, PageLoader pageLoader,
+        TimeoutHandler timeoutHandler, String timeoutLogMessage, String warnLogMessage) {
     }
 }
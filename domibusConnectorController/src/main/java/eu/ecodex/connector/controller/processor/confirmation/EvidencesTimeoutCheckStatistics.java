@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.controller.processor.confirmation;
+
+import java.time.Duration;
+import java.time.Instant;
+import lombok.Getter;
+
+/**
+ * The counters of one run of the {@link CheckEvidencesTimeoutProcessor}.
+ */
+@Getter
+public class EvidencesTimeoutCheckStatistics {
+    private final Instant started;
+    private Duration duration = Duration.ZERO;
+    private int pages;
+    private int checkedMessages;
+    private int warnings;
+    private int timeouts;
+    private int failures;
+
+    EvidencesTimeoutCheckStatistics(Instant started) {
+        this.started = started;
+    }
+
+    void incrementPages() {
+        pages++;
+    }
+
+    void incrementCheckedMessages() {
+        checkedMessages++;
+    }
+
+    void incrementWarnings() {
+        warnings++;
+    }
+
+    void incrementTimeouts() {
+        timeouts++;
+    }
+
+    void incrementFailures() {
+        failures++;
+    }
+
+    void finish(Instant finished) {
+        this.duration = Duration.between(started, finished);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "started=%s, duration=%d ms, pages=%d, checked=%d, warnings=%d, timeouts=%d, "
+                + "failures=%d",
+            started, duration.toMillis(), pages, checkedMessages, warnings, timeouts, failures
+        );
+    }
+}
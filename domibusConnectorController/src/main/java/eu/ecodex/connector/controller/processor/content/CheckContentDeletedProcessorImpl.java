@@ -10,21 +10,36 @@
 
 package eu.ecodex.connector.controller.processor.content;
 
+import eu.ecodex.connector.controller.spring.ContentDeletionConfiguration;
 import eu.ecodex.connector.controller.spring.ContentDeletionConfigurationProperties;
-import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
 import eu.ecodex.connector.domain.model.LargeFileReference;
 import eu.ecodex.connector.lib.logging.MDC;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorPersistenceModel;
 import eu.ecodex.connector.persistence.service.DCMessagePersistenceService;
 import eu.ecodex.connector.persistence.service.LargeFilePersistenceService;
 import eu.ecodex.connector.persistence.service.exceptions.LargeFileDeletionException;
 import eu.ecodex.connector.tools.LoggingMDCPropertyNames;
 import eu.ecodex.connector.tools.logging.LoggingMarker;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -36,6 +51,20 @@ import org.springframework.stereotype.Service;
  * older than a day and has no associated business message
  * within the database or the associated business message
  * has already been confirmed or rejected
+ *
+ * <p>The first run after the start and every run after the configured full check interval list
+ * all references of the storage. The runs in between are driven by the database: only the
+ * messages confirmed or rejected since the previous run and the messages which exceeded the
+ * retention of unfinished messages since the previous run are checked, the references of each
+ * message are looked up directly. References without a message are only found by the full check.
+ *
+ * <p>The watermark of the previous run is only kept in memory. After a restart the first run is
+ * therefore always a full check, so no message is missed. If several connector instances share
+ * the database each instance keeps its own watermark.
+ *
+ * <p>The messages and references are processed in batches, the messages of one batch are
+ * deleted concurrently by the shared
+ * {@link ContentDeletionConfiguration#CONTENT_DELETION_EXECUTOR_BEAN content deletion executor}.
  */
 @Service
 @ConditionalOnProperty(
@@ -47,22 +76,37 @@ import org.springframework.stereotype.Service;
 public class CheckContentDeletedProcessorImpl {
     private static final Logger LOGGER =
         LoggerFactory.getLogger(CheckContentDeletedProcessorImpl.class);
+    static final Duration WITHOUT_MESSAGE_RETENTION = Duration.ofDays(1);
+    static final Duration NOT_CONFIRMED_NOR_REJECTED_RETENTION = Duration.ofDays(7);
     private final LargeFilePersistenceService largeFilePersistenceService;
     private final DCMessagePersistenceService messagePersistenceService;
+    private final ContentDeletionConfigurationProperties contentDeletionConfigurationProperties;
+    private final ExecutorService executor;
+    // only accessed by the scheduled job, which never runs concurrently
+    private Instant lastFullCheck;
+    private Instant watermark;
 
-    public CheckContentDeletedProcessorImpl(LargeFilePersistenceService largeFilePersistenceService,
-                                            DCMessagePersistenceService messagePersistenceService) {
+    /**
+     * Creates the processor.
+     */
+    public CheckContentDeletedProcessorImpl(
+        LargeFilePersistenceService largeFilePersistenceService,
+        DCMessagePersistenceService messagePersistenceService,
+        ContentDeletionConfigurationProperties contentDeletionConfigurationProperties,
+        @Qualifier(ContentDeletionConfiguration.CONTENT_DELETION_EXECUTOR_BEAN)
+        ExecutorService executor) {
         this.largeFilePersistenceService = largeFilePersistenceService;
         this.messagePersistenceService = messagePersistenceService;
+        this.contentDeletionConfigurationProperties = contentDeletionConfigurationProperties;
+        this.executor = executor;
     }
 
     /**
      * This method is scheduled to run at a fixed delay specified by
      * the 'checkTimeout.milliseconds' property.
-     * It checks all available references for deletion by calling
-     * the 'getAllAvailableReferences' method of the 'largeFilePersistenceService' object.
-     * It then logs the references being checked and iterates through each reference to perform
-     * the 'checkDelete' operation.
+     * It either checks all available references or only the references of the messages which
+     * could have become deletable since the previous run. The watermark for the next run is only
+     * moved if this run has completed.
      */
     @Scheduled(
         fixedDelayString = "#{" + ContentDeletionConfigurationProperties.BEAN_NAME
@@ -73,17 +117,136 @@ public class CheckContentDeletedProcessorImpl {
         value = "checkContentDeletedProcessor"
     )
     public void checkContentDeletedProcessor() {
-        Map<DomibusConnectorMessageId, List<LargeFileReference>> allAvailableReferences =
-            largeFilePersistenceService.getAllAvailableReferences();
-        LOGGER.debug("Checking the following references [{}] for deletion", allAvailableReferences);
-        allAvailableReferences.forEach(this::checkDelete);
+        var runStart = Instant.now();
+        if (isFullCheckDue(runStart)) {
+            LOGGER.debug("Checking all available references for deletion");
+            checkAllReferences(runStart);
+            lastFullCheck = runStart;
+        } else {
+            LOGGER.debug("Checking the references of the messages changed since [{}]", watermark);
+            checkMessagesChangedSince(watermark, runStart);
+        }
+        watermark = runStart.minus(PDomibusConnectorPersistenceModel.WATERMARK_OVERLAP);
+    }
+
+    private boolean isFullCheckDue(Instant now) {
+        return lastFullCheck == null || watermark == null
+            || Duration.between(lastFullCheck, now).compareTo(
+            contentDeletionConfigurationProperties.getFullCheckInterval().getDuration()) >= 0;
+    }
+
+    private void checkMessagesChangedSince(Instant since, Instant now) {
+        var finishedSince = ZonedDateTime.ofInstant(since, ZoneId.systemDefault());
+        checkMessagePages(
+            (afterId, maxResults) -> messagePersistenceService
+                .findMessagesConfirmedOrRejectedSince(finishedSince, afterId, maxResults),
+            now
+        );
+
+        // messages which exceeded the retention since the previous run
+        var createdFrom = Date.from(since.minus(NOT_CONFIRMED_NOR_REJECTED_RETENTION));
+        var createdBefore = Date.from(now.minus(NOT_CONFIRMED_NOR_REJECTED_RETENTION));
+        checkMessagePages(
+            (afterId, maxResults) -> messagePersistenceService
+                .findMessagesNotRejectedNorConfirmedCreatedBetween(
+                    createdFrom, createdBefore, afterId, maxResults),
+            now
+        );
+    }
+
+    private void checkMessagePages(PageLoader pageLoader, Instant now) {
+        int batchSize = contentDeletionConfigurationProperties.getBatchSize();
+        long lastId = 0;
+        List<DomibusConnectorMessageContentInfo> page;
+        do {
+            page = pageLoader.load(lastId, batchSize);
+            runBatch(page.stream()
+                .map(msg -> createTask(
+                    msg.getConnectorMessageId(), msg,
+                    () -> largeFilePersistenceService.getAvailableReferences(
+                        msg.getConnectorMessageId()),
+                    now
+                ))
+                .toList());
+            if (!page.isEmpty()) {
+                lastId = page.getLast().getId();
+            }
+        } while (page.size() == batchSize);
+    }
+
+    private void checkAllReferences(Instant now) {
+        int batchSize = contentDeletionConfigurationProperties.getBatchSize();
+        try (Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> references =
+                 largeFilePersistenceService.streamAllAvailableReferences()) {
+            Iterator<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> iterator =
+                references.iterator();
+            List<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> batch =
+                new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    checkReferenceBatch(batch, now);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
     }
 
-    private void checkDelete(DomibusConnectorMessageId id, List<LargeFileReference> references) {
-        DomibusConnectorMessage msg =
-            messagePersistenceService.findMessageByConnectorMessageId(id.getConnectorMessageId());
-        String messageIdString =
-            msg == null ? "" : msg.getConnectorMessageId().getConnectorMessageId();
+    private void checkReferenceBatch(
+        List<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> batch,
+        Instant now) {
+        Map<DomibusConnectorMessageId, DomibusConnectorMessageContentInfo> messages =
+            messagePersistenceService
+                .findMessageContentInfos(batch.stream().map(Map.Entry::getKey).toList())
+                .stream()
+                .collect(Collectors.toMap(
+                    DomibusConnectorMessageContentInfo::getConnectorMessageId,
+                    Function.identity(),
+                    (msg1, msg2) -> msg1
+                ));
+        runBatch(batch.stream()
+            .map(entry -> createTask(
+                entry.getKey(), messages.get(entry.getKey()), entry::getValue, now))
+            .toList());
+    }
+
+    private Callable<Void> createTask(
+        DomibusConnectorMessageId id, DomibusConnectorMessageContentInfo msg,
+        Supplier<List<LargeFileReference>> references, Instant now) {
+        Map<String, String> mdcContext = org.slf4j.MDC.getCopyOfContextMap();
+        return () -> {
+            if (mdcContext != null) {
+                org.slf4j.MDC.setContextMap(mdcContext);
+            }
+            try {
+                checkDelete(id, msg, references.get(), now);
+            } catch (RuntimeException e) {
+                LOGGER.error("Was unable to check the references of message [{}]", id, e);
+            } finally {
+                org.slf4j.MDC.clear();
+            }
+            return null;
+        };
+    }
+
+    private void runBatch(List<Callable<Void>> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            // the tasks handle their exceptions, so the futures are not checked
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deleting content", e);
+        }
+    }
+
+    void checkDelete(
+        DomibusConnectorMessageId id, DomibusConnectorMessageContentInfo msg,
+        List<LargeFileReference> references, Instant now) {
+        LOGGER.debug("Checking the references [{}] of message [{}] for deletion", references, id);
+        String messageIdString = msg == null ? "" : id.getConnectorMessageId();
         try (var mdcCloseable = org.slf4j.MDC.putCloseable(
             LoggingMDCPropertyNames.MDC_DOMIBUS_CONNECTOR_MESSAGE_ID_PROPERTY_NAME,
             messageIdString
@@ -94,17 +257,13 @@ public class CheckContentDeletedProcessorImpl {
                         + "references only when older as 1 day",
                     id
                 );
-                ZonedDateTime yesterday = ZonedDateTime.now().minusDays(1);
                 // delete only refs which are older than one day
-                List<LargeFileReference> collect = references.stream()
-                    .filter(
-                        r -> r.getCreationDate() != null && r.getCreationDate().isBefore(yesterday))
-                    .toList();
+                List<LargeFileReference> collect =
+                    createdBefore(references, now.minus(WITHOUT_MESSAGE_RETENTION));
                 LOGGER.debug(
                     "Deleting references [{}] with no associated business message", collect);
                 collect.forEach(this::deleteReference);
-            } else if (msg.getMessageDetails().getConfirmed() != null
-                || msg.getMessageDetails().getRejected() != null) {
+            } else if (msg.isConfirmedOrRejected()) {
                 // delete refs when business msg already rejected or confirmed
                 LOGGER.debug(
                     "Message with id [{}] already confirmed/rejected - deleting content [{}]", id,
@@ -112,26 +271,27 @@ public class CheckContentDeletedProcessorImpl {
                 );
                 references.forEach(this::deleteReference);
             } else {
-                LOGGER.debug(
-                    "Message with connector message id [{}] is older then 7 days. "
-                        + "Deleting reference anyway.",
-                    id
-                );
-                ZonedDateTime oneWeekAgo = ZonedDateTime.now().minusDays(7);
                 // delete only refs which are older than 7 days
-                List<LargeFileReference> collect = references.stream()
-                    .filter(r -> r.getCreationDate() != null
-                        && r.getCreationDate().isBefore(oneWeekAgo)).toList();
+                List<LargeFileReference> collect =
+                    createdBefore(references, now.minus(NOT_CONFIRMED_NOR_REJECTED_RETENTION));
                 LOGGER.debug(
-                    "Deleting references [{}] where associated business message is "
+                    "Deleting references [{}] where associated business message [{}] is "
                         + "older then 7 days",
-                    collect
+                    collect, id
                 );
                 collect.forEach(this::deleteReference);
             }
         }
     }
 
+    private static List<LargeFileReference> createdBefore(
+        List<LargeFileReference> references, Instant before) {
+        return references.stream()
+                         .filter(r -> r.getCreationDate() != null
+                             && r.getCreationDate().toInstant().isBefore(before))
+                         .toList();
+    }
+
     private void deleteReference(LargeFileReference ref) {
         LOGGER.debug("Deleting reference with id [{}]", ref.getStorageIdReference());
         try {
@@ -146,4 +306,9 @@ public class CheckContentDeletedProcessorImpl {
             LOGGER.error("Was unable to delete due exception: ", delException);
         }
     }
+
+    @FunctionalInterface
+    private interface PageLoader {
+        List<DomibusConnectorMessageContentInfo> load(long afterId, int maxResults);
+    }
 }
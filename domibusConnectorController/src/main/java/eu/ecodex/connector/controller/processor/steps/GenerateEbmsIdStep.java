@@ -42,7 +42,7 @@ public class GenerateEbmsIdStep implements MessageProcessStep {
     )
     public boolean executeStep(DomibusConnectorMessage domibusConnectorMessage) {
         ConnectorMessageProcessingProperties connectorMessageProcessingProperties =
-            configurationPropertyLoaderService.loadConfiguration(
+            configurationPropertyLoaderService.loadConfigurationSnapshot(
                 domibusConnectorMessage.getMessageLaneId(),
                 ConnectorMessageProcessingProperties.class
             );
@@ -18,7 +18,6 @@ import eu.ecodex.connector.lib.logging.MDC;
 import eu.ecodex.connector.persistence.service.DCMessagePersistenceService;
 import eu.ecodex.connector.tools.LoggingMDCPropertyNames;
 import eu.ecodex.connector.tools.logging.LoggingMarker;
-import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
@@ -63,13 +62,9 @@ public class LookupBackendNameStep implements MessageProcessStep {
         // Lookup backend by conversation id
         String conversationId = domibusConnectorMessage.getMessageDetails().getConversationId();
         if (StringUtils.hasLength(conversationId)) {
-            List<DomibusConnectorMessage> messagesByConversationId =
-                dcMessagePersistenceService.findMessagesByConversationId(conversationId);
-            backendName = messagesByConversationId.stream()
-                .map(m -> m.getMessageDetails()
-                    .getConnectorBackendClientName())
-                .filter(StringUtils::hasLength)
-                .findAny().orElse(null);
+            backendName = dcMessagePersistenceService
+                .findBackendNameByConversationId(conversationId)
+                .orElse(null);
         }
         if (backendName != null) {
             LOGGER.info(
@@ -87,14 +82,10 @@ public class LookupBackendNameStep implements MessageProcessStep {
             domibusConnectorMessage.getMessageLaneId())) {
             LOGGER.debug("Backend routing is enabled");
             domibusConnectorMessage.getMessageDetails().setConnectorBackendClientName(
-                dcRoutingConfigManager.getBackendRoutingRules(
+                dcRoutingConfigManager.getCompiledBackendRoutingRules(
                         domibusConnectorMessage.getMessageLaneId())
-                    .values()
-                    .stream()
-                    .sorted(RoutingRule.getComparator())
-                    .filter(r -> r.getMatchClause().matches(domibusConnectorMessage))
+                    .findFirstMatchingRule(domibusConnectorMessage)
                     .map(RoutingRule::getLinkName)
-                    .findFirst()
                     .map(bName -> {
                         LOGGER.info(
                             LoggingMarker.Log4jMarker.BUSINESS_LOG,
@@ -106,7 +97,7 @@ public class LookupBackendNameStep implements MessageProcessStep {
                         LOGGER.warn(
                             LoggingMarker.Log4jMarker.BUSINESS_LOG,
                             "No backend rule pattern has matched! Applying default "
-                                + "backend name [{}]!"
+                                + "backend name [{}]!", defaultBackendName
                         );
                         return defaultBackendName;
                     })
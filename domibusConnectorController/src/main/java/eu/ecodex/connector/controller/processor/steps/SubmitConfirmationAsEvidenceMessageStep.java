@@ -192,7 +192,7 @@ public class SubmitConfirmationAsEvidenceMessageStep {
     public boolean isSendCreatedTriggerEvidenceBack(
         DomibusConnectorBusinessDomain.BusinessDomainId messageDomain) {
         ConnectorMessageProcessingProperties processingProperties =
-            configurationPropertyLoaderService.loadConfiguration(
+            configurationPropertyLoaderService.loadConfigurationSnapshot(
                 messageDomain, ConnectorMessageProcessingProperties.class);
         boolean result = processingProperties.isSendGeneratedEvidencesToBackend();
         LOGGER.debug("Evidence will be submitted back to Backend as EvidenceMessage: [{}]", result);
@@ -60,7 +60,7 @@ public class ValidateMessageConfirmationStep implements MessageProcessStep {
 
     private void validateActionService(DomibusConnectorMessage domibusConnectorMessage) {
         EvidenceActionServiceConfigurationProperties evidenceActionServiceConfigurationProperties =
-            configurationPropertyLoaderService.loadConfiguration(
+            configurationPropertyLoaderService.loadConfigurationSnapshot(
                 domibusConnectorMessage.getMessageLaneId(),
                 EvidenceActionServiceConfigurationProperties.class
             );
@@ -57,7 +57,7 @@ public class ConfirmationCreatorService {
     public DomibusConnectorAction createEvidenceAction(DomibusConnectorEvidenceType type)
         throws DomibusConnectorControllerException {
         EvidenceActionServiceConfigurationProperties evidenceActionServiceConfigurationProperties =
-            configurationPropertyLoaderService.loadConfiguration(
+            configurationPropertyLoaderService.loadConfigurationSnapshot(
                 DomibusConnectorBusinessDomain.getDefaultMessageLaneId(),
                 EvidenceActionServiceConfigurationProperties.class
             );
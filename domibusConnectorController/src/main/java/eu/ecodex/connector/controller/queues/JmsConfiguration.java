@@ -110,6 +110,9 @@ public class JmsConfiguration {
             var addressSettings2 = basicAddressConfig();
             addressSettings2.setDeadLetterAddress(
                 new SimpleString(prop.getToConnectorControllerDeadLetterQueue()));
+            // the messages are grouped by their business message, see ToConnectorQueue
+            addressSettings2.setDefaultGroupBuckets(
+                prop.getToConnectorControllerMessageGroupBuckets());
             configuration.getAddressesSettings()
                 .put(prop.getToConnectorControllerQueue(), addressSettings2);
 
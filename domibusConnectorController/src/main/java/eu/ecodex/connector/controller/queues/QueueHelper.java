@@ -19,6 +19,7 @@ import jakarta.jms.TextMessage;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.function.Function;
 import lombok.Getter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -56,12 +57,14 @@ import org.springframework.jms.core.JmsTemplate;
  */
 public class QueueHelper implements HasManageableDlq {
     public static final String JMS_MESSAGE_ID_SELECTOR = "JMSMessageID = '";
+    public static final String JMSX_GROUP_ID = "JMSXGroupID";
     private static final Logger LOGGER = LogManager.getLogger(QueueHelper.class);
     @Getter
     private final Queue destination;
     @Getter
     private final Queue dlq;
     private final JmsTemplate jmsTemplate;
+    private final Function<DomibusConnectorMessage, String> messageGroupIdResolver;
 
     /**
      * The QueueHelper class provides helper methods for interacting with a queue and a dead letter
@@ -71,14 +74,39 @@ public class QueueHelper implements HasManageableDlq {
      * classes, where objects of QueueHelper are used to perform various queue operations.
      */
     public QueueHelper(Queue destination, Queue dlq, JmsTemplate jmsTemplate) {
+        this(destination, dlq, jmsTemplate, null);
+    }
+
+    /**
+     * Creates a QueueHelper which puts the messages into message groups. All messages of the
+     * same group are consumed in order by the same consumer, even if several consumers are
+     * listening on the queue.
+     *
+     * @param destination            the queue where messages will be sent
+     * @param dlq                    the dead letter queue
+     * @param jmsTemplate            the JmsTemplate used for interacting with the queues
+     * @param messageGroupIdResolver resolves the group id (JMSXGroupID) of a message, if it
+     *                               returns null the message is sent without a group
+     */
+    public QueueHelper(Queue destination, Queue dlq, JmsTemplate jmsTemplate,
+                       Function<DomibusConnectorMessage, String> messageGroupIdResolver) {
         this.destination = destination;
         this.dlq = dlq;
         this.jmsTemplate = jmsTemplate;
+        this.messageGroupIdResolver = messageGroupIdResolver;
     }
 
     @Override
     public void putOnQueue(DomibusConnectorMessage message) {
-        jmsTemplate.convertAndSend(destination, message);
+        var groupId = messageGroupIdResolver == null ? null : messageGroupIdResolver.apply(message);
+        if (groupId == null) {
+            jmsTemplate.convertAndSend(destination, message);
+            return;
+        }
+        jmsTemplate.convertAndSend(destination, message, jmsMessage -> {
+            jmsMessage.setStringProperty(JMSX_GROUP_ID, groupId);
+            return jmsMessage;
+        });
     }
 
     @Override
@@ -91,6 +119,26 @@ public class QueueHelper implements HasManageableDlq {
         return list(dlq);
     }
 
+    /**
+     * Counts the messages on the queue by browsing it. The browsing stops at the limit, so a long
+     * queue is not read completely.
+     *
+     * @param limit the maximum number of counted messages
+     * @return the number of messages on the queue, at most limit
+     */
+    public int countMessages(int limit) {
+        Integer count = jmsTemplate.browse(destination, (s, qb) -> {
+            var counted = 0;
+            final Enumeration<?> enumeration = qb.getEnumeration();
+            while (counted < limit && enumeration.hasMoreElements()) {
+                enumeration.nextElement();
+                counted++;
+            }
+            return counted;
+        });
+        return count == null ? 0 : count;
+    }
+
     private List<Message> list(Queue destination) {
         return jmsTemplate.browse(destination, (s, qb) -> {
             List<Message> result = new ArrayList<>();
@@ -24,6 +24,19 @@ public class QueuesConfigurationProperties {
     public static final String DLQ_PREFIX = "DLQ.";
     private String toConnectorControllerQueue = QUEUE_PREFIX + "toConnectorControllerQueue";
     private String toConnectorControllerDeadLetterQueue = DLQ_PREFIX + toConnectorControllerQueue;
+    /**
+     * The number of concurrent consumers of the to connector controller queue, either a fixed
+     * number ("5") or a range ("1-10"). A business message and its evidences are always processed
+     * in order by one consumer, see {@link #toConnectorControllerMessageGroupBuckets}.
+     */
+    private String toConnectorControllerConcurrency = "1";
+    /**
+     * The number of message groups the business messages are distributed to on the to connector
+     * controller queue, the group of a message is keyed on the connector message id of its
+     * business message. It limits the state the broker has to keep for the message groups, -1
+     * means one group per business message.
+     */
+    private int toConnectorControllerMessageGroupBuckets = 1024;
     private String toLinkQueue = QUEUE_PREFIX + "submitToLinkQueue";
     private String toLinkDeadLetterQueue = DLQ_PREFIX + toLinkQueue;
     private String cleanupQueue = QUEUE_PREFIX + "cleanUpQueue";
@@ -56,11 +56,21 @@ public class ToConnectorControllerListener {
     /**
      * Handles a message from the connector queue and processes it.
      *
+     * <p>The number of concurrent consumers is configured by
+     * {@code connector.queues.to-connector-controller-concurrency}. A business message and its
+     * evidences are put into the same message group, keyed on the connector message id of the
+     * business message, by the
+     * {@link eu.ecodex.connector.controller.queues.producer.ToConnectorQueue}, so they are still
+     * processed in order.
+     *
      * @param message The DomibusConnectorMessage to be processed.
      * @throws IllegalArgumentException if the message or message details are null.
      * @throws IllegalStateException    if an illegal message format is received.
      */
-    @JmsListener(destination = TO_CONNECTOR_QUEUE_BEAN)
+    @JmsListener(
+        destination = TO_CONNECTOR_QUEUE_BEAN,
+        concurrency = "${connector.queues.to-connector-controller-concurrency:1}"
+    )
     @Transactional(rollbackFor = Exception.class)
     @eu.ecodex.connector.lib.logging.MDC(
         name = LoggingMDCPropertyNames.MDC_DC_QUEUE_LISTENER_PROPERTY_NAME,
@@ -83,6 +83,16 @@ public abstract class ManageableQueue implements HasManageableDlq {
         return queueHelper.listAllMessages();
     }
 
+    /**
+     * Counts the messages on the queue, see {@link QueueHelper#countMessages(int)}.
+     *
+     * @param limit the maximum number of counted messages
+     * @return the number of messages on the queue, at most limit
+     */
+    public int countMessages(int limit) {
+        return queueHelper.countMessages(limit);
+    }
+
     @Override
     public List<Message> listAllMessagesInDlq() {
         return queueHelper.listAllMessagesInDlq();
@@ -12,12 +12,23 @@ package eu.ecodex.connector.controller.queues.producer;
 
 import static eu.ecodex.connector.controller.queues.JmsConfiguration.TO_CONNECTOR_DEAD_LETTER_QUEUE_BEAN;
 import static eu.ecodex.connector.controller.queues.JmsConfiguration.TO_CONNECTOR_QUEUE_BEAN;
+import static eu.ecodex.connector.domain.model.helper.DomainModelHelper.isBusinessMessage;
 
+import eu.ecodex.connector.controller.exception.DomibusConnectorControllerException;
 import eu.ecodex.connector.controller.queues.QueueHelper;
+import eu.ecodex.connector.domain.enums.DomibusConnectorMessageDirection;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDetails;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
+import eu.ecodex.connector.persistence.service.DCMessagePersistenceService;
 import jakarta.jms.Queue;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 /**
  * The ToConnectorQueue class represents a queue for sending messages to a connector.
@@ -39,14 +50,105 @@ import org.springframework.stereotype.Component;
  * DeleteMessagesFromQueuesTest classes, where objects of ToConnectorQueue are used to perform
  * various queue operations.
  *
+ * <p>All messages are put into a message group keyed on the business message they belong to, see
+ * {@link #getMessageGroupId(DomibusConnectorMessage, DCMessagePersistenceService)}. So the queue
+ * can be consumed by several consumers concurrently while a business message and its evidences
+ * are still processed in order.
+ *
  * @see ManageableQueue
  * @see QueueHelper
  */
 @Component
 public class ToConnectorQueue extends ManageableQueue {
+    /**
+     * Creates the queue.
+     *
+     * @param destination               the queue
+     * @param dlq                       the dead letter queue
+     * @param jmsTemplate               the JmsTemplate used to put messages on the queue
+     * @param messagePersistenceService used to look up the business message an evidence message
+     *                                  refers to
+     */
     public ToConnectorQueue(@Qualifier(TO_CONNECTOR_QUEUE_BEAN) Queue destination,
                             @Qualifier(TO_CONNECTOR_DEAD_LETTER_QUEUE_BEAN) Queue dlq,
-                            JmsTemplate jmsTemplate) {
-        super(new QueueHelper(destination, dlq, jmsTemplate));
+                            JmsTemplate jmsTemplate,
+                            DCMessagePersistenceService messagePersistenceService) {
+        super(new QueueHelper(
+            destination, dlq, jmsTemplate,
+            message -> getMessageGroupId(message, messagePersistenceService)
+        ));
+    }
+
+    /**
+     * Returns the message group of the message. The group is the connector message id of the
+     * business message, so an evidence message ends up in the same group as the business message
+     * it belongs to and never overtakes it. For an evidence message the business message is
+     * <ul>
+     *     <li>the message which caused the evidence, evidence messages created by the connector
+     *     carry it</li>
+     *     <li>the message of the opposite direction with the ebms or backend message id the
+     *     evidence refers to</li>
+     * </ul>
+     * If the evidence refers to a business message which cannot be found, e.g. because it has not
+     * been committed yet, an exception is thrown instead of putting the evidence into another
+     * group, where it could overtake the business message. The submitter has to retry.
+     *
+     * @param message                   the message put on the queue
+     * @param messagePersistenceService used to look up the business message
+     * @return the message group id or null if none can be determined
+     * @throws DomibusConnectorControllerException if the referenced business message cannot be
+     *                                             found
+     */
+    public static String getMessageGroupId(
+        DomibusConnectorMessage message, DCMessagePersistenceService messagePersistenceService) {
+        if (isBusinessMessage(message)) {
+            return connectorMessageIdOf(message);
+        }
+        DomibusConnectorMessageDetails details = message.getMessageDetails();
+        if (details == null) {
+            return connectorMessageIdOf(message);
+        }
+        if (details.getCausedBy() != null
+            && StringUtils.hasText(details.getCausedBy().getConnectorMessageId())) {
+            return details.getCausedBy().getConnectorMessageId();
+        }
+        var referencedIds =
+            Stream.of(details.getRefToMessageId(), details.getRefToBackendMessageId())
+                  .filter(StringUtils::hasText)
+                  .toList();
+        if (referencedIds.isEmpty()) {
+            return connectorMessageIdOf(message);
+        }
+        return findReferencedBusinessMessage(details, referencedIds, messagePersistenceService)
+            .map(ToConnectorQueue::connectorMessageIdOf)
+            .orElseThrow(() -> new DomibusConnectorControllerException(String.format(
+                "The business message referenced by [%s] of evidence message [%s] cannot be found,"
+                    + " the evidence is not put on the queue before the business message",
+                referencedIds, connectorMessageIdOf(message)
+            )));
+    }
+
+    private static Optional<DomibusConnectorMessage> findReferencedBusinessMessage(
+        DomibusConnectorMessageDetails details, List<String> referencedIds,
+        DCMessagePersistenceService messagePersistenceService) {
+        if (details.getDirection() == null) {
+            return Optional.empty();
+        }
+        var businessMessageDirection = DomibusConnectorMessageDirection.revert(
+            details.getDirection());
+        return referencedIds.stream()
+            .map(refId -> messagePersistenceService.findMessageByEbmsIdOrBackendIdAndDirection(
+                refId, businessMessageDirection))
+            .flatMap(Optional::stream)
+            .findFirst();
+    }
+
+    private static String connectorMessageIdOf(DomibusConnectorMessage message) {
+        DomibusConnectorMessageId connectorMessageId = message.getConnectorMessageId();
+        if (connectorMessageId != null
+            && StringUtils.hasText(connectorMessageId.getConnectorMessageId())) {
+            return connectorMessageId.getConnectorMessageId();
+        }
+        return null;
     }
 }
@@ -10,6 +10,7 @@
 
 package eu.ecodex.connector.controller.routing;
 
+import eu.ecodex.connector.common.service.BusinessDomainConfigurationChange;
 import eu.ecodex.connector.common.service.ConfigurationPropertyManagerService;
 import eu.ecodex.connector.domain.enums.ConfigurationSource;
 import eu.ecodex.connector.domain.model.DomibusConnectorBusinessDomain;
@@ -18,17 +19,26 @@ import eu.ecodex.connector.persistence.service.DCRoutingRulePersistenceService;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Service;
 
 /**
  * Holds all Routing Rules in Memory for the different UseCaseDomains.
+ *
+ * <p>For each business domain the rules from the environment, the dynamically added rules and
+ * the rules stored in the DB are merged into an immutable {@link RoutingConfig} snapshot. The
+ * snapshot is built on first access and replaced as a whole when rules are created or deleted
+ * or the configuration of the business domain changes, so message processing can read it
+ * without locking and without hitting the DB.
  */
 @Service
-public class DCRoutingRulesManagerImpl implements DCRoutingRulesManager {
+public class DCRoutingRulesManagerImpl
+    implements DCRoutingRulesManager, ApplicationListener<BusinessDomainConfigurationChange> {
     private static final Logger LOGGER = LogManager.getLogger(DCRoutingRulesManagerImpl.class);
     private final ConfigurationPropertyManagerService propertyManager;
     private final DCRoutingRulePersistenceService dcRoutingRulePersistenceService;
@@ -37,6 +47,11 @@ public class DCRoutingRulesManagerImpl implements DCRoutingRulesManager {
      */
     private final Map<DomibusConnectorBusinessDomain.BusinessDomainId, RoutingConfig> routingRuleMap
         = new HashMap<>();
+    /**
+     * holds the current merged and compiled routing configuration per business domain.
+     */
+    private final Map<DomibusConnectorBusinessDomain.BusinessDomainId, RoutingConfig>
+        routingConfigSnapshots = new ConcurrentHashMap<>();
 
     public DCRoutingRulesManagerImpl(
         ConfigurationPropertyManagerService propertyManager,
@@ -56,6 +71,7 @@ public class DCRoutingRulesManagerImpl implements DCRoutingRulesManager {
 
         rc.backendRoutingRules.put(routingRule.getRoutingRuleId(), routingRule);
         LOGGER.debug("Added routing rule [{}]", routingRule);
+        refreshRoutingConfig(businessDomainId);
     }
 
     @Override
@@ -85,27 +101,35 @@ public class DCRoutingRulesManagerImpl implements DCRoutingRulesManager {
 
         RoutingRule remove = rc.backendRoutingRules.remove(routingRuleId);
         LOGGER.debug("Removed routing rule [{}]", remove);
+        refreshRoutingConfig(businessDomainId);
     }
 
+    /**
+     * Returns a copy of all currently active routing rules of the business domain.
+     */
     @Override
     public Map<String, RoutingRule> getBackendRoutingRules(
         DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId) {
-        var dcMessageRoutingConfigurationProperties =
-            getMessageRoutingConfigurationProperties(businessDomainId);
-        return dcMessageRoutingConfigurationProperties.backendRoutingRules;
+        return new HashMap<>(getRoutingConfig(businessDomainId).backendRoutingRules);
+    }
+
+    @Override
+    public CompiledRoutingRules getCompiledBackendRoutingRules(
+        DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId) {
+        return getRoutingConfig(businessDomainId).compiledRoutingRules;
     }
 
     @Override
     public String getDefaultBackendName(
         DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId) {
-        return getMessageRoutingConfigurationProperties(
-            businessDomainId).defaultBackendLink.getLinkName();
+        return getRoutingConfig(businessDomainId).defaultBackendLink.getLinkName();
     }
 
     @Override
     public void setDefaultBackendName(
         DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId, String backendName) {
         dcRoutingRulePersistenceService.setDefaultBackendName(businessDomainId, backendName);
+        refreshRoutingConfig(businessDomainId);
     }
 
     @Override
@@ -114,7 +138,36 @@ public class DCRoutingRulesManagerImpl implements DCRoutingRulesManager {
         return true; // always true
     }
 
-    private synchronized RoutingConfig getMessageRoutingConfigurationProperties(
+    /**
+     * Drops the snapshot of the changed business domain, the next access rebuilds it from the
+     * new configuration.
+     */
+    @Override
+    public synchronized void onApplicationEvent(BusinessDomainConfigurationChange event) {
+        routingConfigSnapshots.remove(event.getBusinessDomainId());
+        LOGGER.debug(
+            "Configuration of business domain [{}] changed, routing rules will be reloaded",
+            event.getBusinessDomainId()
+        );
+    }
+
+    private RoutingConfig getRoutingConfig(
+        DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId) {
+        RoutingConfig routingConfig = routingConfigSnapshots.get(businessDomainId);
+        if (routingConfig == null) {
+            routingConfig = refreshRoutingConfig(businessDomainId);
+        }
+        return routingConfig;
+    }
+
+    private synchronized RoutingConfig refreshRoutingConfig(
+        DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId) {
+        RoutingConfig routingConfig = loadRoutingConfig(businessDomainId);
+        routingConfigSnapshots.put(businessDomainId, routingConfig);
+        return routingConfig;
+    }
+
+    private RoutingConfig loadRoutingConfig(
         DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId) {
         DCMessageRoutingConfigurationProperties routProps =
             propertyManager.loadConfiguration(
@@ -141,6 +194,12 @@ public class DCRoutingRulesManagerImpl implements DCRoutingRulesManager {
             .collect(Collectors.toMap(RoutingRule::getRoutingRuleId, Function.identity()));
         routingConfig.backendRoutingRules.putAll(collect);
 
+        routingConfig.compiledRoutingRules =
+            CompiledRoutingRules.compile(routingConfig.backendRoutingRules.values());
+        LOGGER.debug(
+            "Compiled [{}] routing rules for business domain [{}]",
+            routingConfig.compiledRoutingRules.getSortedRules().size(), businessDomainId
+        );
         return routingConfig;
     }
 
@@ -148,5 +207,6 @@ public class DCRoutingRulesManagerImpl implements DCRoutingRulesManager {
         private final Map<String, RoutingRule> backendRoutingRules = new HashMap<>();
         private DomibusConnectorLinkPartner.LinkPartnerName defaultBackendLink;
         private boolean routingEnabled;
+        private CompiledRoutingRules compiledRoutingRules = CompiledRoutingRules.empty();
     }
 }
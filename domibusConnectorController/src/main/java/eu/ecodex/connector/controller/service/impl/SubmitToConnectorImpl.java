@@ -92,4 +92,12 @@ public class SubmitToConnectorImpl implements SubmitToConnector {
             return null;
         });
     }
+
+    /**
+     * Counts the messages waiting on the to connector queue.
+     */
+    @Override
+    public int countPendingMessages(int limit) {
+        return toConnectorQueue.countMessages(limit);
+    }
 }
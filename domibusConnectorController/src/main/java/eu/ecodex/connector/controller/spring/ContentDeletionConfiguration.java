@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.controller.spring;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the content deletion job.
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = ContentDeletionConfigurationProperties.PREFIX,
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class ContentDeletionConfiguration {
+    public static final String CONTENT_DELETION_EXECUTOR_BEAN = "contentDeletionExecutor";
+
+    /**
+     * Creates the executor checking and deleting the references of the messages. It is shared by
+     * all runs of the content deletion job and stopped with the context. If all threads are busy
+     * and the queue is full the job thread checks the message itself.
+     *
+     * @param properties the content deletion configuration
+     * @return the executor
+     */
+    @Bean(name = CONTENT_DELETION_EXECUTOR_BEAN, destroyMethod = "shutdown")
+    public ExecutorService contentDeletionExecutor(
+        ContentDeletionConfigurationProperties properties) {
+        var threads = properties.getParallelism();
+        var threadNumber = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(
+            threads, threads, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(properties.getBatchSize()),
+            runnable -> {
+                var thread =
+                    new Thread(runnable, "content-deletion-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -12,6 +12,8 @@ package eu.ecodex.connector.controller.spring;
 
 import eu.ecodex.connector.lib.spring.DomibusConnectorDuration;
 import jakarta.annotation.PostConstruct;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -29,6 +31,27 @@ public class ContentDeletionConfigurationProperties {
     public static final String PREFIX = "connector.controller.content";
     private boolean checkTimeoutEnabled = true;
     private DomibusConnectorDuration checkTimeout;
+    /**
+     * This property defines how often all references of the storage are listed and checked, to
+     * find references which are not covered by the incremental check (e.g. references without a
+     * message). The first run after the start always checks all references.
+     * The default value is 24 hours
+     */
+    @NotNull
+    private DomibusConnectorDuration fullCheckInterval = DomibusConnectorDuration.valueOf("24h");
+    /**
+     * This property defines how many messages are loaded with one query and how many messages are
+     * checked before the next batch is loaded.
+     * The default value is 100
+     */
+    @Positive
+    private int batchSize = 100;
+    /**
+     * This property defines how many messages of one batch are deleted concurrently.
+     * The default value is 4
+     */
+    @Positive
+    private int parallelism = 4;
 
     /**
      * This method validates the configuration properties for content deletion in the connector
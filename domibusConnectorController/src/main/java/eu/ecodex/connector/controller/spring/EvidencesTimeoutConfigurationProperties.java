@@ -12,6 +12,7 @@ package eu.ecodex.connector.controller.spring;
 
 import eu.ecodex.connector.lib.spring.DomibusConnectorDuration;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.PropertySource;
@@ -48,6 +49,13 @@ public class EvidencesTimeoutConfigurationProperties {
     //  should be globally handled!
     @NotNull
     private DomibusConnectorDuration checkTimeout;
+    /**
+     * This property defines how many messages are loaded and processed within one transaction
+     * while the timeouts are checked.
+     * The default value is 500
+     */
+    @Positive
+    private int checkPageSize = 500;
     /**
      * This property defines the timeout how long the connector should
      * wait for an relayREMMD evidence message after a message has been
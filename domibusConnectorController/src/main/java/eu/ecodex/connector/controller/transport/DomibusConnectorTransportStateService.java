@@ -131,6 +131,21 @@ public class DomibusConnectorTransportStateService implements TransportStateServ
         });
     }
 
+    @Override
+    @Transactional
+    public void updateTransportToBackendClientStatus(
+        List<TransportId> transportIds,
+        DomibusConnectorTransportState transportState) {
+        transportIds.forEach(transportId -> {
+            var state = new DomibusConnectorTransportState();
+            state.setStatus(transportState.getStatus());
+            state.setRemoteMessageId(transportState.getRemoteMessageId());
+            state.setText(transportState.getText());
+            state.setMessageErrorList(transportState.getMessageErrorList());
+            updateTransportToBackendClientStatus(transportId, state);
+        });
+    }
+
     private void updateTransportStatus(TransportId transportId,
                                        DomibusConnectorTransportState transportState,
                                        SuccessHandler successHandler) {
@@ -218,6 +233,18 @@ public class DomibusConnectorTransportStateService implements TransportStateServ
         return transportStepPersistenceService.findPendingStepBy(linkPartnerName);
     }
 
+    @Override
+    public List<DomibusConnectorTransportStep> getPendingTransportsForLinkPartner(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName, int maxResults) {
+        return transportStepPersistenceService.findPendingStepBy(linkPartnerName, maxResults);
+    }
+
+    @Override
+    public List<TransportId> getPendingTransportIdsForLinkPartner(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName) {
+        return transportStepPersistenceService.findPendingTransportIdsBy(linkPartnerName);
+    }
+
     @Override
     public Optional<DomibusConnectorTransportStep> getTransportStepById(TransportId transportId) {
         return transportStepPersistenceService.findStepById(transportId);
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.controller.processor.content;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.ecodex.connector.controller.spring.ContentDeletionConfigurationProperties;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
+import eu.ecodex.connector.domain.model.LargeFileReference;
+import eu.ecodex.connector.lib.spring.DomibusConnectorDuration;
+import eu.ecodex.connector.persistence.service.DCMessagePersistenceService;
+import eu.ecodex.connector.persistence.service.LargeFilePersistenceService;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CheckContentDeletedProcessorImplTest {
+    private static final DomibusConnectorMessageId CONFIRMED = new DomibusConnectorMessageId("c1");
+    private static final DomibusConnectorMessageId UNCONFIRMED =
+        new DomibusConnectorMessageId("u1");
+    private static final DomibusConnectorMessageId UNKNOWN = new DomibusConnectorMessageId("x1");
+    private LargeFilePersistenceService largeFilePersistenceService;
+    private DCMessagePersistenceService messagePersistenceService;
+    private ExecutorService executor;
+    private CheckContentDeletedProcessorImpl processor;
+
+    @BeforeEach
+    void setUp() {
+        largeFilePersistenceService = Mockito.mock(LargeFilePersistenceService.class);
+        messagePersistenceService = Mockito.mock(DCMessagePersistenceService.class);
+        var properties = new ContentDeletionConfigurationProperties();
+        properties.setCheckTimeout(DomibusConnectorDuration.valueOf("1h"));
+        properties.setBatchSize(2);
+        properties.setParallelism(2);
+        executor = Executors.newFixedThreadPool(2);
+        processor = new CheckContentDeletedProcessorImpl(
+            largeFilePersistenceService, messagePersistenceService, properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testFirstRun_checksAllReferences() throws Exception {
+        var confirmedRef = reference("c1/doc", 0);
+        var unconfirmedNewRef = reference("u1/doc", 2);
+        var unconfirmedOldRef = reference("u1/old", 8);
+        var unknownNewRef = reference("x1/new", 0);
+        var unknownOldRef = reference("x1/old", 2);
+        when(largeFilePersistenceService.streamAllAvailableReferences()).thenReturn(Stream.of(
+            Map.entry(CONFIRMED, List.of(confirmedRef)),
+            Map.entry(UNCONFIRMED, List.of(unconfirmedNewRef, unconfirmedOldRef)),
+            Map.entry(UNKNOWN, List.of(unknownNewRef, unknownOldRef))
+        ));
+        when(messagePersistenceService.findMessageContentInfos(any())).thenReturn(List.of(
+            new DomibusConnectorMessageContentInfo(1L, "c1", true),
+            new DomibusConnectorMessageContentInfo(2L, "u1", false)
+        ));
+
+        processor.checkContentDeletedProcessor();
+
+        verify(largeFilePersistenceService).deleteDomibusConnectorBigDataReference(confirmedRef);
+        verify(largeFilePersistenceService)
+            .deleteDomibusConnectorBigDataReference(unconfirmedOldRef);
+        verify(largeFilePersistenceService).deleteDomibusConnectorBigDataReference(unknownOldRef);
+        verify(largeFilePersistenceService, never())
+            .deleteDomibusConnectorBigDataReference(unconfirmedNewRef);
+        verify(largeFilePersistenceService, never())
+            .deleteDomibusConnectorBigDataReference(unknownNewRef);
+    }
+
+    @Test
+    void testSecondRun_checksOnlyChangedMessages() throws Exception {
+        when(largeFilePersistenceService.streamAllAvailableReferences())
+            .thenReturn(Stream.empty());
+        processor.checkContentDeletedProcessor();
+
+        var confirmedRef = reference("c1/doc", 0);
+        when(messagePersistenceService.findMessagesConfirmedOrRejectedSince(
+            any(), anyLong(), anyInt()))
+            .thenReturn(List.of(new DomibusConnectorMessageContentInfo(1L, "c1", true)));
+        when(messagePersistenceService.findMessagesNotRejectedNorConfirmedCreatedBetween(
+            any(), any(), anyLong(), anyInt()))
+            .thenReturn(List.of());
+        when(largeFilePersistenceService.getAvailableReferences(CONFIRMED))
+            .thenReturn(List.of(confirmedRef));
+
+        processor.checkContentDeletedProcessor();
+
+        verify(largeFilePersistenceService, times(1)).streamAllAvailableReferences();
+        verify(largeFilePersistenceService).deleteDomibusConnectorBigDataReference(confirmedRef);
+    }
+
+    private static LargeFileReference reference(String storageId, int ageInDays) {
+        var reference = new LargeFileReference(storageId);
+        reference.setCreationDate(ZonedDateTime.now().minusDays(ageInDays).minusMinutes(1));
+        return reference;
+    }
+}
@@ -14,6 +14,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 
 import eu.ecodex.connector.common.service.ConfigurationPropertyManagerService;
+import eu.ecodex.connector.controller.routing.CompiledRoutingRules;
 import eu.ecodex.connector.controller.routing.DCRoutingRulesManagerImpl;
 import eu.ecodex.connector.controller.routing.RoutingRule;
 import eu.ecodex.connector.controller.routing.RoutingRulePattern;
@@ -22,9 +23,8 @@ import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
 import eu.ecodex.connector.domain.model.DomibusConnectorService;
 import eu.ecodex.connector.domain.testutil.DomainEntityCreator;
 import eu.ecodex.connector.persistence.service.DCMessagePersistenceService;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -49,7 +49,8 @@ class LookupBackendNameStepTest {
         final HashMap<String, RoutingRule> routingRules = new HashMap<>();
         routingRules.put("foobarId", routingRule1);
 
-        Mockito.when(routingMock.getBackendRoutingRules(any())).thenReturn(routingRules);
+        Mockito.when(routingMock.getCompiledBackendRoutingRules(any()))
+            .thenReturn(CompiledRoutingRules.compile(routingRules.values()));
         Mockito.when(routingMock.getDefaultBackendName(any())).thenReturn("DEFAULT_BACKEND");
         Mockito.when(routingMock.isBackendRoutingEnabled(any())).thenReturn(true);
 
@@ -88,7 +89,8 @@ class LookupBackendNameStepTest {
         final HashMap<String, RoutingRule> routingRules = new HashMap<>();
         routingRules.put("foobarId", routingRule1);
 
-        Mockito.when(routingMock.getBackendRoutingRules(any())).thenReturn(routingRules);
+        Mockito.when(routingMock.getCompiledBackendRoutingRules(any()))
+            .thenReturn(CompiledRoutingRules.compile(routingRules.values()));
         Mockito.when(routingMock.getDefaultBackendName(any())).thenReturn("DEFAULT_BACKEND");
         Mockito.when(routingMock.isBackendRoutingEnabled(any())).thenReturn(true);
 
@@ -127,7 +129,8 @@ class LookupBackendNameStepTest {
         final HashMap<String, RoutingRule> routingRules = new HashMap<>();
         routingRules.put("foobarId", routingRule1);
 
-        Mockito.when(routingMock.getBackendRoutingRules(any())).thenReturn(routingRules);
+        Mockito.when(routingMock.getCompiledBackendRoutingRules(any()))
+            .thenReturn(CompiledRoutingRules.compile(routingRules.values()));
         Mockito.when(routingMock.getDefaultBackendName(any())).thenReturn("DEFAULT_BACKEND");
         Mockito.when(routingMock.isBackendRoutingEnabled(any())).thenReturn(false);
 
@@ -157,14 +160,8 @@ class LookupBackendNameStepTest {
 
         final DCMessagePersistenceService peristenceMock =
             Mockito.mock(DCMessagePersistenceService.class);
-        List<DomibusConnectorMessage> messagesByConversationId = new ArrayList<>();
-        final DomibusConnectorMessage otherMessageWithConvId = DomainEntityCreator.createMessage();
-        otherMessageWithConvId.getMessageDetails().setConversationId("fooConvId");
-        otherMessageWithConvId.getMessageDetails()
-            .setConnectorBackendClientName("BACKEND_OF_ANOTHER_MSG_WITH_SAME_CONV_ID");
-        messagesByConversationId.add(otherMessageWithConvId);
-        Mockito.when(peristenceMock.findMessagesByConversationId(any()))
-            .thenReturn(messagesByConversationId);
+        Mockito.when(peristenceMock.findBackendNameByConversationId(any()))
+            .thenReturn(Optional.of("BACKEND_OF_ANOTHER_MSG_WITH_SAME_CONV_ID"));
 
         final DCRoutingRulesManagerImpl routingMock = Mockito.mock(DCRoutingRulesManagerImpl.class);
 
@@ -177,7 +174,8 @@ class LookupBackendNameStepTest {
         final HashMap<String, RoutingRule> routingRules = new HashMap<>();
         routingRules.put("foobarId", routingRule1);
 
-        Mockito.when(routingMock.getBackendRoutingRules(any())).thenReturn(routingRules);
+        Mockito.when(routingMock.getCompiledBackendRoutingRules(any()))
+            .thenReturn(CompiledRoutingRules.compile(routingRules.values()));
         Mockito.when(routingMock.getDefaultBackendName(any())).thenReturn("DEFAULT_BACKEND");
         Mockito.when(routingMock.isBackendRoutingEnabled(any())).thenReturn(false);
 
@@ -216,7 +214,8 @@ class LookupBackendNameStepTest {
         final HashMap<String, RoutingRule> routingRules = new HashMap<>();
         routingRules.put("foobarId", routingRule1);
 
-        Mockito.when(routingMock.getBackendRoutingRules(any())).thenReturn(routingRules);
+        Mockito.when(routingMock.getCompiledBackendRoutingRules(any()))
+            .thenReturn(CompiledRoutingRules.compile(routingRules.values()));
         Mockito.when(routingMock.getDefaultBackendName(any())).thenReturn("DEFAULT_BACKEND");
         Mockito.when(routingMock.isBackendRoutingEnabled(any())).thenReturn(true);
 
@@ -268,7 +267,8 @@ class LookupBackendNameStepTest {
         routingRule2.setPriority(0);
         routingRules.put("rule2", routingRule2);
 
-        Mockito.when(routingMock.getBackendRoutingRules(any())).thenReturn(routingRules);
+        Mockito.when(routingMock.getCompiledBackendRoutingRules(any()))
+            .thenReturn(CompiledRoutingRules.compile(routingRules.values()));
         Mockito.when(routingMock.getDefaultBackendName(any())).thenReturn("DEFAULT_BACKEND");
         Mockito.when(routingMock.isBackendRoutingEnabled(any())).thenReturn(true);
 
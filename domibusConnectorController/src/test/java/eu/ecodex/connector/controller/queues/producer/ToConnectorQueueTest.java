@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.controller.queues.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import eu.ecodex.connector.controller.exception.DomibusConnectorControllerException;
+import eu.ecodex.connector.domain.enums.DomibusConnectorEvidenceType;
+import eu.ecodex.connector.domain.enums.DomibusConnectorMessageDirection;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageConfirmation;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDetails;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
+import eu.ecodex.connector.persistence.service.DCMessagePersistenceService;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class ToConnectorQueueTest {
+    private DCMessagePersistenceService messagePersistenceService;
+
+    @BeforeEach
+    void setUp() {
+        messagePersistenceService = Mockito.mock(DCMessagePersistenceService.class);
+        Mockito.when(messagePersistenceService.findMessageByEbmsIdOrBackendIdAndDirection(
+                   ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+               .thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testMessageGroup_businessMessage_isConnectorMessageId() {
+        var message = createBusinessMessage("business1");
+        message.getMessageDetails().setConversationId("conv1");
+
+        assertThat(ToConnectorQueue.getMessageGroupId(message, messagePersistenceService))
+            .isEqualTo("business1");
+    }
+
+    @Test
+    void testMessageGroup_evidenceCausedByBusinessMessage_isGroupedWithBusinessMessage() {
+        var businessMessage = createBusinessMessage("business1");
+        businessMessage.getMessageDetails().setConversationId("conv1");
+        var evidenceMessage = createEvidenceMessage("evidence1");
+        evidenceMessage.getMessageDetails().setCausedBy(new DomibusConnectorMessageId("business1"));
+        evidenceMessage.getMessageDetails().setRefToMessageId("ebms1");
+
+        assertThat(ToConnectorQueue.getMessageGroupId(evidenceMessage, messagePersistenceService))
+            .isEqualTo(
+                ToConnectorQueue.getMessageGroupId(businessMessage, messagePersistenceService))
+            .isEqualTo("business1");
+    }
+
+    @Test
+    void testMessageGroup_evidenceReferringToBusinessMessage_isGroupedWithBusinessMessage() {
+        var businessMessage = createBusinessMessage("business1");
+        businessMessage.getMessageDetails().setEbmsMessageId("ebms1");
+        businessMessage.getMessageDetails()
+                       .setDirection(DomibusConnectorMessageDirection.BACKEND_TO_GATEWAY);
+        Mockito.when(messagePersistenceService.findMessageByEbmsIdOrBackendIdAndDirection(
+                   "ebms1", DomibusConnectorMessageDirection.BACKEND_TO_GATEWAY))
+               .thenReturn(Optional.of(businessMessage));
+        var evidenceMessage = createEvidenceMessage("evidence1");
+        evidenceMessage.getMessageDetails().setRefToMessageId("ebms1");
+        evidenceMessage.getMessageDetails().setConversationId("conv1");
+        evidenceMessage.getMessageDetails()
+                       .setDirection(DomibusConnectorMessageDirection.GATEWAY_TO_BACKEND);
+
+        assertThat(ToConnectorQueue.getMessageGroupId(evidenceMessage, messagePersistenceService))
+            .isEqualTo(
+                ToConnectorQueue.getMessageGroupId(businessMessage, messagePersistenceService))
+            .isEqualTo("business1");
+    }
+
+    @Test
+    void testMessageGroup_businessMessageNotFound_throws() {
+        var evidenceMessage = createEvidenceMessage("evidence1");
+        evidenceMessage.getMessageDetails().setRefToMessageId("ebms1");
+        evidenceMessage.getMessageDetails()
+                       .setDirection(DomibusConnectorMessageDirection.GATEWAY_TO_BACKEND);
+
+        assertThatThrownBy(
+            () -> ToConnectorQueue.getMessageGroupId(evidenceMessage, messagePersistenceService))
+            .isInstanceOf(DomibusConnectorControllerException.class)
+            .hasMessageContaining("ebms1");
+    }
+
+    @Test
+    void testMessageGroup_evidenceWithoutReference_isOwnConnectorMessageId() {
+        var evidenceMessage = createEvidenceMessage("evidence1");
+        evidenceMessage.getMessageDetails()
+                       .setDirection(DomibusConnectorMessageDirection.GATEWAY_TO_BACKEND);
+
+        assertThat(ToConnectorQueue.getMessageGroupId(evidenceMessage, messagePersistenceService))
+            .isEqualTo("evidence1");
+    }
+
+    @Test
+    void testMessageGroup_withoutIds_isNull() {
+        var message = new DomibusConnectorMessage();
+
+        assertThat(ToConnectorQueue.getMessageGroupId(message, messagePersistenceService))
+            .isNull();
+    }
+
+    private static DomibusConnectorMessage createBusinessMessage(String connectorMessageId) {
+        var message = new DomibusConnectorMessage();
+        message.setConnectorMessageId(new DomibusConnectorMessageId(connectorMessageId));
+        message.setMessageDetails(new DomibusConnectorMessageDetails());
+        return message;
+    }
+
+    private static DomibusConnectorMessage createEvidenceMessage(String connectorMessageId) {
+        var message = createBusinessMessage(connectorMessageId);
+        message.addTransportedMessageConfirmation(
+            new DomibusConnectorMessageConfirmation(DomibusConnectorEvidenceType.DELIVERY));
+        return message;
+    }
+}
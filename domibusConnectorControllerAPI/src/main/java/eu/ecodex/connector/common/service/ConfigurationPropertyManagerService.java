@@ -48,6 +48,25 @@ public interface ConfigurationPropertyManagerService {
         @Nullable DomibusConnectorBusinessDomain.BusinessDomainId laneId,
         @NotNull Class<T> clazz, String prefix);
 
+    /**
+     * Returns the configuration of the business domain from a snapshot. The snapshot is bound on
+     * the first access and kept until the configuration of the business domain changes (see
+     * {@link BusinessDomainConfigurationChange}).
+     *
+     * <p>The returned instance is shared, it must not be modified. Use
+     * {@link #loadConfiguration(DomibusConnectorBusinessDomain.BusinessDomainId, Class)} to get
+     * an instance which can be altered, e.g. to update the configuration.
+     *
+     * @param laneId - the lane id
+     * @param clazz  - the clazz annotated with
+     *               {@link org.springframework.boot.context.properties.ConfigurationProperties}
+     * @param <T>    - type of the clazz
+     * @return the shared configuration
+     */
+    <T> T loadConfigurationSnapshot(
+        @Nullable DomibusConnectorBusinessDomain.BusinessDomainId laneId,
+        @NotNull Class<T> clazz);
+
     <T> T loadConfigurationOnlyFromMap(Map<String, String> map, Class<T> clazz, String prefix);
 
     <T> Set<ConstraintViolation<T>> validateConfiguration(
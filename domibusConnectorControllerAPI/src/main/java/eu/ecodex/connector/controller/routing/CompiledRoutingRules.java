@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.controller.routing;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDetails;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, precompiled view of a set of {@link RoutingRule}s.
+ *
+ * <p>The rules are sorted once by priority. Every rule whose match clause requires an
+ * {@link EqualsExpression} on the top level (directly or within an AND chain) is indexed by this
+ * AS4 attribute and value. When a message is routed only the rules registered under the AS4
+ * values of the message and the rules which could not be indexed are evaluated, in priority
+ * order. Instances are safe to be shared between threads.
+ */
+public final class CompiledRoutingRules {
+    private static final CompiledRoutingRules EMPTY = compile(Collections.emptyList());
+    private final List<RoutingRule> sortedRules;
+    private final Map<TokenType, Map<String, int[]>> equalsIndex;
+    private final BitSet unindexedRules;
+
+    private CompiledRoutingRules(
+        List<RoutingRule> sortedRules, Map<TokenType, Map<String, int[]>> equalsIndex,
+        BitSet unindexedRules) {
+        this.sortedRules = sortedRules;
+        this.equalsIndex = equalsIndex;
+        this.unindexedRules = unindexedRules;
+    }
+
+    public static CompiledRoutingRules empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles the given routing rules into an indexed, immutable structure.
+     *
+     * @param routingRules the rules to compile
+     * @return the compiled rules
+     */
+    public static CompiledRoutingRules compile(Collection<RoutingRule> routingRules) {
+        List<RoutingRule> sorted = routingRules.stream()
+            .filter(r -> !r.isDeleted())
+            .sorted(RoutingRule.getComparator()
+                .thenComparing(RoutingRule::getRoutingRuleId,
+                               Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+
+        Map<TokenType, Map<String, List<Integer>>> index = new EnumMap<>(TokenType.class);
+        var unindexed = new BitSet(sorted.size());
+        for (var i = 0; i < sorted.size(); i++) {
+            RoutingRulePattern matchClause = sorted.get(i).getMatchClause();
+            EqualsExpression indexKey = matchClause == null
+                ? null : findRequiredEqualsExpression(matchClause.getExpression());
+            if (indexKey == null) {
+                unindexed.set(i);
+            } else {
+                index.computeIfAbsent(indexKey.getAs4Attribute(), k -> new HashMap<>())
+                     .computeIfAbsent(indexKey.getValueString(), k -> new ArrayList<>())
+                     .add(i);
+            }
+        }
+
+        Map<TokenType, Map<String, int[]>> frozenIndex = new EnumMap<>(TokenType.class);
+        index.forEach((attribute, values) -> {
+            Map<String, int[]> frozenValues = new HashMap<>();
+            values.forEach((value, positions) -> frozenValues.put(
+                value, positions.stream().mapToInt(Integer::intValue).toArray()
+            ));
+            frozenIndex.put(attribute, frozenValues);
+        });
+        return new CompiledRoutingRules(sorted, frozenIndex, unindexed);
+    }
+
+    /**
+     * Returns the routing rule with the highest priority matching the message.
+     *
+     * @param message the message to route
+     * @return the first matching rule, or empty if no rule matches
+     */
+    public Optional<RoutingRule> findFirstMatchingRule(DomibusConnectorMessage message) {
+        var candidates = (BitSet) unindexedRules.clone();
+        equalsIndex.forEach((attribute, values) -> {
+            String value = probeAs4Value(message, attribute);
+            if (value != null) {
+                int[] positions = values.get(value);
+                if (positions != null) {
+                    for (int position : positions) {
+                        candidates.set(position);
+                    }
+                }
+            }
+        });
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            RoutingRule rule = sortedRules.get(i);
+            if (rule.getMatchClause().matches(message)) {
+                return Optional.of(rule);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns all compiled rules sorted by priority.
+     *
+     * @return an unmodifiable list of the rules
+     */
+    public List<RoutingRule> getSortedRules() {
+        return sortedRules;
+    }
+
+    public boolean isEmpty() {
+        return sortedRules.isEmpty();
+    }
+
+    /**
+     * Looks for an equals expression which must be true for the whole expression to be true.
+     * Only AND chains are followed, everything below an OR or NOT cannot be used as index.
+     */
+    private static EqualsExpression findRequiredEqualsExpression(Expression expression) {
+        if (expression instanceof EqualsExpression equalsExpression) {
+            return equalsExpression;
+        }
+        if (expression instanceof BinaryOperatorExpression binary
+            && binary.getOperand() == TokenType.AND) {
+            var left = findRequiredEqualsExpression(binary.getExp1());
+            return left != null ? left : findRequiredEqualsExpression(binary.getExp2());
+        }
+        return null;
+    }
+
+    /**
+     * Null safe variant of {@link RoutingRulePattern#extractAs4Value}, a missing value just
+     * means that no indexed rule can match.
+     */
+    private static String probeAs4Value(DomibusConnectorMessage message, TokenType as4Attribute) {
+        DomibusConnectorMessageDetails details = message.getMessageDetails();
+        if (details == null) {
+            return null;
+        }
+        boolean present = switch (as4Attribute) {
+            case TokenType.AS4_SERVICE_NAME, TokenType.AS4_SERVICE_TYPE ->
+                details.getService() != null;
+            case TokenType.AS4_ACTION -> details.getAction() != null;
+            case TokenType.AS4_FROM_PARTY_ID, TokenType.AS4_FROM_PARTY_ID_TYPE,
+                 TokenType.AS4_FROM_PARTY_ROLE -> details.getFromParty() != null;
+            default -> true;
+        };
+        return present ? RoutingRulePattern.extractAs4Value(message, as4Attribute) : null;
+    }
+}
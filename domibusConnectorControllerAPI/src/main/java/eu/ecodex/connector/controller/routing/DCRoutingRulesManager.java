@@ -33,6 +33,15 @@ public interface DCRoutingRulesManager {
     Map<String, RoutingRule> getBackendRoutingRules(
         DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId);
 
+    /**
+     * Returns the precompiled routing rules of the business domain, used to route messages.
+     *
+     * @param businessDomainId the business domain
+     * @return the compiled rules, never null
+     */
+    CompiledRoutingRules getCompiledBackendRoutingRules(
+        DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId);
+
     String getDefaultBackendName(DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId);
 
     void setDefaultBackendName(DomibusConnectorBusinessDomain.BusinessDomainId businessDomainId,
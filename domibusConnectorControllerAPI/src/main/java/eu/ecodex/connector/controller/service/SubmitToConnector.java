@@ -30,4 +30,15 @@ public interface SubmitToConnector {
         DomibusConnectorMessage message,
         DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName, LinkType linkType)
         throws DomibusConnectorSubmitToLinkException;
+
+    /**
+     * Counts the submitted messages which have not been taken up by the connector yet. A link
+     * module pulling messages can use it to stop fetching while the connector is busy.
+     *
+     * @param limit the counting stops at this number
+     * @return the number of waiting messages, at most limit, 0 if it is not known
+     */
+    default int countPendingMessages(int limit) {
+        return 0;
+    }
 }
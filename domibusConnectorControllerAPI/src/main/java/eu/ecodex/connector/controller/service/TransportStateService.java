@@ -49,6 +49,17 @@ public interface TransportStateService {
     void updateTransportToBackendClientStatus(TransportId transportId,
                                               DomibusConnectorTransportState transportState);
 
+    /**
+     * Sets the same transport status for multiple transports to backendClients within one
+     * transaction.
+     *
+     * @param transportIds   the ids of the transports
+     * @param transportState the transport status to set, the transport id is set for each
+     *                       transport
+     */
+    void updateTransportToBackendClientStatus(List<TransportId> transportIds,
+                                              DomibusConnectorTransportState transportState);
+
     void updateTransportStatus(DomibusConnectorTransportState transportState);
 
     /**
@@ -64,6 +75,27 @@ public interface TransportStateService {
     List<DomibusConnectorTransportStep> getPendingTransportsForLinkPartner(
         DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName);
 
+    /**
+     * Returns the oldest pending transports of the link partner.
+     *
+     * @param linkPartnerName the name of the link partner
+     * @param maxResults      the maximum number of returned transports
+     * @return the pending transports, ordered by their creation date
+     */
+    List<DomibusConnectorTransportStep> getPendingTransportsForLinkPartner(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName, int maxResults);
+
+    /**
+     * Returns the ids of the pending transports of the link partner. Unlike
+     * {@link #getPendingTransportsForLinkPartner(DomibusConnectorLinkPartner.LinkPartnerName)}
+     * the transported messages are not read.
+     *
+     * @param linkPartnerName the name of the link partner
+     * @return the ids of the pending transports, ordered by their creation date
+     */
+    List<TransportId> getPendingTransportIdsForLinkPartner(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName);
+
     Optional<DomibusConnectorTransportStep> getTransportStepById(TransportId transportId);
 
     /**
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.domain.model;
+
+import java.util.Date;
+import lombok.Getter;
+
+/**
+ * Lightweight projection of a message containing only the fields required to check the
+ * evidence timeouts. The id is the database id and can be used for keyset pagination.
+ */
+@Getter
+public class DomibusConnectorMessageDeliveryInfo {
+    private final Long id;
+    private final DomibusConnectorMessageId connectorMessageId;
+    private final Date deliveredToGateway;
+
+    /**
+     * Creates the projection, used by the persistence layer.
+     *
+     * @param id                 the database id of the message
+     * @param connectorMessageId the connector message id
+     * @param deliveredToGateway the time the message has been delivered to the gateway
+     */
+    public DomibusConnectorMessageDeliveryInfo(
+        Long id, String connectorMessageId, Date deliveredToGateway) {
+        this.id = id;
+        this.connectorMessageId = new DomibusConnectorMessageId(connectorMessageId);
+        this.deliveredToGateway = deliveredToGateway;
+    }
+
+    @Override
+    public String toString() {
+        return connectorMessageId.toString();
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.domain.model;
+
+import java.time.ZonedDateTime;
+import lombok.Data;
+
+/**
+ * Holds the encoded revocation data (an OCSP response or a CRL) of a certificate, which has been
+ * cached by the connector. The data can be used until it expires.
+ */
+@Data
+public class DomibusConnectorRevocationData {
+    /**
+     * Identifies the revocation type, the certificate and the issuer certificate.
+     */
+    private String revocationKey;
+    private byte[] data;
+    private String sourceUrl;
+    private ZonedDateTime expires;
+}
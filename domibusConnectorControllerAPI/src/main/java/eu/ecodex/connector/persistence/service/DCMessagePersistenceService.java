@@ -12,9 +12,14 @@ package eu.ecodex.connector.persistence.service;
 
 import eu.ecodex.connector.domain.enums.DomibusConnectorMessageDirection;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDeliveryInfo;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
 import eu.ecodex.connector.persistence.service.exceptions.PersistenceException;
 import jakarta.annotation.Nonnull;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -108,6 +113,16 @@ public interface DCMessagePersistenceService {
      */
     List<DomibusConnectorMessage> findMessagesByConversationId(String conversationId);
 
+    /**
+     * Returns the backend name a conversation has been routed to, without loading the messages
+     * of the conversation.
+     *
+     * @param conversationId - the conversation id
+     * @return the backend name or an empty Optional if no message of the conversation has a
+     *      backend name
+     */
+    Optional<String> findBackendNameByConversationId(String conversationId);
+
     /**
      * Finds all outgoing messages that are not rejected, not confirmed, and without delivery.
      *
@@ -122,6 +137,70 @@ public interface DCMessagePersistenceService {
      */
     List<DomibusConnectorMessage> findOutgoingMessagesNotRejectedNorConfirmedAndWithoutRelayREMMD();
 
+    /**
+     * Finds a page of outgoing messages that are not rejected, not confirmed, without delivery
+     * and have been delivered to the gateway before the given date.
+     *
+     * @param deliveredBefore only messages delivered to the gateway before this date
+     * @param afterId         only messages with a greater database id, use the id of the last
+     *                        message of the previous page or 0 for the first page
+     * @param maxResults      the maximum number of returned messages
+     * @return the messages ordered by database id
+     */
+    List<DomibusConnectorMessageDeliveryInfo>
+        findOutgoingMessagesNotRejectedNorConfirmedAndWithoutDelivery(
+        Date deliveredBefore, long afterId, int maxResults);
+
+    /**
+     * Finds a page of outgoing messages that are not rejected, not confirmed, without relay
+     * REMMD and have been delivered to the gateway before the given date.
+     *
+     * @param deliveredBefore only messages delivered to the gateway before this date
+     * @param afterId         only messages with a greater database id, use the id of the last
+     *                        message of the previous page or 0 for the first page
+     * @param maxResults      the maximum number of returned messages
+     * @return the messages ordered by database id
+     */
+    List<DomibusConnectorMessageDeliveryInfo>
+        findOutgoingMessagesNotRejectedNorConfirmedAndWithoutRelayREMMD(
+        Date deliveredBefore, long afterId, int maxResults);
+
+    /**
+     * Finds a page of messages which have been confirmed or rejected at or after the given time.
+     *
+     * @param finishedSince only messages confirmed or rejected at or after this time
+     * @param afterId       only messages with a greater database id, use the id of the last
+     *                      message of the previous page or 0 for the first page
+     * @param maxResults    the maximum number of returned messages
+     * @return the messages ordered by database id
+     */
+    List<DomibusConnectorMessageContentInfo> findMessagesConfirmedOrRejectedSince(
+        ZonedDateTime finishedSince, long afterId, int maxResults);
+
+    /**
+     * Finds a page of messages which are neither confirmed nor rejected and have been created
+     * within the given period.
+     *
+     * @param createdFrom   only messages created at or after this date
+     * @param createdBefore only messages created before this date
+     * @param afterId       only messages with a greater database id, use the id of the last
+     *                      message of the previous page or 0 for the first page
+     * @param maxResults    the maximum number of returned messages
+     * @return the messages ordered by database id
+     */
+    List<DomibusConnectorMessageContentInfo> findMessagesNotRejectedNorConfirmedCreatedBetween(
+        Date createdFrom, Date createdBefore, long afterId, int maxResults);
+
+    /**
+     * Finds the messages with the given connector message ids. Ids without a message are
+     * skipped.
+     *
+     * @param connectorMessageIds the connector message ids
+     * @return the found messages
+     */
+    List<DomibusConnectorMessageContentInfo> findMessageContentInfos(
+        Collection<DomibusConnectorMessageId> connectorMessageIds);
+
     /**
      * All messages which are going to the GW.
      *
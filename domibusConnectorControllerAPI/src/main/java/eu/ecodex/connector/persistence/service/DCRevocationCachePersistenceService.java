@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorRevocationData;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Stores the revocation data of certificates in the connector database, so it can be shared
+ * between the validations and the connector instances until it expires.
+ */
+public interface DCRevocationCachePersistenceService {
+    /**
+     * Returns the revocation data stored with the given key, if it has not expired at the given
+     * time.
+     *
+     * @param revocationKey the key of the revocation data
+     * @param validAt       the time the revocation data must not have expired
+     * @return the revocation data
+     */
+    Optional<DomibusConnectorRevocationData> findRevocationData(
+        String revocationKey, ZonedDateTime validAt);
+
+    /**
+     * Stores the revocation data, a stored revocation data with the same key is replaced.
+     *
+     * @param revocationData the revocation data
+     */
+    void saveRevocationData(DomibusConnectorRevocationData revocationData);
+
+    /**
+     * Deletes all revocation data which has expired before the given time.
+     *
+     * @param expiredBefore the time
+     * @return the number of deleted revocation data
+     */
+    int deleteExpiredRevocationData(ZonedDateTime expiredBefore);
+}
@@ -17,6 +17,7 @@ import eu.ecodex.connector.persistence.service.exceptions.LargeFileDeletionExcep
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * This interface describes a service for storing large amount of data The by this service returned
@@ -104,6 +105,35 @@ public interface LargeFilePersistenceService {
      */
     Map<DomibusConnectorMessageId, List<LargeFileReference>> getAllAvailableReferences();
 
+    /**
+     * Streams all available references to large files without collecting them into a map first.
+     *
+     * <p>The returned stream may be parallel and must be closed after use. A connector message id
+     * can occur in more than one entry, if the files of the message are stored at different
+     * locations.
+     *
+     * @return A stream of entries with the connector message ID as key and a list of
+     *      LargeFileReference objects as value.
+     */
+    default Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>>
+        streamAllAvailableReferences() {
+        return getAllAvailableReferences().entrySet().stream();
+    }
+
+    /**
+     * Returns the currently not deleted references of one message.
+     *
+     * <p>The default implementation lists all references, implementations should override it
+     * with a lookup of the single message.
+     *
+     * @param connectorMessageId the connector message id
+     * @return the references of the message, an empty list if there are none
+     */
+    default List<LargeFileReference> getAvailableReferences(
+        DomibusConnectorMessageId connectorMessageId) {
+        return getAllAvailableReferences().getOrDefault(connectorMessageId, List.of());
+    }
+
     boolean isStorageProviderAvailable(LargeFileReference toCopy);
 
     LargeFilePersistenceProvider getDefaultProvider();
@@ -37,6 +37,27 @@ public interface TransportStepPersistenceService {
     List<DomibusConnectorTransportStep> findPendingStepBy(
         DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName);
 
+    /**
+     * Returns the oldest pending transport steps of the link partner. Only the step with the
+     * highest attempt of a message is returned.
+     *
+     * @param linkPartnerName the name of the link partner
+     * @param maxResults      the maximum number of returned steps
+     * @return the pending steps, ordered by their creation date
+     */
+    List<DomibusConnectorTransportStep> findPendingStepBy(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName, int maxResults);
+
+    /**
+     * Returns the transport ids of the pending transport steps of the link partner, without
+     * reading the transported messages.
+     *
+     * @param linkPartnerName the name of the link partner
+     * @return the transport ids, ordered by the creation date of the steps
+     */
+    List<TransportStateService.TransportId> findPendingTransportIdsBy(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName);
+
     Optional<DomibusConnectorTransportStep> findStepById(
         TransportStateService.TransportId transportId);
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.controller.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorAction;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDetails;
+import eu.ecodex.connector.domain.model.DomibusConnectorParty;
+import eu.ecodex.connector.domain.model.DomibusConnectorService;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class CompiledRoutingRulesTest {
+    @Test
+    void testIndexedRule_isFound() {
+        var compiled = CompiledRoutingRules.compile(List.of(
+            createRule("r1", "backend_epo", 0, "equals(ServiceName, 'EPO_SERVICE')"),
+            createRule("r2", "backend_test", 0, "&(equals(Action, 'ConTest_Form'), "
+                + "equals(ServiceName, 'Connector-TEST'))")
+        ));
+
+        Optional<RoutingRule> rule =
+            compiled.findFirstMatchingRule(createMessage("EPO_SERVICE", "Form_A", "gw01"));
+
+        assertThat(rule).map(RoutingRule::getLinkName).contains("backend_epo");
+    }
+
+    @Test
+    void testHigherPriorityUnindexedRule_winsOverIndexedRule() {
+        var compiled = CompiledRoutingRules.compile(List.of(
+            createRule("r1", "backend_epo", 10, "equals(ServiceName, 'EPO_SERVICE')"),
+            createRule("r2", "backend_gw", 20,
+                       "|(equals(FromPartyId, 'gw01'), equals(FromPartyId, 'gw02'))"
+            ),
+            createRule("r3", "backend_start", 0, "startswith(ServiceName, 'EPO')")
+        ));
+
+        Optional<RoutingRule> rule =
+            compiled.findFirstMatchingRule(createMessage("EPO_SERVICE", "Form_A", "gw01"));
+
+        assertThat(rule).map(RoutingRule::getLinkName).contains("backend_gw");
+    }
+
+    @Test
+    void testNotMatchingIndexedRule_isSkipped() {
+        var compiled = CompiledRoutingRules.compile(List.of(
+            createRule("r1", "backend_epo", 20,
+                       "&(equals(ServiceName, 'EPO_SERVICE'), equals(Action, 'Form_B'))"
+            ),
+            createRule("r2", "backend_gw", 0, "not(equals(FromPartyId, 'gw02'))")
+        ));
+
+        Optional<RoutingRule> rule =
+            compiled.findFirstMatchingRule(createMessage("EPO_SERVICE", "Form_A", "gw01"));
+
+        assertThat(rule).map(RoutingRule::getLinkName).contains("backend_gw");
+    }
+
+    @Test
+    void testNoRuleMatches() {
+        var compiled = CompiledRoutingRules.compile(List.of(
+            createRule("r1", "backend_epo", 0, "equals(ServiceName, 'EPO_SERVICE')")
+        ));
+        var message = createMessage("OTHER", "Form_A", "gw01");
+        message.getMessageDetails().setFromParty(null);
+
+        assertThat(compiled.findFirstMatchingRule(message)).isEmpty();
+        assertThat(CompiledRoutingRules.empty().findFirstMatchingRule(message)).isEmpty();
+    }
+
+    private static RoutingRule createRule(
+        String id, String linkName, int priority, String pattern) {
+        var routingRule = new RoutingRule();
+        routingRule.setRoutingRuleId(id);
+        routingRule.setLinkName(linkName);
+        routingRule.setPriority(priority);
+        routingRule.setMatchClause(new RoutingRulePattern(pattern));
+        return routingRule;
+    }
+
+    private static DomibusConnectorMessage createMessage(
+        String service, String action, String fromPartyId) {
+        var message = new DomibusConnectorMessage();
+        message.setMessageDetails(new DomibusConnectorMessageDetails());
+        message.getMessageDetails().setAction(new DomibusConnectorAction());
+        message.getMessageDetails().getAction().setAction(action);
+        message.getMessageDetails().setService(new DomibusConnectorService());
+        message.getMessageDetails().getService().setService(service);
+        message.getMessageDetails().getService().setServiceType("urn:e-codex:services:");
+        message.getMessageDetails().setFromParty(new DomibusConnectorParty());
+        message.getMessageDetails().getFromParty().setPartyId(fromPartyId);
+        return message;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.domain.transformer;
+
+import eu.ecodex.connector.domain.enums.DomibusConnectorEvidenceType;
+import eu.ecodex.connector.domain.model.DetachedSignature;
+import eu.ecodex.connector.domain.model.DetachedSignatureMimeType;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageConfirmation;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageContent;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
+import eu.ecodex.connector.domain.model.LargeFileReference;
+import eu.ecodex.connector.domain.model.builder.DomibusConnectorMessageDocumentBuilder;
+import eu.ecodex.connector.domain.testutil.LargeFileReferenceGetSetBased;
+import eu.ecodex.connector.domain.transformer.util.InputStreamDataSource;
+import eu.ecodex.connector.domain.transition.DomibusConnectorDetachedSignatureMimeType;
+import eu.ecodex.connector.domain.transition.DomibusConnectorDetachedSignatureType;
+import eu.ecodex.connector.domain.transition.DomibusConnectorMessageContentType;
+import eu.ecodex.connector.domain.transition.DomibusConnectorMessageDocumentType;
+import eu.ecodex.connector.persistence.service.testutil.LargeFilePersistenceServicePassthroughImpl;
+import jakarta.activation.DataHandler;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.stream.StreamSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the allocations of the {@link DomibusConnectorDomainMessageTransformerService} for
+ * messages with large payloads. The storage does not hold any data, so the reported
+ * gc.alloc.rate.norm must stay far below the payload size if no full copy of the payload is made.
+ *
+ * <p>The main method enables the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomibusConnectorDomainMessageTransformerBenchmark {
+    @Param({"1048576", "16777216"})
+    public int size;
+    private DomibusConnectorDomainMessageTransformerService transformerService;
+    private byte[] payload;
+    private DomibusConnectorMessageContent domainContent;
+    private DomibusConnectorMessageConfirmation domainConfirmation;
+
+    /**
+     * Creates the transformer with a storage discarding all written data and the test messages.
+     */
+    @Setup
+    public void setUp() {
+        transformerService =
+            new DomibusConnectorDomainMessageTransformerService(new DiscardingStorage());
+        transformerService.messageIdThreadLocal.set(new DomibusConnectorMessageId("benchmark"));
+
+        payload = new byte[size];
+        new Random(size).nextBytes(payload);
+
+        var document = new LargeFileReferenceGetSetBased();
+        document.setBytes(payload);
+        domainContent = new DomibusConnectorMessageContent();
+        domainContent.setXmlContent("<xmlContent/>".getBytes());
+        domainContent.setDocument(DomibusConnectorMessageDocumentBuilder
+                                      .createBuilder()
+                                      .setName("document.pdf")
+                                      .setContent(document)
+                                      .withDetachedSignature(new DetachedSignature(
+                                          payload, "signature", DetachedSignatureMimeType.BINARY))
+                                      .build());
+        domainConfirmation = new DomibusConnectorMessageConfirmation(
+            DomibusConnectorEvidenceType.DELIVERY, payload);
+    }
+
+    @TearDown
+    public void tearDown() {
+        transformerService.messageIdThreadLocal.remove();
+    }
+
+    /**
+     * Transforms an outgoing message content and writes the document like an MTOM attachment.
+     */
+    @Benchmark
+    public Object contentDomainToTransition() throws IOException {
+        DomibusConnectorMessageContentType contentTO =
+            transformerService.transformMessageContentDomainToTransition(domainContent);
+        contentTO.getDocument().getDocument().writeTo(OutputStream.nullOutputStream());
+        return contentTO;
+    }
+
+    /**
+     * Transforms an incoming message content with a streamed (non stored) document.
+     */
+    @Benchmark
+    public Object contentTransitionToDomain() {
+        var contentTO = new DomibusConnectorMessageContentType();
+        contentTO.setXmlContent(
+            new StreamSource(new ByteArrayInputStream("<xmlContent/>".getBytes())));
+        var documentTO = new DomibusConnectorMessageDocumentType();
+        documentTO.setDocumentName("document.pdf");
+        documentTO.setDocument(new DataHandler(
+            InputStreamDataSource.inputStreamDataSourceFromByteArray(payload)));
+        var detachedSignatureTO = new DomibusConnectorDetachedSignatureType();
+        detachedSignatureTO.setDetachedSignature(payload);
+        detachedSignatureTO.setDetachedSignatureName("signature");
+        detachedSignatureTO.setMimeType(DomibusConnectorDetachedSignatureMimeType.BINARY);
+        documentTO.setDetachedSignature(detachedSignatureTO);
+        contentTO.setDocument(documentTO);
+        return transformerService.transformMessageContentTransitionToDomain(contentTO);
+    }
+
+    /**
+     * Transforms an outgoing evidence.
+     */
+    @Benchmark
+    public Object confirmationDomainToTransition() {
+        return transformerService.transformMessageConfirmationDomainToTransition(
+            domainConfirmation);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(DomibusConnectorDomainMessageTransformerBenchmark.class
+                                    .getSimpleName())
+                       .addProfiler("gc")
+                       .build()).run();
+    }
+
+    private static class DiscardingStorage extends LargeFilePersistenceServicePassthroughImpl {
+        @Override
+        public LargeFileReference createDomibusConnectorBigDataReference(
+            DomibusConnectorMessageId connectorMessageId, String documentName,
+            String documentContentType) {
+            return new LargeFileReference("discarded") {
+                @Override
+                public OutputStream getOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+        }
+    }
+}
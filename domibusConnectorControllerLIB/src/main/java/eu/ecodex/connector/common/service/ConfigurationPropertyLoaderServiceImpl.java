@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -33,6 +34,7 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyS
 import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
 import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.lang.Nullable;
@@ -41,9 +43,14 @@ import org.springframework.util.StringUtils;
 
 /**
  * This class is responsible for loading and managing configuration properties.
+ *
+ * <p>The snapshots returned by {@link #loadConfigurationSnapshot} are held per business domain,
+ * all snapshots of a business domain are dropped together when its configuration changes.
  */
 @Service
-public class ConfigurationPropertyLoaderServiceImpl implements ConfigurationPropertyManagerService {
+public class ConfigurationPropertyLoaderServiceImpl
+    implements ConfigurationPropertyManagerService,
+    ApplicationListener<BusinessDomainConfigurationChange> {
     private static final Logger LOGGER =
         LogManager.getLogger(ConfigurationPropertyLoaderServiceImpl.class);
     public static final String PROPERTY_CLASS_LOADING_MESSAGE = "Loading property class [{}]";
@@ -53,6 +60,8 @@ public class ConfigurationPropertyLoaderServiceImpl implements ConfigurationProp
     private final Validator validator;
     private final BeanToPropertyMapConverter beanToPropertyMapConverter;
     private final PropertyMapToBeanConverter propertyMapToBeanConverter;
+    private final Map<DomibusConnectorBusinessDomain.BusinessDomainId, Map<Class<?>, Object>>
+        configurationSnapshots = new ConcurrentHashMap<>();
 
     /**
      * This class is responsible for loading and managing configuration properties.
@@ -130,6 +139,40 @@ public class ConfigurationPropertyLoaderServiceImpl implements ConfigurationProp
         return this.loadConfiguration(laneId, clazz, prefix);
     }
 
+    @Override
+    public <T> T loadConfigurationSnapshot(
+        @Nullable DomibusConnectorBusinessDomain.BusinessDomainId laneId, Class<T> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("Clazz is not allowed to be null!");
+        }
+        if (laneId == null) {
+            return this.loadConfiguration(null, clazz);
+        }
+        // a change during binding detaches the domain map, so a stale snapshot is not kept
+        Map<Class<?>, Object> domainSnapshots =
+            configurationSnapshots.computeIfAbsent(laneId, id -> new ConcurrentHashMap<>());
+        return clazz.cast(
+            domainSnapshots.computeIfAbsent(clazz, c -> this.loadConfiguration(laneId, c)));
+    }
+
+    /**
+     * Drops the configuration snapshots of the changed business domain.
+     *
+     * @param event the configuration change
+     */
+    @Override
+    public void onApplicationEvent(BusinessDomainConfigurationChange event) {
+        if (event.getBusinessDomainId() == null) {
+            configurationSnapshots.clear();
+        } else {
+            configurationSnapshots.remove(event.getBusinessDomainId());
+        }
+        LOGGER.debug(
+            "Configuration of business domain [{}] changed, dropped configuration snapshots",
+            event.getBusinessDomainId()
+        );
+    }
+
     @Override
     public <T> T loadConfigurationOnlyFromMap(
         Map<String, String> map, Class<T> clazz, String prefix) {
@@ -45,10 +45,12 @@ import eu.ecodex.connector.domain.transition.DomibusConnectorServiceType;
 import eu.ecodex.connector.domain.transition.tools.ConversionTools;
 import eu.ecodex.connector.persistence.service.LargeFilePersistenceService;
 import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
 import jakarta.validation.constraints.NotNull;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.xml.transform.Source;
@@ -59,7 +61,6 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -308,15 +309,11 @@ public class DomibusConnectorDomainMessageTransformerService {
                 "evidenceType is not allowed to be null!");
         }
 
-        var streamSource = new StreamSource(new ByteArrayInputStream(
-            // byte[] is copied because domain model is not immutable
-            Arrays.copyOf(
-                messageConfirmation.getEvidence(), messageConfirmation.getEvidence().length)));
+        // the stream only reads the byte[], so there is no need to copy it
+        var streamSource =
+            new StreamSource(new ByteArrayInputStream(messageConfirmation.getEvidence()));
         confirmationTO.setConfirmation(streamSource);
 
-        // confirmationTO.setConfirmation(Arrays.copyOf(messageConfirmation.getEvidence(),
-        // messageConfirmation.getEvidence().length));
-
         confirmationTO.setConfirmationType(
             DomibusConnectorConfirmationType.valueOf(messageConfirmation.getEvidenceType().name()));
 
@@ -388,11 +385,8 @@ public class DomibusConnectorDomainMessageTransformerService {
                 new String(messageContent.getXmlContent())
             );
         }
-        var streamSource = new StreamSource(new ByteArrayInputStream(
-            // byte[] is copied because domain model is not immutable
-            // Arrays.copyOf(messageContent.getXmlContent(), messageContent.getXmlContent().length)
-            messageContent.getXmlContent()
-        ));
+        var streamSource =
+            new StreamSource(new ByteArrayInputStream(messageContent.getXmlContent()));
         messageContentTO.setXmlContent(streamSource);
 
         // maps Document of messageContent
@@ -409,11 +403,9 @@ public class DomibusConnectorDomainMessageTransformerService {
             var detachedSignature = document.getDetachedSignature();
             if (detachedSignature != null) {
                 var detachedSignatureTypeTO = new DomibusConnectorDetachedSignatureType();
+                // the byte[] is handed over as is, neither side modifies it
                 detachedSignatureTypeTO.setDetachedSignature(
-                    Arrays.copyOf(
-                        detachedSignature.getDetachedSignature(),
-                        detachedSignature.getDetachedSignature().length
-                    ));
+                    detachedSignature.getDetachedSignature());
                 detachedSignatureTypeTO.setDetachedSignatureName(
                     detachedSignature.getDetachedSignatureName());
                 detachedSignatureTypeTO.setMimeType(
@@ -433,14 +425,26 @@ public class DomibusConnectorDomainMessageTransformerService {
         return messageContentTO;
     }
 
+    /**
+     * Creates a DataHandler which is served directly from the storage of the large file, the
+     * content is only read when the DataHandler is written (e.g. as MTOM attachment).
+     *
+     * <p>The storage may return the reference of the message itself, so the mime type is not set
+     * on the reference but on the DataHandler.
+     *
+     * @param largeFileReference the reference to the stored large file
+     * @param mimeType           the mime type, if null the content type of the reference is used
+     * @return the DataHandler reading from the storage
+     */
     @NotNull
     DataHandler convertBigDataReferenceToDataHandler(
         @NotNull LargeFileReference largeFileReference, @Nullable String mimeType) {
-        if (mimeType == null) {
-            mimeType = "application/octet-stream";
-        }
         LargeFileReference readableDataSource =
             this.largeFilePersistenceService.getReadableDataSource(largeFileReference);
+        if (StringUtils.hasText(mimeType)
+            && !StringUtils.hasText(readableDataSource.getMimetype())) {
+            return new DataHandler(new MimeTypeDataSource(readableDataSource, mimeType));
+        }
         return new DataHandler(readableDataSource);
     }
 
@@ -608,10 +612,7 @@ public class DomibusConnectorDomainMessageTransformerService {
 
             if (detachedSignatureTO != null) {
                 var detachedSignature = new DetachedSignature(
-                    Arrays.copyOf(
-                        detachedSignatureTO.getDetachedSignature(),
-                        detachedSignatureTO.getDetachedSignature().length
-                    ),
+                    detachedSignatureTO.getDetachedSignature(),
                     detachedSignatureTO.getDetachedSignatureName(),
                     // eu.ecodex.connector.domain.model.DetachedSignatureMimeType
                     // .valueOf(detachedSignatureTO.getMimeType().name())
@@ -631,24 +632,46 @@ public class DomibusConnectorDomainMessageTransformerService {
         return messageContent;
     }
 
+    /**
+     * Converts a DataHandler into a LargeFileReference.
+     *
+     * <p>If the DataHandler is backed by a stored LargeFileReference of the message which is
+     * transformed, the reference is used as is. Otherwise the content is streamed straight into
+     * the default storage provider without holding the whole payload in memory, so the new
+     * message does not share a file with another message, which deletes it independently.
+     *
+     * @param dataHandler the DataHandler, e.g. an MTOM attachment
+     * @return the reference to the stored content
+     */
     @NotNull
     LargeFileReference convertDataHandlerToBigFileReference(DataHandler dataHandler) {
-        //        LargeFileHandlerBacked bigDataReference = new LargeFileHandlerBacked();
-        //        bigDataReference.setDataHandler(dataHandler);
-        //        return bigDataReference;
         var domibusConnectorMessageId = messageIdThreadLocal.get();
+        if (dataHandler.getDataSource() instanceof LargeFileReference largeFileReference
+            && isReferenceOfMessage(largeFileReference, domibusConnectorMessageId)) {
+            LOGGER.trace("Passing through large file reference [{}]", largeFileReference);
+            return largeFileReference;
+        }
         LargeFileReference domibusConnectorBigDataReference =
             largeFilePersistenceService.createDomibusConnectorBigDataReference(
                 domibusConnectorMessageId, dataHandler.getName(), dataHandler.getContentType());
         try (var is = dataHandler.getInputStream();
              var os = domibusConnectorBigDataReference.getOutputStream()) {
-            StreamUtils.copy(is, os);
+            is.transferTo(os);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
         return domibusConnectorBigDataReference;
     }
 
+    private boolean isReferenceOfMessage(
+        LargeFileReference largeFileReference,
+        @Nullable DomibusConnectorMessageId domibusConnectorMessageId) {
+        return domibusConnectorMessageId != null
+            && largeFilePersistenceService.isStorageProviderAvailable(largeFileReference)
+            && largeFilePersistenceService.getAvailableReferences(domibusConnectorMessageId)
+                                          .contains(largeFileReference);
+    }
+
     @NotNull
     DomibusConnectorMessageDetails transformMessageDetailsTransitionToDomain(
         final @NotNull DomibusConnectorMessageDetailsType messageDetailsTO) {
@@ -694,4 +717,30 @@ public class DomibusConnectorDomainMessageTransformerService {
 
         return messageDetails;
     }
+
+    /**
+     * Serves a large file with a mime type which is not stored with the reference.
+     */
+    private record MimeTypeDataSource(LargeFileReference largeFileReference, String mimeType)
+        implements DataSource {
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return largeFileReference.getInputStream();
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            return largeFileReference.getOutputStream();
+        }
+
+        @Override
+        public String getContentType() {
+            return mimeType;
+        }
+
+        @Override
+        public String getName() {
+            return largeFileReference.getName();
+        }
+    }
 }
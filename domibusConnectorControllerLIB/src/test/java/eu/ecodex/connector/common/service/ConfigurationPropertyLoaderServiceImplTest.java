@@ -105,6 +105,36 @@ class ConfigurationPropertyLoaderServiceImplTest {
             "Connector serviceType must be").isEqualTo("serviceType");
     }
 
+    @Test
+    void loadConfigurationSnapshot_isBoundOnce() {
+        var laneId = DomibusConnectorBusinessDomain.getDefaultMessageLaneId();
+        propertyLoaderService.onApplicationEvent(
+            new BusinessDomainConfigurationChange(this, laneId, Map.of()));
+
+        EvidenceActionServiceConfigurationProperties snapshot =
+            propertyLoaderService.loadConfigurationSnapshot(
+                laneId, EvidenceActionServiceConfigurationProperties.class);
+
+        assertThat(snapshot.getRetrieval().getAction().getAction()).isEqualTo("retrievalAction");
+        assertThat(propertyLoaderService.loadConfigurationSnapshot(
+            laneId, EvidenceActionServiceConfigurationProperties.class)).isSameAs(snapshot);
+        Mockito.verify(dcBusinessDomainManagerImpl, Mockito.times(1)).getBusinessDomain(laneId);
+    }
+
+    @Test
+    void loadConfigurationSnapshot_configurationChange_isBoundAgain() {
+        var laneId = DomibusConnectorBusinessDomain.getDefaultMessageLaneId();
+        EvidenceActionServiceConfigurationProperties snapshot =
+            propertyLoaderService.loadConfigurationSnapshot(
+                laneId, EvidenceActionServiceConfigurationProperties.class);
+
+        propertyLoaderService.onApplicationEvent(
+            new BusinessDomainConfigurationChange(this, laneId, Map.of()));
+
+        assertThat(propertyLoaderService.loadConfigurationSnapshot(
+            laneId, EvidenceActionServiceConfigurationProperties.class)).isNotSameAs(snapshot);
+    }
+
     @SuppressWarnings("squid:S1135")
     @Test
     // TODO: repair Test!
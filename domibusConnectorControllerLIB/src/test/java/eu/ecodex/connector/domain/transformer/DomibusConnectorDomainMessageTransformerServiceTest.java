@@ -23,8 +23,11 @@ import eu.ecodex.connector.domain.model.DomibusConnectorMessageDetails;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageDocument;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageError;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
+import eu.ecodex.connector.domain.model.LargeFileReference;
 import eu.ecodex.connector.domain.testutil.DomainEntityCreator;
+import eu.ecodex.connector.domain.testutil.LargeFileReferenceGetSetBased;
 import eu.ecodex.connector.domain.transformer.DomibusConnectorDomainMessageTransformerService.CannotBeMappedToTransitionException;
+import eu.ecodex.connector.domain.transformer.testutil.DataHandlerCreator;
 import eu.ecodex.connector.domain.transition.DomibusConnectorActionType;
 import eu.ecodex.connector.domain.transition.DomibusConnectorConfirmationType;
 import eu.ecodex.connector.domain.transition.DomibusConnectorDetachedSignatureType;
@@ -43,10 +46,12 @@ import jakarta.activation.DataHandler;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.util.StreamUtils;
 
 @SuppressWarnings("squid:S1135")
@@ -524,6 +529,65 @@ class DomibusConnectorDomainMessageTransformerServiceTest {
         assertThat(messageContent.getDocument().getDetachedSignature()).isNull();
     }
 
+    @Test
+    void testConvertDataHandlerToBigFileReference_referenceOfMessage_isPassedThrough() {
+        var largeFileReference = new LargeFileReferenceGetSetBased();
+        largeFileReference.setBytes("document".getBytes());
+        var largeFilePersistenceService = Mockito.spy(mockedLargeFilePersistenceService);
+        Mockito.doReturn(List.of(largeFileReference))
+               .when(largeFilePersistenceService)
+               .getAvailableReferences(new DomibusConnectorMessageId("id1"));
+        transformerService =
+            new DomibusConnectorDomainMessageTransformerService(largeFilePersistenceService);
+        transformerService.messageIdThreadLocal.set(new DomibusConnectorMessageId("id1"));
+
+        LargeFileReference result = transformerService.convertDataHandlerToBigFileReference(
+            new DataHandler(largeFileReference));
+
+        assertThat(result).isSameAs(largeFileReference);
+    }
+
+    @Test
+    void testConvertDataHandlerToBigFileReference_referenceOfOtherMessage_isCopied()
+        throws IOException {
+        var largeFileReference = new LargeFileReferenceGetSetBased();
+        largeFileReference.setBytes("document".getBytes());
+
+        LargeFileReference result = transformerService.convertDataHandlerToBigFileReference(
+            new DataHandler(largeFileReference));
+
+        assertThat(result).isNotSameAs(largeFileReference).isNotEqualTo(largeFileReference);
+        try (InputStream is = result.getInputStream()) {
+            assertThat(is).hasContent("document");
+        }
+    }
+
+    @Test
+    void testConvertBigDataReferenceToDataHandler_withMimeType_doesNotChangeReference() {
+        var largeFileReference = new LargeFileReferenceGetSetBased();
+        largeFileReference.setBytes("document".getBytes());
+
+        DataHandler dataHandler = transformerService.convertBigDataReferenceToDataHandler(
+            largeFileReference, "application/pdf");
+
+        assertThat(dataHandler.getContentType()).isEqualTo("application/pdf");
+        assertThat(largeFileReference.getMimetype()).isEmpty();
+        compareDataHandlerContent(dataHandler, "document");
+    }
+
+    @Test
+    void testConvertDataHandlerToBigFileReference_otherDataSource_isStreamedIntoStorage()
+        throws IOException {
+        DataHandler dataHandler = DataHandlerCreator.createDataHandlerFromString("attachment");
+
+        LargeFileReference result =
+            transformerService.convertDataHandlerToBigFileReference(dataHandler);
+
+        try (InputStream is = result.getInputStream()) {
+            assertThat(is).hasContent("attachment");
+        }
+    }
+
     @Test
     void testTransformMessageDetailsTransitionToDomain() {
         DomibusConnectorMessageDetailsType messageDetailsTO =
@@ -10,6 +10,9 @@
 
 package eu.ecodex.connector.dss.configuration;
 
+import eu.ecodex.connector.dss.service.CachingCRLSource;
+import eu.ecodex.connector.dss.service.CachingOCSPSource;
+import eu.ecodex.connector.persistence.service.DCRevocationCachePersistenceService;
 import eu.ecodex.connector.tools.logging.LoggingMarker;
 import eu.europa.esig.dss.service.NonceSource;
 import eu.europa.esig.dss.service.SecureRandomNonceSource;
@@ -22,6 +25,8 @@ import eu.europa.esig.dss.service.http.proxy.ProxyProperties;
 import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
 import eu.europa.esig.dss.service.tsp.OnlineTSPSource;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.CompositeTSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
 import java.util.Map;
@@ -29,6 +34,8 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,6 +52,8 @@ public class BasicDssConfiguration {
     public static final String DEFAULT_DATALOADER_BEAN_NAME = "defaultDataLoader";
     public static final String DEFAULT_OCSP_SOURCE_BEAN_NAME = "defaultOcspLoader";
     public static final String DEFAULT_CRL_SOURCE_BEAN_NAME = "defaultCrlLoader";
+    public static final String CACHED_OCSP_SOURCE_BEAN_NAME = "cachedOcspSource";
+    public static final String CACHED_CRL_SOURCE_BEAN_NAME = "cachedCrlSource";
     public static final String DEFAULT_TIMESTAMPE_SOURCE_BEAN_NAME =
         "defaultCompositeTimestampSource";
 
@@ -227,6 +236,74 @@ public class BasicDssConfiguration {
         return onlineCRLSource;
     }
 
+    /**
+     * Returns the OCSP source used for the certificate validation, which caches the responses of
+     * the default OnlineOCSPSource if the revocation cache is enabled.
+     *
+     * @param onlineOCSPSource                the default OnlineOCSPSource
+     * @param basicDssConfigurationProperties the basic DSS configuration properties object
+     * @param persistenceService              the persistence service used if the database tier
+     *                                        of the revocation cache is enabled
+     * @return the OCSP source
+     */
+    @Bean(name = CACHED_OCSP_SOURCE_BEAN_NAME)
+    public OCSPSource cachedOcspSource(
+        @Qualifier(DEFAULT_OCSP_SOURCE_BEAN_NAME) OnlineOCSPSource onlineOCSPSource,
+        BasicDssConfigurationProperties basicDssConfigurationProperties,
+        ObjectProvider<DCRevocationCachePersistenceService> persistenceService) {
+        var revocationCache = basicDssConfigurationProperties.getRevocationCache();
+        if (!revocationCache.isEnabled()) {
+            return onlineOCSPSource;
+        }
+        return new CachingOCSPSource(
+            onlineOCSPSource, revocationCache,
+            getRevocationCachePersistenceService(revocationCache, persistenceService)
+        );
+    }
+
+    /**
+     * Returns the CRL source used for the certificate validation, which caches the CRLs of the
+     * default OnlineCRLSource if the revocation cache is enabled.
+     *
+     * @param onlineCRLSource                 the default OnlineCRLSource
+     * @param basicDssConfigurationProperties the basic DSS configuration properties object
+     * @param persistenceService              the persistence service used if the database tier
+     *                                        of the revocation cache is enabled
+     * @return the CRL source
+     */
+    @Bean(name = CACHED_CRL_SOURCE_BEAN_NAME)
+    public CRLSource cachedCrlSource(
+        @Qualifier(DEFAULT_CRL_SOURCE_BEAN_NAME) OnlineCRLSource onlineCRLSource,
+        BasicDssConfigurationProperties basicDssConfigurationProperties,
+        ObjectProvider<DCRevocationCachePersistenceService> persistenceService) {
+        var revocationCache = basicDssConfigurationProperties.getRevocationCache();
+        if (!revocationCache.isEnabled()) {
+            return onlineCRLSource;
+        }
+        return new CachingCRLSource(
+            onlineCRLSource, revocationCache,
+            getRevocationCachePersistenceService(revocationCache, persistenceService)
+        );
+    }
+
+    private DCRevocationCachePersistenceService getRevocationCachePersistenceService(
+        BasicDssConfigurationProperties.RevocationCache revocationCache,
+        ObjectProvider<DCRevocationCachePersistenceService> persistenceService) {
+        if (!revocationCache.isDatabaseEnabled()) {
+            return null;
+        }
+        var service = persistenceService.getIfAvailable();
+        if (service == null) {
+            LOGGER.warn(
+                LoggingMarker.Log4jMarker.CONFIG,
+                "{}.revocation-cache.database-enabled is set, but there is no persistence "
+                    + "service. Revocation data is only cached in memory!",
+                BasicDssConfigurationProperties.PREFIX
+            );
+        }
+        return service;
+    }
+
     @Bean(name = DEFAULT_TIMESTAMPE_SOURCE_BEAN_NAME)
     CompositeTSPSource compositeTSPSource(
         ProxyConfig proxyConfig, NonceSource nonceSource,
@@ -12,6 +12,7 @@ package eu.ecodex.connector.dss.configuration;
 
 import eu.europa.esig.dss.service.http.proxy.ProxyProperties;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.nio.file.Path;
@@ -44,7 +45,12 @@ public class BasicDssConfigurationProperties {
     @NotNull
     private Duration tlCacheExpiration = Duration.ofDays(1);
     @NotNull
+    private Duration tlRefreshInterval = Duration.ofDays(1);
+    @NotNull
     private Path tlCacheLocation = Paths.get("./tlcache");
+    @Valid
+    @NestedConfigurationProperty
+    private RevocationCache revocationCache = new RevocationCache();
 
     /**
      * This class represents a TSP (Time Stamping Protocol) configuration.
@@ -58,4 +64,26 @@ public class BasicDssConfigurationProperties {
         private String url;
         private String policyOid;
     }
+
+    /**
+     * This class represents the configuration of the cache for the OCSP responses and CRLs,
+     * which are fetched during the certificate validation.
+     *
+     * <p>A cached response is used until its next update, but not longer than the time to live.
+     */
+    @Valid
+    @Getter
+    @Setter
+    public static class RevocationCache {
+        private boolean enabled = true;
+        @Min(1)
+        private int maxSize = 1000;
+        @NotNull
+        private Duration timeToLive = Duration.ofHours(1);
+        /**
+         * Also stores the responses in the connector database, so they are shared by the
+         * connector instances and survive a restart.
+         */
+        private boolean databaseEnabled = false;
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.dss.service;
+
+import eu.ecodex.connector.dss.configuration.BasicDssConfigurationProperties;
+import eu.ecodex.connector.persistence.service.DCRevocationCachePersistenceService;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.utils.Utils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.lang.Nullable;
+
+/**
+ * CRL source which caches the CRLs fetched by another CRL source.
+ *
+ * <p>Like the JDBC CRL source of DSS a CRL is cached once for its issuer and distribution points
+ * and not per certificate, the status of each certificate is evaluated against the shared CRL.
+ *
+ * @see CachingRevocationSource
+ */
+public class CachingCRLSource extends CachingRevocationSource<CRLToken> implements CRLSource {
+    private final CRLSource crlSource;
+
+    /**
+     * Creates the caching CRL source.
+     *
+     * @param crlSource          the CRL source used if no CRL is cached
+     * @param config             the cache configuration
+     * @param persistenceService the persistence service of the database tier, null if the CRLs
+     *                           are only cached in memory
+     */
+    public CachingCRLSource(
+        CRLSource crlSource, BasicDssConfigurationProperties.RevocationCache config,
+        @Nullable DCRevocationCachePersistenceService persistenceService) {
+        super(config, persistenceService);
+        this.crlSource = crlSource;
+    }
+
+    @Override
+    public CRLToken getRevocationToken(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return getCachedRevocationToken(certificateToken, issuerCertificateToken);
+    }
+
+    @Override
+    protected CRLToken fetchRevocationToken(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return crlSource.getRevocationToken(certificateToken, issuerCertificateToken);
+    }
+
+    @Override
+    protected String getRevocationKey(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        var revocationKey = "CRL:" + issuerCertificateToken.getDSSIdAsString();
+        // an issuer may partition its CRLs, so certificates with other distribution points
+        // must not share the CRL; the urls are hashed to fit into the key column
+        var crlUrls = CertificateExtensionsUtils.getCRLAccessUrls(certificateToken);
+        if (!crlUrls.isEmpty()) {
+            var urls = String.join(" ", crlUrls.stream().sorted().toList());
+            revocationKey += ":" + Utils.toHex(DSSUtils.digest(
+                DigestAlgorithm.SHA256, urls.getBytes(StandardCharsets.UTF_8)));
+        }
+        return revocationKey;
+    }
+
+    @Override
+    protected CRLToken forCertificate(
+        CRLToken token, CertificateToken certificateToken,
+        CertificateToken issuerCertificateToken) {
+        if (certificateToken.getDSSIdAsString().equals(token.getRelatedCertificateId())) {
+            return token;
+        }
+        var crlToken = new CRLToken(certificateToken, token.getCrlValidity());
+        crlToken.setSourceURL(token.getSourceURL());
+        crlToken.setExternalOrigin(token.getExternalOrigin());
+        return crlToken;
+    }
+
+    @Override
+    protected byte[] encode(CRLToken token) {
+        return token.getEncoded();
+    }
+
+    @Override
+    protected CRLToken decode(
+        byte[] data, CertificateToken certificateToken, CertificateToken issuerCertificateToken)
+        throws IOException {
+        var crlValidity =
+            CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(data), issuerCertificateToken);
+        return new CRLToken(certificateToken, crlValidity);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.dss.service;
+
+import eu.ecodex.connector.dss.configuration.BasicDssConfigurationProperties;
+import eu.ecodex.connector.persistence.service.DCRevocationCachePersistenceService;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import java.io.IOException;
+import org.bouncycastle.asn1.ocsp.BasicOCSPResponse;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.springframework.lang.Nullable;
+
+/**
+ * OCSP source which caches the OCSP responses fetched by another OCSP source.
+ *
+ * @see CachingRevocationSource
+ */
+public class CachingOCSPSource extends CachingRevocationSource<OCSPToken>
+    implements OCSPSource {
+    private final OCSPSource ocspSource;
+
+    /**
+     * Creates the caching OCSP source.
+     *
+     * @param ocspSource         the OCSP source used if no response is cached
+     * @param config             the cache configuration
+     * @param persistenceService the persistence service of the database tier, null if the
+     *                           responses are only cached in memory
+     */
+    public CachingOCSPSource(
+        OCSPSource ocspSource, BasicDssConfigurationProperties.RevocationCache config,
+        @Nullable DCRevocationCachePersistenceService persistenceService) {
+        super(config, persistenceService);
+        this.ocspSource = ocspSource;
+    }
+
+    @Override
+    public OCSPToken getRevocationToken(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return getCachedRevocationToken(certificateToken, issuerCertificateToken);
+    }
+
+    @Override
+    protected OCSPToken fetchRevocationToken(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return ocspSource.getRevocationToken(certificateToken, issuerCertificateToken);
+    }
+
+    @Override
+    protected String getRevocationKey(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        // an OCSP response is only valid for the requested certificate
+        return "OCSP:" + certificateToken.getDSSIdAsString() + ":"
+            + issuerCertificateToken.getDSSIdAsString();
+    }
+
+    @Override
+    protected byte[] encode(OCSPToken token) throws IOException {
+        return token.getBasicOCSPResp().getEncoded();
+    }
+
+    @Override
+    protected OCSPToken decode(
+        byte[] data, CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        var basicOCSPResp = new BasicOCSPResp(BasicOCSPResponse.getInstance(data));
+        var singleResp = DSSRevocationUtils.getLatestSingleResponse(
+            basicOCSPResp, certificateToken, issuerCertificateToken);
+        if (singleResp == null) {
+            return null;
+        }
+        return new OCSPToken(basicOCSPResp, singleResp, certificateToken, issuerCertificateToken);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.dss.service;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorRevocationData;
+import eu.ecodex.connector.dss.configuration.BasicDssConfigurationProperties;
+import eu.ecodex.connector.persistence.service.DCRevocationCachePersistenceService;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.lang.Nullable;
+
+/**
+ * Caches the revocation tokens fetched by a revocation source, which is usually an online source.
+ *
+ * <p>The tokens are held in memory, the least recently used token is evicted if the maximum size
+ * has been reached. If a persistence service is given, the encoded tokens are also stored in the
+ * connector database and read from there if they are not found in memory.
+ *
+ * <p>A token is used until its next update, but not longer than the configured time to live. A
+ * token without next update is used for the time to live.
+ *
+ * <p>The cache key is defined by the subclass, a token cached for one certificate may be used for
+ * another certificate with the same key, see {@link #forCertificate}.
+ *
+ * @param <T> the type of the revocation token
+ */
+public abstract class CachingRevocationSource<T extends RevocationToken<?>> {
+    private static final Logger LOGGER = LogManager.getLogger(CachingRevocationSource.class);
+    private final Duration timeToLive;
+    private final DCRevocationCachePersistenceService persistenceService;
+    private final Map<String, CachedToken<T>> memoryCache;
+    private volatile Instant nextDatabaseCleanup = Instant.EPOCH;
+
+    /**
+     * Creates the caching revocation source.
+     *
+     * @param config             the cache configuration
+     * @param persistenceService the persistence service of the database tier, null if the tokens
+     *                           are only cached in memory
+     */
+    protected CachingRevocationSource(
+        BasicDssConfigurationProperties.RevocationCache config,
+        @Nullable DCRevocationCachePersistenceService persistenceService) {
+        this.timeToLive = config.getTimeToLive();
+        this.persistenceService = persistenceService;
+        var maxSize = config.getMaxSize();
+        this.memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedToken<T>> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached token of the certificate or fetches it if no valid token is cached.
+     *
+     * @param certificateToken       the certificate
+     * @param issuerCertificateToken the issuer of the certificate
+     * @return the token, null if it cannot be fetched
+     */
+    protected T getCachedRevocationToken(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        var revocationKey = getRevocationKey(certificateToken, issuerCertificateToken);
+        var now = Instant.now();
+
+        var cachedToken = memoryCache.get(revocationKey);
+        if (cachedToken != null && cachedToken.expires().isAfter(now)) {
+            LOGGER.trace("Using cached revocation token [{}]", revocationKey);
+            return forCertificate(cachedToken.token(), certificateToken, issuerCertificateToken);
+        }
+        if (persistenceService != null) {
+            var storedToken =
+                loadFromDatabase(revocationKey, now, certificateToken, issuerCertificateToken);
+            if (storedToken != null) {
+                return storedToken;
+            }
+        }
+
+        var token = fetchRevocationToken(certificateToken, issuerCertificateToken);
+        if (token == null) {
+            return null;
+        }
+        var expires = getExpires(token, now);
+        if (expires.isAfter(now)) {
+            memoryCache.put(revocationKey, new CachedToken<>(token, expires));
+            if (persistenceService != null) {
+                storeInDatabase(revocationKey, token, expires, now);
+            }
+        }
+        return token;
+    }
+
+    private Instant getExpires(T token, Instant now) {
+        var expires = now.plus(timeToLive);
+        if (token.getNextUpdate() != null && token.getNextUpdate().toInstant().isBefore(expires)) {
+            expires = token.getNextUpdate().toInstant();
+        }
+        return expires;
+    }
+
+    private T loadFromDatabase(
+        String revocationKey, Instant now, CertificateToken certificateToken,
+        CertificateToken issuerCertificateToken) {
+        try {
+            var revocationData = persistenceService.findRevocationData(
+                revocationKey, now.atZone(ZoneId.systemDefault()));
+            if (revocationData.isEmpty()) {
+                return null;
+            }
+            var token = decode(
+                revocationData.get().getData(), certificateToken, issuerCertificateToken);
+            if (token == null) {
+                return null;
+            }
+            token.setSourceURL(revocationData.get().getSourceUrl());
+            token.setExternalOrigin(RevocationOrigin.CACHED);
+            memoryCache.put(
+                revocationKey,
+                new CachedToken<>(token, revocationData.get().getExpires().toInstant())
+            );
+            LOGGER.trace("Using revocation token [{}] from database", revocationKey);
+            return token;
+        } catch (Exception e) {
+            LOGGER.warn("Cannot read revocation token [{}] from database", revocationKey, e);
+            return null;
+        }
+    }
+
+    private void storeInDatabase(String revocationKey, T token, Instant expires, Instant now) {
+        try {
+            var revocationData = new DomibusConnectorRevocationData();
+            revocationData.setRevocationKey(revocationKey);
+            revocationData.setData(encode(token));
+            revocationData.setSourceUrl(token.getSourceURL());
+            revocationData.setExpires(expires.atZone(ZoneId.systemDefault()));
+            persistenceService.saveRevocationData(revocationData);
+
+            if (now.isAfter(nextDatabaseCleanup)) {
+                nextDatabaseCleanup = now.plus(timeToLive);
+                persistenceService.deleteExpiredRevocationData(now.atZone(ZoneId.systemDefault()));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Cannot store revocation token [{}] in database", revocationKey, e);
+        }
+    }
+
+    /**
+     * Fetches the token of the certificate, e.g. from the online source.
+     *
+     * @param certificateToken       the certificate
+     * @param issuerCertificateToken the issuer of the certificate
+     * @return the token, null if it cannot be fetched
+     */
+    protected abstract T fetchRevocationToken(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken);
+
+    /**
+     * Returns the key under which the token of the certificate is cached in memory and in the
+     * database.
+     *
+     * @param certificateToken       the certificate
+     * @param issuerCertificateToken the issuer of the certificate
+     * @return the cache key, not longer than 255 characters
+     */
+    protected abstract String getRevocationKey(
+        CertificateToken certificateToken, CertificateToken issuerCertificateToken);
+
+    /**
+     * Returns the token of the certificate for a token found in the memory cache, which may have
+     * been fetched for another certificate with the same cache key.
+     *
+     * @param token                  the cached token
+     * @param certificateToken       the certificate
+     * @param issuerCertificateToken the issuer of the certificate
+     * @return the token of the certificate, the cached token by default
+     */
+    protected T forCertificate(
+        T token, CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+        return token;
+    }
+
+    /**
+     * Encodes the token to store it in the database.
+     *
+     * @param token the token
+     * @return the encoded revocation data
+     * @throws Exception if the token cannot be encoded
+     */
+    protected abstract byte[] encode(T token) throws Exception;
+
+    /**
+     * Creates the token of the certificate from the revocation data stored in the database.
+     *
+     * @param data                   the encoded revocation data
+     * @param certificateToken       the certificate
+     * @param issuerCertificateToken the issuer of the certificate
+     * @return the token, null if the revocation data does not contain the certificate
+     * @throws Exception if the revocation data cannot be decoded
+     */
+    protected abstract T decode(
+        byte[] data, CertificateToken certificateToken, CertificateToken issuerCertificateToken)
+        throws Exception;
+
+    private record CachedToken<T>(T token, Instant expires) {
+    }
+}
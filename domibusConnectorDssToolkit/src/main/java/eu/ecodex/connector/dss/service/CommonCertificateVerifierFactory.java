@@ -10,11 +10,11 @@
 
 package eu.ecodex.connector.dss.service;
 
+import static eu.ecodex.connector.dss.configuration.BasicDssConfiguration.CACHED_CRL_SOURCE_BEAN_NAME;
+import static eu.ecodex.connector.dss.configuration.BasicDssConfiguration.CACHED_OCSP_SOURCE_BEAN_NAME;
 import static eu.ecodex.connector.dss.configuration.BasicDssConfiguration.DEFAULT_DATALOADER_BEAN_NAME;
 
 import eu.ecodex.connector.dss.configuration.CertificateVerifierConfigurationProperties;
-import eu.europa.esig.dss.service.crl.OnlineCRLSource;
-import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
@@ -39,8 +39,8 @@ import org.springframework.util.StringUtils;
 @Service
 public class CommonCertificateVerifierFactory {
     static Logger LOGGER = LogManager.getLogger(CommonCertificateVerifierFactory.class);
-    private final OnlineCRLSource onlineCRLSource;
-    private final OnlineOCSPSource onlineOCSPSource;
+    private final CRLSource crlSource;
+    private final OCSPSource ocspSource;
     private final CertificateSourceFromKeyStoreCreator certificateSourceFromKeyStoreCreator;
     private final DSSTrustedListsManager trustedListsManager;
     private final DataLoader dataLoader;
@@ -51,14 +51,14 @@ public class CommonCertificateVerifierFactory {
      */
     public CommonCertificateVerifierFactory(
         @Qualifier(DEFAULT_DATALOADER_BEAN_NAME) DataLoader defaultDataLoader,
-        OnlineCRLSource onlineCRLSource,
-        OnlineOCSPSource onlineOCSPSource,
+        @Qualifier(CACHED_CRL_SOURCE_BEAN_NAME) CRLSource crlSource,
+        @Qualifier(CACHED_OCSP_SOURCE_BEAN_NAME) OCSPSource ocspSource,
         CertificateSourceFromKeyStoreCreator certificateSourceFromKeyStoreCreator,
         DSSTrustedListsManager trustedListsManager
     ) {
         this.dataLoader = defaultDataLoader;
-        this.onlineCRLSource = onlineCRLSource;
-        this.onlineOCSPSource = onlineOCSPSource;
+        this.crlSource = crlSource;
+        this.ocspSource = ocspSource;
         this.certificateSourceFromKeyStoreCreator = certificateSourceFromKeyStoreCreator;
         this.trustedListsManager = trustedListsManager;
     }
@@ -75,9 +75,6 @@ public class CommonCertificateVerifierFactory {
         CertificateVerifierConfigurationProperties certificateVerifierConfig) {
         var commonCertificateVerifier = new CommonCertificateVerifier(true);
 
-        CRLSource crlSource;
-        OCSPSource ocspSource;
-
         if (certificateVerifierConfig.isAiaEnabled()) {
             LOGGER.debug("AIA loading is enabled");
             AIASource aiaSource = new DefaultAIASource(dataLoader);
@@ -86,7 +83,6 @@ public class CommonCertificateVerifierFactory {
             LOGGER.debug("AIA loading is NOT enabled");
         }
         if (certificateVerifierConfig.isOcspEnabled()) {
-            ocspSource = onlineOCSPSource;
             commonCertificateVerifier.setOcspSource(ocspSource);
             LOGGER.debug("OCSP checking is enabled");
         } else {
@@ -94,7 +90,6 @@ public class CommonCertificateVerifierFactory {
         }
         if (certificateVerifierConfig.isCrlEnabled()) {
             LOGGER.debug("CRL checking is enabled");
-            crlSource = onlineCRLSource;
             commonCertificateVerifier.setCrlSource(crlSource);
         } else {
             LOGGER.debug("CRL checking is NOT enabled");
@@ -29,11 +29,16 @@ import eu.europa.esig.dss.tsl.job.TLValidationJob;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.tsl.source.TLSource;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -44,7 +49,11 @@ import org.springframework.util.StringUtils;
 /**
  * Runs the DSS TSL (Trusted Lists, Trusted Lists of Lists) validation on Startup.
  *
- * <p>Registers also a timer job for that purpose
+ * <p>On startup the trusted lists are only loaded from the TL cache directory. The download of the
+ * trusted lists runs in the background, right after startup and then every
+ * {@link BasicDssConfigurationProperties#getTlRefreshInterval()}. Every refresh fills a new
+ * {@link TrustedListsCertificateSource}, which replaces the previous one when it is complete. So
+ * validations which are running during a refresh keep using the previous trusted lists.
  */
 @SuppressWarnings("squid:S1135")
 @Component
@@ -54,7 +63,12 @@ public class DSSTrustedListsManager {
     private final DCKeyStoreService dcKeyStoreService;
     private final DataLoader dataLoader;
     private final Map<String, TrustedListsCertificateSource> trustedListsCertificateSourceMap =
-        new HashMap<>();
+        new ConcurrentHashMap<>();
+    /**
+     * The validation jobs are only used by the refresh thread after the initialization.
+     */
+    private final Map<String, TLValidationJob> tlValidationJobs = new HashMap<>();
+    private ScheduledExecutorService refreshExecutor;
 
     /**
      * Initializes an instance of DSSTrustedListsManager with the given parameters.
@@ -77,12 +91,62 @@ public class DSSTrustedListsManager {
      * Initializes the DSSTrustedListsManager by iterating over the trust list sources and calling
      * the initTrustSource method for each source. This method is annotated with @PostConstruct to
      * ensure that it is automatically called after the DSSTrustedListsManager bean is constructed.
+     * Afterwards the background refresh of the trust list sources is started.
      */
     @PostConstruct
     public void init() {
         Map<String, TrustListSourceConfigurationProperties> trustSource =
             basicDssConfigurationProperties.getTrustListSources();
         trustSource.forEach(this::initTrustSource);
+        if (tlValidationJobs.isEmpty()) {
+            return;
+        }
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "dss-tl-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshExecutor.scheduleWithFixedDelay(
+            this::refreshTrustSources, 0,
+            basicDssConfigurationProperties.getTlRefreshInterval().toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Stops the background refresh of the trust list sources.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Downloads all trust list sources and replaces their certificate sources. A source which
+     * cannot be refreshed keeps its previous certificate source.
+     */
+    synchronized void refreshTrustSources() {
+        tlValidationJobs.forEach(this::refreshTrustSource);
+    }
+
+    private void refreshTrustSource(String s, TLValidationJob tlValidationJob) {
+        try {
+            var trustedListsCertificateSource = new TrustedListsCertificateSource();
+            tlValidationJob.setTrustedListCertificateSource(trustedListsCertificateSource);
+            tlValidationJob.onlineRefresh();
+            trustedListsCertificateSourceMap.put(s, trustedListsCertificateSource);
+            LOGGER.info(
+                "Refreshed TrustedListsCertificateSource with name [{}], [{}] certificates",
+                s, trustedListsCertificateSource.getNumberOfCertificates()
+            );
+        } catch (RuntimeException e) {
+            LOGGER.warn(
+                "Failed to refresh TrustedListsCertificateSource with name [{}], "
+                    + "the previous one is used", s, e
+            );
+        }
     }
 
     private void initTrustSource(
@@ -113,14 +177,12 @@ public class DSSTrustedListsManager {
 
         tlValidationJob.offlineRefresh();
 
-        tlValidationJob.onlineRefresh();
-
         LOGGER.info(
             LoggingMarker.Log4jMarker.CONFIG,
             "Configured TrustedListsCertificateSource with name [{}]", s
         );
         trustedListsCertificateSourceMap.put(s, trustedListsCertificateSource);
-        // TODO: register quartz job!
+        tlValidationJobs.put(s, tlValidationJob);
         // TODO: update on config changes...
     }
 
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.dss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorRevocationData;
+import eu.ecodex.connector.dss.configuration.BasicDssConfigurationProperties;
+import eu.ecodex.connector.persistence.service.DCRevocationCachePersistenceService;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the database tier of the revocation cache with a CRL signed by a generated issuer.
+ */
+class CachingCRLSourceTest {
+    private static final X500Name ISSUER_NAME = new X500Name("CN=Test CA");
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private static CertificateToken issuer;
+    private static CertificateToken cert1;
+    private static CertificateToken cert2;
+    private static CertificateToken certOfOtherCrl;
+    private static ContentSigner issuerSigner;
+
+    private CRLSource onlineSource;
+    private InMemoryRevocationCache database;
+    private BasicDssConfigurationProperties.RevocationCache config;
+
+    @BeforeAll
+    static void createCertificates() throws Exception {
+        var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair issuerKeys = keyPairGenerator.generateKeyPair();
+        issuerSigner = new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeys.getPrivate());
+        issuer = certificate(ISSUER_NAME, 1, issuerKeys.getPublic(), true, null);
+        cert1 = certificate(new X500Name("CN=cert1"), 2, issuerKeys.getPublic(), false, null);
+        cert2 = certificate(new X500Name("CN=cert2"), 3, issuerKeys.getPublic(), false, null);
+        certOfOtherCrl = certificate(
+            new X500Name("CN=cert4"), 4, issuerKeys.getPublic(), false,
+            "http://localhost/partition2.crl"
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        onlineSource = Mockito.mock(CRLSource.class);
+        database = new InMemoryRevocationCache();
+        config = new BasicDssConfigurationProperties.RevocationCache();
+        config.setMaxSize(1);
+        config.setTimeToLive(Duration.ofHours(1));
+    }
+
+    @Test
+    void testGetRevocationToken_storedUntilNextUpdate() throws Exception {
+        var nextUpdate = NOW.plus(Duration.ofMinutes(10));
+        var token = crlToken(cert1, nextUpdate);
+        when(onlineSource.getRevocationToken(cert1, issuer)).thenReturn(token);
+        var cachingSource = new CachingCRLSource(onlineSource, config, database);
+
+        cachingSource.getRevocationToken(cert1, issuer);
+
+        assertThat(database.revocationData).hasSize(1);
+        var stored = database.revocationData.values().iterator().next();
+        assertThat(stored.getData()).isEqualTo(token.getEncoded());
+        assertThat(stored.getExpires().toInstant()).isEqualTo(nextUpdate);
+    }
+
+    @Test
+    void testGetRevocationToken_nextUpdateAfterTimeToLive_storedForTimeToLive() throws Exception {
+        when(onlineSource.getRevocationToken(cert1, issuer))
+            .thenReturn(crlToken(cert1, NOW.plus(Duration.ofDays(1))));
+        var cachingSource = new CachingCRLSource(onlineSource, config, database);
+
+        cachingSource.getRevocationToken(cert1, issuer);
+
+        var stored = database.revocationData.values().iterator().next();
+        assertThat(stored.getExpires().toInstant())
+            .isBetween(NOW, Instant.now().plus(config.getTimeToLive()));
+    }
+
+    @Test
+    void testGetRevocationToken_sameIssuer_statusEvaluatedAgainstSharedCrl() throws Exception {
+        when(onlineSource.getRevocationToken(cert1, issuer))
+            .thenReturn(crlToken(cert1, NOW.plus(Duration.ofMinutes(10))));
+        var cachingSource = new CachingCRLSource(onlineSource, config, database);
+
+        CRLToken token1 = cachingSource.getRevocationToken(cert1, issuer);
+        CRLToken token2 = cachingSource.getRevocationToken(cert2, issuer);
+
+        verify(onlineSource, never()).getRevocationToken(cert2, issuer);
+        assertThat(database.revocationData).hasSize(1);
+        assertThat(token1.getStatus()).isEqualTo(CertificateStatus.GOOD);
+        // the CRL lists the serial number of cert2
+        assertThat(token2.getStatus()).isEqualTo(CertificateStatus.REVOKED);
+        assertThat(token2.getRelatedCertificateId()).isEqualTo(cert2.getDSSIdAsString());
+        assertThat(token2.getEncoded()).isEqualTo(token1.getEncoded());
+    }
+
+    @Test
+    void testGetRevocationToken_sameIssuerStoredByOtherInstance_notFetched() throws Exception {
+        when(onlineSource.getRevocationToken(cert1, issuer))
+            .thenReturn(crlToken(cert1, NOW.plus(Duration.ofMinutes(10))));
+        new CachingCRLSource(onlineSource, config, database).getRevocationToken(cert1, issuer);
+
+        var otherInstance = new CachingCRLSource(onlineSource, config, database);
+        CRLToken token2 = otherInstance.getRevocationToken(cert2, issuer);
+
+        verify(onlineSource, never()).getRevocationToken(cert2, issuer);
+        assertThat(token2.getStatus()).isEqualTo(CertificateStatus.REVOKED);
+    }
+
+    @Test
+    void testGetRevocationToken_otherDistributionPoint_notShared() throws Exception {
+        when(onlineSource.getRevocationToken(cert1, issuer))
+            .thenReturn(crlToken(cert1, NOW.plus(Duration.ofMinutes(10))));
+        when(onlineSource.getRevocationToken(certOfOtherCrl, issuer))
+            .thenReturn(crlToken(certOfOtherCrl, NOW.plus(Duration.ofMinutes(10))));
+        var cachingSource = new CachingCRLSource(onlineSource, config, database);
+
+        cachingSource.getRevocationToken(cert1, issuer);
+        cachingSource.getRevocationToken(certOfOtherCrl, issuer);
+
+        verify(onlineSource, times(1)).getRevocationToken(certOfOtherCrl, issuer);
+        assertThat(database.revocationData).hasSize(2);
+    }
+
+    @Test
+    void testGetRevocationToken_evictedFromMemory_decodesStoredCrl() throws Exception {
+        var token = crlToken(cert1, NOW.plus(Duration.ofMinutes(10)));
+        when(onlineSource.getRevocationToken(cert1, issuer)).thenReturn(token);
+        when(onlineSource.getRevocationToken(certOfOtherCrl, issuer))
+            .thenReturn(crlToken(certOfOtherCrl, NOW.plus(Duration.ofMinutes(10))));
+        var cachingSource = new CachingCRLSource(onlineSource, config, database);
+
+        cachingSource.getRevocationToken(cert1, issuer);
+        // the maximum size is one, so the CRL of cert1 is evicted from memory
+        cachingSource.getRevocationToken(certOfOtherCrl, issuer);
+        CRLToken reloaded = cachingSource.getRevocationToken(cert1, issuer);
+
+        verify(onlineSource, times(1)).getRevocationToken(cert1, issuer);
+        assertThat(reloaded).isNotSameAs(token);
+        assertThat(reloaded.getEncoded()).isEqualTo(token.getEncoded());
+        assertThat(reloaded.getNextUpdate()).isEqualTo(token.getNextUpdate());
+        assertThat(reloaded.getStatus()).isEqualTo(token.getStatus());
+        assertThat(reloaded.getExternalOrigin()).isEqualTo(RevocationOrigin.CACHED);
+    }
+
+    @Test
+    void testGetRevocationToken_storedByOtherInstance_notFetched() throws Exception {
+        when(onlineSource.getRevocationToken(cert1, issuer))
+            .thenReturn(crlToken(cert1, NOW.plus(Duration.ofMinutes(10))));
+        new CachingCRLSource(onlineSource, config, database).getRevocationToken(cert1, issuer);
+
+        var otherInstance = new CachingCRLSource(onlineSource, config, database);
+
+        assertThat(otherInstance.getRevocationToken(cert1, issuer)).isNotNull();
+        verify(onlineSource, times(1)).getRevocationToken(any(), any());
+    }
+
+    @Test
+    void testGetRevocationToken_storedCrlExpired_fetchedAgain() throws Exception {
+        when(onlineSource.getRevocationToken(cert1, issuer))
+            .thenReturn(crlToken(cert1, NOW.plus(Duration.ofMinutes(10))));
+        new CachingCRLSource(onlineSource, config, database).getRevocationToken(cert1, issuer);
+        database.revocationData.values().forEach(
+            revocationData -> revocationData.setExpires(revocationData.getExpires().minusHours(1)));
+
+        new CachingCRLSource(onlineSource, config, database).getRevocationToken(cert1, issuer);
+
+        verify(onlineSource, times(2)).getRevocationToken(cert1, issuer);
+    }
+
+    private static CertificateToken certificate(
+        X500Name subject, long serialNumber, PublicKey publicKey, boolean ca, String crlUrl)
+        throws Exception {
+        var builder = new JcaX509v3CertificateBuilder(
+            ISSUER_NAME, BigInteger.valueOf(serialNumber),
+            Date.from(NOW.minus(Duration.ofDays(1))), Date.from(NOW.plus(Duration.ofDays(365))),
+            subject, publicKey
+        );
+        builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(ca));
+        if (ca) {
+            builder.addExtension(
+                Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+        }
+        if (crlUrl != null) {
+            var distributionPoint = new DistributionPoint(
+                new DistributionPointName(new GeneralNames(
+                    new GeneralName(GeneralName.uniformResourceIdentifier, crlUrl))),
+                null, null
+            );
+            builder.addExtension(
+                Extension.cRLDistributionPoints, false,
+                new CRLDistPoint(new DistributionPoint[] {distributionPoint})
+            );
+        }
+        return new CertificateToken(
+            new JcaX509CertificateConverter().getCertificate(builder.build(issuerSigner)));
+    }
+
+    private static CRLToken crlToken(CertificateToken certificateToken, Instant nextUpdate)
+        throws Exception {
+        var crlBuilder = new X509v2CRLBuilder(ISSUER_NAME, Date.from(NOW));
+        crlBuilder.setNextUpdate(Date.from(nextUpdate));
+        crlBuilder.addCRLEntry(BigInteger.valueOf(3), Date.from(NOW), CRLReason.keyCompromise);
+        byte[] encoded = crlBuilder.build(issuerSigner).getEncoded();
+        return new CRLToken(
+            certificateToken,
+            CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(encoded), issuer)
+        );
+    }
+
+    /**
+     * Keeps the revocation data like the database, which only returns it until it expires.
+     */
+    private static class InMemoryRevocationCache implements DCRevocationCachePersistenceService {
+        private final Map<String, DomibusConnectorRevocationData> revocationData =
+            new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<DomibusConnectorRevocationData> findRevocationData(
+            String revocationKey, ZonedDateTime validAt) {
+            return Optional.ofNullable(revocationData.get(revocationKey))
+                           .filter(data -> data.getExpires().isAfter(validAt));
+        }
+
+        @Override
+        public void saveRevocationData(DomibusConnectorRevocationData data) {
+            revocationData.put(data.getRevocationKey(), data);
+        }
+
+        @Override
+        public int deleteExpiredRevocationData(ZonedDateTime expiredBefore) {
+            var size = revocationData.size();
+            revocationData.values().removeIf(data -> data.getExpires().isBefore(expiredBefore));
+            return size - revocationData.size();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.dss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.ecodex.connector.dss.configuration.BasicDssConfigurationProperties;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CachingOCSPSourceTest {
+    private OCSPSource onlineSource;
+    private CachingOCSPSource cachingSource;
+
+    @BeforeEach
+    void setUp() {
+        onlineSource = Mockito.mock(OCSPSource.class);
+        var config = new BasicDssConfigurationProperties.RevocationCache();
+        config.setMaxSize(1);
+        config.setTimeToLive(Duration.ofHours(1));
+        cachingSource = new CachingOCSPSource(onlineSource, config, null);
+    }
+
+    @Test
+    void testGetRevocationToken_fetchedOnce() {
+        var cert = certificate("cert");
+        var issuer = certificate("issuer");
+        var token = token(Instant.now().plus(Duration.ofDays(1)));
+        when(onlineSource.getRevocationToken(cert, issuer)).thenReturn(token);
+
+        assertThat(cachingSource.getRevocationToken(cert, issuer)).isSameAs(token);
+        assertThat(cachingSource.getRevocationToken(cert, issuer)).isSameAs(token);
+
+        verify(onlineSource, times(1)).getRevocationToken(any(), any());
+    }
+
+    @Test
+    void testGetRevocationToken_nextUpdatePassed_fetchedAgain() {
+        var cert = certificate("cert");
+        var issuer = certificate("issuer");
+        var token = token(Instant.now().minus(Duration.ofMinutes(1)));
+        when(onlineSource.getRevocationToken(cert, issuer)).thenReturn(token);
+
+        cachingSource.getRevocationToken(cert, issuer);
+        cachingSource.getRevocationToken(cert, issuer);
+
+        verify(onlineSource, times(2)).getRevocationToken(any(), any());
+    }
+
+    @Test
+    void testGetRevocationToken_maxSizeReached_eldestEvicted() {
+        var cert1 = certificate("cert1");
+        var cert2 = certificate("cert2");
+        var issuer = certificate("issuer");
+        var token = token(null);
+        when(onlineSource.getRevocationToken(any(), any())).thenReturn(token);
+
+        cachingSource.getRevocationToken(cert1, issuer);
+        cachingSource.getRevocationToken(cert2, issuer);
+        cachingSource.getRevocationToken(cert1, issuer);
+
+        verify(onlineSource, times(2)).getRevocationToken(cert1, issuer);
+    }
+
+    private static CertificateToken certificate(String id) {
+        var certificate = Mockito.mock(CertificateToken.class);
+        when(certificate.getDSSIdAsString()).thenReturn(id);
+        return certificate;
+    }
+
+    private static OCSPToken token(Instant nextUpdate) {
+        var token = Mockito.mock(OCSPToken.class);
+        when(token.getNextUpdate()).thenReturn(nextUpdate == null ? null : Date.from(nextUpdate));
+        return token;
+    }
+}
@@ -41,4 +41,16 @@ class DSSTrustedListsManagerTest {
         Assertions.assertThat(dssTrustedListsManager.getAllSourceNames()).hasSize(2);
         Assertions.assertThat(dssTrustedListsManager.getCertificateSource("list1")).isPresent();
     }
+
+    @Test
+    void testRefresh_replacesCertificateSource() {
+        var before = dssTrustedListsManager.getCertificateSource("list1").orElseThrow();
+
+        dssTrustedListsManager.refreshTrustSources();
+
+        Assertions.assertThat(dssTrustedListsManager.getCertificateSource("list1"))
+                  .isPresent()
+                  .get()
+                  .isNotSameAs(before);
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.signature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Measures how many evidences per second can be signed by one signer, with a single and with
+ * multiple threads sharing the signer like the connector does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvidenceSigningBenchmark {
+    @Param({"XADES", "JAVA_API"})
+    public String signer;
+    private EvidenceUtils evidenceUtils;
+    private byte[] evidence;
+
+    /**
+     * Creates the signer and loads the unsigned evidence.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        var keyStore = new ClassPathResource("keystore.jks");
+        evidenceUtils = "XADES".equals(signer)
+            ? new EvidenceUtilsXades(keyStore, "JKS", "test123", "new_Testcert", "test123")
+            : new EvidenceUtilsImpl(keyStore, "JKS", "test123", "new_Testcert", "test123");
+        try (InputStream is =
+                 new ClassPathResource("ConvertIntoEvidenceTypetestFileA.xml").getInputStream()) {
+            evidence = is.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] signSingleThreaded() {
+        return evidenceUtils.signByteArray(evidence);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] signMultiThreaded() {
+        return evidenceUtils.signByteArray(evidence);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(EvidenceSigningBenchmark.class.getSimpleName())
+                       .build()).run();
+    }
+}
@@ -22,10 +22,10 @@ import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
-import java.security.PublicKey;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import org.apache.log4j.Logger;
@@ -40,11 +40,14 @@ import org.xml.sax.SAXException;
 @SuppressWarnings("squid:S1135")
 public abstract class EvidenceUtils {
     protected static Logger LOG = Logger.getLogger(EvidenceUtilsImpl.class);
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER =
+        ThreadLocal.withInitial(EvidenceUtils::createDocumentBuilder);
     protected Resource javaKeyStorePath;
     protected final String javaKeyStorePassword;
     protected final String alias;
     protected final String keyPassword;
     protected final String javaKeyStoreType;
+    private final KeyMaterialCache keyMaterialCache;
 
     /**
      * EvidenceUtils is a utility class for handling evidence related operations.
@@ -63,66 +66,119 @@ public abstract class EvidenceUtils {
         this.javaKeyStorePassword = javaKeyStorePassword;
         this.alias = alias;
         this.keyPassword = keyPassword;
+        this.keyMaterialCache = new KeyMaterialCache(
+            javaKeyStorePath, storeType, javaKeyStorePassword, alias, keyPassword);
     }
 
     public abstract byte[] signByteArray(byte[] xmlData);
 
     public abstract boolean verifySignature(byte[] xmlData);
 
-    protected static synchronized KeyPair getKeyPairFromKeyStore(
-        Resource store, String storePass, String alias, String keyPass) {
-        LOG.debug("Loading KeyPair from Java KeyStore(" + store + ")");
-        KeyStore ks;
-        InputStream kfis;
-        KeyPair keyPair = null;
+    /**
+     * Returns the cached key material of the configured key, it is loaded on first use and
+     * reloaded if the key store has been modified.
+     *
+     * @return the key material, the returned instance must not be modified
+     */
+    protected KeyInfos getKeyInfos() {
+        return keyMaterialCache.getKeyInfos();
+    }
 
-        Key key;
-        PublicKey publicKey;
-        try {
-            ks = KeyStore.getInstance("JKS");
+    /**
+     * Returns the key pair of the configured key, based on the cached key material.
+     *
+     * @return the key pair
+     */
+    protected KeyPair getKeyPair() {
+        var keyInfos = getKeyInfos();
+        return new KeyPair(keyInfos.getCert().getPublicKey(), keyInfos.getPrivKey());
+    }
+
+    /**
+     * Loads the key material from the key store. This parses the whole key store and decrypts the
+     * private key, so use {@link #getKeyInfos()} instead.
+     */
+    protected static KeyInfos getKeyInfosFromKeyStore(
+        Resource store, String keyStoreType, String storePass, String alias, String keyPass) {
+        LOG.debug("Loading KeyPair from Java KeyStore(" + store + ")");
+        var keyInfos = new KeyInfos();
 
-            kfis = store.getInputStream();
+        try (InputStream kfis = store.getInputStream()) {
+            var ks = KeyStore.getInstance(keyStoreType);
             ks.load(kfis, (storePass == null) ? null : storePass.toCharArray());
 
             if (ks.containsAlias(alias)) {
-                key = ks.getKey(alias, keyPass.toCharArray());
+                Key key = ks.getKey(alias, keyPass.toCharArray());
                 if (key instanceof PrivateKey privateKey) {
                     X509Certificate cert = (X509Certificate) ks.getCertificate(alias);
-                    publicKey = cert.getPublicKey();
-                    keyPair = new KeyPair(publicKey, privateKey);
+
+                    keyInfos.setCert(cert);
+                    keyInfos.setPrivKey(privateKey);
+                } else {
+                    throw new IllegalArgumentException(
+                        String.format("The provided alias [%s] in store [%s] is not a private key",
+                                      alias, store
+                        ));
+                }
+
+                try {
+                    keyInfos.setCertChain(ks.getCertificateChain(alias));
+                } catch (ClassCastException e) {
+                    LOG.error(e.getMessage());
                 }
+            } else {
+                throw new RuntimeException(
+                    String.format(
+                        "The provided store [%s] does not contain an alias [%s]", store, alias
+                    ));
             }
         } catch (UnrecoverableKeyException | KeyStoreException | NoSuchAlgorithmException
                  | CertificateException | IOException e) {
-            LOG.error("Cannot get keypair from keystore", e); // TODO: runtime exception?
+            throw new RuntimeException(e);
         }
 
-        return keyPair;
+        return keyInfos;
     }
 
     /**
-     * Converts a byte array into a REMEvidenceType object.
+     * Returns the namespace aware document builder of the current thread, which does not allow
+     * doctype declarations. The builder is reset, so it can be used for one parse.
      *
-     * @param xmlData The byte array containing the XML data to convert.
-     * @return The converted REMEvidenceType object.
+     * @return the document builder
      */
-    public REMEvidenceType convertIntoEvidenceType(byte[] xmlData) {
+    protected static DocumentBuilder getDocumentBuilder() {
+        var documentBuilder = DOCUMENT_BUILDER.get();
+        documentBuilder.reset();
+        return documentBuilder;
+    }
+
+    private static DocumentBuilder createDocumentBuilder() {
         var builderFactory = DocumentBuilderFactory.newInstance();
         try {
             builderFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            builderFactory.setNamespaceAware(true);
+            return builderFactory.newDocumentBuilder();
         } catch (ParserConfigurationException e) {
             throw new RuntimeException(e);
         }
-        builderFactory.setNamespaceAware(true);
+    }
+
+    /**
+     * Converts a byte array into a REMEvidenceType object.
+     *
+     * @param xmlData The byte array containing the XML data to convert.
+     * @return The converted REMEvidenceType object.
+     */
+    public REMEvidenceType convertIntoEvidenceType(byte[] xmlData) {
         REMEvidenceType convertedEvidence = null;
         Document doc;
 
         LOG.debug("Convert byte-array into Evidence");
         try {
-            doc = builderFactory.newDocumentBuilder().parse(new ByteArrayInputStream(xmlData));
+            doc = getDocumentBuilder().parse(new ByteArrayInputStream(xmlData));
 
             convertedEvidence = convertIntoREMEvidenceType(doc).getValue();
-        } catch (SAXException | IOException | ParserConfigurationException e) {
+        } catch (SAXException | IOException e) {
             LOG.error(
                 "Failed to convert convertIntoREMEvidenceType", e); // TODO: runtime exception?
         }
@@ -29,8 +29,8 @@ import javax.xml.crypto.dsig.dom.DOMSignContext;
 import javax.xml.crypto.dsig.keyinfo.KeyValue;
 import javax.xml.crypto.dsig.spec.C14NMethodParameterSpec;
 import javax.xml.crypto.dsig.spec.TransformParameterSpec;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
@@ -46,6 +46,12 @@ import org.xml.sax.SAXException;
  */
 public class EvidenceUtilsImpl extends EvidenceUtils {
     private static final Logger LOGGER = LogManager.getLogger(EvidenceUtilsImpl.class);
+    // neither the signature factory nor the transformer are thread safe, so they are reused
+    // per thread
+    private static final ThreadLocal<XMLSignatureFactory> SIGNATURE_FACTORY =
+        ThreadLocal.withInitial(() -> XMLSignatureFactory.getInstance("DOM"));
+    private static final ThreadLocal<Transformer> TRANSFORMER =
+        ThreadLocal.withInitial(EvidenceUtilsImpl::createTransformer);
 
     public EvidenceUtilsImpl(
         Resource javaKeyStorePath, String javaKeyStoreType,
@@ -58,16 +64,14 @@ public class EvidenceUtilsImpl extends EvidenceUtils {
         LOG.info("Java API Signer used");
         byte[] signedByteArray = null;
 
-        // Create a DOM XMLSignatureFactory that will be used to generate the
+        // Use the DOM XMLSignatureFactory of this thread to generate the
         // enveloped signature
 
         try {
-            var fac = XMLSignatureFactory.getInstance("DOM");
+            var fac = SIGNATURE_FACTORY.get();
 
             // Load KeyPair from Java Key Store
-            var kp = getKeyPairFromKeyStore(javaKeyStorePath,
-                                            javaKeyStorePassword, alias, keyPassword
-            );
+            var kp = getKeyPair();
 
             // Create a KeyValue containing the PublicKey that was generated
             var keyInfoFactory = fac.getKeyInfoFactory();
@@ -76,16 +80,8 @@ public class EvidenceUtilsImpl extends EvidenceUtils {
             keyValue = keyInfoFactory.newKeyValue(kp.getPublic());
 
             // Instantiate the document to be signed
-            var builderFactory = DocumentBuilderFactory.newInstance();
-            try {
-                builderFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            } catch (ParserConfigurationException e) {
-                throw new RuntimeException(e);
-            }
-            builderFactory.setNamespaceAware(true);
             Document doc;
-            doc = builderFactory.newDocumentBuilder().parse(
-                new ByteArrayInputStream(xmlData));
+            doc = getDocumentBuilder().parse(new ByteArrayInputStream(xmlData));
 
             // Create a DOMSignContext and specify the PrivateKey and
             // location of the resulting XMLSignature's parent element
@@ -128,22 +124,31 @@ public class EvidenceUtilsImpl extends EvidenceUtils {
 
             var bos = new ByteArrayOutputStream();
 
-            var transformerFactory = TransformerFactory.newInstance();
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
-            var transformer = transformerFactory.newTransformer();
+            var transformer = TRANSFORMER.get();
+            transformer.reset();
             transformer.transform(new DOMSource(doc), new StreamResult(bos));
 
             signedByteArray = bos.toByteArray();
-        } catch (KeyException | SAXException | IOException | ParserConfigurationException
-                 | TransformerException | MarshalException | XMLSignatureException
-                 | NoSuchAlgorithmException | InvalidAlgorithmParameterException e1) {
+        } catch (KeyException | SAXException | IOException | TransformerException
+                 | MarshalException | XMLSignatureException | NoSuchAlgorithmException
+                 | InvalidAlgorithmParameterException e1) {
             LOGGER.error("Cannot signByteArray due", e1);
         }
 
         return signedByteArray;
     }
 
+    private static Transformer createTransformer() {
+        var transformerFactory = TransformerFactory.newInstance();
+        transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
+        try {
+            return transformerFactory.newTransformer();
+        } catch (TransformerConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @SuppressWarnings("squid:S1135")
     @Override
     public boolean verifySignature(byte[] xmlData) {
@@ -10,8 +10,6 @@
 
 package eu.ecodex.signature;
 
-import static eu.ecodex.connector.tools.logging.LoggingUtils.logPassword;
-
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.SignatureLevel;
 import eu.europa.esig.dss.enumerations.SignaturePackaging;
@@ -35,20 +33,11 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.Key;
-import java.security.KeyStore;
-import java.security.KeyStore.PrivateKeyEntry;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.Signature;
-import java.security.UnrecoverableKeyException;
-import java.security.cert.Certificate;
-import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.core.io.Resource;
@@ -59,11 +48,27 @@ import org.springframework.core.io.Resource;
 @SuppressWarnings("squid:S1135")
 public class EvidenceUtilsXades extends EvidenceUtils {
     private static final Logger LOGGER = LogManager.getLogger(EvidenceUtilsXades.class);
-
+    private final DocumentSignatureService<XAdESSignatureParameters, XAdESTimestampParameters>
+        signatureService;
+    private final CertificateVerifier validationCertificateVerifier =
+        new CommonCertificateVerifier(true);
+    private volatile SigningKey signingKey;
+
+    /**
+     * Creates the signer, the signature service and certificate verifiers are created once and
+     * shared by all signatures of this signer.
+     *
+     * @param javaKeyStorePath     The path to the Java keystore.
+     * @param javaKeyStoreType     The type of the Java keystore.
+     * @param javaKeyStorePassword The password for the Java keystore.
+     * @param alias                The alias for the key in the keystore.
+     * @param keyPassword          The password for the key in the keystore.
+     */
     public EvidenceUtilsXades(
         Resource javaKeyStorePath, String javaKeyStoreType, String javaKeyStorePassword,
         String alias, String keyPassword) {
         super(javaKeyStorePath, javaKeyStoreType, javaKeyStorePassword, alias, keyPassword);
+        this.signatureService = new XAdESService(getCompleteCertificateVerifier());
     }
 
     @Override
@@ -82,80 +87,25 @@ public class EvidenceUtilsXades extends EvidenceUtils {
     private byte[] createAndVerifySignature(byte[] xmlData) throws Exception {
         LOG.info("Xades Signer started");
 
-        var keyInfos = getKeyInfosFromKeyStore(
-            javaKeyStorePath, javaKeyStoreType, javaKeyStorePassword, alias, keyPassword
-        );
-        if (keyInfos == null) {
-            throw new RuntimeException(String.format(
-                "Was not able to load keyInfo from javaKeyStorePath=[%s], javaKeyStoreType=[%s], "
-                    + "javaKeyStorePassword=[%s], alias=[%s], keyPassword=[%s]",
-                javaKeyStorePath, javaKeyStoreType, logPassword(LOGGER, javaKeyStorePassword
-                ),
-                alias, logPassword(LOGGER, keyPassword)
-            ));
-        }
-
-        java.security.cert.X509Certificate cert = keyInfos.getCert();
-
-        var sigParam = new XAdESSignatureParameters();
-        sigParam.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
-        sigParam.setSignaturePackaging(SignaturePackaging.ENVELOPED);
-
-        var tkn = new CertificateToken(cert);
-        sigParam.setSigningCertificate(tkn);
-
-        final List<CertificateToken> x509Certs = new ArrayList<>();
-        final List<X509Certificate> certs = keyInfos.getCertChain();
-        for (final Certificate certificate : certs) {
-            if (certificate instanceof X509Certificate x509Certificate) {
-                // ChainCertificate chainCert =
-                // new ChainCertificate(new CertificateToken((X509Certificate) certificate));
-                x509Certs.add(new CertificateToken(x509Certificate));
-            } else {
-                LOG.warn(
-                    "the alias {} has a certificate chain item that does not represent an "
-                        + "X509Certificate; it is ignored");
-            }
-        }
-        sigParam.setCertificateChain(x509Certs);
-
-        sigParam.setDigestAlgorithm(DigestAlgorithm.SHA1);
-        sigParam.setEncryptionAlgorithm(sigParam.getEncryptionAlgorithm());
-
-        // Signature creation
-        // Create and configure the signature creation service
-        var service = new XAdESService(new CommonCertificateVerifier(true));
-        var docum = new InMemoryDocument(xmlData);
-
-        ToBeSigned bytesToSign = service.getDataToSign(docum, sigParam);
-
-        final String jceSignatureAlgorithm = sigParam.getSignatureAlgorithm().getJCEId();
+        var preparedKey = getSigningKey();
+        var sigParam = preparedKey.createSignatureParameters();
+        // the same document and parameters (signing date) must be used for both steps
+        DSSDocument toBeSigned = new InMemoryDocument(xmlData);
 
-        // final byte[] signature =
-        // DSSUtils.encrypt(jceSignatureAlgorithm, pke.getPrivateKey(), bytesToSign);
+        ToBeSigned bytesToSign = signatureService.getDataToSign(toBeSigned, sigParam);
 
-        // InMemoryDocument signedDocument =
-        // (InMemoryDocument) service.signDocument(docum, sigParam, signature);
-        final var signature = Signature.getInstance(jceSignatureAlgorithm);
-        var privKey = keyInfos.getPrivKey();
-        java.security.cert.Certificate[] certArray = {cert};
-        var privKeyEntry = new PrivateKeyEntry(privKey, certArray);
-        // KSPrivateKeyEntry pke = new KSPrivateKeyEntry("", privKeyEntry);
-        signature.initSign(privKeyEntry.getPrivateKey());
+        final var signature = Signature.getInstance(sigParam.getSignatureAlgorithm().getJCEId());
+        signature.initSign(preparedKey.privateKey());
         signature.update(bytesToSign.getBytes());
         final byte[] signatureValue = signature.sign();
         final var signedData = new SignatureValue(sigParam.getSignatureAlgorithm(), signatureValue);
 
-        DocumentSignatureService<XAdESSignatureParameters, XAdESTimestampParameters>
-            signatureService = new XAdESService(getCompleteCertificateVerifier());
-        DSSDocument toBeSigned = new InMemoryDocument(xmlData);
         final DSSDocument signedDocument =
             signatureService.signDocument(toBeSigned, sigParam, signedData);
 
         // Verification
         var val = SignedDocumentValidator.fromDocument(signedDocument);
-        var certVeri = new CommonCertificateVerifier(true);
-        val.setCertificateVerifier(certVeri);
+        val.setCertificateVerifier(validationCertificateVerifier);
 
         Reports test = val.validateDocument();
         boolean sigValid = test.getDiagnosticData()
@@ -180,8 +130,7 @@ public class EvidenceUtilsXades extends EvidenceUtils {
         SignedDocumentValidator val;
 
         val = SignedDocumentValidator.fromDocument(signedDocument);
-        var certVeri = new CommonCertificateVerifier(true);
-        val.setCertificateVerifier(certVeri);
+        val.setCertificateVerifier(validationCertificateVerifier);
         Reports test = val.validateDocument();
 
         boolean sigValid = test.getDiagnosticData()
@@ -199,7 +148,7 @@ public class EvidenceUtilsXades extends EvidenceUtils {
         return sigValid && sigIntact;
     }
 
-    private static synchronized byte[] getBytes(InputStream is) throws IOException {
+    private static byte[] getBytes(InputStream is) throws IOException {
 
         int len;
         var size = 1024;
@@ -221,56 +170,18 @@ public class EvidenceUtilsXades extends EvidenceUtils {
         return buf;
     }
 
-    // TODO: refactor: use key store service
-    protected static synchronized KeyInfos getKeyInfosFromKeyStore(
-        Resource store, String keyStoreType, String storePass, String alias, String keyPass) {
-        LOG.debug("Loading KeyPair from Java KeyStore(" + store + ")");
-        KeyStore ks;
-        InputStream kfis = null;
-        var keyInfos = new KeyInfos();
-
-        Key key;
-        PrivateKey privateKey;
-        try {
-            ks = KeyStore.getInstance(keyStoreType);
-
-            kfis = store.getInputStream();
-            ks.load(kfis, (storePass == null) ? null : storePass.toCharArray());
-
-            if (ks.containsAlias(alias)) {
-                key = ks.getKey(alias, keyPass.toCharArray());
-                if (key instanceof PrivateKey) {
-                    X509Certificate cert = (X509Certificate) ks.getCertificate(alias);
-
-                    keyInfos.setCert(cert);
-                    privateKey = (PrivateKey) key;
-                    keyInfos.setPrivKey(privateKey);
-                } else {
-                    throw new IllegalArgumentException(
-                        String.format("The provided alias [%s] in store [%s] is not a private key",
-                                      alias, store
-                        ));
-                }
-
-                try {
-                    keyInfos.setCertChain(ks.getCertificateChain(alias));
-                } catch (ClassCastException e) {
-                    LOG.error(e.getMessage());
-                }
-            } else {
-                throw new RuntimeException(
-                    String.format(
-                        "The provided store [%s] does not contain an alias [%s]", store, alias
-                    ));
-            }
-        } catch (UnrecoverableKeyException | KeyStoreException | NoSuchAlgorithmException
-                 | CertificateException | IOException e) {
-            throw new RuntimeException(e);
-        } finally {
-            IOUtils.closeQuietly(kfis);
+    /**
+     * Returns the prepared signing key, it is only rebuilt if the key material has been
+     * reloaded.
+     */
+    private SigningKey getSigningKey() {
+        var keyInfos = getKeyInfos();
+        var current = signingKey;
+        if (current == null || current.keyInfos() != keyInfos) {
+            current = SigningKey.of(keyInfos);
+            signingKey = current;
         }
-
-        return keyInfos;
+        return current;
     }
 
     protected CertificateVerifier getCompleteCertificateVerifier() {
@@ -290,4 +201,39 @@ public class EvidenceUtilsXades extends EvidenceUtils {
         cacheDataLoader.setCacheExpirationTime(3600000L);
         return cacheDataLoader;
     }
+
+    /**
+     * The immutable parts of the signature parameters derived from the key material.
+     */
+    private record SigningKey(
+        KeyInfos keyInfos, PrivateKey privateKey, CertificateToken signingCertificate,
+        List<CertificateToken> certificateChain) {
+
+        static SigningKey of(KeyInfos keyInfos) {
+            final List<CertificateToken> x509Certs = new ArrayList<>();
+            if (keyInfos.getCertChain() != null) {
+                for (final X509Certificate certificate : keyInfos.getCertChain()) {
+                    x509Certs.add(new CertificateToken(certificate));
+                }
+            }
+            return new SigningKey(
+                keyInfos, keyInfos.getPrivKey(), new CertificateToken(keyInfos.getCert()),
+                List.copyOf(x509Certs)
+            );
+        }
+
+        /**
+         * Creates the parameters of one signature, they are not shared because DSS stores the
+         * signing date within them.
+         */
+        XAdESSignatureParameters createSignatureParameters() {
+            var sigParam = new XAdESSignatureParameters();
+            sigParam.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+            sigParam.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+            sigParam.setSigningCertificate(signingCertificate);
+            sigParam.setCertificateChain(certificateChain);
+            sigParam.setDigestAlgorithm(DigestAlgorithm.SHA1);
+            return sigParam;
+        }
+    }
 }
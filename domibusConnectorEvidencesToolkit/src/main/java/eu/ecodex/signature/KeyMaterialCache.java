@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.signature;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.io.Resource;
+
+/**
+ * Holds the key material of one key store alias, so the key store is only parsed and the private
+ * key is only decrypted once and not for every signature.
+ *
+ * <p>The key material is reloaded if the last modified timestamp of the key store changes. The
+ * timestamp is checked at most once per {@link #MODIFICATION_CHECK_INTERVAL}, so signing does not
+ * hit the file system every time. If the timestamp cannot be determined (e.g. the store is not a
+ * file) the key material is loaded once. A changed business domain configuration recreates the
+ * business domain scoped evidence builder and with it the cache. Reading the cached key material
+ * does not acquire any lock, only (re)loading it is synchronized.
+ */
+final class KeyMaterialCache {
+    private static final Logger LOGGER = LogManager.getLogger(KeyMaterialCache.class);
+    static final Duration MODIFICATION_CHECK_INTERVAL = Duration.ofSeconds(10);
+    private static final long UNKNOWN_LAST_MODIFIED = -1;
+    private final Resource store;
+    private final String storeType;
+    private final String storePassword;
+    private final String alias;
+    private final String keyPassword;
+    private final LongSupplier nanoTime;
+    private final Object loadLock = new Object();
+    private volatile CachedKeyInfos cached;
+
+    KeyMaterialCache(
+        Resource store, String storeType, String storePassword, String alias,
+        String keyPassword) {
+        this(store, storeType, storePassword, alias, keyPassword, System::nanoTime);
+    }
+
+    KeyMaterialCache(
+        Resource store, String storeType, String storePassword, String alias,
+        String keyPassword, LongSupplier nanoTime) {
+        this.store = store;
+        this.storeType = storeType;
+        this.storePassword = storePassword;
+        this.alias = alias;
+        this.keyPassword = keyPassword;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Returns the key material, loads it if it has not been loaded yet or the key store has been
+     * modified since the last check.
+     *
+     * @return the key material, the returned instance must not be modified
+     * @throws RuntimeException if the key store or the key cannot be loaded
+     */
+    KeyInfos getKeyInfos() {
+        long now = nanoTime.getAsLong();
+        var current = cached;
+        if (current != null
+            && now - current.checkedAt() < MODIFICATION_CHECK_INTERVAL.toNanos()) {
+            return current.keyInfos();
+        }
+        long lastModified = getLastModified();
+        if (current != null && current.lastModified() == lastModified) {
+            cached = new CachedKeyInfos(lastModified, now, current.keyInfos());
+            return current.keyInfos();
+        }
+        synchronized (loadLock) {
+            current = cached;
+            if (current == null || current.lastModified() != lastModified) {
+                LOGGER.debug("Loading key [{}] from key store [{}]", alias, store);
+                current = new CachedKeyInfos(
+                    lastModified, now,
+                    EvidenceUtils.getKeyInfosFromKeyStore(
+                        store, storeType, storePassword, alias, keyPassword)
+                );
+                cached = current;
+            }
+            return current.keyInfos();
+        }
+    }
+
+    private long getLastModified() {
+        try {
+            return store.lastModified();
+        } catch (IOException e) {
+            return UNKNOWN_LAST_MODIFIED;
+        }
+    }
+
+    private record CachedKeyInfos(long lastModified, long checkedAt, KeyInfos keyInfos) {
+    }
+}
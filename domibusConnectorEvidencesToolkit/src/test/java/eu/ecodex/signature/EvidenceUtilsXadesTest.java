@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.signature;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+class EvidenceUtilsXadesTest {
+    private final EvidenceUtils evidenceUtils = new EvidenceUtilsXades(
+        new ClassPathResource("keystore.jks"), "JKS", "test123", "new_Testcert", "test123"
+    );
+
+    @Test
+    void testSignByteArray_concurrently_allSignaturesAreValid()
+        throws IOException, InterruptedException, ExecutionException {
+        byte[] evidence;
+        try (InputStream is =
+                 new ClassPathResource("ConvertIntoEvidenceTypetestFileA.xml").getInputStream()) {
+            evidence = is.readAllBytes();
+        }
+
+        List<Future<byte[]>> signedEvidences = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            for (var i = 0; i < 8; i++) {
+                signedEvidences.add(executor.submit(() -> evidenceUtils.signByteArray(evidence)));
+            }
+        }
+
+        for (Future<byte[]> signedEvidence : signedEvidences) {
+            assertThat(signedEvidence.get()).isNotNull();
+            assertThat(evidenceUtils.verifySignature(signedEvidence.get())).isTrue();
+        }
+    }
+}
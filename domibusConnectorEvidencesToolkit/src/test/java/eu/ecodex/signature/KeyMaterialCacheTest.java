@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.signature;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+class KeyMaterialCacheTest {
+    private static final String STORE_PASSWORD = "test123";
+    private static final String ALIAS = "new_Testcert";
+    private static final String KEY_PASSWORD = "test123";
+    @TempDir
+    Path tempDir;
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void testGetKeyInfos_isLoadedOnce() {
+        var cache = createCache(new ClassPathResource("keystore.jks"));
+
+        KeyInfos keyInfos = cache.getKeyInfos();
+
+        assertThat(keyInfos.getPrivKey()).isNotNull();
+        assertThat(keyInfos.getCert()).isNotNull();
+        assertThat(cache.getKeyInfos()).isSameAs(keyInfos);
+    }
+
+    @Test
+    void testGetKeyInfos_modifiedKeyStore_isReloadedAfterCheckInterval() throws IOException {
+        Path store = copyKeyStore();
+        var cache = createCache(new FileSystemResource(store));
+        KeyInfos keyInfos = cache.getKeyInfos();
+
+        Files.setLastModifiedTime(
+            store, FileTime.fromMillis(Files.getLastModifiedTime(store).toMillis() + 10_000));
+
+        assertThat(cache.getKeyInfos()).isSameAs(keyInfos);
+        nanoTime.addAndGet(KeyMaterialCache.MODIFICATION_CHECK_INTERVAL.toNanos());
+        assertThat(cache.getKeyInfos()).isNotSameAs(keyInfos);
+    }
+
+    @Test
+    void testGetKeyInfos_unmodifiedKeyStore_isNotReloadedAfterCheckInterval() throws IOException {
+        var cache = createCache(new FileSystemResource(copyKeyStore()));
+        KeyInfos keyInfos = cache.getKeyInfos();
+
+        nanoTime.addAndGet(KeyMaterialCache.MODIFICATION_CHECK_INTERVAL.toNanos());
+
+        assertThat(cache.getKeyInfos()).isSameAs(keyInfos);
+    }
+
+    @Test
+    void testGetKeyInfos_unknownAlias_throwsException() {
+        var cache = new KeyMaterialCache(
+            new ClassPathResource("keystore.jks"), "JKS", STORE_PASSWORD, "unknown", KEY_PASSWORD);
+
+        assertThatThrownBy(cache::getKeyInfos).isInstanceOf(RuntimeException.class);
+    }
+
+    private KeyMaterialCache createCache(Resource store) {
+        return new KeyMaterialCache(
+            store, "JKS", STORE_PASSWORD, ALIAS, KEY_PASSWORD, nanoTime::get);
+    }
+
+    private Path copyKeyStore() throws IOException {
+        Path store = tempDir.resolve("keystore.jks");
+        try (InputStream is = new ClassPathResource("keystore.jks").getInputStream()) {
+            Files.copy(is, store);
+        }
+        return store;
+    }
+}
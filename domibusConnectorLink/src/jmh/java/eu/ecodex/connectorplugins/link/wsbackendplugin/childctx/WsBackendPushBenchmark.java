@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connectorplugins.link.wsbackendplugin.childctx;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorLinkPartner;
+import eu.ecodex.connector.domain.transition.DomibsConnectorAcknowledgementType;
+import eu.ecodex.connector.domain.transition.DomibusConnectorMessageType;
+import eu.ecodex.connector.lib.spring.configuration.KeyAndKeyStoreAndTrustStoreConfigurationProperties;
+import eu.ecodex.connector.lib.spring.configuration.KeyConfigurationProperties;
+import eu.ecodex.connector.lib.spring.configuration.StoreConfigurationProperties;
+import eu.ecodex.connector.link.common.MerlinPropertiesFactory;
+import eu.ecodex.connector.link.wsbackendplugin.ConnectorClientTestBackend;
+import eu.ecodex.connector.testdata.TransitionCreator;
+import eu.ecodex.connectorplugins.link.wsbackendplugin.WsBackendPluginActiveLinkPartner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.TestSocketUtils;
+
+/**
+ * Measures the time of a message push to a local backend client stub, with a client created for
+ * each push like before and with a client taken from the {@link WsBackendClientPool}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WsBackendPushBenchmark {
+    private ConnectorClientTestBackend backendClient;
+    private WsBackendPluginWebServiceClientFactory clientFactory;
+    private WsBackendClientPool clientPool;
+    private WsBackendPluginActiveLinkPartner linkPartner;
+    private DomibusConnectorMessageType message;
+
+    /**
+     * Starts the backend client stub and creates the client factory and pool.
+     */
+    @Setup
+    public void setUp() {
+        backendClient = ConnectorClientTestBackend.startContext(
+            "alice", "http://localhost/services/backend", TestSocketUtils.findAvailableTcpPort());
+
+        var store = new StoreConfigurationProperties();
+        store.setPath("classpath:/keystores/connector-backend.jks");
+        store.setPassword("12345");
+        var soap = new KeyAndKeyStoreAndTrustStoreConfigurationProperties();
+        soap.setKeyStore(store);
+        soap.setTrustStore(store);
+        soap.setPrivateKey(new KeyConfigurationProperties("connector", "12345"));
+        var config = new WsBackendPluginConfigurationProperties();
+        config.setSoap(soap);
+        config.setWsPolicy(new ClassPathResource("/wsdl/backend.policy.xml"));
+
+        clientFactory = new WsBackendPluginWebServiceClientFactory(
+            config, new MerlinPropertiesFactory());
+        clientPool = new WsBackendClientPool(clientFactory, config);
+
+        var linkPartnerConfig = new WsBackendPluginLinkPartnerConfigurationProperties();
+        linkPartnerConfig.setPushAddress(backendClient.getServerAddress().getServerAddress());
+        linkPartnerConfig.setEncryptionAlias("alice");
+        var domibusConnectorLinkPartner = new DomibusConnectorLinkPartner();
+        domibusConnectorLinkPartner.setLinkPartnerName(
+            new DomibusConnectorLinkPartner.LinkPartnerName("alice"));
+        linkPartner = new WsBackendPluginActiveLinkPartner();
+        linkPartner.setLinkPartner(domibusConnectorLinkPartner);
+        linkPartner.setConfig(linkPartnerConfig);
+
+        message = TransitionCreator.createMessage();
+    }
+
+    /**
+     * Drops the messages received by the backend client stub.
+     */
+    @TearDown(Level.Iteration)
+    public void clearReceivedMessages() {
+        backendClient.submittedMessages().clear();
+    }
+
+    /**
+     * Stops the backend client stub.
+     */
+    @TearDown
+    public void tearDown() {
+        clientPool.shutdown();
+        backendClient.shutdown();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public DomibsConnectorAcknowledgementType pushWithNewClient() {
+        return clientFactory.createBackendWsClient(linkPartner).deliverMessage(message);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public DomibsConnectorAcknowledgementType pushWithPooledClient() {
+        return clientPool.execute(linkPartner, client -> client.deliverMessage(message));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(WsBackendPushBenchmark.class.getSimpleName())
+                       .build()).run();
+    }
+}
@@ -15,6 +15,7 @@ import eu.ecodex.connector.tools.LoggingMDCPropertyNames;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -22,7 +23,12 @@ import org.slf4j.MDC;
 
 /**
  * This class represents a job for pulling messages from a designated link partner.
+ *
+ * <p>There is one job per link partner. It is never executed concurrently, so a long-running
+ * pull (e.g. after a gateway maintenance) is not overlapped by the next trigger pulling the same
+ * pending messages again.
  */
+@DisallowConcurrentExecution
 public class DCLinkPullJob implements Job {
     private static final Logger LOGGER = LogManager.getLogger(DCLinkPullJob.class);
     public static final String LINK_PARTNER_NAME_PROPERTY_NAME = "linkPartnerName";
@@ -15,6 +15,7 @@ import eu.ecodex.connector.lib.spring.configuration.KeyAndKeyStoreAndTrustStoreC
 import eu.ecodex.utils.configuration.api.annotation.ConfigurationDescription;
 import eu.ecodex.utils.configuration.api.annotation.ConfigurationLabel;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -71,4 +72,20 @@ public class DCGatewayPullPluginConfigurationProperties {
             + "requests. \nDefault: false"
     )
     private boolean cxfLoggingEnabled = false;
+    @Min(1)
+    @ConfigurationLabel("Concurrent pull requests")
+    @ConfigurationDescription(
+        "The maximum number of pending messages which are fetched from the gateway and submitted "
+            + "to the connector concurrently per link partner. If greater than 1 every message is "
+            + "pulled on its own virtual thread. \nDefault: 1 (sequential)"
+    )
+    private int pullConcurrency = 1;
+    @Min(1)
+    @ConfigurationLabel("Maximum messages waiting for the connector")
+    @ConfigurationDescription(
+        "A pull run stops fetching messages from the gateway as soon as this number of messages "
+            + "is waiting on the to connector queue. The remaining messages stay pending on the "
+            + "gateway and are pulled by the next run. \nDefault: 100"
+    )
+    private int maxPendingToConnectorMessages = 100;
 }
@@ -30,6 +30,9 @@ import eu.ecodex.connector.ws.gateway.webservice.ListPendingMessageIdsRequest;
 import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.slf4j.MDC;
@@ -54,6 +57,8 @@ public class DCGatewayWebServiceClient implements SubmitToLinkPartner, PullFromL
     DCActiveLinkManagerService dcActiveLinkManagerService;
     @Autowired
     DomibusConnectorMessageIdGenerator messageIdGenerator;
+    @Autowired
+    DCGatewayPullPluginConfigurationProperties configurationProperties;
 
     @Override
     @Transactional(Transactional.TxType.REQUIRES_NEW)
@@ -84,6 +89,13 @@ public class DCGatewayWebServiceClient implements SubmitToLinkPartner, PullFromL
     /**
      * Pulls messages from a specific link partner in the Domibus Connector.
      *
+     * <p>If the configured pull concurrency is greater than 1, the pending messages are fetched
+     * and submitted concurrently on virtual threads.
+     *
+     * <p>Before a message is fetched the depth of the to connector queue is checked. If
+     * maxPendingToConnectorMessages are waiting there, the run stops fetching. The remaining
+     * messages stay pending on the gateway and are pulled by the next run.
+     *
      * @param linkPartner The name of the link partner.
      */
     public void pullMessagesFrom(DomibusConnectorLinkPartner.LinkPartnerName linkPartner) {
@@ -94,7 +106,84 @@ public class DCGatewayWebServiceClient implements SubmitToLinkPartner, PullFromL
                 gatewayWebService.listPendingMessageIds(req);
 
             List<java.lang.String> messageIds = listPendingMessageIdsResponse.getMessageIds();
-            messageIds.forEach(id -> this.pullMessage(linkPartner, id));
+            if (configurationProperties.getPullConcurrency() > 1 && messageIds.size() > 1) {
+                pullMessagesConcurrently(linkPartner, messageIds);
+            } else {
+                for (var i = 0; i < messageIds.size(); i++) {
+                    if (isConnectorBusy(linkPartner, messageIds.size() - i)) {
+                        break;
+                    }
+                    pullMessage(linkPartner, messageIds.get(i));
+                }
+            }
+        }
+    }
+
+    private boolean isConnectorBusy(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartner, int remainingMessages) {
+        var maxPending = configurationProperties.getMaxPendingToConnectorMessages();
+        if (submitToConnector.countPendingMessages(maxPending) < maxPending) {
+            return false;
+        }
+        LOGGER.info(
+            "[{}] messages are waiting for the connector, stop pulling from [{}], the remaining "
+                + "[{}] messages are pulled by the next run", maxPending, linkPartner,
+            remainingMessages
+        );
+        return true;
+    }
+
+    /**
+     * Fetches and submits the messages on virtual threads, the blocking web service calls and
+     * the submission to the connector queue do not occupy a platform thread.
+     *
+     * <p>At most pullConcurrency messages are in flight, a new message is only fetched from the
+     * gateway after a previous one has been submitted to the connector queue and the queue is
+     * not full. So a large backlog of pending messages is neither loaded into memory at once nor
+     * moved onto the connector queue faster than it is consumed. The method returns after all
+     * fetched messages have been processed. A failed message is logged and skipped, it is still
+     * pending on the gateway and pulled again by the next run.
+     */
+    private void pullMessagesConcurrently(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartner,
+        List<java.lang.String> messageIds) {
+        var concurrency = configurationProperties.getPullConcurrency();
+        LOGGER.debug(
+            "Pulling [{}] messages from [{}] with up to [{}] concurrent requests",
+            messageIds.size(), linkPartner, concurrency
+        );
+        var permits = new Semaphore(concurrency);
+        var failures = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < messageIds.size(); i++) {
+                var id = messageIds.get(i);
+                permits.acquire();
+                if (isConnectorBusy(linkPartner, messageIds.size() - i)) {
+                    permits.release();
+                    break;
+                }
+                executor.execute(() -> {
+                    try (var mdcCloseable = MDC.putCloseable(
+                        LoggingMDCPropertyNames.MDC_LINK_PARTNER_NAME, linkPartner.getLinkName())) {
+                        pullMessage(linkPartner, id);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        LOGGER.error(
+                            "Failed to pull message with id [{}] from [{}]", id, linkPartner, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while pulling messages from [{}]", linkPartner);
+        }
+        if (failures.get() > 0) {
+            LOGGER.warn(
+                "Failed to pull [{}] of [{}] messages from [{}]", failures.get(), messageIds.size(),
+                linkPartner
+            );
         }
     }
 
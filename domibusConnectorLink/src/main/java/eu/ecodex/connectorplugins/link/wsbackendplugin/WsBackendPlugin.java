@@ -23,6 +23,7 @@ import eu.ecodex.connector.link.api.exception.LinkPluginException;
 import eu.ecodex.connector.link.service.SubmitToLinkPartner;
 import eu.ecodex.connector.link.utils.LinkPluginUtils;
 import eu.ecodex.connectorplugins.link.wsbackendplugin.childctx.WsActiveLinkPartnerManager;
+import eu.ecodex.connectorplugins.link.wsbackendplugin.childctx.WsBackendClientPool;
 import eu.ecodex.connectorplugins.link.wsbackendplugin.childctx.WsBackendPluginConfiguration;
 import eu.ecodex.connectorplugins.link.wsbackendplugin.childctx.WsBackendPluginConfigurationProperties;
 import eu.ecodex.connectorplugins.link.wsbackendplugin.childctx.WsBackendPluginLinkPartnerConfigurationProperties;
@@ -145,6 +146,8 @@ public class WsBackendPlugin implements LinkPlugin {
                 ConfigurableApplicationContext ctx = linkPartner.getChildContext().get();
                 WsActiveLinkPartnerManager bean = ctx.getBean(WsActiveLinkPartnerManager.class);
                 bean.deregister(activeLinkPartner);
+                ctx.getBean(WsBackendClientPool.class)
+                   .invalidate(activeLinkPartner.getLinkPartner().getLinkPartnerName());
             } else {
                 throw new RuntimeException("Error no context found!");
             }
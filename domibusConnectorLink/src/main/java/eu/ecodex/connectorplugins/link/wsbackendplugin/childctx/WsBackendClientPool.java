@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connectorplugins.link.wsbackendplugin.childctx;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorLinkPartner;
+import eu.ecodex.connector.ws.backend.delivery.webservice.DomibusConnectorBackendDeliveryWebService;
+import eu.ecodex.connectorplugins.link.wsbackendplugin.WsBackendPluginActiveLinkPartner;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.Function;
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the web service clients for pushing messages to the backend clients, so the clients are
+ * not created again for each message.
+ *
+ * <p>Each link partner has its own pool of idle clients. A client is only used by one thread at
+ * a time, it is returned to the pool after the call. The clients of a link partner are discarded
+ * when the link partner is shut down or started again with another configuration.
+ */
+@Component
+public class WsBackendClientPool {
+    private static final Logger LOGGER = LogManager.getLogger(WsBackendClientPool.class);
+    private final WsBackendPluginWebServiceClientFactory webServiceClientFactory;
+    private final WsBackendPluginConfigurationProperties config;
+    private final Map<DomibusConnectorLinkPartner.LinkPartnerName, PartnerClients> clients =
+        new ConcurrentHashMap<>();
+
+    public WsBackendClientPool(
+        WsBackendPluginWebServiceClientFactory webServiceClientFactory,
+        WsBackendPluginConfigurationProperties config) {
+        this.webServiceClientFactory = webServiceClientFactory;
+        this.config = config;
+    }
+
+    /**
+     * Calls the web service of the backend client with a client taken from the pool. A new client
+     * is created if there is no idle client of the link partner.
+     *
+     * @param linkPartner The active link partner for the WS backend plugin.
+     * @param call        The call of the web service.
+     * @param <T>         The type of the result.
+     * @return The result of the call.
+     */
+    public <T> T execute(
+        WsBackendPluginActiveLinkPartner linkPartner,
+        Function<DomibusConnectorBackendDeliveryWebService, T> call) {
+        var linkPartnerName = linkPartner.getLinkPartner().getLinkPartnerName();
+        var partnerClients = clients.compute(
+            linkPartnerName,
+            (name, current) -> current != null && current.config() == linkPartner.getConfig()
+                ? current
+                : replace(current, linkPartner)
+        );
+        var client = partnerClients.idleClients().pollFirst();
+        if (client == null) {
+            client = webServiceClientFactory.createBackendWsClient(linkPartner);
+        }
+        try {
+            return call.apply(client);
+        } finally {
+            if (clients.get(linkPartnerName) != partnerClients
+                || !partnerClients.idleClients().offerFirst(client)) {
+                destroy(client);
+            }
+        }
+    }
+
+    /**
+     * Discards the clients of the link partner.
+     *
+     * @param linkPartnerName The name of the link partner.
+     */
+    public void invalidate(DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName) {
+        var partnerClients = clients.remove(linkPartnerName);
+        if (partnerClients != null) {
+            LOGGER.debug("Discarding web service clients of link partner [{}]", linkPartnerName);
+            destroyAll(partnerClients);
+        }
+    }
+
+    /**
+     * Discards the clients of all link partners.
+     */
+    @PreDestroy
+    public void shutdown() {
+        clients.keySet().forEach(this::invalidate);
+    }
+
+    private PartnerClients replace(
+        PartnerClients current, WsBackendPluginActiveLinkPartner linkPartner) {
+        if (current != null) {
+            LOGGER.debug(
+                "Configuration of link partner [{}] has changed, discarding web service clients",
+                linkPartner.getLinkPartner().getLinkPartnerName()
+            );
+            destroyAll(current);
+        }
+        return new PartnerClients(
+            linkPartner.getConfig(), new LinkedBlockingDeque<>(config.getPushClientPoolSize()));
+    }
+
+    private void destroyAll(PartnerClients partnerClients) {
+        DomibusConnectorBackendDeliveryWebService client;
+        while ((client = partnerClients.idleClients().pollFirst()) != null) {
+            destroy(client);
+        }
+    }
+
+    private void destroy(DomibusConnectorBackendDeliveryWebService client) {
+        try {
+            ClientProxy.getClient(client).destroy();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Failed to destroy web service client", e);
+        }
+    }
+
+    private record PartnerClients(
+        WsBackendPluginLinkPartnerConfigurationProperties config,
+        BlockingDeque<DomibusConnectorBackendDeliveryWebService> idleClients) {
+    }
+}
@@ -14,6 +14,11 @@ import eu.ecodex.connector.link.common.DefaultWsCallbackHandler;
 import eu.ecodex.connector.link.common.MerlinPropertiesFactory;
 import eu.ecodex.connector.link.common.WsPolicyLoader;
 import eu.ecodex.connector.ws.backend.webservice.DomibusConnectorBackendWSService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.cxf.bus.spring.SpringBus;
 import org.apache.cxf.ext.logging.LoggingFeature;
 import org.apache.cxf.jaxws.EndpointImpl;
@@ -33,6 +38,7 @@ import org.springframework.context.annotation.Configuration;
 public class WsBackendPluginConfiguration {
     private static final Logger LOGGER = LogManager.getLogger(WsBackendPluginConfiguration.class);
     public static final String WS_BACKEND_PLUGIN_PROFILE_NAME = "link.wsbackendplugin";
+    public static final String REQUEST_MESSAGES_EXECUTOR = "wsBackendRequestMessagesExecutor";
     private final WsBackendPluginConfigurationProperties configurationProperties;
     private final SpringBus springBus;
     private final MerlinPropertiesFactory merlinPropertiesFactory;
@@ -58,6 +64,32 @@ public class WsBackendPluginConfiguration {
         return new WsBackendServiceEndpointImpl();
     }
 
+    /**
+     * Creates the executor transforming the messages returned by requestMessages. It is shared by
+     * all calls and stopped with the plugin context. If all threads are busy and the queue is full
+     * the calling thread transforms the message itself.
+     *
+     * @return the executor
+     */
+    @Bean(name = REQUEST_MESSAGES_EXECUTOR, destroyMethod = "shutdown")
+    ExecutorService requestMessagesExecutor() {
+        var threads = configurationProperties.getRequestMessagesParallelism();
+        var threadNumber = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(
+            threads, threads, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(configurationProperties.getRequestMessagesBatchSize()),
+            runnable -> {
+                var thread = new Thread(
+                    runnable, "ws-backend-request-messages-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Bean
     EndpointImpl connectorBackendWS() {
         WsBackendPluginConfigurationProperties config = configurationProperties;
@@ -14,6 +14,7 @@ import eu.ecodex.connector.lib.spring.configuration.KeyAndKeyStoreAndTrustStoreC
 import eu.ecodex.utils.configuration.api.annotation.ConfigurationDescription;
 import eu.ecodex.utils.configuration.api.annotation.ConfigurationLabel;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -68,4 +69,38 @@ public class WsBackendPluginConfigurationProperties {
     )
     private Resource wsPolicy = new ClassPathResource("/wsdl/backend.policy.xml");
     private boolean cxfLoggingEnabled = false;
+    /**
+     * The maximum number of idle web service clients kept per link partner for pushing messages
+     * to the backend clients.
+     */
+    @Min(1)
+    @ConfigurationLabel("Push client pool size")
+    @ConfigurationDescription(
+        "The maximum number of idle web service clients kept per backend client for pushing "
+            + "messages"
+    )
+    private int pushClientPoolSize = 10;
+    /**
+     * The maximum number of messages returned by one requestMessages call. A backend client with
+     * more pending messages gets the remaining messages with the next calls.
+     */
+    @Min(1)
+    @ConfigurationLabel("Request messages batch size")
+    @ConfigurationDescription(
+        "The maximum number of pending messages returned to a backend client by one "
+            + "requestMessages call"
+    )
+    private int requestMessagesBatchSize = 100;
+    /**
+     * The number of threads transforming the messages returned by one requestMessages call.
+     */
+    @Min(1)
+    private int requestMessagesParallelism = 4;
+    /**
+     * The number of requestMessages calls which may fail to transform the message of a transport
+     * before the transport is set to FAILED. Until then the transport stays pending, so transient
+     * errors, e.g. while reading the large files, are retried with the next call.
+     */
+    @Min(1)
+    private int requestMessagesMaxTransformAttempts = 3;
 }
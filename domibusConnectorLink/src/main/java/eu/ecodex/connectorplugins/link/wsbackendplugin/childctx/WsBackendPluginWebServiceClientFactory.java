@@ -25,7 +25,8 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
 
 /**
- * Creates a web service client for pushing messages to backend client.
+ * Creates a web service client for pushing messages to backend client. The clients are reused
+ * by the {@link WsBackendClientPool}.
  *
  * @author {@literal Stephan Spindler <stephan.spindler@extern.brz.gv.at> }
  */
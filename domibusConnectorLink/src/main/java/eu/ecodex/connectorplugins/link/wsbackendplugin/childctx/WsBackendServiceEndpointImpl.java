@@ -33,9 +33,16 @@ import eu.ecodex.connector.ws.backend.webservice.ListPendingMessageIdsResponse;
 import eu.ecodex.connectorplugins.link.wsbackendplugin.WsBackendPluginActiveLinkPartner;
 import jakarta.annotation.Resource;
 import jakarta.xml.ws.WebServiceContext;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxws.context.WrappedMessageContext;
 import org.apache.cxf.message.Message;
@@ -45,6 +52,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -56,6 +64,9 @@ import org.springframework.transaction.support.TransactionTemplate;
 @SuppressWarnings("squid:S6813")
 public class WsBackendServiceEndpointImpl implements DomibusConnectorBackendWebService {
     private static final Logger LOGGER = LogManager.getLogger(WsBackendServiceEndpointImpl.class);
+    private static final int ACCEPTED_UPDATE_CHUNK_SIZE = 20;
+    private final Map<TransportStateService.TransportId, Integer> failedTransformAttempts =
+        new ConcurrentHashMap<>();
     private WebServiceContext webServiceContext;
     @Autowired
     SubmitToConnector submitToConnector;
@@ -73,12 +84,23 @@ public class WsBackendServiceEndpointImpl implements DomibusConnectorBackendWebS
     WsActiveLinkPartnerManager wsActiveLinkPartnerManager;
     @Autowired
     PlatformTransactionManager txManager;
+    @Autowired
+    WsBackendPluginConfigurationProperties configurationProperties;
+    @Autowired
+    @Qualifier(WsBackendPluginConfiguration.REQUEST_MESSAGES_EXECUTOR)
+    ExecutorService requestMessagesExecutor;
 
     @Resource
     public void setWsContext(WebServiceContext webServiceContext) {
         this.webServiceContext = webServiceContext;
     }
 
+    /**
+     * Returns the oldest pending messages of the backend client, at most
+     * {@link WsBackendPluginConfigurationProperties#getRequestMessagesBatchSize()}. The returned
+     * messages are set to ACCEPTED after the response has been sent, so the next call returns the
+     * next messages.
+     */
     @Override
     public DomibusConnectorMessagesType requestMessages(EmptyRequestType requestMessagesRequest) {
         var getMessagesResponse = new DomibusConnectorMessagesType();
@@ -87,18 +109,14 @@ public class WsBackendServiceEndpointImpl implements DomibusConnectorBackendWebS
             if (backendClientInfoByName.isPresent()) {
                 List<DomibusConnectorTransportStep> pendingTransportsForLinkPartner =
                     transportStateService.getPendingTransportsForLinkPartner(
-                        backendClientInfoByName.get().getLinkPartnerName());
-                List<DomibusConnectorMessageType> collect = pendingTransportsForLinkPartner
-                    .stream()
-                    .map(DomibusConnectorTransportStep::getTransportedMessage)
-                    // java9 should handle this better: Optional::streamOf
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .map(msg -> transformerService.transformDomainToTransition(msg))
-                    .toList();
-                getMessagesResponse.getMessages().addAll(collect);
+                        backendClientInfoByName.get().getLinkPartnerName(),
+                        configurationProperties.getRequestMessagesBatchSize()
+                    );
+                List<DomibusConnectorTransportStep> acceptedTransports =
+                    transformPendingMessages(
+                        pendingTransportsForLinkPartner, getMessagesResponse.getMessages());
 
-                registerCleanupTransportInterceptor(pendingTransportsForLinkPartner);
+                registerCleanupTransportInterceptor(acceptedTransports);
             } else {
                 LOGGER.warn("No backend found, returning empty DomibusConnectorMessagesType!");
             }
@@ -110,6 +128,80 @@ public class WsBackendServiceEndpointImpl implements DomibusConnectorBackendWebS
         return getMessagesResponse;
     }
 
+    /**
+     * Transforms the messages of the transports in parallel. Like before the batching, a transport
+     * without a message is set to ACCEPTED together with the returned messages. A message which
+     * cannot be transformed stays pending and is retried with the next call. Only after
+     * {@link WsBackendPluginConfigurationProperties#getRequestMessagesMaxTransformAttempts()}
+     * failed attempts it is set to FAILED, so it does not block the following batches forever.
+     *
+     * @param transports the pending transports
+     * @param messages   the list the transformed messages are added to, in the order of the
+     *                   transports
+     * @return the transports to set to ACCEPTED after the response has been sent
+     */
+    private List<DomibusConnectorTransportStep> transformPendingMessages(
+        List<DomibusConnectorTransportStep> transports, List<DomibusConnectorMessageType> messages)
+        throws InterruptedException {
+        var acceptedTransports = new ArrayList<DomibusConnectorTransportStep>();
+        var transportsWithMessage = new ArrayList<DomibusConnectorTransportStep>();
+        for (DomibusConnectorTransportStep transport : transports) {
+            if (transport.getTransportedMessage().isPresent()) {
+                transportsWithMessage.add(transport);
+            } else {
+                acceptedTransports.add(transport);
+            }
+        }
+        List<Callable<DomibusConnectorMessageType>> tasks = transportsWithMessage
+            .stream()
+            .<Callable<DomibusConnectorMessageType>>map(transport -> () -> transformerService
+                .transformDomainToTransition(transport.getTransportedMessage().get()))
+            .toList();
+        List<Future<DomibusConnectorMessageType>> results =
+            requestMessagesExecutor.invokeAll(tasks);
+        for (var i = 0; i < results.size(); i++) {
+            var transport = transportsWithMessage.get(i);
+            try {
+                messages.add(results.get(i).get());
+                acceptedTransports.add(transport);
+                failedTransformAttempts.remove(transport.getTransportId());
+            } catch (ExecutionException e) {
+                transformFailed(transport.getTransportId(), e.getCause());
+            }
+        }
+        return acceptedTransports;
+    }
+
+    private void transformFailed(TransportStateService.TransportId transportId, Throwable cause) {
+        int attempts = failedTransformAttempts.merge(transportId, 1, Integer::sum);
+        if (attempts < configurationProperties.getRequestMessagesMaxTransformAttempts()) {
+            LOGGER.warn(
+                "Failed to transform message of transport [{}] (attempt [{}]), message stays "
+                    + "pending", transportId, attempts, cause
+            );
+            return;
+        }
+        LOGGER.error(
+            "Failed to transform message of transport [{}] (attempt [{}]), setting transport to "
+                + "FAILED", transportId, attempts, cause
+        );
+        failedTransformAttempts.remove(transportId);
+        setTransportFailed(transportId, cause);
+    }
+
+    private void setTransportFailed(
+        TransportStateService.TransportId transportId, Throwable cause) {
+        try {
+            var transportState = new TransportStateService.DomibusConnectorTransportState();
+            transportState.setStatus(TransportState.FAILED);
+            transportState.setText(cause.getMessage());
+            transportStateService.updateTransportToBackendClientStatus(
+                transportId, transportState);
+        } catch (Exception e) {
+            LOGGER.error("Failed to set transport [{}] to FAILED", transportId, e);
+        }
+    }
+
     /**
      * Registers an interceptor which updates the transport state to ACCEPTED after the SOAP-message
      * has been sent to the client.
@@ -188,13 +280,12 @@ public class WsBackendServiceEndpointImpl implements DomibusConnectorBackendWebS
         try {
             Optional<DomibusConnectorLinkPartner> backendClientInfoByName = checkBackendClient();
             if (backendClientInfoByName.isPresent()) {
-                List<DomibusConnectorTransportStep> pendingTransportsForLinkPartner =
-                    transportStateService.getPendingTransportsForLinkPartner(
-                        backendClientInfoByName.get().getLinkPartnerName());
-
-                List<String> pendingIds = pendingTransportsForLinkPartner
+                // only the ids are read, the transported messages are not decoded
+                List<String> pendingIds = transportStateService
+                    .getPendingTransportIdsForLinkPartner(
+                        backendClientInfoByName.get().getLinkPartnerName())
                     .stream()
-                    .map(DomibusConnectorTransportStep::getTransportId)
+                    .filter(Objects::nonNull)
                     .map(TransportStateService.TransportId::getTransportId)
                     .filter(Objects::nonNull)
                     .toList();
@@ -342,12 +433,37 @@ public class WsBackendServiceEndpointImpl implements DomibusConnectorBackendWebS
                     + "invoking backendSubmissionService.processMessageAfterDeliveredToBackend"
             );
 
-            transports.forEach(transportId -> {
-                var transportState = new TransportStateService.DomibusConnectorTransportState();
-                transportState.setStatus(TransportState.ACCEPTED);
+            // the transports are updated in chunks, each within its own transaction, so a failing
+            // update only rolls back its chunk, which is then updated transport by transport
+            for (var i = 0; i < transports.size(); i += ACCEPTED_UPDATE_CHUNK_SIZE) {
+                var chunk = transports.subList(
+                    i, Math.min(i + ACCEPTED_UPDATE_CHUNK_SIZE, transports.size()));
+                try {
+                    transportStateService.updateTransportToBackendClientStatus(
+                        chunk, acceptedState());
+                } catch (Exception e) {
+                    LOGGER.warn(
+                        "Failed to set transports [{}] to ACCEPTED, updating them one by one",
+                        chunk, e
+                    );
+                    chunk.forEach(this::setTransportAccepted);
+                }
+            }
+        }
+
+        private void setTransportAccepted(TransportStateService.TransportId transportId) {
+            try {
                 transportStateService.updateTransportToBackendClientStatus(
-                    transportId, transportState);
-            });
+                    transportId, acceptedState());
+            } catch (Exception e) {
+                LOGGER.error("Failed to set transport [{}] to ACCEPTED", transportId, e);
+            }
+        }
+
+        private TransportStateService.DomibusConnectorTransportState acceptedState() {
+            var transportState = new TransportStateService.DomibusConnectorTransportState();
+            transportState.setStatus(TransportState.ACCEPTED);
+            return transportState;
         }
     }
 }
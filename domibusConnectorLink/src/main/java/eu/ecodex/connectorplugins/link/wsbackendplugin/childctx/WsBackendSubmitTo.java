@@ -20,7 +20,6 @@ import eu.ecodex.connector.domain.transformer.DomibusConnectorDomainMessageTrans
 import eu.ecodex.connector.link.api.ActiveLinkPartner;
 import eu.ecodex.connector.link.service.DCActiveLinkManagerService;
 import eu.ecodex.connector.link.service.SubmitToLinkPartner;
-import eu.ecodex.connector.ws.backend.delivery.webservice.DomibusConnectorBackendDeliveryWebService;
 import eu.ecodex.connectorplugins.link.wsbackendplugin.WsBackendPluginActiveLinkPartner;
 import java.util.Optional;
 import org.springframework.stereotype.Component;
@@ -32,7 +31,7 @@ import org.springframework.stereotype.Component;
 @Component
 public class WsBackendSubmitTo implements SubmitToLinkPartner {
     private final DCActiveLinkManagerService linkManagerService;
-    private final WsBackendPluginWebServiceClientFactory webServiceClientFactory;
+    private final WsBackendClientPool webServiceClientPool;
     private final DomibusConnectorDomainMessageTransformerService transformerService;
     private final TransportStateService transportStateService;
 
@@ -40,19 +39,18 @@ public class WsBackendSubmitTo implements SubmitToLinkPartner {
      * Initializes a new instance of the WsBackendSubmitTo class with the specified parameters.
      *
      * @param linkManagerService      The DCActiveLinkManagerService used for managing links.
-     * @param webServiceClientFactory The WsBackendPluginWebServiceClientFactory used for creating
-     *                                web service clients.
+     * @param webServiceClientPool    The WsBackendClientPool providing the web service clients.
      * @param transformerService      The DomibusConnectorDomainMessageTransformerService used for
      *                                transforming messages.
      * @param transportStateService   The TransportStateService used for managing transport states.
      */
     public WsBackendSubmitTo(
         DCActiveLinkManagerService linkManagerService,
-        WsBackendPluginWebServiceClientFactory webServiceClientFactory,
+        WsBackendClientPool webServiceClientPool,
         DomibusConnectorDomainMessageTransformerService transformerService,
         TransportStateService transportStateService) {
         this.linkManagerService = linkManagerService;
-        this.webServiceClientFactory = webServiceClientFactory;
+        this.webServiceClientPool = webServiceClientPool;
         this.transformerService = transformerService;
         this.transportStateService = transportStateService;
     }
@@ -96,9 +94,6 @@ public class WsBackendSubmitTo implements SubmitToLinkPartner {
 
     void pushMessage(
         DomibusConnectorMessage message, WsBackendPluginActiveLinkPartner activeLinkPartner) {
-        DomibusConnectorBackendDeliveryWebService backendWsClient =
-            webServiceClientFactory.createBackendWsClient(activeLinkPartner);
-
         var transportId = transportStateService.createTransportFor(
             message, activeLinkPartner.getLinkPartner().getLinkPartnerName()
         );
@@ -106,8 +101,10 @@ public class WsBackendSubmitTo implements SubmitToLinkPartner {
         var state = new TransportStateService.DomibusConnectorTransportState();
         var domibusConnectorMessageType = transformerService.transformDomainToTransition(message);
         try {
-            var domibsConnectorAcknowledgementType =
-                backendWsClient.deliverMessage(domibusConnectorMessageType);
+            var domibsConnectorAcknowledgementType = webServiceClientPool.execute(
+                activeLinkPartner,
+                backendWsClient -> backendWsClient.deliverMessage(domibusConnectorMessageType)
+            );
 
             state.setStatus(
                 domibsConnectorAcknowledgementType.isResult() ? TransportState.ACCEPTED :
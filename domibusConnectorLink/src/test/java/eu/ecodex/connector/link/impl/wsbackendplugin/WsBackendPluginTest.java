@@ -144,7 +144,8 @@ class WsBackendPluginTest {
         var backendName = new DomibusConnectorLinkPartner.LinkPartnerName("backend_bob");
         // return the 2 message steps, when plugin asks for it
         Mockito.when(
-                   transportStateServiceMock.getPendingTransportsForLinkPartner(backendName)
+                   transportStateServiceMock.getPendingTransportsForLinkPartner(
+                       Mockito.eq(backendName), Mockito.anyInt())
                )
                .thenReturn(Stream.of(step1, step2).toList());
 
@@ -201,8 +202,8 @@ class WsBackendPluginTest {
         var backendName = new DomibusConnectorLinkPartner.LinkPartnerName("backend_bob");
         // return the 2 pending message ids, when plugin asks for it
         Mockito.when(
-                   transportStateServiceMock.getPendingTransportsForLinkPartner(backendName))
-               .thenReturn(Stream.of(step1, step2).toList());
+                   transportStateServiceMock.getPendingTransportIdsForLinkPartner(backendName))
+               .thenReturn(List.of(tid1, tid2));
         // return the corresponding step
         Mockito.when(transportStateServiceMock.getTransportStepById(tid1))
                .thenReturn(Optional.of(step1));
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connectorplugins.link.gwwspullplugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.ecodex.connector.controller.service.DomibusConnectorMessageIdGenerator;
+import eu.ecodex.connector.controller.service.SubmitToConnector;
+import eu.ecodex.connector.domain.model.DomibusConnectorLinkPartner;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
+import eu.ecodex.connector.domain.transformer.DomibusConnectorDomainMessageTransformerService;
+import eu.ecodex.connector.domain.transition.DomibusConnectorMessageType;
+import eu.ecodex.connector.link.api.ActiveLinkPartner;
+import eu.ecodex.connector.link.service.DCActiveLinkManagerService;
+import eu.ecodex.connector.ws.gateway.webservice.DomibusConnectorGatewayWebService;
+import eu.ecodex.connector.ws.gateway.webservice.GetMessageByIdRequest;
+import eu.ecodex.connector.ws.gateway.webservice.ListPendingMessageIdsRequest;
+import eu.ecodex.connector.ws.gateway.webservice.ListPendingMessageIdsResponse;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DCGatewayWebServiceClientTest {
+    private static final int PENDING_MESSAGES = 20;
+    private static final DomibusConnectorLinkPartner.LinkPartnerName LINK_PARTNER_NAME =
+        new DomibusConnectorLinkPartner.LinkPartnerName("gw");
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    /**
+     * If set, each fetch waits until the number of parties of the barrier is in flight.
+     */
+    private CyclicBarrier inFlightBarrier;
+    private DCGatewayWebServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new DCGatewayWebServiceClient();
+        client.configurationProperties = new DCGatewayPullPluginConfigurationProperties();
+
+        var pending = new ListPendingMessageIdsResponse();
+        IntStream.range(0, PENDING_MESSAGES).forEach(i -> pending.getMessageIds().add("id" + i));
+        client.gatewayWebService = mock(DomibusConnectorGatewayWebService.class);
+        when(client.gatewayWebService.listPendingMessageIds(
+            any(ListPendingMessageIdsRequest.class))).thenReturn(pending);
+        when(client.gatewayWebService.getMessageById(any(GetMessageByIdRequest.class)))
+            .thenAnswer(invocation -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    if (inFlightBarrier != null) {
+                        inFlightBarrier.await(5, TimeUnit.SECONDS);
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return new DomibusConnectorMessageType();
+            });
+
+        client.transformerService = mock(DomibusConnectorDomainMessageTransformerService.class);
+        when(client.transformerService.transformTransitionToDomain(
+            any(DomibusConnectorMessageType.class), any(DomibusConnectorMessageId.class)))
+            .thenReturn(new DomibusConnectorMessage());
+        client.messageIdGenerator = mock(DomibusConnectorMessageIdGenerator.class);
+        when(client.messageIdGenerator.generateDomibusConnectorMessageId())
+            .thenAnswer(invocation -> new DomibusConnectorMessageId(UUID.randomUUID().toString()));
+
+        var activeLinkPartner = new ActiveLinkPartner();
+        activeLinkPartner.setLinkPartner(new DomibusConnectorLinkPartner());
+        client.dcActiveLinkManagerService = mock(DCActiveLinkManagerService.class);
+        when(client.dcActiveLinkManagerService.getActiveLinkPartnerByName(LINK_PARTNER_NAME))
+            .thenReturn(Optional.of(activeLinkPartner));
+        client.submitToConnector = mock(SubmitToConnector.class);
+    }
+
+    @Test
+    void testPullMessagesFrom_sequential() {
+        client.pullMessagesFrom(LINK_PARTNER_NAME);
+
+        verify(client.submitToConnector, times(PENDING_MESSAGES))
+            .submitToConnector(any(), any(DomibusConnectorLinkPartner.class));
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testPullMessagesFrom_concurrent_fetchesPullConcurrencyMessagesAtOnce() {
+        client.configurationProperties.setPullConcurrency(4);
+        // each fetch is only released when 4 fetches are in flight, so fewer concurrent fetches
+        // break the barrier and the messages are not submitted
+        inFlightBarrier = new CyclicBarrier(4);
+
+        client.pullMessagesFrom(LINK_PARTNER_NAME);
+
+        verify(client.submitToConnector, times(PENDING_MESSAGES))
+            .submitToConnector(any(), any(DomibusConnectorLinkPartner.class));
+        assertThat(inFlightBarrier.isBroken()).isFalse();
+        assertThat(maxInFlight.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testPullMessagesFrom_concurrent_failedMessageIsSkipped() {
+        client.configurationProperties.setPullConcurrency(4);
+        doThrow(new IllegalStateException("test"))
+            .doNothing()
+            .when(client.submitToConnector)
+            .submitToConnector(any(), any(DomibusConnectorLinkPartner.class));
+
+        client.pullMessagesFrom(LINK_PARTNER_NAME);
+
+        verify(client.submitToConnector, times(PENDING_MESSAGES))
+            .submitToConnector(any(), any(DomibusConnectorLinkPartner.class));
+    }
+
+    @Test
+    void testPullMessagesFrom_sequential_connectorQueueFull_stopsFetching() {
+        client.configurationProperties.setMaxPendingToConnectorMessages(5);
+        when(client.submitToConnector.countPendingMessages(5)).thenReturn(0, 2, 4, 5);
+
+        client.pullMessagesFrom(LINK_PARTNER_NAME);
+
+        verify(client.gatewayWebService, times(3)).getMessageById(any());
+        verify(client.submitToConnector, times(3))
+            .submitToConnector(any(), any(DomibusConnectorLinkPartner.class));
+    }
+
+    @Test
+    void testPullMessagesFrom_concurrent_connectorQueueFull_stopsFetching() {
+        client.configurationProperties.setPullConcurrency(4);
+        client.configurationProperties.setMaxPendingToConnectorMessages(5);
+        when(client.submitToConnector.countPendingMessages(5)).thenReturn(0, 1, 2, 3, 4, 5);
+
+        client.pullMessagesFrom(LINK_PARTNER_NAME);
+
+        verify(client.gatewayWebService, times(5)).getMessageById(any());
+        verify(client.submitToConnector, times(5))
+            .submitToConnector(any(), any(DomibusConnectorLinkPartner.class));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connectorplugins.link.wsbackendplugin.childctx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorLinkPartner;
+import eu.ecodex.connector.ws.backend.delivery.webservice.DomibusConnectorBackendDeliveryWebService;
+import eu.ecodex.connectorplugins.link.wsbackendplugin.WsBackendPluginActiveLinkPartner;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class WsBackendClientPoolTest {
+    private static final DomibusConnectorLinkPartner.LinkPartnerName ALICE =
+        new DomibusConnectorLinkPartner.LinkPartnerName("alice");
+    private WsBackendPluginWebServiceClientFactory clientFactory;
+    private WsBackendClientPool clientPool;
+
+    @BeforeEach
+    void setUp() {
+        clientFactory = Mockito.mock(WsBackendPluginWebServiceClientFactory.class);
+        when(clientFactory.createBackendWsClient(any())).thenAnswer(
+            invocation -> Mockito.mock(DomibusConnectorBackendDeliveryWebService.class));
+        var config = new WsBackendPluginConfigurationProperties();
+        config.setPushClientPoolSize(2);
+        clientPool = new WsBackendClientPool(clientFactory, config);
+    }
+
+    @Test
+    void testExecute_clientIsReused() {
+        var linkPartner = linkPartner();
+
+        var first = clientPool.execute(linkPartner, Function.identity());
+        var second = clientPool.execute(linkPartner, Function.identity());
+
+        assertThat(second).isSameAs(first);
+        verify(clientFactory, times(1)).createBackendWsClient(any());
+    }
+
+    @Test
+    void testExecute_nestedCalls_useDifferentClients() {
+        var linkPartner = linkPartner();
+
+        var clients = clientPool.execute(
+            linkPartner,
+            outer -> new Object[] {outer, clientPool.execute(linkPartner, Function.identity())}
+        );
+
+        assertThat(clients[0]).isNotSameAs(clients[1]);
+    }
+
+    @Test
+    void testExecute_configurationChanged_clientIsCreatedAgain() {
+        var first = clientPool.execute(linkPartner(), Function.identity());
+        var second = clientPool.execute(linkPartner(), Function.identity());
+
+        assertThat(second).isNotSameAs(first);
+        verify(clientFactory, times(2)).createBackendWsClient(any());
+    }
+
+    @Test
+    void testExecute_invalidated_clientIsCreatedAgain() {
+        var linkPartner = linkPartner();
+        var first = clientPool.execute(linkPartner, Function.identity());
+
+        clientPool.invalidate(ALICE);
+        var second = clientPool.execute(linkPartner, Function.identity());
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    private static WsBackendPluginActiveLinkPartner linkPartner() {
+        var linkPartner = new DomibusConnectorLinkPartner();
+        linkPartner.setLinkPartnerName(ALICE);
+        var activeLinkPartner = new WsBackendPluginActiveLinkPartner();
+        activeLinkPartner.setLinkPartner(linkPartner);
+        activeLinkPartner.setConfig(new WsBackendPluginLinkPartnerConfigurationProperties());
+        return activeLinkPartner;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.largefiles.provider;
+
+import eu.ecodex.connector.persistence.largefiles.provider.LargeFilePersistenceServiceFilesystemImpl.FileBasedLargeFileReference;
+import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties;
+import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties.EncryptionMode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of the encryption modes of the
+ * {@link LargeFilePersistenceServiceFilesystemImpl}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LargeFileEncryptionBenchmark {
+    @Param({"AES_CBC", "AES_GCM_CHUNKED"})
+    public EncryptionMode encryptionMode;
+    @Param({"1048576", "16777216"})
+    public int size;
+    private LargeFilePersistenceServiceFilesystemImpl filesystemImpl;
+    private byte[] plain;
+    private byte[] encrypted;
+    private FileBasedLargeFileReference encryptedReference;
+
+    /**
+     * Creates the provider with the encryption mode under test and encrypts the test data once,
+     * so it can be used by the decryption benchmark.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        var fsProps = new DomibusConnectorFilesystemPersistenceProperties();
+        fsProps.setEncryptionActive(true);
+        fsProps.setEncryptionMode(encryptionMode);
+        filesystemImpl = new LargeFilePersistenceServiceFilesystemImpl();
+        filesystemImpl.setFilesystemPersistenceProperties(fsProps);
+
+        plain = new byte[size];
+        new Random(size).nextBytes(plain);
+        encryptedReference = new FileBasedLargeFileReference(filesystemImpl);
+        var bos = new ByteArrayOutputStream(size + size / 100);
+        try (OutputStream os =
+                 filesystemImpl.generateEncryptedOutputStream(encryptedReference, bos)) {
+            os.write(plain);
+        }
+        encrypted = bos.toByteArray();
+    }
+
+    /**
+     * Encrypts the test data, including the key and nonce generation.
+     */
+    @Benchmark
+    public void encrypt() throws IOException {
+        var reference = new FileBasedLargeFileReference(filesystemImpl);
+        try (OutputStream os = filesystemImpl.generateEncryptedOutputStream(
+            reference, OutputStream.nullOutputStream())) {
+            // the same block size as StreamUtils#copy
+            for (var off = 0; off < plain.length; off += 8192) {
+                os.write(plain, off, Math.min(8192, plain.length - off));
+            }
+        }
+    }
+
+    /**
+     * Decrypts (and for GCM verifies) the test data.
+     */
+    @Benchmark
+    public long decrypt() throws IOException {
+        try (InputStream is = filesystemImpl.generateDecryptedInputStream(
+            encryptedReference, new ByteArrayInputStream(encrypted))) {
+            return is.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(LargeFileEncryptionBenchmark.class.getSimpleName())
+                       .build()).run();
+    }
+}
@@ -11,6 +11,9 @@
 package eu.ecodex.connector.persistence.dao;
 
 import eu.ecodex.connector.persistence.model.PDomibusConnectorBigData;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -24,4 +27,30 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface DomibusConnectorBigDataDao extends CrudRepository<PDomibusConnectorBigData, Long> {
+    List<PDomibusConnectorBigData> findAllByConnectorMessageId(String connectorMessageId);
+
+    /**
+     * Loads the metadata of a big data entry without selecting the content, some JDBC drivers
+     * (e.g. MySQL) read the whole blob into memory as soon as the column is selected.
+     *
+     * @param id the id of the big data entry
+     * @return the metadata or an empty Optional if the entry does not exist
+     */
+    @Query(
+        "SELECT b.name AS name, b.mimeType AS mimeType, "
+            + "CASE WHEN b.content IS NULL THEN false ELSE true END AS contentPresent "
+            + "FROM PDomibusConnectorBigData b WHERE b.id = ?1"
+    )
+    Optional<BigDataMetadata> findMetadataById(Long id);
+
+    /**
+     * The metadata of a big data entry, see {@link #findMetadataById(Long)}.
+     */
+    interface BigDataMetadata {
+        String getName();
+
+        String getMimeType();
+
+        boolean isContentPresent();
+    }
 }
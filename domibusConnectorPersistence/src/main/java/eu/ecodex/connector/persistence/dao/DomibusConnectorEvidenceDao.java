@@ -35,15 +35,15 @@ public interface DomibusConnectorEvidenceDao
 
     @Modifying
     @Query(
-        "update PDomibusConnectorEvidence e set e.deliveredToGateway=CURRENT_TIMESTAMP "
-            + "WHERE e.id = ?1"
+        "update PDomibusConnectorEvidence e set e.deliveredToGateway=CURRENT_TIMESTAMP, "
+            + "e.updated=CURRENT_TIMESTAMP WHERE e.id = ?1"
     )
     int setEvidenceDeliveredToGateway(Long id);
 
     @Modifying
     @Query(
-        "update PDomibusConnectorEvidence e set e.deliveredToBackend=CURRENT_TIMESTAMP "
-            + "WHERE e.id = ?1"
+        "update PDomibusConnectorEvidence e set e.deliveredToBackend=CURRENT_TIMESTAMP, "
+            + "e.updated=CURRENT_TIMESTAMP WHERE e.id = ?1"
     )
     int setEvidenceDeliveredToBackend(Long id);
 }
@@ -11,11 +11,15 @@
 package eu.ecodex.connector.persistence.dao;
 
 import eu.ecodex.connector.domain.enums.MessageTargetSource;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDeliveryInfo;
 import eu.ecodex.connector.persistence.model.PDomibusConnectorMessage;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -53,6 +57,19 @@ public interface DomibusConnectorMessageDao extends JpaRepository<PDomibusConnec
 
     List<PDomibusConnectorMessage> findByConversationId(String conversationId);
 
+    /**
+     * Loads only the backend names used within a conversation, oldest message first.
+     *
+     * @param conversationId the conversation id
+     * @param pageable       limits the number of returned names
+     * @return the backend names, empty names are skipped
+     */
+    @Query(
+        "SELECT m.backendName FROM PDomibusConnectorMessage m WHERE m.conversationId = ?1 "
+            + "AND m.backendName is not null AND m.backendName <> '' ORDER BY m.id ASC"
+    )
+    List<String> findBackendNamesByConversationId(String conversationId, Pageable pageable);
+
     List<PDomibusConnectorMessage> findByBackendName(String backendName);
 
     @Query(
@@ -80,6 +97,101 @@ public interface DomibusConnectorMessageDao extends JpaRepository<PDomibusConnec
 
     );
 
+    /**
+     * Keyset paged projection variant of
+     * {@link #findOutgoingMessagesNotRejectedNorConfirmedAndWithoutDelivery()}, which only
+     * returns messages delivered to the gateway before the given date.
+     *
+     * @param deliveredBefore only messages delivered to the gateway before this date
+     * @param afterId         only messages with a greater id, the last id of the previous page
+     * @param pageable        limits the number of returned messages
+     * @return the messages ordered by id
+     */
+    @Query(
+        "SELECT new eu.ecodex.connector.domain.model.DomibusConnectorMessageDeliveryInfo("
+            + "m.id, m.connectorMessageId, m.deliveredToGateway) "
+            + "FROM PDomibusConnectorMessage m WHERE m.confirmed is null AND m.rejected is null"
+            + " AND m.directionTarget = 'GATEWAY' AND m.deliveredToGateway < ?1 AND m.id > ?2 "
+            + "AND not exists (SELECT 1 FROM PDomibusConnectorEvidence e "
+            + "WHERE e.businessMessage = m AND (e.type='DELIVERY' or e.type='NON_DELIVERY')) "
+            + "ORDER BY m.id ASC"
+    )
+    List<DomibusConnectorMessageDeliveryInfo>
+        findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutDelivery(
+        Date deliveredBefore, Long afterId, Pageable pageable);
+
+    /**
+     * Keyset paged projection variant of
+     * {@link #findOutgoingMessagesNotRejectedNorConfirmedAndWithoutRelayREMMD()}, which only
+     * returns messages delivered to the gateway before the given date.
+     *
+     * @param deliveredBefore only messages delivered to the gateway before this date
+     * @param afterId         only messages with a greater id, the last id of the previous page
+     * @param pageable        limits the number of returned messages
+     * @return the messages ordered by id
+     */
+    @Query(
+        "SELECT new eu.ecodex.connector.domain.model.DomibusConnectorMessageDeliveryInfo("
+            + "m.id, m.connectorMessageId, m.deliveredToGateway) "
+            + "FROM PDomibusConnectorMessage m WHERE m.confirmed is null AND m.rejected is null"
+            + " AND m.directionTarget = 'GATEWAY' AND m.deliveredToGateway < ?1 AND m.id > ?2 "
+            + "AND not exists (SELECT 1 FROM PDomibusConnectorEvidence e "
+            + "WHERE e.businessMessage = m "
+            + "AND (e.type='RELAY_REMMD_ACCEPTANCE' or e.type='RELAY_REMMD_REJECTION')) "
+            + "ORDER BY m.id ASC"
+    )
+    List<DomibusConnectorMessageDeliveryInfo>
+        findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutRelayREMMD(
+        Date deliveredBefore, Long afterId, Pageable pageable);
+
+    /**
+     * Keyset paged projection of the messages confirmed or rejected at or after the given time.
+     *
+     * @param finishedSince only messages confirmed or rejected at or after this time
+     * @param afterId       only messages with a greater id, the last id of the previous page
+     * @param pageable      limits the number of returned messages
+     * @return the messages ordered by id
+     */
+    @Query(
+        "SELECT new eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo("
+            + "m.id, m.connectorMessageId, true) "
+            + "FROM PDomibusConnectorMessage m "
+            + "WHERE (m.confirmed >= ?1 OR m.rejected >= ?1) AND m.id > ?2 "
+            + "ORDER BY m.id ASC"
+    )
+    List<DomibusConnectorMessageContentInfo> findContentInfosConfirmedOrRejectedSince(
+        ZonedDateTime finishedSince, Long afterId, Pageable pageable);
+
+    /**
+     * Keyset paged projection of the messages neither confirmed nor rejected, which have been
+     * created within the given period.
+     *
+     * @param createdFrom   only messages created at or after this date
+     * @param createdBefore only messages created before this date
+     * @param afterId       only messages with a greater id, the last id of the previous page
+     * @param pageable      limits the number of returned messages
+     * @return the messages ordered by id
+     */
+    @Query(
+        "SELECT new eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo("
+            + "m.id, m.connectorMessageId, false) "
+            + "FROM PDomibusConnectorMessage m WHERE m.confirmed is null AND m.rejected is null "
+            + "AND m.created >= ?1 AND m.created < ?2 AND m.id > ?3 "
+            + "ORDER BY m.id ASC"
+    )
+    List<DomibusConnectorMessageContentInfo> findContentInfosNotRejectedNorConfirmedCreatedBetween(
+        Date createdFrom, Date createdBefore, Long afterId, Pageable pageable);
+
+    @Query(
+        "SELECT new eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo("
+            + "m.id, m.connectorMessageId, "
+            + "CASE WHEN (m.confirmed is not null OR m.rejected is not null) "
+            + "THEN true ELSE false END) "
+            + "FROM PDomibusConnectorMessage m WHERE m.connectorMessageId IN ?1"
+    )
+    List<DomibusConnectorMessageContentInfo> findContentInfosByConnectorMessageIdIn(
+        Collection<String> connectorMessageIds);
+
     @Query(
         "SELECT m FROM PDomibusConnectorMessage m WHERE m.confirmed is null AND m.rejected is null"
             + " AND m.directionTarget = 'BACKEND' AND m.deliveredToGateway is not null"
@@ -150,35 +262,36 @@ public interface DomibusConnectorMessageDao extends JpaRepository<PDomibusConnec
 
     @Modifying
     @Query(
-        "update PDomibusConnectorMessage m set m.deliveredToNationalSystem=CURRENT_TIMESTAMP "
-            + "WHERE m = ?1"
+        "update PDomibusConnectorMessage m set m.deliveredToNationalSystem=CURRENT_TIMESTAMP, "
+            + "m.updated=CURRENT_TIMESTAMP WHERE m = ?1"
     )
     int setMessageDeliveredToBackend(PDomibusConnectorMessage dbMessage);
 
     @Modifying
     @Query(
-        "update PDomibusConnectorMessage m set m.deliveredToNationalSystem=CURRENT_TIMESTAMP "
-            + "WHERE m.connectorMessageId = ?1"
+        "update PDomibusConnectorMessage m set m.deliveredToNationalSystem=CURRENT_TIMESTAMP, "
+            + "m.updated=CURRENT_TIMESTAMP WHERE m.connectorMessageId = ?1"
     )
     int setMessageDeliveredToBackend(String connectorId);
 
     @Modifying
     @Query(
-        "update PDomibusConnectorMessage m set m.deliveredToGateway=CURRENT_TIMESTAMP WHERE m = ?1"
+        "update PDomibusConnectorMessage m set m.deliveredToGateway=CURRENT_TIMESTAMP, "
+            + "m.updated=CURRENT_TIMESTAMP WHERE m = ?1"
     )
     int setMessageDeliveredToGateway(PDomibusConnectorMessage dbMessage);
 
     @Modifying
     @Query(
-        "update PDomibusConnectorMessage m set m.deliveredToGateway=CURRENT_TIMESTAMP "
-            + "WHERE m.connectorMessageId = ?1"
+        "update PDomibusConnectorMessage m set m.deliveredToGateway=CURRENT_TIMESTAMP, "
+            + "m.updated=CURRENT_TIMESTAMP WHERE m.connectorMessageId = ?1"
     )
     int setMessageDeliveredToGateway(String connectorId);
 
     @Modifying
     @Query(
-        "update PDomibusConnectorMessage m set m.deliveredToGateway=?2 "
-            + "WHERE m.connectorMessageId = ?1"
+        "update PDomibusConnectorMessage m set m.deliveredToGateway=?2, "
+            + "m.updated=CURRENT_TIMESTAMP WHERE m.connectorMessageId = ?1"
     )
     void setMessageDeliveredToGateway(String connectorid, Date deliveryDate);
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.dao;
+
+import eu.ecodex.connector.persistence.model.PDomibusConnectorRevocationData;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The DomibusConnectorRevocationDataDao interface provides methods for CRUD operations on
+ * PDomibusConnectorRevocationData entities.
+ */
+@Repository
+public interface DomibusConnectorRevocationDataDao
+    extends CrudRepository<PDomibusConnectorRevocationData, String> {
+    @Query(
+        "SELECT r FROM PDomibusConnectorRevocationData r "
+            + "WHERE r.revocationKey = ?1 AND r.expires > ?2"
+    )
+    Optional<PDomibusConnectorRevocationData> findValid(String revocationKey, ZonedDateTime date);
+
+    @Modifying
+    @Query("DELETE FROM PDomibusConnectorRevocationData r WHERE r.expires < ?1")
+    int deleteExpired(ZonedDateTime date);
+}
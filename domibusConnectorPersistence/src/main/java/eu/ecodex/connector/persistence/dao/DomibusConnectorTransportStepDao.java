@@ -27,6 +27,28 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DomibusConnectorTransportStepDao
     extends JpaRepository<PDomibusConnectorTransportStep, Long> {
+    /**
+     * Selects the steps of the link partners ?2 with the highest attempt of a message, whose last
+     * state is one of ?1.
+     */
+    String LAST_ATTEMPT_STEP_BY_LAST_STATE_AND_LINK_PARTNER =
+        "FROM PDomibusConnectorTransportStep step WHERE "
+            + "step.linkPartnerName IN ?2 AND "
+            + "step.id IN ( "
+            + "   SELECT status.transportStep.id "
+            + "           FROM PDomibusConnectorTransportStepStatusUpdate status "
+            + "               WHERE status.transportStateString IN ?1 "
+            + "               AND CONCAT(status.created, '_', status.transportStep.id) IN ("
+            + "                   SELECT CONCAT(MAX(s2.created), '_', s2.transportStep.id) "
+            + "                   FROM PDomibusConnectorTransportStepStatusUpdate s2"
+            + "                   GROUP BY s2.transportStep.id) "
+            + "                   AND CONCAT(status.transportStep.attempt, '_', "
+            + "                         status.transportStep.connectorMessageId) IN ("
+            + "                             SELECT CONCAT(MAX(s3.transportStep.attempt), '_', "
+            + "                                 s3.transportStep.connectorMessageId) "
+            + "                             FROM PDomibusConnectorTransportStepStatusUpdate s3 "
+            + "                             GROUP BY s3.transportStep.connectorMessageId)) ";
+
     @Query(
         "SELECT MAX(step.attempt) FROM PDomibusConnectorTransportStep step "
             + "WHERE step.connectorMessageId = ?1 AND step.linkPartnerName = ?2"
@@ -55,28 +77,28 @@ public interface DomibusConnectorTransportStepDao
     List<PDomibusConnectorTransportStep> findByMsgLinkPartnerAndLastStateIs(
         DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName, String stateDbName);
 
-    @Query(
-        "SELECT step FROM PDomibusConnectorTransportStep step WHERE "
-            + "step.linkPartnerName IN ?2 AND "
-            + "step.id IN ( "
-            + "   SELECT status.transportStep.id "
-            + "           FROM PDomibusConnectorTransportStepStatusUpdate status "
-            + "               WHERE status.transportStateString IN ?1 "
-            + "               AND CONCAT(status.created, '_', status.transportStep.id) IN ("
-            + "                   SELECT CONCAT(MAX(s2.created), '_', s2.transportStep.id) "
-            + "                   FROM PDomibusConnectorTransportStepStatusUpdate s2"
-            + "                   GROUP BY s2.transportStep.id) "
-            + "                   AND CONCAT(status.transportStep.attempt, '_', "
-            + "                         status.transportStep.connectorMessageId) IN ("
-            + "                             SELECT CONCAT(MAX(s3.transportStep.attempt), '_', "
-            + "                                 s3.transportStep.connectorMessageId) "
-            + "                             FROM PDomibusConnectorTransportStepStatusUpdate s3 "
-            + "                             GROUP BY s3.transportStep.connectorMessageId)) "
-    )
+    @Query("SELECT step " + LAST_ATTEMPT_STEP_BY_LAST_STATE_AND_LINK_PARTNER)
     Page<PDomibusConnectorTransportStep> findLastAttemptStepByLastStateAndLinkPartnerIsOneOf(
         String[] states, DomibusConnectorLinkPartner.LinkPartnerName[] linkPartnerStrings,
         Pageable pageable);
 
+    /**
+     * Same as {@link #findLastAttemptStepByLastStateAndLinkPartnerIsOneOf}, but only selects the
+     * transport ids, so the transported messages are not read.
+     */
+    @Query(
+        "SELECT step.transportId " + LAST_ATTEMPT_STEP_BY_LAST_STATE_AND_LINK_PARTNER
+            + "ORDER BY step.created, step.id"
+    )
+    List<TransportStateService.TransportId>
+    findLastAttemptTransportIdByLastStateAndLinkPartnerIsOneOf(
+        String[] states, DomibusConnectorLinkPartner.LinkPartnerName[] linkPartnerStrings);
+
+    /**
+     * Checks if the step has no snapshot of the transported message, without reading it.
+     */
+    boolean existsByIdAndTransportedMessageSnapshotIsNull(Long id);
+
     @Query(
         "SELECT step.linkPartnerName FROM PDomibusConnectorTransportStep step "
             + "GROUP BY step.linkPartnerName"
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.largefiles.provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * Streaming AES-GCM encryption which splits the data into chunks of a fixed size.
+ *
+ * <p>Every chunk is encrypted on its own with a nonce derived from the random base nonce and the
+ * chunk index and carries its own authentication tag. So the integrity of the data is verified
+ * while reading, without buffering the whole content or reading it twice. All chunks except the
+ * last one contain exactly chunkSize bytes of plaintext, the last chunk contains less (maybe
+ * zero) bytes and is marked by the additional authenticated data. Because of that reordered,
+ * removed or appended chunks are detected as well.
+ *
+ * <p>Every stream owns its cipher. It is not cached per thread, so a cipher initialized with a
+ * key does not outlive the stream on a pooled thread.
+ */
+final class ChunkedAesGcmCipherStreams {
+    static final String CIPHER_SUITE = "AES/GCM/NoPadding";
+    static final int NONCE_LENGTH_BYTES = 12;
+    static final int TAG_LENGTH_BYTES = 16;
+    private static final String CHUNK_SIZE_PARAMETER = ";chunkSize=";
+    private static final byte[] INTERMEDIATE_CHUNK_AAD = {0};
+    private static final byte[] FINAL_CHUNK_AAD = {1};
+
+    private ChunkedAesGcmCipherStreams() {
+        // utility class
+    }
+
+    /**
+     * Returns the cipher suite name stored with the reference, it contains the chunk size.
+     *
+     * @param chunkSize the plaintext size of a chunk
+     * @return the cipher suite name
+     */
+    static String getCipherSuite(int chunkSize) {
+        return CIPHER_SUITE + CHUNK_SIZE_PARAMETER + chunkSize;
+    }
+
+    static boolean isChunkedCipherSuite(String cipherSuite) {
+        return cipherSuite != null && cipherSuite.startsWith(CIPHER_SUITE + CHUNK_SIZE_PARAMETER);
+    }
+
+    static int getChunkSize(String cipherSuite) {
+        if (!isChunkedCipherSuite(cipherSuite)) {
+            throw new IllegalArgumentException(
+                String.format("The cipher suite [%s] is not a chunked cipher suite!", cipherSuite));
+        }
+        return Integer.parseInt(
+            cipherSuite.substring(CIPHER_SUITE.length() + CHUNK_SIZE_PARAMETER.length()));
+    }
+
+    /**
+     * Creates a stream encrypting all written data into the given stream. The last chunk is
+     * written on close, so the stream must always be closed.
+     *
+     * @param outputStream the stream receiving the encrypted data
+     * @param key          the AES key
+     * @param baseNonce    a random nonce with {@value #NONCE_LENGTH_BYTES} bytes
+     * @param chunkSize    the plaintext size of a chunk
+     * @return the encrypting stream
+     */
+    static OutputStream encrypt(
+        OutputStream outputStream, SecretKey key, byte[] baseNonce, int chunkSize) {
+        return new EncryptingOutputStream(outputStream, key, baseNonce, chunkSize);
+    }
+
+    /**
+     * Creates a stream decrypting and verifying the data read from the given stream.
+     *
+     * @param inputStream the stream providing the encrypted data
+     * @param key         the AES key
+     * @param baseNonce   the nonce used during encryption
+     * @param chunkSize   the plaintext size of a chunk used during encryption
+     * @return the decrypting stream, which throws an IOException if the data has been modified
+     */
+    static InputStream decrypt(
+        InputStream inputStream, SecretKey key, byte[] baseNonce, int chunkSize) {
+        return new DecryptingInputStream(inputStream, key, baseNonce, chunkSize);
+    }
+
+    private static Cipher createCipher() {
+        try {
+            return Cipher.getInstance(CIPHER_SUITE);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(
+                String.format("Cipher [%s] is not available!", CIPHER_SUITE), e);
+        }
+    }
+
+    private static int doChunk(
+        Cipher cipher, int mode, SecretKey key, byte[] baseNonce, long chunkIndex,
+        boolean finalChunk, byte[] input, int inputLength, byte[] output) throws IOException {
+        var nonce = baseNonce.clone();
+        for (var i = 0; i < Long.BYTES; i++) {
+            nonce[nonce.length - 1 - i] ^= (byte) (chunkIndex >>> (8 * i));
+        }
+        try {
+            cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH_BYTES * 8, nonce));
+            cipher.updateAAD(finalChunk ? FINAL_CHUNK_AAD : INTERMEDIATE_CHUNK_AAD);
+            return cipher.doFinal(input, 0, inputLength, output, 0);
+        } catch (AEADBadTagException e) {
+            throw new IOException(String.format(
+                "Integrity check of chunk [%d] failed, the data has been modified or truncated!",
+                chunkIndex
+            ), e);
+        } catch (GeneralSecurityException e) {
+            throw new IOException(
+                String.format("Unable to process chunk [%d]", chunkIndex), e);
+        }
+    }
+
+    private static final class EncryptingOutputStream extends OutputStream {
+        private final Cipher cipher = createCipher();
+        private final OutputStream out;
+        private final SecretKey key;
+        private final byte[] baseNonce;
+        private final byte[] plain;
+        private final byte[] encrypted;
+        private int count;
+        private long chunkIndex;
+        private boolean closed;
+
+        EncryptingOutputStream(
+            OutputStream out, SecretKey key, byte[] baseNonce, int chunkSize) {
+            this.out = out;
+            this.key = key;
+            this.baseNonce = baseNonce.clone();
+            this.plain = new byte[chunkSize];
+            this.encrypted = new byte[chunkSize + TAG_LENGTH_BYTES];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            plain[count++] = (byte) b;
+            if (count == plain.length) {
+                writeChunk(false);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            ensureOpen();
+            while (len > 0) {
+                int n = Math.min(len, plain.length - count);
+                System.arraycopy(b, off, plain, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                // a full chunk is written at once, so the final chunk is always shorter
+                if (count == plain.length) {
+                    writeChunk(false);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // the pending data stays buffered, chunks always have the same size
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (out) {
+                writeChunk(true);
+            }
+        }
+
+        private void writeChunk(boolean finalChunk) throws IOException {
+            int length = doChunk(
+                cipher, Cipher.ENCRYPT_MODE, key, baseNonce, chunkIndex++, finalChunk, plain,
+                count, encrypted
+            );
+            out.write(encrypted, 0, length);
+            count = 0;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream already closed!");
+            }
+        }
+    }
+
+    private static final class DecryptingInputStream extends InputStream {
+        private final Cipher cipher = createCipher();
+        private final InputStream in;
+        private final SecretKey key;
+        private final byte[] baseNonce;
+        private final byte[] encrypted;
+        private final byte[] plain;
+        private int pos;
+        private int limit;
+        private long chunkIndex;
+        private boolean finalChunkRead;
+
+        DecryptingInputStream(InputStream in, SecretKey key, byte[] baseNonce, int chunkSize) {
+            this.in = in;
+            this.key = key;
+            this.baseNonce = baseNonce.clone();
+            this.encrypted = new byte[chunkSize + TAG_LENGTH_BYTES];
+            this.plain = new byte[chunkSize];
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureData()) {
+                return -1;
+            }
+            return plain[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureData()) {
+                return -1;
+            }
+            int n = Math.min(len, limit - pos);
+            System.arraycopy(plain, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return limit - pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private boolean ensureData() throws IOException {
+            while (pos == limit) {
+                if (finalChunkRead) {
+                    return false;
+                }
+                int n = in.readNBytes(encrypted, 0, encrypted.length);
+                if (n < TAG_LENGTH_BYTES) {
+                    throw new IOException(String.format(
+                        "Chunk [%d] is incomplete, the data has been truncated!", chunkIndex));
+                }
+                finalChunkRead = n < encrypted.length;
+                limit = doChunk(
+                    cipher, Cipher.DECRYPT_MODE, key, baseNonce, chunkIndex++, finalChunkRead,
+                    encrypted, n, plain
+                );
+                pos = 0;
+            }
+            return true;
+        }
+    }
+}
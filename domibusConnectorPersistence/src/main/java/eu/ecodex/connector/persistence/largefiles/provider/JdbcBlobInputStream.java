@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.largefiles.provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * InputStream which reads a blob column directly through the JDBC {@link Blob} stream.
+ *
+ * <p>The database connection is acquired lazily on the first read. If a transaction is bound to
+ * the current thread its connection is used, otherwise a connection is taken from the
+ * {@link DataSource} and held until the stream is closed. So the stream must always be closed.
+ */
+class JdbcBlobInputStream extends InputStream {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBlobInputStream.class);
+    private final DataSource dataSource;
+    private final String selectBlobSql;
+    private final long id;
+    private Connection connection;
+    private boolean resetAutoCommit;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private Blob blob;
+    private InputStream delegate;
+    private boolean closed;
+
+    /**
+     * Creates a stream reading the blob selected by the given sql.
+     *
+     * @param dataSource    the datasource to read from
+     * @param selectBlobSql a query with one long parameter (the id) returning the blob as first
+     *                      column
+     * @param id            the id of the row
+     */
+    JdbcBlobInputStream(DataSource dataSource, String selectBlobSql, long id) {
+        this.dataSource = dataSource;
+        this.selectBlobSql = selectBlobSql;
+        this.id = id;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return delegate().read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return delegate().read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return delegate().skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return delegate == null ? 0 : delegate.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (delegate != null) {
+                delegate.close();
+            }
+        } finally {
+            releaseResources();
+        }
+    }
+
+    private InputStream delegate() throws IOException {
+        if (closed) {
+            throw new IOException("Stream already closed!");
+        }
+        if (delegate == null) {
+            try {
+                delegate = openBlobStream();
+            } catch (SQLException e) {
+                releaseResources();
+                throw new IOException(
+                    String.format("Error while opening blob stream for id [%d]", id), e);
+            }
+        }
+        return delegate;
+    }
+
+    private InputStream openBlobStream() throws SQLException, IOException {
+        LOGGER.trace("Opening blob stream for id [{}]", id);
+        connection = DataSourceUtils.getConnection(dataSource);
+        if (!DataSourceUtils.isConnectionTransactional(connection, dataSource)
+            && connection.getAutoCommit()) {
+            // some drivers (e.g. postgres) can only stream lobs within a transaction
+            connection.setAutoCommit(false);
+            resetAutoCommit = true;
+        }
+        statement = connection.prepareStatement(selectBlobSql);
+        statement.setLong(1, id);
+        resultSet = statement.executeQuery();
+        if (!resultSet.next()) {
+            throw new IOException(String.format("No data found in DB for id [%d]", id));
+        }
+        blob = resultSet.getBlob(1);
+        if (blob == null) {
+            throw new IOException(String.format("Blob content with id [%d] is null!", id));
+        }
+        return blob.getBinaryStream();
+    }
+
+    private void releaseResources() {
+        try {
+            if (blob != null) {
+                blob.free();
+            }
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+            if (resetAutoCommit) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Error while releasing blob stream resources for id [{}]", id, e);
+        } finally {
+            if (connection != null) {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            blob = null;
+            resultSet = null;
+            statement = null;
+            connection = null;
+        }
+    }
+}
@@ -16,8 +16,13 @@ import eu.ecodex.connector.persistence.service.exceptions.LargeFileDeletionExcep
 import eu.ecodex.connector.persistence.service.exceptions.LargeFileException;
 import eu.ecodex.connector.persistence.service.exceptions.PersistenceException;
 import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties;
+import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties.DirectoryLayout;
+import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties.EncryptionMode;
 import eu.ecodex.connector.persistence.spring.DomibusConnectorPersistenceProperties;
+import eu.ecodex.connector.persistence.spring.FilesystemPersistenceConfiguration;
 import jakarta.annotation.PostConstruct;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -29,24 +34,43 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.text.SimpleDateFormat;
 import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.crypto.Cipher;
 import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
-import javax.crypto.KeyGenerator;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
@@ -57,6 +81,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Base64Utils;
@@ -65,6 +90,12 @@ import org.springframework.util.StreamUtils;
 /**
  * Implementation of the LargeFilePersistenceProvider interface for storing and retrieving large
  * file references using the filesystem as the storage system.
+ *
+ * <p>Depending on {@link DomibusConnectorFilesystemPersistenceProperties#getDirectoryLayout()}
+ * new message folders are created directly under the storage path or within hashed shard
+ * folders. The storage id reference always contains the path relative to the storage path, so
+ * references written with any layout can be resolved. The root folder of the shards is hidden,
+ * hidden folders are never taken as message folders, so it cannot collide with a message folder.
  */
 @ConditionalOnProperty(
     prefix = DomibusConnectorPersistenceProperties.PREFIX,
@@ -77,10 +108,20 @@ import org.springframework.util.StreamUtils;
 @Getter
 public class LargeFilePersistenceServiceFilesystemImpl implements LargeFilePersistenceProvider {
     public static final String PROVIDER_NAME = "filesystem";
+    public static final String SHARDED_ROOT_FOLDER_NAME = ".sharded";
+    public static final int SCAN_LOOK_AHEAD_PER_THREAD = 2;
+    private static final String CBC_CIPHER_SUITE = "AES/CBC/PKCS5Padding";
+    private static final int AES_KEY_LENGTH_BYTES = 256 / 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // SecureRandom is thread safe, creating and seeding a new instance per file is expensive
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
     private static final Logger LOGGER =
         LoggerFactory.getLogger(LargeFilePersistenceServiceFilesystemImpl.class);
     @Autowired
     DomibusConnectorFilesystemPersistenceProperties filesystemPersistenceProperties;
+    @Autowired
+    @Qualifier(FilesystemPersistenceConfiguration.FILESYSTEM_SCAN_EXECUTOR_BEAN)
+    Executor scanExecutor;
 
     @Override
     public String getProviderName() {
@@ -136,15 +177,15 @@ public class LargeFilePersistenceServiceFilesystemImpl implements LargeFilePersi
         bigDataReference.setMimetype(documentContentType);
         bigDataReference.setStorageProviderName(this.getProviderName());
 
-        var messageFolderName = connectorMessageId;
+        var messageFolderName = getMessageFolderName(connectorMessageId);
         Path messageFolder = getStoragePath().resolve(messageFolderName);
         try {
             LOGGER.debug("Creating message folder [{}]", messageFolder);
-            Files.createDirectory(messageFolder);
+            Files.createDirectories(messageFolder);
         } catch (java.nio.file.FileAlreadyExistsException alreadyExists) {
             if (!Files.isDirectory(messageFolder)) {
-                throw new RuntimeException(
-                    String.format("Cannot use directory path [%s] because it is a file!"));
+                throw new RuntimeException(String.format(
+                    "Cannot use directory path [%s] because it is a file!", messageFolder));
             }
         } catch (IOException e) {
             throw new RuntimeException(
@@ -254,8 +295,16 @@ public class LargeFilePersistenceServiceFilesystemImpl implements LargeFilePersi
         deleteFolderIfEmpty(reference); // check if this runs on nfs share!
     }
 
+    /**
+     * Deletes the message folder of the reference if it is empty. The shard folders of the
+     * sharded layout are never deleted, so a concurrent creation of a message folder within the
+     * same shard cannot fail.
+     */
     private void deleteFolderIfEmpty(FileBasedLargeFileReference reference) {
-        String folderName = getFolderNameFromReferenceName(reference.getStorageIdReference());
+        Path folderName = getFolderNameFromReferenceName(reference.getStorageIdReference());
+        if (folderName == null) {
+            return;
+        }
         var messagePath = getStoragePath().resolve(folderName);
         try {
             Files.delete(messagePath);
@@ -274,58 +323,178 @@ public class LargeFilePersistenceServiceFilesystemImpl implements LargeFilePersi
 
     @Override
     public Map<DomibusConnectorMessageId, List<LargeFileReference>> getAllAvailableReferences() {
+        try (var references = streamAllAvailableReferences()) {
+            return references.collect(Collectors.toConcurrentMap(
+                Map.Entry::getKey,
+                Map.Entry::getValue,
+                (refs1, refs2) -> Stream.concat(refs1.stream(), refs2.stream()).toList()
+            ));
+        }
+    }
+
+    /**
+     * Streams the references of all message folders of the flat and the sharded layout. Each
+     * message folder is listed only when the stream reaches it. If parallel scanning is enabled
+     * the next folders are listed ahead by the scan executor, the entries keep the order of the
+     * folders. A message having folders in both layouts is returned once with the references of
+     * both folders.
+     */
+    @Override
+    public Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>>
+        streamAllAvailableReferences() {
         var storagePath = getStoragePath();
-        try (Stream<Path> files = Files.list(storagePath)) {
-            return files.filter(p -> !p.startsWith(".")) // exclude hidden files on Unix
-                        .collect(Collectors.toMap(
-                            path -> new DomibusConnectorMessageId(path.getFileName().toString()),
-                            this::listReferences
-                        ));
+        // the sharded root folder is hidden, so it is not listed as message folder
+        Stream<Path> flatMessageFolders = listDirectories(storagePath);
+        Stream<Path> messageFolders =
+            Stream.concat(flatMessageFolders, listShardedMessageFolders());
+        if (!filesystemPersistenceProperties.isParallelScan()) {
+            return messageFolders.map(this::listMessageFolder).filter(Objects::nonNull);
+        }
+        var spliterator = new ScanAheadSpliterator(
+            messageFolders.iterator(),
+            filesystemPersistenceProperties.getParallelScanThreads() * SCAN_LOOK_AHEAD_PER_THREAD
+        );
+        return StreamSupport.stream(spliterator, false)
+                            .onClose(spliterator::cancel)
+                            .onClose(messageFolders::close)
+                            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Lists the references of a message folder. The folder of the flat layout also takes the
+     * references of the sharded layout, so the sharded folder is skipped if the flat one exists.
+     *
+     * @return the entry or null if the folder is skipped
+     */
+    private Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>> listMessageFolder(
+        Path folder) {
+        var messageId = new DomibusConnectorMessageId(folder.getFileName().toString());
+        var flatFolder = getStoragePath().resolve(messageId.getConnectorMessageId());
+        if (folder.equals(flatFolder)) {
+            return Map.entry(messageId, getAvailableReferences(messageId));
+        }
+        if (Files.isDirectory(flatFolder)) {
+            return null;
+        }
+        return Map.entry(messageId, listReferences(folder));
+    }
+
+    /**
+     * Lists only the folder of the message. Both layouts are checked, because the layout might
+     * have been changed while files of the old layout still exist.
+     */
+    @Override
+    public List<LargeFileReference> getAvailableReferences(
+        DomibusConnectorMessageId connectorMessageId) {
+        var messageId = connectorMessageId.getConnectorMessageId();
+        var storagePath = getStoragePath();
+        return Stream.of(
+                storagePath.resolve(messageId),
+                storagePath.resolve(getMessageFolderName(messageId, DirectoryLayout.SHARDED))
+            )
+            .distinct()
+            .filter(Files::isDirectory)
+            .flatMap(folder -> listReferences(folder).stream())
+            .toList();
+    }
+
+    private Stream<Path> listShardedMessageFolders() {
+        var shardedRoot = getStoragePath().resolve(SHARDED_ROOT_FOLDER_NAME);
+        if (!Files.isDirectory(shardedRoot)) {
+            return Stream.empty();
+        }
+        return listDirectories(shardedRoot)
+            .flatMap(this::listDirectories)
+            .flatMap(this::listDirectories);
+    }
+
+    private Stream<Path> listDirectories(Path folder) {
+        try {
+            return Files.list(folder)
+                        .filter(p -> !isHidden(p))
+                        .filter(Files::isDirectory);
+        } catch (NoSuchFileException deleted) {
+            return Stream.empty();
         } catch (IOException e) {
-            throw new RuntimeException(
-                String.format("Error while ls files in directory [%s]", storagePath));
+            throw new LargeFileException(
+                String.format("Error while ls files in directory [%s]", folder), e);
         }
     }
 
     private List<LargeFileReference> listReferences(Path messageFolder) {
-        var messageFolderName = messageFolder.getFileName().toString();
-        try (Stream<Path> files = Files.list(messageFolder)) {
-            return files
-                .filter(p -> !p.startsWith(".")) // filter hidden unix files
-                .map(p -> p.getFileName().toString())
-                .map(s -> mapMessageFolderAndFileNameToReference(messageFolderName, s))
-                .toList();
+        var messageFolderName = getStoragePath().relativize(messageFolder).toString();
+        List<LargeFileReference> references = new ArrayList<>();
+        try {
+            // the attributes are read by the walk, so no further call per file is required
+            Files.walkFileTree(
+                messageFolder, EnumSet.noneOf(FileVisitOption.class), 1,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile() && !isHidden(file)) {
+                            references.add(mapMessageFolderAndFileToReference(
+                                messageFolderName, file.getFileName().toString(), attrs));
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc)
+                        throws IOException {
+                        if (exc instanceof NoSuchFileException) {
+                            // deleted in the meantime
+                            return FileVisitResult.CONTINUE;
+                        }
+                        throw exc;
+                    }
+                }
+            );
         } catch (IOException e) {
-            throw new RuntimeException(
+            throw new LargeFileException(
                 String.format("Error while listing all files in messageFolder [%s]", messageFolder),
                 e
             );
         }
+        return references;
     }
 
-    private LargeFileReference mapMessageFolderAndFileNameToReference(
-        String messageFolderName, String fileName) {
-        String storageIdRef = createReferenceName(messageFolderName, fileName);
+    private LargeFileReference mapMessageFolderAndFileToReference(
+        String messageFolderName, String fileName, BasicFileAttributes attrs) {
         var ref = new FileBasedLargeFileReference(this);
-        var filePath = getStoragePath().resolve(storageIdRef);
-        try {
-            ref.setCreationDate(
-                Files.getLastModifiedTime(filePath).toInstant().atZone(ZoneId.systemDefault()));
-        } catch (IOException e) {
-            throw new LargeFileException(
-                String.format("Unable to read file reference [%s]", storageIdRef), e);
-        }
-        ref.setStorageIdReference(storageIdRef);
+        ref.setCreationDate(
+            attrs.lastModifiedTime().toInstant().atZone(ZoneId.systemDefault()));
+        ref.setStorageIdReference(createReferenceName(messageFolderName, fileName));
         return ref;
     }
 
+    private static boolean isHidden(Path path) {
+        // exclude hidden files on Unix
+        return path.getFileName().toString().startsWith(".");
+    }
+
+    private String getMessageFolderName(String connectorMessageId) {
+        return getMessageFolderName(
+            connectorMessageId, filesystemPersistenceProperties.getDirectoryLayout());
+    }
+
+    private String getMessageFolderName(String connectorMessageId, DirectoryLayout layout) {
+        if (layout == DirectoryLayout.FLAT) {
+            return connectorMessageId;
+        }
+        int hash = connectorMessageId.hashCode();
+        var hexFormat = HexFormat.of();
+        return SHARDED_ROOT_FOLDER_NAME
+            + File.separator + hexFormat.toHexDigits((byte) (hash >>> 8))
+            + File.separator + hexFormat.toHexDigits((byte) hash)
+            + File.separator + connectorMessageId;
+    }
+
     private String createReferenceName(String messageFolderName, String fileName) {
         return messageFolderName + File.separator + fileName;
     }
 
-    private String getFolderNameFromReferenceName(String referenceName) {
-        int separatorPos = referenceName.indexOf(File.separator, 0);
-        return referenceName.substring(0, separatorPos);
+    private Path getFolderNameFromReferenceName(String referenceName) {
+        return Paths.get(referenceName).getParent();
     }
 
     private Path getStoragePath() {
@@ -359,15 +528,23 @@ public class LargeFilePersistenceServiceFilesystemImpl implements LargeFilePersi
 
     InputStream generateDecryptedInputStream(
         FileBasedLargeFileReference bigDataReference, InputStream encryptedInputStream) {
-        var ivspec =
-            new IvParameterSpec(Base64Utils.decodeFromString(bigDataReference.getInitVector()));
+        byte[] iv = Base64Utils.decodeFromString(bigDataReference.getInitVector());
         var secretKey = loadFromKeyString(bigDataReference.getEncryptionKey());
+        String cipherSuite = bigDataReference.getCipherSuite();
 
+        if (ChunkedAesGcmCipherStreams.isChunkedCipherSuite(cipherSuite)) {
+            return ChunkedAesGcmCipherStreams.decrypt(
+                encryptedInputStream, secretKey, iv,
+                ChunkedAesGcmCipherStreams.getChunkSize(cipherSuite)
+            );
+        }
         Cipher cipher;
         try {
-            cipher = Cipher.getInstance(bigDataReference.getCipherSuite());
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, ivspec);
-            return new CipherInputStream(encryptedInputStream, cipher);
+            cipher = Cipher.getInstance(cipherSuite);
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, new IvParameterSpec(iv));
+            // CipherInputStream reads in very small blocks from the underlying stream
+            return new CipherInputStream(
+                new BufferedInputStream(encryptedInputStream, BUFFER_SIZE), cipher);
         } catch (NoSuchAlgorithmException | NoSuchPaddingException
                  | InvalidAlgorithmParameterException | InvalidKeyException e) {
             throw new RuntimeException(e);
@@ -376,43 +553,47 @@ public class LargeFilePersistenceServiceFilesystemImpl implements LargeFilePersi
 
     OutputStream generateEncryptedOutputStream(
         FileBasedLargeFileReference bigDataReference, OutputStream outputStream) {
-        var random = new SecureRandom();
-        var iv = new byte[128 / 8];
-        random.nextBytes(iv);
-        var ivspec = new IvParameterSpec(iv);
+        var secretKey = new SecretKeySpec(generateRandomBytes(AES_KEY_LENGTH_BYTES), "AES");
+        // TODO: also put configurable part of key there - to avoid having the whole key stored
+        //  into the database!
+        bigDataReference.setEncryptionKey(convertSecretKeyToString(secretKey));
 
-        var initVector = Base64Utils.encodeToString(ivspec.getIV());
-        bigDataReference.setInitVector(initVector);
-
-        SecretKey secretKey;
-        try {
-            var kg = KeyGenerator.getInstance("AES"); // TODO: load from properties
-            kg.init(random);
-            secretKey = kg.generateKey();
-            // TODO: also put configurable part of key there - to avoid having the whole key stored
-            //  into the database!
-            bigDataReference.setEncryptionKey(
-                convertSecretKeyToString(
-                    secretKey
-                )
-            );
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Cannot initialize Key Generator!");
+        if (filesystemPersistenceProperties.getEncryptionMode() == EncryptionMode.AES_CBC) {
+            return generateCbcEncryptedOutputStream(bigDataReference, secretKey, outputStream);
         }
+        int chunkSize = filesystemPersistenceProperties.getEncryptionChunkSize();
+        byte[] nonce = generateRandomBytes(ChunkedAesGcmCipherStreams.NONCE_LENGTH_BYTES);
+        bigDataReference.setInitVector(Base64Utils.encodeToString(nonce));
+        bigDataReference.setCipherSuite(ChunkedAesGcmCipherStreams.getCipherSuite(chunkSize));
+        return ChunkedAesGcmCipherStreams.encrypt(outputStream, secretKey, nonce, chunkSize);
+    }
+
+    private OutputStream generateCbcEncryptedOutputStream(
+        FileBasedLargeFileReference bigDataReference, SecretKey secretKey,
+        OutputStream outputStream) {
+        var ivspec = new IvParameterSpec(generateRandomBytes(128 / 8));
+        bigDataReference.setInitVector(Base64Utils.encodeToString(ivspec.getIV()));
 
         Cipher cipher;
         try {
-            var cipherSuite = "AES/CBC/PKCS5Padding"; // TODO: load from properties
-            cipher = Cipher.getInstance(cipherSuite);
-            bigDataReference.setCipherSuite(cipherSuite);
+            cipher = Cipher.getInstance(CBC_CIPHER_SUITE);
+            bigDataReference.setCipherSuite(CBC_CIPHER_SUITE);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivspec);
-            return new CipherOutputStream(outputStream, cipher);
+            // CipherOutputStream writes in very small blocks to the underlying stream
+            return new CipherOutputStream(
+                new BufferedOutputStream(outputStream, BUFFER_SIZE), cipher);
         } catch (NoSuchAlgorithmException | NoSuchPaddingException
                  | InvalidAlgorithmParameterException | InvalidKeyException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private static byte[] generateRandomBytes(int length) {
+        var bytes = new byte[length];
+        SECURE_RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
     /**
      * Convert a SecretKey object to a string representation.
      *
@@ -439,6 +620,54 @@ public class LargeFilePersistenceServiceFilesystemImpl implements LargeFilePersi
         return new SecretKeySpec(keyBinary, keyAlgorithm);
     }
 
+    /**
+     * Lists the message folders ahead of the consumer of the stream with the scan executor. The
+     * number of folders listed ahead is limited, so a large storage is not held in memory.
+     */
+    private final class ScanAheadSpliterator extends Spliterators.AbstractSpliterator<
+        Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> {
+        private final Iterator<Path> messageFolders;
+        private final int lookAhead;
+        private final Deque<CompletableFuture<
+            Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>>> pending =
+            new ArrayDeque<>();
+
+        ScanAheadSpliterator(Iterator<Path> messageFolders, int lookAhead) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.messageFolders = messageFolders;
+            this.lookAhead = lookAhead;
+        }
+
+        @Override
+        public boolean tryAdvance(
+            Consumer<? super Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>>
+                action) {
+            while (pending.size() < lookAhead && messageFolders.hasNext()) {
+                var folder = messageFolders.next();
+                pending.add(
+                    CompletableFuture.supplyAsync(() -> listMessageFolder(folder), scanExecutor));
+            }
+            var next = pending.poll();
+            if (next == null) {
+                return false;
+            }
+            try {
+                action.accept(next.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+            return true;
+        }
+
+        void cancel() {
+            pending.forEach(future -> future.cancel(false));
+            pending.clear();
+        }
+    }
+
     /**
      * BigDataPersistenceServiceFilesystemImpl implementation of BigDataReference this class is
      * internal api do not use this class outside the BigDataPersistenceServiceFilesystemImpl.
@@ -17,19 +17,31 @@ import eu.ecodex.connector.persistence.model.PDomibusConnectorBigData;
 import eu.ecodex.connector.persistence.spring.DomibusConnectorPersistenceProperties;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Blob;
+import java.sql.SQLException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import javax.sql.DataSource;
+import org.hibernate.engine.jdbc.BlobProxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +49,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StreamUtils;
 
@@ -44,6 +58,11 @@ import org.springframework.util.StreamUtils;
  * This service uses jdbc to create an input / output stream with writing it to an byte array
  * (ByteArrayInputStream / ByteArrayOutputStream).
  *
+ * <p>If {@link DomibusConnectorPersistenceProperties#isJpaStreamingActive()} is set, the content is
+ * never held in memory: written content is spooled into a temporary file while the MD5 checksum
+ * is calculated, and then streamed into the blob column. Read content is streamed directly from
+ * the JDBC blob.
+ *
  * @author {@literal Stephan Spindler <stephan.spindler@extern.brz.gv.at> }
  */
 @ConditionalOnProperty(
@@ -58,8 +77,15 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
     private static final Logger LOGGER =
         LoggerFactory.getLogger(LargeFilePersistenceServiceJpaImpl.class);
     public static final String PROVIDER_NAME = "jpa";
+    private static final String SELECT_CONTENT_SQL = "SELECT CONTENT FROM "
+        + PDomibusConnectorBigData.TABLE_NAME + " WHERE ID = ?";
+    private static final String SPOOL_FILE_PREFIX = "dc-bigdata-";
     @Autowired
     private DomibusConnectorBigDataDao bigDataDao;
+    @Autowired
+    private DomibusConnectorPersistenceProperties persistenceProperties;
+    @Autowired
+    private DataSource dataSource;
     // Entity manager is required to access LobCreator
     @PersistenceContext
     EntityManager entityManager;
@@ -80,42 +106,39 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
 
         try {
             long storageRef = Long.parseLong(storageReference);
-            PDomibusConnectorBigData bigData = null;
             LOGGER.debug("Loading big data with storage ref [{}] from database", storageRef);
-            Optional<PDomibusConnectorBigData> bigDataOptional = bigDataDao.findById(storageRef);
-
-            if (bigDataOptional.isPresent()) {
-                bigData = bigDataOptional.get();
-            } else {
-                throw new RuntimeException(String.format(
-                    "No data found in DB for JPA based LargeFileReference with id [%s]\n"
-                        + "Check Table %s", storageRef, PDomibusConnectorBigData.TABLE_NAME));
-            }
 
             JpaBasedLargeFileReference jpaBasedDomibusConnectorBigDataReference =
                 new JpaBasedLargeFileReference(this);
             jpaBasedDomibusConnectorBigDataReference.setStorageProviderName(this.getProviderName());
 
-            // TODO: use stream from db!
-            byte[] content = bigData.getContent();
-            if (content != null) {
-                //                InputStream dbStream = content.getBinaryStream();
-                ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(content);
-                jpaBasedDomibusConnectorBigDataReference.setInputStream(byteArrayInputStream);
+            if (persistenceProperties.isJpaStreamingActive()) {
+                // the content is not selected here, it is streamed by the JdbcBlobInputStream
+                var metadata = bigDataDao.findMetadataById(storageRef)
+                                         .orElseThrow(() -> noDataFound(storageRef));
+                if (!metadata.isContentPresent()) {
+                    throw contentIsNull(storageRef);
+                }
+                jpaBasedDomibusConnectorBigDataReference.setInputStream(
+                    new JdbcBlobInputStream(dataSource, SELECT_CONTENT_SQL, storageRef));
+                jpaBasedDomibusConnectorBigDataReference.setMimetype(metadata.getMimeType());
+                jpaBasedDomibusConnectorBigDataReference.setName(metadata.getName());
             } else {
-                String error =
-                    String.format(
-                        "Blob Content of bigDataStorage with reference [%d] is null!",
-                        storageRef
-                    );
-                throw new IllegalStateException(error);
+                PDomibusConnectorBigData bigData = bigDataDao.findById(storageRef)
+                                                             .orElseThrow(
+                                                                 () -> noDataFound(storageRef));
+                if (bigData.getContent() == null) {
+                    throw contentIsNull(storageRef);
+                }
+                jpaBasedDomibusConnectorBigDataReference.setInputStream(
+                    new ByteArrayInputStream(readContent(bigData.getContent())));
+                jpaBasedDomibusConnectorBigDataReference.setMimetype(bigData.getMimeType());
+                jpaBasedDomibusConnectorBigDataReference.setName(bigData.getName());
             }
 
             jpaBasedDomibusConnectorBigDataReference.setStorageIdReference(storageReference);
             jpaBasedDomibusConnectorBigDataReference.setReadable(true);
             jpaBasedDomibusConnectorBigDataReference.setWriteable(false);
-            jpaBasedDomibusConnectorBigDataReference.setMimetype(bigData.getMimeType());
-            jpaBasedDomibusConnectorBigDataReference.setName(bigData.getName());
 
             return jpaBasedDomibusConnectorBigDataReference;
         } catch (NumberFormatException nfe) {
@@ -136,6 +159,17 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
 
     }
 
+    private static RuntimeException noDataFound(long storageRef) {
+        return new RuntimeException(String.format(
+            "No data found in DB for JPA based LargeFileReference with id [%s]\n"
+                + "Check Table %s", storageRef, PDomibusConnectorBigData.TABLE_NAME));
+    }
+
+    private static IllegalStateException contentIsNull(long storageRef) {
+        return new IllegalStateException(String.format(
+            "Blob Content of bigDataStorage with reference [%d] is null!", storageRef));
+    }
+
     @Override
     @Transactional
     public LargeFileReference createDomibusConnectorBigDataReference(
@@ -158,14 +192,11 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
         bigData.setMimeType(documentContentType);
         bigData.setLastAccess(new Date());
 
-        DbBackedOutputStream outputStream = new DbBackedOutputStream(bigData);
-        byte[] toByteArray = outputStream.toByteArray();
-
-        //        Session hibernateSession = entityManager.unwrap(Session.class);
-        //        Blob blob = Hibernate.getLobCreator(hibernateSession).createBlob(toByteArray);
-        bigData.setContent(toByteArray);
-        String md5DigestAsHex = DigestUtils.md5DigestAsHex(toByteArray);
-        bigData.setChecksum(md5DigestAsHex);
+        if (!persistenceProperties.isJpaStreamingActive()) {
+            byte[] toByteArray = new byte[0];
+            bigData.setContent(createBlob(toByteArray));
+            bigData.setChecksum(DigestUtils.md5DigestAsHex(toByteArray));
+        }
 
         try {
             bigData = bigDataDao.save(bigData);
@@ -173,7 +204,11 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
             LOGGER.error("Exception saving big data to database!", e);
         }
 
-        reference.setOutputStream(outputStream);
+        if (persistenceProperties.isJpaStreamingActive()) {
+            reference.setOutputStream(new StreamingDbOutputStream(bigData.getId()));
+        } else {
+            reference.setOutputStream(new DbBackedOutputStream(bigData));
+        }
 
         reference.setStorageIdReference(Long.toString(bigData.getId()));
         return reference;
@@ -201,24 +236,35 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
         bigData.setMimeType(documentContentType);
         bigData.setLastAccess(new Date());
 
-        DbBackedOutputStream outputStream = new DbBackedOutputStream(bigData);
-        try {
-            StreamUtils.copy(in, outputStream);
-        } catch (IOException e1) {
-            LOGGER.error("Exception copy streams for big data to database!", e1);
-        }
-        byte[] toByteArray = outputStream.toByteArray();
+        if (persistenceProperties.isJpaStreamingActive()) {
+            try (SpoolFile spoolFile = SpoolFile.create()) {
+                try (OutputStream os = spoolFile.openOutputStream()) {
+                    StreamUtils.copy(in, os);
+                }
+                bigData = storeSpooledContent(bigData, spoolFile);
+            } catch (IOException e1) {
+                // nothing has been stored, so there is no reference which could be returned
+                throw new UncheckedIOException(
+                    "Exception copy streams for big data to database!", e1);
+            }
+        } else {
+            DbBackedOutputStream outputStream = new DbBackedOutputStream(bigData);
+            try {
+                StreamUtils.copy(in, outputStream);
+            } catch (IOException e1) {
+                LOGGER.error("Exception copy streams for big data to database!", e1);
+            }
+            byte[] toByteArray = outputStream.toByteArray();
 
-        //            Session hibernateSession = entityManager.unwrap(Session.class);
-        //            Blob blob = Hibernate.getLobCreator(hibernateSession).createBlob(toByteArray);
-        bigData.setContent(toByteArray);
-        String md5DigestAsHex = DigestUtils.md5DigestAsHex(toByteArray);
-        bigData.setChecksum(md5DigestAsHex);
+            bigData.setContent(createBlob(toByteArray));
+            String md5DigestAsHex = DigestUtils.md5DigestAsHex(toByteArray);
+            bigData.setChecksum(md5DigestAsHex);
 
-        try {
-            bigData = bigDataDao.save(bigData);
-        } catch (Exception e) {
-            LOGGER.error("Exception saving big data to database!", e);
+            try {
+                bigData = bigDataDao.save(bigData);
+            } catch (Exception e) {
+                LOGGER.error("Exception saving big data to database!", e);
+            }
         }
 
         reference.setStorageIdReference(Long.toString(bigData.getId()));
@@ -259,19 +305,33 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
                 map.put(connectorMessageId, new ArrayList<>());
             }
 
-            var reference = new JpaBasedLargeFileReference(this);
-            reference.setStorageProviderName(this.getProviderName());
-            reference.setReadable(false);
-            reference.setWriteable(false);
-            reference.setStorageIdReference(Long.toString(bigData.getId()));
-            reference.setCreationDate(
-                ZonedDateTime.ofInstant(bigData.getCreated().toInstant(), ZoneId.systemDefault()));
             List<LargeFileReference> dataRefList = map.get(connectorMessageId);
-            dataRefList.add(reference);
+            dataRefList.add(mapBigDataToReference(bigData));
         });
         return map;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LargeFileReference> getAvailableReferences(
+        DomibusConnectorMessageId connectorMessageId) {
+        return bigDataDao.findAllByConnectorMessageId(connectorMessageId.getConnectorMessageId())
+                         .stream()
+                         .map(this::mapBigDataToReference)
+                         .toList();
+    }
+
+    private LargeFileReference mapBigDataToReference(PDomibusConnectorBigData bigData) {
+        var reference = new JpaBasedLargeFileReference(this);
+        reference.setStorageProviderName(this.getProviderName());
+        reference.setReadable(false);
+        reference.setWriteable(false);
+        reference.setStorageIdReference(Long.toString(bigData.getId()));
+        reference.setCreationDate(
+            ZonedDateTime.ofInstant(bigData.getCreated().toInstant(), ZoneId.systemDefault()));
+        return reference;
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     protected void saveOnClose(DbBackedOutputStream dbBackedOutputStream) {
         PDomibusConnectorBigData bigData =
@@ -279,9 +339,7 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
 
         byte[] toByteArray = dbBackedOutputStream.toByteArray();
 
-        //        Session hibernateSession = entityManager.unwrap(Session.class);
-        //        Blob blob = Hibernate.getLobCreator(hibernateSession).createBlob(toByteArray);
-        bigData.setContent(toByteArray);
+        bigData.setContent(createBlob(toByteArray));
         String md5DigestAsHex = DigestUtils.md5DigestAsHex(toByteArray);
         bigData.setChecksum(md5DigestAsHex);
 
@@ -290,6 +348,57 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
         bigDataDao.save(bigData);
     }
 
+    /**
+     * Stores the spooled content of a {@link StreamingDbOutputStream} into the big data entry.
+     */
+    void saveOnClose(Long bigDataId, SpoolFile spoolFile) throws IOException {
+        PDomibusConnectorBigData bigData = bigDataDao.findById(bigDataId)
+            .orElseThrow(() -> new IOException(String.format(
+                "No big data entry with id [%d] found in DB!", bigDataId)));
+        storeSpooledContent(bigData, spoolFile);
+    }
+
+    /**
+     * Streams the spooled file into the blob column. The file is read when hibernate flushes the
+     * entity, so it is kept until the surrounding transaction has completed.
+     */
+    private PDomibusConnectorBigData storeSpooledContent(
+        PDomibusConnectorBigData bigData, SpoolFile spoolFile) throws IOException {
+        InputStream content = spoolFile.openInputStream();
+        bigData.setContent(BlobProxy.generateProxy(content, spoolFile.getSize()));
+        bigData.setChecksum(spoolFile.getChecksum());
+        bigData.setLastAccess(new Date());
+
+        SpoolFile retained = spoolFile.retain();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        retained.close();
+                    }
+                });
+            return bigDataDao.save(bigData);
+        }
+        try {
+            return bigDataDao.save(bigData);
+        } finally {
+            retained.close();
+        }
+    }
+
+    private Blob createBlob(byte[] content) {
+        return BlobProxy.generateProxy(content);
+    }
+
+    private static byte[] readContent(Blob content) {
+        try {
+            return content.getBytes(1, (int) content.length());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error while reading blob content from database", e);
+        }
+    }
+
     private long convertStorageIdReferenceToDbId(String storageRef) {
         try {
             return Long.parseLong(storageRef);
@@ -336,6 +445,137 @@ public class LargeFilePersistenceServiceJpaImpl implements LargeFilePersistenceP
         }
     }
 
+    /**
+     * Writes into a {@link SpoolFile} and stores the spooled content into the DB on close.
+     */
+    private class StreamingDbOutputStream extends FilterOutputStream {
+        private final Long bigDataId;
+        private final SpoolFile spoolFile;
+        private boolean closed;
+
+        StreamingDbOutputStream(Long bigDataId) {
+            super(null);
+            this.bigDataId = bigDataId;
+            try {
+                this.spoolFile = SpoolFile.create();
+                this.out = spoolFile.openOutputStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create spool file for big data", e);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            LOGGER.debug("called close on StreamingDbOutputStream [{}]", this);
+            try {
+                super.close();
+                LargeFilePersistenceServiceJpaImpl.this.saveOnClose(bigDataId, spoolFile);
+            } finally {
+                spoolFile.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "StreamingDbOutputStream with bytes [%d] and with storageRef: [%s]",
+                spoolFile.getSize(), bigDataId
+            );
+        }
+    }
+
+    /**
+     * A temporary file, the MD5 checksum and the size are calculated while writing into it.
+     * The file is deleted when all holders have called {@link #close()}.
+     */
+    static class SpoolFile implements AutoCloseable {
+        private final Path path;
+        private final MessageDigest digest;
+        private final List<InputStream> openedStreams = new ArrayList<>();
+        private long size;
+        private int holders = 1;
+
+        private SpoolFile(Path path, MessageDigest digest) {
+            this.path = path;
+            this.digest = digest;
+        }
+
+        static SpoolFile create() throws IOException {
+            try {
+                return new SpoolFile(
+                    Files.createTempFile(SPOOL_FILE_PREFIX, ".tmp"),
+                    MessageDigest.getInstance("MD5")
+                );
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 is not supported by this JVM", e);
+            }
+        }
+
+        OutputStream openOutputStream() throws IOException {
+            return new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)), digest) {
+                @Override
+                public void write(int b) throws IOException {
+                    super.write(b);
+                    size++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    super.write(b, off, len);
+                    size += len;
+                }
+            };
+        }
+
+        synchronized InputStream openInputStream() throws IOException {
+            InputStream is = Files.newInputStream(path);
+            openedStreams.add(is);
+            return is;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        String getChecksum() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        synchronized SpoolFile retain() {
+            holders++;
+            return this;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (--holders > 0) {
+                return;
+            }
+            for (InputStream is : openedStreams) {
+                try {
+                    is.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Error while closing spool file stream", e);
+                }
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOGGER.warn("Cannot delete spool file [{}]", path, e);
+            }
+        }
+    }
+
     private static class JpaBasedLargeFileReference extends LargeFileReference {
         private static final long serialVersionUID = -4587251476768140113L;
         private final LargeFilePersistenceServiceJpaImpl persistenceServiceJpa;
@@ -20,6 +20,7 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.TableGenerator;
+import java.sql.Blob;
 import java.util.Date;
 import lombok.Getter;
 import lombok.Setter;
@@ -58,9 +59,12 @@ public class PDomibusConnectorBigData {
     private Date lastAccess;
     @Column(name = "MIMETYPE")
     private String mimeType;
+    /**
+     * The content, kept as {@link Blob} so it can be streamed from and into the database.
+     */
     @Lob
     @Column(name = "CONTENT")
-    private byte[] content;
+    private Blob content;
     @Lob
     @Column(name = "CHECKSUM")
     private String checksum;
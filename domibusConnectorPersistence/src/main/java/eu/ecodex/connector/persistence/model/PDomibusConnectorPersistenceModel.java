@@ -10,6 +10,8 @@
 
 package eu.ecodex.connector.persistence.model;
 
+import java.time.Duration;
+
 /**
  * Just a marker reference to this package, can be used by spring annotations.
  *
@@ -24,4 +26,11 @@ public interface PDomibusConnectorPersistenceModel {
     int INITIAL_VALUE = 1000;
     int ALLOCATION_SIZE = 1;
     int ALLOCATION_SIZE_BULK = 50;
+    /**
+     * How far a watermark over the message timestamps lags behind the start of the run which
+     * sets it. A message changed within a transaction which has not been committed when the
+     * query runs is found by the next run, as long as the transaction does not take longer than
+     * this.
+     */
+    Duration WATERMARK_OVERLAP = Duration.ofMinutes(5);
 }
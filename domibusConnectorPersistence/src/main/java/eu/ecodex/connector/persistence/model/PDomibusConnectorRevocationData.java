@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents the cached revocation data (an OCSP response or a CRL) of a certificate.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = PDomibusConnectorRevocationData.TABLE_NAME)
+public class PDomibusConnectorRevocationData {
+    public static final String TABLE_NAME = "DC_REVOCATION_CACHE";
+    @Id
+    @Column(name = "REVOCATION_KEY", length = 255)
+    private String revocationKey;
+    @Lob
+    @Column(name = "REVOCATION_DATA", nullable = false)
+    private byte[] data;
+    @Column(name = "SOURCE_URL", length = 512)
+    private String sourceUrl;
+    @Column(name = "EXPIRES", nullable = false)
+    private ZonedDateTime expires;
+}
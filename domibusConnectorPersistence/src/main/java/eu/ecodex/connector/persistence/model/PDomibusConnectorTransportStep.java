@@ -14,6 +14,7 @@ import static eu.ecodex.connector.persistence.model.PDomibusConnectorTransportSt
 
 import eu.ecodex.connector.controller.service.TransportStateService;
 import eu.ecodex.connector.domain.model.DomibusConnectorLinkPartner;
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -29,6 +30,7 @@ import jakarta.persistence.TableGenerator;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.LazyGroup;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -66,9 +68,27 @@ public class PDomibusConnectorTransportStep {
     private int attempt = 1;
     @Column(name = "TRANSPORT_ID")
     private TransportStateService.TransportId transportId;
+    /**
+     * The transported message as json, only written by older versions. It is replaced by the
+     * {@link #transportedMessageSnapshot} when the step is updated.
+     */
     @Column(name = "TRANSPORTED_MESSAGE")
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("json")
+    @ToString.Exclude
     private String transportedMessage;
+    /**
+     * The versioned binary snapshot of the transported message. It is only fetched on access,
+     * which requires the bytecode enhancement of the entities. The own lazy group keeps the json
+     * from being fetched together with the snapshot.
+     */
+    @Column(name = "TRANSPORTED_MESSAGE_SNAPSHOT")
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("snapshot")
+    @ToString.Exclude
+    private byte[] transportedMessageSnapshot;
     /**
      * The message id of the system used to transport the message e.g. jms-message-id,
      * webRequestNumber,...
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import eu.ecodex.connector.persistence.spring.DomibusConnectorPersistenceProperties;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Bounded LRU store of the backend a conversation has been routed to.
+ *
+ * <p>Entries are added when a message with conversation id and backend name is persisted. If a
+ * transaction is active the entry is only added after the commit, so rolled back messages never
+ * influence the routing. When the configured size is exceeded the least recently used
+ * conversation is evicted, it will be reloaded from the DB on the next access.
+ */
+@Component
+public class ConversationBackendAffinityCache {
+    private static final Logger LOGGER =
+        LoggerFactory.getLogger(ConversationBackendAffinityCache.class);
+    private final Map<String, String> conversationToBackend;
+
+    /**
+     * Creates the cache with the size configured in
+     * {@link DomibusConnectorPersistenceProperties#getConversationAffinityCacheSize()}.
+     */
+    public ConversationBackendAffinityCache(
+        DomibusConnectorPersistenceProperties persistenceProperties) {
+        this(persistenceProperties.getConversationAffinityCacheSize());
+    }
+
+    ConversationBackendAffinityCache(int maxSize) {
+        this.conversationToBackend = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > maxSize;
+                }
+            });
+    }
+
+    public Optional<String> getBackendName(String conversationId) {
+        return Optional.ofNullable(conversationToBackend.get(conversationId));
+    }
+
+    /**
+     * Remembers the backend of the conversation, after the commit of the current transaction if
+     * there is one.
+     *
+     * @param conversationId the conversation id, ignored if empty
+     * @param backendName    the backend name, ignored if empty
+     */
+    public void register(String conversationId, String backendName) {
+        if (!StringUtils.hasLength(conversationId) || !StringUtils.hasLength(backendName)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        put(conversationId, backendName);
+                    }
+                });
+        } else {
+            put(conversationId, backendName);
+        }
+    }
+
+    void put(String conversationId, String backendName) {
+        String previous = conversationToBackend.putIfAbsent(conversationId, backendName);
+        if (previous != null && !previous.equals(backendName)) {
+            LOGGER.debug(
+                "Conversation [{}] stays routed to backend [{}], ignoring backend [{}]",
+                conversationId, previous, backendName
+            );
+        }
+    }
+}
@@ -14,6 +14,8 @@ import eu.ecodex.connector.domain.enums.DomibusConnectorMessageDirection;
 import eu.ecodex.connector.domain.model.DomibusConnectorBusinessDomain;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageConfirmation;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageContentInfo;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDeliveryInfo;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageDetails;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
 import eu.ecodex.connector.domain.model.builder.DomibusConnectorMessageBuilder;
@@ -28,11 +30,14 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -48,6 +53,7 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
     private final DomibusConnectorMessageDao messageDao;
     private final MsgContentPersistenceService msgContentService;
     private final InternalMessageInfoPersistenceServiceImpl internalMessageInfoPersistenceService;
+    private final ConversationBackendAffinityCache conversationBackendAffinityCache;
 
     /**
      * This class provides the implementation for persisting and retrieving messages in the
@@ -56,10 +62,12 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
     public DCMessagePersistenceServiceImpl(
         DomibusConnectorMessageDao messageDao,
         MsgContentPersistenceService msgContentService,
-        InternalMessageInfoPersistenceServiceImpl internalMessageInfoPersistenceService) {
+        InternalMessageInfoPersistenceServiceImpl internalMessageInfoPersistenceService,
+        ConversationBackendAffinityCache conversationBackendAffinityCache) {
         this.messageDao = messageDao;
         this.msgContentService = msgContentService;
         this.internalMessageInfoPersistenceService = internalMessageInfoPersistenceService;
+        this.conversationBackendAffinityCache = conversationBackendAffinityCache;
     }
 
     @Override
@@ -153,6 +161,7 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
 
         this.internalMessageInfoPersistenceService.persistMessageInfo(message, dbMessage);
         this.msgContentService.saveMessagePayloads(message, dbMessage);
+        registerConversationBackend(dbMessage);
     }
 
     /**
@@ -215,6 +224,7 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
         this.msgContentService.saveMessagePayloads(message, dbMessage);
 
         this.internalMessageInfoPersistenceService.persistMessageInfo(message, dbMessage);
+        registerConversationBackend(dbMessage);
 
         return message;
     }
@@ -283,6 +293,7 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
         mapRelatedConfirmations(dbMessage, message);
 
         this.messageDao.save(dbMessage);
+        registerConversationBackend(dbMessage);
 
         return message;
     }
@@ -350,6 +361,7 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
 
         this.internalMessageInfoPersistenceService.mergeMessageInfo(message, dbMessage);
         messageDao.save(dbMessage);
+        registerConversationBackend(dbMessage);
     }
 
     @Override
@@ -359,6 +371,27 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
         return mapDBMessagesToDTO(dbMessages);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findBackendNameByConversationId(String conversationId) {
+        Optional<String> backendName =
+            conversationBackendAffinityCache.getBackendName(conversationId);
+        if (backendName.isPresent()) {
+            return backendName;
+        }
+        backendName = messageDao
+            .findBackendNamesByConversationId(conversationId, PageRequest.of(0, 1))
+            .stream()
+            .findFirst();
+        backendName.ifPresent(b -> conversationBackendAffinityCache.register(conversationId, b));
+        return backendName;
+    }
+
+    private void registerConversationBackend(PDomibusConnectorMessage dbMessage) {
+        conversationBackendAffinityCache.register(
+            dbMessage.getConversationId(), dbMessage.getBackendName());
+    }
+
     private List<DomibusConnectorMessage> mapDBMessagesToDTO(
         List<PDomibusConnectorMessage> dbMessages) {
         if (dbMessages != null && !dbMessages.isEmpty()) {
@@ -396,6 +429,54 @@ public class DCMessagePersistenceServiceImpl implements DCMessagePersistenceServ
         return mapDBMessagesToDTO(dbMessages);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<DomibusConnectorMessageDeliveryInfo>
+    findOutgoingMessagesNotRejectedNorConfirmedAndWithoutDelivery(
+        Date deliveredBefore, long afterId, int maxResults) {
+        return messageDao.findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutDelivery(
+            deliveredBefore, afterId, PageRequest.of(0, maxResults));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DomibusConnectorMessageDeliveryInfo>
+    findOutgoingMessagesNotRejectedNorConfirmedAndWithoutRelayREMMD(
+        Date deliveredBefore, long afterId, int maxResults) {
+        return messageDao.findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutRelayREMMD(
+            deliveredBefore, afterId, PageRequest.of(0, maxResults));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DomibusConnectorMessageContentInfo> findMessagesConfirmedOrRejectedSince(
+        ZonedDateTime finishedSince, long afterId, int maxResults) {
+        return messageDao.findContentInfosConfirmedOrRejectedSince(
+            finishedSince, afterId, PageRequest.of(0, maxResults));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DomibusConnectorMessageContentInfo>
+    findMessagesNotRejectedNorConfirmedCreatedBetween(
+        Date createdFrom, Date createdBefore, long afterId, int maxResults) {
+        return messageDao.findContentInfosNotRejectedNorConfirmedCreatedBetween(
+            createdFrom, createdBefore, afterId, PageRequest.of(0, maxResults));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DomibusConnectorMessageContentInfo> findMessageContentInfos(
+        Collection<DomibusConnectorMessageId> connectorMessageIds) {
+        if (connectorMessageIds.isEmpty()) {
+            return List.of();
+        }
+        return messageDao.findContentInfosByConnectorMessageIdIn(
+            connectorMessageIds.stream()
+                               .map(DomibusConnectorMessageId::getConnectorMessageId)
+                               .toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<DomibusConnectorMessage> findIncomingUnconfirmedMessages() {
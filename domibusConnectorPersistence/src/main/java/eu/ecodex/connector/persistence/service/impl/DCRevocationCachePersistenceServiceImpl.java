@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorRevocationData;
+import eu.ecodex.connector.persistence.dao.DomibusConnectorRevocationDataDao;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorRevocationData;
+import eu.ecodex.connector.persistence.service.DCRevocationCachePersistenceService;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * This class stores the cached revocation data of certificates in the DC_REVOCATION_CACHE table.
+ */
+@Service
+public class DCRevocationCachePersistenceServiceImpl
+    implements DCRevocationCachePersistenceService {
+    private final DomibusConnectorRevocationDataDao revocationDataDao;
+
+    public DCRevocationCachePersistenceServiceImpl(
+        DomibusConnectorRevocationDataDao revocationDataDao) {
+        this.revocationDataDao = revocationDataDao;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DomibusConnectorRevocationData> findRevocationData(
+        String revocationKey, ZonedDateTime validAt) {
+        return revocationDataDao.findValid(revocationKey, validAt).map(this::mapToDomain);
+    }
+
+    @Override
+    @Transactional
+    public void saveRevocationData(DomibusConnectorRevocationData revocationData) {
+        var dbRevocationData = new PDomibusConnectorRevocationData();
+        dbRevocationData.setRevocationKey(revocationData.getRevocationKey());
+        dbRevocationData.setData(revocationData.getData());
+        dbRevocationData.setSourceUrl(revocationData.getSourceUrl());
+        dbRevocationData.setExpires(revocationData.getExpires());
+        revocationDataDao.save(dbRevocationData);
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpiredRevocationData(ZonedDateTime expiredBefore) {
+        return revocationDataDao.deleteExpired(expiredBefore);
+    }
+
+    private DomibusConnectorRevocationData mapToDomain(
+        PDomibusConnectorRevocationData dbRevocationData) {
+        var revocationData = new DomibusConnectorRevocationData();
+        revocationData.setRevocationKey(dbRevocationData.getRevocationKey());
+        revocationData.setData(dbRevocationData.getData());
+        revocationData.setSourceUrl(dbRevocationData.getSourceUrl());
+        revocationData.setExpires(dbRevocationData.getExpires());
+        return revocationData;
+    }
+}
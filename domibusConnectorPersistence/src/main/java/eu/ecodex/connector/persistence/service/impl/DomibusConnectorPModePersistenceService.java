@@ -30,20 +30,28 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * This class provides persistence services for managing the PMode configuration of a Domibus
  * connector.
+ *
+ * <p>The lookups of configured actions, services and parties are answered from an immutable
+ * {@link PModeSetIndex} of the active PMode set of each business domain. The index is loaded on
+ * the first lookup and replaced after a new PMode set has been activated by
+ * {@link #updatePModeConfigurationSet(DomibusConnectorPModeSet)} and committed.
  */
 @Service
 public class DomibusConnectorPModePersistenceService implements DomibusConnectorPModeService {
@@ -54,6 +62,8 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
     private final DomibusConnectorPModeSetDao domibusConnectorPModeSetDao;
     private final DomibusConnectorBusinessDomainDao messageLaneDao;
     private final DomibusConnectorKeystoreDao keystoreDao;
+    private final Map<DomibusConnectorBusinessDomain.BusinessDomainId, PModeSetIndex>
+        pModeSetIndexes = new ConcurrentHashMap<>();
 
     /**
      * The DomibusConnectorPModePersistenceService class is responsible for managing the persistence
@@ -95,14 +105,8 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
     @Override
     public List<DomibusConnectorAction> findByExample(
         DomibusConnectorBusinessDomain.BusinessDomainId lane, DomibusConnectorAction searchAction) {
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional = getCurrentDBPModeSet(lane);
-        if (currentPModeSetOptional.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return findByExample(
-            ActionMapper.mapActionToPersistence(searchAction),
-            currentPModeSetOptional
-        )
+        return getPModeSetIndex(lane)
+            .findActions(ActionMapper.mapActionToPersistence(searchAction))
             .map(ActionMapper::mapActionToDomain)
             .toList();
     }
@@ -112,49 +116,22 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
         DomibusConnectorBusinessDomain.BusinessDomainId lane, DomibusConnectorParty exampleParty)
         throws IncorrectResultSizeException {
         PDomibusConnectorParty searchParty = PartyMapper.mapPartyToPersistence(exampleParty);
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional = getCurrentDBPModeSet(lane);
-        if (currentPModeSetOptional.isEmpty()) {
-            return new ArrayList<>();
-        }
-        Stream<PDomibusConnectorParty> stream =
-            findByExampleStream(searchParty, currentPModeSetOptional);
-
-        return stream.map(PartyMapper::mapPartyToDomain)
-                     .toList();
+        return getPModeSetIndex(lane)
+            .findParties(searchParty)
+            .map(PartyMapper::mapPartyToDomain)
+            .toList();
     }
 
     @Override
     public List<DomibusConnectorService> findByExample(
         DomibusConnectorBusinessDomain.BusinessDomainId lane,
         DomibusConnectorService searchService) {
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional = getCurrentDBPModeSet(lane);
-        if (currentPModeSetOptional.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return findByExampleStream(
-            ServiceMapper.mapServiceToPersistence(searchService),
-            currentPModeSetOptional
-        )
+        return getPModeSetIndex(lane)
+            .findServices(ServiceMapper.mapServiceToPersistence(searchService))
             .map(ServiceMapper::mapServiceToDomain)
             .toList();
     }
 
-    private Stream<PDomibusConnectorAction> findByExample(
-        PDomibusConnectorAction searchAction,
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional) {
-        return currentPModeSetOptional
-            .get()
-            .getActions()
-            .stream()
-            .filter(action -> {
-                var result = true;
-                if (result && searchAction.getAction() != null) {
-                    result = result && searchAction.getAction().equals(action.getAction());
-                }
-                return result;
-            });
-    }
-
     /**
      * Returns the configured single PDomibusConnectorAction for the given lane and search action.
      * If no matching action is found, an empty Optional is returned. If multiple actions are found,
@@ -169,13 +146,8 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
     public Optional<PDomibusConnectorAction> getConfiguredSingleDB(
         DomibusConnectorBusinessDomain.BusinessDomainId lane,
         PDomibusConnectorAction searchAction) {
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional = getCurrentDBPModeSet(lane);
-        if (currentPModeSetOptional.isEmpty()) {
-            return Optional.empty();
-        }
         List<PDomibusConnectorAction> foundActions =
-            findByExample(searchAction, currentPModeSetOptional)
-                .toList();
+            getPModeSetIndex(lane).findActions(searchAction).toList();
         if (foundActions.size() > 1) {
             throw new IncorrectResultSizeException(
                 String.format("Found %d Actions which match Action [%s] in MessageLane [%s]",
@@ -204,13 +176,8 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
     public Optional<PDomibusConnectorService> getConfiguredSingleDB(
         DomibusConnectorBusinessDomain.BusinessDomainId lane,
         PDomibusConnectorService searchService) {
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional = getCurrentDBPModeSet(lane);
-        if (currentPModeSetOptional.isEmpty()) {
-            return Optional.empty();
-        }
         List<PDomibusConnectorService> foundServices =
-            findByExampleStream(searchService, currentPModeSetOptional)
-                .toList();
+            getPModeSetIndex(lane).findServices(searchService).toList();
         if (foundServices.size() > 1) {
             throw new IncorrectResultSizeException(
                 String.format("Found %d Services which match Service [%s] in MessageLane [%s]",
@@ -241,12 +208,8 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
     public Optional<PDomibusConnectorParty> getConfiguredSingleDB(
         DomibusConnectorBusinessDomain.BusinessDomainId lane, PDomibusConnectorParty searchParty)
         throws IncorrectResultSizeException {
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional = getCurrentDBPModeSet(lane);
-        if (currentPModeSetOptional.isEmpty()) {
-            return Optional.empty();
-        }
         List<PDomibusConnectorParty> foundParties =
-            findByExampleStream(searchParty, currentPModeSetOptional).toList();
+            getPModeSetIndex(lane).findParties(searchParty).toList();
 
         if (foundParties.size() > 1) {
             throw new IncorrectResultSizeException(
@@ -262,50 +225,43 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
         return Optional.of(foundParties.getFirst());
     }
 
-    private Stream<PDomibusConnectorService> findByExampleStream(
-        PDomibusConnectorService searchService,
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional) {
-        return currentPModeSetOptional
-            .get()
-            .getServices()
-            .stream()
-            .filter(service -> {
-                var result = true;
-                if (result && searchService.getService() != null) {
-                    result = result && searchService.getService().equals(service.getService());
-                }
-                if (result && searchService.getServiceType()
-                    != null) { // check for null an uri can be an empty string
-                    result =
-                        result && searchService.getServiceType().equals(service.getServiceType());
-                }
-                return result;
-            });
+    /**
+     * Returns the index of the active PMode set of the given lane, loads it from the database if
+     * it has not been loaded yet.
+     */
+    private PModeSetIndex getPModeSetIndex(DomibusConnectorBusinessDomain.BusinessDomainId lane) {
+        if (lane == null) {
+            return loadPModeSetIndex(null);
+        }
+        PModeSetIndex index = pModeSetIndexes.get(lane);
+        if (index != null) {
+            return index;
+        }
+        index = loadPModeSetIndex(lane);
+        // an index put by a concurrently committed update wins over the loaded one
+        PModeSetIndex existing = pModeSetIndexes.putIfAbsent(lane, index);
+        return existing != null ? existing : index;
     }
 
-    private Stream<PDomibusConnectorParty> findByExampleStream(
-        PDomibusConnectorParty searchParty,
-        Optional<PDomibusConnectorPModeSet> currentPModeSetOptional) {
-        return currentPModeSetOptional
-            .get()
-            .getParties()
-            .stream()
-            .filter(party -> {
-                var result = true;
-                if (result && searchParty.getPartyId() != null) {
-                    result = result && searchParty.getPartyId().equals(party.getPartyId());
-                }
-                if (result && searchParty.getRole() != null) {
-                    result = result && searchParty.getRole().equals(party.getRole());
-                }
-                if (result && searchParty.getRoleType() != null) {
-                    result = result && searchParty.getRoleType().equals(party.getRoleType());
-                }
-                if (result && searchParty.getPartyIdType() != null) {
-                    result = result && searchParty.getPartyIdType().equals(party.getPartyIdType());
-                }
-                return result;
-            });
+    private PModeSetIndex loadPModeSetIndex(DomibusConnectorBusinessDomain.BusinessDomainId lane) {
+        return getCurrentDBPModeSet(lane)
+            .map(PModeSetIndex::of)
+            .orElse(PModeSetIndex.EMPTY);
+    }
+
+    private void replacePModeSetIndexAfterCommit(
+        DomibusConnectorBusinessDomain.BusinessDomainId lane, PModeSetIndex index) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        pModeSetIndexes.put(lane, index);
+                    }
+                });
+        } else {
+            pModeSetIndexes.put(lane, index);
+        }
     }
 
     @Override
@@ -384,6 +340,7 @@ public class DomibusConnectorPModePersistenceService implements DomibusConnector
         currentActivePModeSet.forEach(s -> s.setActive(false));
         this.domibusConnectorPModeSetDao.saveAll(currentActivePModeSet);
         this.domibusConnectorPModeSetDao.save(dbPmodeSet);
+        replacePModeSetIndexAfterCommit(lane, PModeSetIndex.of(dbPmodeSet));
     }
 
     @Override
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -140,6 +141,44 @@ public class LargeFilePersistenceServiceImpl implements LargeFilePersistenceServ
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    @Override
+    public Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>>
+        streamAllAvailableReferences() {
+        // concat instead of flatMap, so a parallel provider stream stays parallel
+        return availableLargeFilePersistenceProvider
+            .stream()
+            .map(this::streamAllAvailableReferences)
+            .reduce(Stream.empty(), Stream::concat);
+    }
+
+    private Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>>
+        streamAllAvailableReferences(LargeFilePersistenceProvider provider) {
+        try {
+            return provider.streamAllAvailableReferences();
+        } catch (Exception e) {
+            LOGGER.warn(
+                "Unable to list the references of provider [{}]", provider.getProviderName(), e);
+            return Stream.empty();
+        }
+    }
+
+    @Override
+    public List<LargeFileReference> getAvailableReferences(
+        DomibusConnectorMessageId connectorMessageId) {
+        List<LargeFileReference> references = new ArrayList<>();
+        for (LargeFilePersistenceProvider provider : availableLargeFilePersistenceProvider) {
+            try {
+                references.addAll(provider.getAvailableReferences(connectorMessageId));
+            } catch (Exception e) {
+                LOGGER.warn(
+                    "Unable to list the references of message [{}] of provider [{}]",
+                    connectorMessageId, provider.getProviderName(), e
+                );
+            }
+        }
+        return references;
+    }
+
     @Override
     public boolean isStorageProviderAvailable(LargeFileReference toCopy) {
         return getProviderByName(toCopy.getStorageProviderName()).isPresent();
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import eu.ecodex.connector.persistence.model.PDomibusConnectorAction;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorPModeSet;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorParty;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorService;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable snapshot of the actions, services and parties of the active PMode set of one business
+ * domain.
+ *
+ * <p>The entries are indexed by action name, service name and party id, so a lookup with these
+ * values set only has to check the few entries sharing the same key instead of the whole PMode
+ * set. A lookup without the key value falls back to checking all entries. The remaining example
+ * values are matched like before, a {@code null} value matches everything.
+ *
+ * <p>The indexed entities are shared between all threads and must not be modified.
+ */
+final class PModeSetIndex {
+    static final PModeSetIndex EMPTY = new PModeSetIndex(List.of(), List.of(), List.of());
+    private final List<PDomibusConnectorAction> actions;
+    private final List<PDomibusConnectorService> services;
+    private final List<PDomibusConnectorParty> parties;
+    private final Map<String, List<PDomibusConnectorAction>> actionsByName;
+    private final Map<String, List<PDomibusConnectorService>> servicesByName;
+    private final Map<String, List<PDomibusConnectorParty>> partiesByPartyId;
+
+    private PModeSetIndex(
+        Collection<PDomibusConnectorAction> actions,
+        Collection<PDomibusConnectorService> services,
+        Collection<PDomibusConnectorParty> parties) {
+        this.actions = List.copyOf(actions);
+        this.services = List.copyOf(services);
+        this.parties = List.copyOf(parties);
+        this.actionsByName = indexBy(this.actions, PDomibusConnectorAction::getAction);
+        this.servicesByName = indexBy(this.services, PDomibusConnectorService::getService);
+        this.partiesByPartyId = indexBy(this.parties, PDomibusConnectorParty::getPartyId);
+    }
+
+    /**
+     * Creates the index for the given PMode set.
+     *
+     * @param pModeSet the PMode set, the collections must already be loaded
+     * @return the index
+     */
+    static PModeSetIndex of(PDomibusConnectorPModeSet pModeSet) {
+        return new PModeSetIndex(
+            Objects.requireNonNullElse(pModeSet.getActions(), List.of()),
+            Objects.requireNonNullElse(pModeSet.getServices(), List.of()),
+            Objects.requireNonNullElse(pModeSet.getParties(), List.of())
+        );
+    }
+
+    Stream<PDomibusConnectorAction> findActions(PDomibusConnectorAction searchAction) {
+        return candidates(actions, actionsByName, searchAction.getAction()).stream();
+    }
+
+    Stream<PDomibusConnectorService> findServices(PDomibusConnectorService searchService) {
+        return candidates(services, servicesByName, searchService.getService())
+            .stream()
+            // check for null an uri can be an empty string
+            .filter(service -> matches(searchService.getServiceType(), service.getServiceType()));
+    }
+
+    Stream<PDomibusConnectorParty> findParties(PDomibusConnectorParty searchParty) {
+        return candidates(parties, partiesByPartyId, searchParty.getPartyId())
+            .stream()
+            .filter(party -> matches(searchParty.getRole(), party.getRole())
+                && matches(searchParty.getRoleType(), party.getRoleType())
+                && matches(searchParty.getPartyIdType(), party.getPartyIdType()));
+    }
+
+    private static boolean matches(Object searchValue, Object value) {
+        return searchValue == null || searchValue.equals(value);
+    }
+
+    private static <T> List<T> candidates(
+        List<T> all, Map<String, List<T>> index, String key) {
+        if (key == null) {
+            return all;
+        }
+        return index.getOrDefault(key, List.of());
+    }
+
+    private static <T> Map<String, List<T>> indexBy(
+        List<T> entries, Function<T, String> keyExtractor) {
+        return entries.stream()
+                      .filter(entry -> keyExtractor.apply(entry) != null)
+                      .collect(Collectors.collectingAndThen(
+                          Collectors.groupingBy(
+                              keyExtractor,
+                              Collectors.collectingAndThen(Collectors.toList(), List::copyOf)
+                          ),
+                          Map::copyOf
+                      ));
+    }
+}
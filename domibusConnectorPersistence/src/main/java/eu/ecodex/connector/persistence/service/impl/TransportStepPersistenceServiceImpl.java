@@ -10,8 +10,6 @@
 
 package eu.ecodex.connector.persistence.service.impl;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.ecodex.connector.common.annotations.DomainModelJsonObjectMapper;
 import eu.ecodex.connector.controller.service.TransportStateService;
@@ -24,7 +22,7 @@ import eu.ecodex.connector.persistence.dao.DomibusConnectorTransportStepDao;
 import eu.ecodex.connector.persistence.model.PDomibusConnectorTransportStep;
 import eu.ecodex.connector.persistence.model.PDomibusConnectorTransportStepStatusUpdate;
 import eu.ecodex.connector.persistence.service.TransportStepPersistenceService;
-import java.io.IOException;
+import jakarta.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -33,7 +31,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,13 +47,13 @@ public class TransportStepPersistenceServiceImpl implements TransportStepPersist
     private static final Logger LOGGER =
         LogManager.getLogger(TransportStepPersistenceServiceImpl.class);
     private final DomibusConnectorTransportStepDao transportStepDao;
-    private final ObjectMapper objectMapper;
+    private final TransportedMessageSnapshotCodec snapshotCodec;
 
     public TransportStepPersistenceServiceImpl(
         DomibusConnectorTransportStepDao transportStepDao,
         @DomainModelJsonObjectMapper ObjectMapper objectMapper) {
         this.transportStepDao = transportStepDao;
-        this.objectMapper = objectMapper;
+        this.snapshotCodec = new TransportedMessageSnapshotCodec(objectMapper);
     }
 
     @Override
@@ -109,23 +109,46 @@ public class TransportStepPersistenceServiceImpl implements TransportStepPersist
     public DomibusConnectorTransportStep update(DomibusConnectorTransportStep transportStep) {
         PDomibusConnectorTransportStep dbTransportStep = mapTransportStepToDb(transportStep);
         dbTransportStep = transportStepDao.save(dbTransportStep);
-        transportStep = mapTransportStepToDomain(dbTransportStep);
-        return transportStep;
+        // the message has just been written, so it is taken over instead of being decoded again
+        return mapTransportStepToDomain(
+            dbTransportStep, transportStep.getTransportedMessage().orElse(null));
     }
 
     @Override
     public List<DomibusConnectorTransportStep> findPendingStepBy(
         DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName) {
 
+        return findPendingStepBy(linkPartnerName, Pageable.unpaged());
+    }
+
+    @Override
+    public List<DomibusConnectorTransportStep> findPendingStepBy(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName, int maxResults) {
+        return findPendingStepBy(
+            linkPartnerName,
+            PageRequest.of(0, maxResults, Sort.by("created").and(Sort.by("id")))
+        );
+    }
+
+    private List<DomibusConnectorTransportStep> findPendingStepBy(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName, Pageable pageable) {
         var states = new String[] {TransportState.PENDING.getDbName()};
         var linkNames = new DomibusConnectorLinkPartner.LinkPartnerName[] {linkPartnerName};
-        var p = Pageable.unpaged();
         return transportStepDao.findLastAttemptStepByLastStateAndLinkPartnerIsOneOf(
-                                   states, linkNames, p).stream()
+                                   states, linkNames, pageable).stream()
                                .map(this::mapTransportStepToDomain)
                                .toList();
     }
 
+    @Override
+    public List<TransportStateService.TransportId> findPendingTransportIdsBy(
+        DomibusConnectorLinkPartner.LinkPartnerName linkPartnerName) {
+        var states = new String[] {TransportState.PENDING.getDbName()};
+        var linkNames = new DomibusConnectorLinkPartner.LinkPartnerName[] {linkPartnerName};
+        return transportStepDao.findLastAttemptTransportIdByLastStateAndLinkPartnerIsOneOf(
+            states, linkNames);
+    }
+
     @Override
     public Optional<DomibusConnectorTransportStep> findStepById(
         TransportStateService.TransportId transportId) {
@@ -180,31 +203,25 @@ public class TransportStepPersistenceServiceImpl implements TransportStepPersist
 
     DomibusConnectorTransportStep mapTransportStepToDomain(
         PDomibusConnectorTransportStep dbTransportStep) {
+        return mapTransportStepToDomain(dbTransportStep, null);
+    }
+
+    private DomibusConnectorTransportStep mapTransportStepToDomain(
+        PDomibusConnectorTransportStep dbTransportStep,
+        @Nullable DomibusConnectorMessage transportedMessage) {
 
         var step = new DomibusConnectorTransportStep();
 
         /*
-            read message from db as json
-            the message can be null if the format is not compatible to current connector version
-            (old data)
+            the message columns are fetched lazily, so they are only read if the message is not
+            already known, the pending transport ids are selected without the step at all
+            the message can be empty if the format is not compatible to current connector version
+            (old data), steps of older versions only contain the message as json
          */
-        if (dbTransportStep.getTransportedMessage() != null) {
-            try (JsonParser parser = objectMapper.createParser(
-                dbTransportStep.getTransportedMessage())) {
-                DomibusConnectorMessage domibusConnectorMessage =
-                    parser.readValueAs(DomibusConnectorMessage.class);
-                if (domibusConnectorMessage.getConnectorMessageId() != null) {
-                    step.setTransportedMessage(domibusConnectorMessage);
-                }
-            } catch (IOException e) {
-                LOGGER.warn(
-                    "Exception occured while reading domibus connector message from "
-                        + "transport step table. Maybe the message is a older format.",
-                    e
-                );
-            }
+        if (transportedMessage != null) {
+            step.setTransportedMessage(transportedMessage);
         } else {
-            LOGGER.warn("The transported message was null for step {}", dbTransportStep);
+            readTransportedMessage(dbTransportStep).ifPresent(step::setTransportedMessage);
         }
 
         step.setLinkPartnerName(dbTransportStep.getLinkPartnerName());
@@ -229,6 +246,20 @@ public class TransportStepPersistenceServiceImpl implements TransportStepPersist
         return step;
     }
 
+    private Optional<DomibusConnectorMessage> readTransportedMessage(
+        PDomibusConnectorTransportStep dbTransportStep) {
+        var snapshot = dbTransportStep.getTransportedMessageSnapshot();
+        if (snapshot != null) {
+            return snapshotCodec.decode(snapshot);
+        }
+        var json = dbTransportStep.getTransportedMessage();
+        if (json != null) {
+            return snapshotCodec.decodeJson(json);
+        }
+        LOGGER.warn("The transported message was null for step {}", dbTransportStep);
+        return Optional.empty();
+    }
+
     private DomibusConnectorTransportStep.DomibusConnectorTransportStepStatusUpdate
     mapTransportStepState(
         PDomibusConnectorTransportStepStatusUpdate dbTransportUpdate) {
@@ -261,14 +292,16 @@ public class TransportStepPersistenceServiceImpl implements TransportStepPersist
             return s;
         });
 
-        transportStep.getTransportedMessage().ifPresent(msg -> {
-
-            try {
-                dbStep.setTransportedMessage(objectMapper.writeValueAsString(msg));
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
-        });
+        // the transported message is not changed after the step has been created, so the
+        // snapshot is only written once. Steps still containing json are migrated on update.
+        // The check does not read the snapshot of an existing step.
+        if (dbStep.getId() == null
+            || transportStepDao.existsByIdAndTransportedMessageSnapshotIsNull(dbStep.getId())) {
+            transportStep.getTransportedMessage().ifPresent(msg -> {
+                dbStep.setTransportedMessageSnapshot(snapshotCodec.encode(msg));
+                dbStep.setTransportedMessage(null);
+            });
+        }
 
         dbStep.setFinalStateReached(transportStep.getFinalStateReached());
         dbStep.setAttempt(transportStep.getAttempt());
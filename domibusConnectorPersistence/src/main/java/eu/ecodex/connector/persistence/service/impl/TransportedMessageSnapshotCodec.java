@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Encodes and decodes the message snapshot stored with a transport step.
+ *
+ * <p>The snapshot starts with one byte containing the format version followed by the message
+ * encoded as Smile (binary JSON). The Smile mapper is derived from the domain model JSON mapper,
+ * so the same serializers are used as for the JSON format of older versions, which is still
+ * readable by {@link #decodeJson(String)}.
+ */
+class TransportedMessageSnapshotCodec {
+    private static final Logger LOGGER =
+        LogManager.getLogger(TransportedMessageSnapshotCodec.class);
+    static final byte FORMAT_VERSION_SMILE = 1;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+
+    TransportedMessageSnapshotCodec(ObjectMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = jsonMapper.copyWith(
+            SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build()
+        );
+    }
+
+    byte[] encode(DomibusConnectorMessage message) {
+        var bos = new ByteArrayOutputStream();
+        bos.write(FORMAT_VERSION_SMILE);
+        try {
+            smileMapper.writeValue(bos, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot created by {@link #encode(DomibusConnectorMessage)}.
+     *
+     * @param snapshot the snapshot
+     * @return the message or an empty Optional if the snapshot is not readable
+     */
+    Optional<DomibusConnectorMessage> decode(byte[] snapshot) {
+        if (snapshot == null || snapshot.length == 0) {
+            return Optional.empty();
+        }
+        if (snapshot[0] != FORMAT_VERSION_SMILE) {
+            LOGGER.warn(
+                "The transported message snapshot has the unknown format version [{}]",
+                snapshot[0]
+            );
+            return Optional.empty();
+        }
+        try {
+            return withConnectorMessageId(smileMapper.readValue(
+                snapshot, 1, snapshot.length - 1, DomibusConnectorMessage.class));
+        } catch (IOException e) {
+            LOGGER.warn(
+                "Exception occured while reading domibus connector message snapshot from "
+                    + "transport step table.",
+                e
+            );
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Decodes the JSON format used by older versions.
+     *
+     * @param json the JSON
+     * @return the message or an empty Optional if the JSON is not readable
+     */
+    Optional<DomibusConnectorMessage> decodeJson(String json) {
+        try {
+            return withConnectorMessageId(
+                jsonMapper.readValue(json, DomibusConnectorMessage.class));
+        } catch (IOException e) {
+            LOGGER.warn(
+                "Exception occured while reading domibus connector message from "
+                    + "transport step table. Maybe the message is a older format.",
+                e
+            );
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<DomibusConnectorMessage> withConnectorMessageId(
+        DomibusConnectorMessage message) {
+        return Optional.ofNullable(message).filter(m -> m.getConnectorMessageId() != null);
+    }
+}
@@ -12,6 +12,7 @@ package eu.ecodex.connector.persistence.spring;
 
 import eu.ecodex.connector.persistence.largefiles.provider.LargeFilePersistenceServiceFilesystemImpl;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import lombok.Getter;
@@ -41,8 +42,72 @@ public class DomibusConnectorFilesystemPersistenceProperties {
      * Should the written files be encrypted? Default is yes.
      */
     private boolean encryptionActive = true;
+    /**
+     * The encryption used for new files, already written files are always decrypted with the
+     * encryption they have been written with. Default is AES_CBC.
+     *
+     * <p>Switching to AES_GCM_CHUNKED is a one-way migration: files written with it can only be
+     * read by connector versions supporting it, so a rollback to an older version loses access
+     * to them. Switching back to AES_CBC keeps them readable.
+     */
+    @NotNull
+    private EncryptionMode encryptionMode = EncryptionMode.AES_CBC;
+    /**
+     * The plaintext size in bytes of one chunk if AES_GCM_CHUNKED is used. Default is 64KB.
+     */
+    @Positive
+    private int encryptionChunkSize = 64 * 1024;
     /**
      * Should the directory be created if it does not exist.
      */
     private boolean createDir = true;
+    /**
+     * The directory layout used for new files. Already existing files are always found, no
+     * matter which layout has been active when they were written. Default is FLAT.
+     */
+    @NotNull
+    private DirectoryLayout directoryLayout = DirectoryLayout.FLAT;
+    /**
+     * Should the message folders be scanned in parallel when all available references are
+     * listed. Default is yes.
+     */
+    private boolean parallelScan = true;
+    /**
+     * The number of threads listing the message folders if the parallel scan is enabled.
+     * Default is 4.
+     */
+    @Positive
+    private int parallelScanThreads = 4;
+
+    /**
+     * The encryption modes supported by the {@link LargeFilePersistenceServiceFilesystemImpl}.
+     */
+    public enum EncryptionMode {
+        /**
+         * AES in CBC mode with PKCS5 padding, no integrity protection.
+         */
+        AES_CBC,
+        /**
+         * AES in GCM mode, applied on chunks of
+         * {@link DomibusConnectorFilesystemPersistenceProperties#getEncryptionChunkSize()} bytes,
+         * so the integrity is verified while the data is read.
+         */
+        AES_GCM_CHUNKED
+    }
+
+    /**
+     * The directory layouts supported by the {@link LargeFilePersistenceServiceFilesystemImpl}.
+     */
+    public enum DirectoryLayout {
+        /**
+         * One folder per connector message id directly under the storage path.
+         */
+        FLAT,
+        /**
+         * The message folders are distributed over two levels of hashed folders below the
+         * folder {@value LargeFilePersistenceServiceFilesystemImpl#SHARDED_ROOT_FOLDER_NAME},
+         * eg. .sharded/3f/a1/&lt;connectorMessageId&gt;.
+         */
+        SHARDED
+    }
 }
@@ -49,4 +49,14 @@ public class DomibusConnectorPersistenceProperties {
      * </ul>
      */
     public String defaultLargeFileProviderName;
+    /**
+     * Maximum number of conversations whose backend name is kept in memory to route incoming
+     * messages of the same conversation without querying the database.
+     */
+    private int conversationAffinityCacheSize = 10_000;
+    /**
+     * Should the {@link LargeFilePersistenceServiceJpaImpl} stream the content from and into the
+     * database blob instead of holding it in memory? Default is no.
+     */
+    private boolean jpaStreamingActive = false;
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.spring;
+
+import eu.ecodex.connector.persistence.largefiles.provider.LargeFilePersistenceServiceFilesystemImpl;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the {@link LargeFilePersistenceServiceFilesystemImpl}.
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = DomibusConnectorPersistenceProperties.PREFIX,
+    value = "provider-" + LargeFilePersistenceServiceFilesystemImpl.PROVIDER_NAME,
+    havingValue = "true", matchIfMissing = true
+)
+public class FilesystemPersistenceConfiguration {
+    public static final String FILESYSTEM_SCAN_EXECUTOR_BEAN = "filesystemScanExecutor";
+
+    /**
+     * Creates the executor listing the message folders, if the parallel scan is enabled. It is
+     * used instead of the common fork join pool, so a scan of a large storage does not block
+     * other parallel streams. If all threads are busy and the queue is full the consumer of the
+     * scan lists the folder itself.
+     *
+     * @param properties the filesystem persistence configuration
+     * @return the executor
+     */
+    @Bean(name = FILESYSTEM_SCAN_EXECUTOR_BEAN, destroyMethod = "shutdown")
+    public ExecutorService filesystemScanExecutor(
+        DomibusConnectorFilesystemPersistenceProperties properties) {
+        var threads = properties.getParallelScanThreads();
+        var threadNumber = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(
+            threads, threads, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(threads * LargeFilePersistenceServiceFilesystemImpl
+                .SCAN_LOOK_AHEAD_PER_THREAD),
+            runnable -> {
+                var thread =
+                    new Thread(runnable, "filesystem-scan-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
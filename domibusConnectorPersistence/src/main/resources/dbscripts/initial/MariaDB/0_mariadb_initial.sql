@@ -119,7 +119,8 @@ create table DC_TRANSPORT_STEP
     REMOTE_MESSAGE_ID           varchar(255) null,
     TRANSPORT_ID                varchar(255) null,
     TRANSPORT_SYSTEM_MESSAGE_ID varchar(255) null,
-    TRANSPORTED_MESSAGE         longtext     null
+    TRANSPORTED_MESSAGE         longtext     null,
+    TRANSPORTED_MESSAGE_SNAPSHOT longblob    null
 );
 
 create table DC_TRANSPORT_STEP_STATUS
@@ -133,6 +134,47 @@ create table DC_TRANSPORT_STEP_STATUS
         foreign key (TRANSPORT_STEP_ID) references DC_TRANSPORT_STEP (ID)
 );
 
+create table DC_MESSAGE_STATISTIC
+(
+    STAT_DAY                date         not null,
+    PARTY_ID                varchar(255) not null,
+    SERVICE                 varchar(255) not null,
+    RECEIVED                bigint       not null,
+    SENT                    bigint       not null,
+    RECEIVED_WITH_EVIDENCES bigint       not null,
+    SENT_WITH_EVIDENCES     bigint       not null,
+    UPDATED                 datetime(6)  not null,
+    primary key (STAT_DAY, PARTY_ID, SERVICE)
+);
+
+create table DC_EVIDENCE_STATISTIC
+(
+    STAT_DAY      date         not null,
+    PARTY_ID      varchar(255) not null,
+    SERVICE       varchar(255) not null,
+    EVIDENCE_TYPE varchar(255) not null,
+    RECEIVED      bigint       not null,
+    SENT          bigint       not null,
+    UPDATED       datetime(6)  not null,
+    primary key (STAT_DAY, PARTY_ID, SERVICE, EVIDENCE_TYPE)
+);
+
+create table DC_MESSAGE_STATISTIC_STATE
+(
+    STATE_NAME  varchar(255) not null
+        primary key,
+    STATE_VALUE datetime(6)  null
+);
+
+create table DC_REVOCATION_CACHE
+(
+    REVOCATION_KEY  varchar(255) not null
+        primary key,
+    REVOCATION_DATA longblob     not null,
+    SOURCE_URL      varchar(512) null,
+    EXPIRES         datetime(6)  not null
+);
+
 create table DOMIBUS_CONNECTOR_ACTION
 (
     ID           bigint       not null
@@ -183,6 +225,24 @@ create table DOMIBUS_CONNECTOR_MESSAGE
         unique (CONNECTOR_MESSAGE_ID)
 );
 
+create index IDX_DC_MSG_UPDATED
+    on DOMIBUS_CONNECTOR_MESSAGE (UPDATED);
+
+create index IDX_DC_MSG_DELIVERED_BACKEND
+    on DOMIBUS_CONNECTOR_MESSAGE (DELIVERED_BACKEND);
+
+create index IDX_DC_MSG_DELIVERED_GW
+    on DOMIBUS_CONNECTOR_MESSAGE (DELIVERED_GW);
+
+create index IDX_DC_MSG_CONFIRMED
+    on DOMIBUS_CONNECTOR_MESSAGE (CONFIRMED);
+
+create index IDX_DC_MSG_REJECTED
+    on DOMIBUS_CONNECTOR_MESSAGE (REJECTED);
+
+create index IDX_DC_MSG_CREATED
+    on DOMIBUS_CONNECTOR_MESSAGE (CREATED);
+
 create table DOMIBUS_CONNECTOR_EVIDENCE
 (
     ID            bigint       not null
@@ -197,6 +257,9 @@ create table DOMIBUS_CONNECTOR_EVIDENCE
         foreign key (MESSAGE_ID) references DOMIBUS_CONNECTOR_MESSAGE (ID)
 );
 
+create index IDX_DC_EVIDENCE_UPDATED
+    on DOMIBUS_CONNECTOR_EVIDENCE (UPDATED);
+
 create table DOMIBUS_CONNECTOR_MSG_CONT
 (
     ID                    bigint       not null
@@ -99,6 +99,7 @@ create table DC_TRANSPORT_STEP
     TRANSPORT_ID                varchar2(255 char),
     TRANSPORT_SYSTEM_MESSAGE_ID varchar2(255 char),
     TRANSPORTED_MESSAGE         clob,
+    TRANSPORTED_MESSAGE_SNAPSHOT blob,
     primary key (ID)
 )
 /
@@ -111,6 +112,47 @@ create table DC_TRANSPORT_STEP_STATUS
     primary key (STATE, TRANSPORT_STEP_ID)
 )
 /
+create table DC_MESSAGE_STATISTIC
+(
+    STAT_DAY                date               not null,
+    PARTY_ID                varchar2(255 char) not null,
+    SERVICE                 varchar2(255 char) not null,
+    RECEIVED                number(19, 0)      not null,
+    SENT                    number(19, 0)      not null,
+    RECEIVED_WITH_EVIDENCES number(19, 0)      not null,
+    SENT_WITH_EVIDENCES     number(19, 0)      not null,
+    UPDATED                 timestamp          not null,
+    primary key (STAT_DAY, PARTY_ID, SERVICE)
+)
+/
+create table DC_EVIDENCE_STATISTIC
+(
+    STAT_DAY      date               not null,
+    PARTY_ID      varchar2(255 char) not null,
+    SERVICE       varchar2(255 char) not null,
+    EVIDENCE_TYPE varchar2(255 char) not null,
+    RECEIVED      number(19, 0)      not null,
+    SENT          number(19, 0)      not null,
+    UPDATED       timestamp          not null,
+    primary key (STAT_DAY, PARTY_ID, SERVICE, EVIDENCE_TYPE)
+)
+/
+create table DC_MESSAGE_STATISTIC_STATE
+(
+    STATE_NAME  varchar2(255 char) not null,
+    STATE_VALUE timestamp,
+    primary key (STATE_NAME)
+)
+/
+create table DC_REVOCATION_CACHE
+(
+    REVOCATION_KEY  varchar2(255 char) not null,
+    REVOCATION_DATA blob               not null,
+    SOURCE_URL      varchar2(512 char),
+    EXPIRES         timestamp          not null,
+    primary key (REVOCATION_KEY)
+)
+/
 create table DOMIBUS_CONNECTOR_ACTION
 (
     ID           number(19, 0)      not null,
@@ -144,6 +186,8 @@ create table DOMIBUS_CONNECTOR_EVIDENCE
     primary key (ID)
 )
 /
+create index IDX_DC_EVIDENCE_UPDATED on DOMIBUS_CONNECTOR_EVIDENCE (UPDATED)
+/
 create table DOMIBUS_CONNECTOR_MESSAGE
 (
     ID                   number(19, 0)      not null,
@@ -165,6 +209,18 @@ create table DOMIBUS_CONNECTOR_MESSAGE
     primary key (ID)
 )
 /
+create index IDX_DC_MSG_UPDATED on DOMIBUS_CONNECTOR_MESSAGE (UPDATED)
+/
+create index IDX_DC_MSG_DELIVERED_BACKEND on DOMIBUS_CONNECTOR_MESSAGE (DELIVERED_BACKEND)
+/
+create index IDX_DC_MSG_DELIVERED_GW on DOMIBUS_CONNECTOR_MESSAGE (DELIVERED_GW)
+/
+create index IDX_DC_MSG_CONFIRMED on DOMIBUS_CONNECTOR_MESSAGE (CONFIRMED)
+/
+create index IDX_DC_MSG_REJECTED on DOMIBUS_CONNECTOR_MESSAGE (REJECTED)
+/
+create index IDX_DC_MSG_CREATED on DOMIBUS_CONNECTOR_MESSAGE (CREATED)
+/
 create table DOMIBUS_CONNECTOR_MESSAGE_INFO
 (
     ID               number(19, 0) not null,
@@ -382,7 +382,8 @@ create table dc_transport_step
     remote_message_id           varchar(255),
     transport_id                varchar(255),
     transport_system_message_id varchar(255),
-    transported_message         text
+    transported_message         text,
+    transported_message_snapshot oid
 );
 
 alter table dc_transport_step
@@ -402,6 +403,59 @@ create table dc_transport_step_status
 alter table dc_transport_step_status
     owner to postgres;
 
+create table dc_message_statistic
+(
+    stat_day                date         not null,
+    party_id                varchar(255) not null,
+    service                 varchar(255) not null,
+    received                bigint       not null,
+    sent                    bigint       not null,
+    received_with_evidences bigint       not null,
+    sent_with_evidences     bigint       not null,
+    updated                 timestamp    not null,
+    primary key (stat_day, party_id, service)
+);
+
+alter table dc_message_statistic
+    owner to postgres;
+
+create table dc_evidence_statistic
+(
+    stat_day      date         not null,
+    party_id      varchar(255) not null,
+    service       varchar(255) not null,
+    evidence_type varchar(255) not null,
+    received      bigint       not null,
+    sent          bigint       not null,
+    updated       timestamp    not null,
+    primary key (stat_day, party_id, service, evidence_type)
+);
+
+alter table dc_evidence_statistic
+    owner to postgres;
+
+create table dc_message_statistic_state
+(
+    state_name  varchar(255) not null
+        primary key,
+    state_value timestamp
+);
+
+alter table dc_message_statistic_state
+    owner to postgres;
+
+create table dc_revocation_cache
+(
+    revocation_key  varchar(255) not null
+        primary key,
+    revocation_data oid          not null,
+    source_url      varchar(512),
+    expires         timestamp    not null
+);
+
+alter table dc_revocation_cache
+    owner to postgres;
+
 create table domibus_connector_action
 (
     id           bigint       not null
@@ -461,6 +515,24 @@ create table domibus_connector_message
 alter table domibus_connector_message
     owner to postgres;
 
+create index idx_dc_msg_updated
+    on domibus_connector_message (updated);
+
+create index idx_dc_msg_delivered_backend
+    on domibus_connector_message (delivered_backend);
+
+create index idx_dc_msg_delivered_gw
+    on domibus_connector_message (delivered_gw);
+
+create index idx_dc_msg_confirmed
+    on domibus_connector_message (confirmed);
+
+create index idx_dc_msg_rejected
+    on domibus_connector_message (rejected);
+
+create index idx_dc_msg_created
+    on domibus_connector_message (created);
+
 create table domibus_connector_evidence
 (
     id            bigint    not null
@@ -478,6 +550,9 @@ create table domibus_connector_evidence
 alter table domibus_connector_evidence
     owner to postgres;
 
+create index idx_dc_evidence_updated
+    on domibus_connector_evidence (updated);
+
 create table domibus_connector_msg_cont
 (
     id                    bigint    not null
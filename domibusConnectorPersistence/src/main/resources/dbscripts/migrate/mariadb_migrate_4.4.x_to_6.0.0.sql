@@ -0,0 +1,75 @@
+-- *********************************************************************
+-- Update Database Script - from domibusConnector 4.4 to 6.0
+-- *********************************************************************
+-- extend entity DC_TRANSPORT_STEP by TRANSPORTED_MESSAGE_SNAPSHOT
+--
+-- The existing json in TRANSPORTED_MESSAGE stays readable, it is replaced by the binary
+-- snapshot when the transport step is updated by the connector.
+
+ALTER TABLE DC_TRANSPORT_STEP ADD COLUMN TRANSPORTED_MESSAGE_SNAPSHOT LONGBLOB NULL;
+
+-- *********************************************************************
+-- create tables DC_MESSAGE_STATISTIC, DC_EVIDENCE_STATISTIC and DC_MESSAGE_STATISTIC_STATE
+--
+-- The daily message and evidence statistics are read by the report of the web interface. They
+-- are filled for the existing messages by the backfill of the statistic job after the update.
+
+CREATE TABLE DC_MESSAGE_STATISTIC
+(
+    STAT_DAY                DATE         NOT NULL,
+    PARTY_ID                VARCHAR(255) NOT NULL,
+    SERVICE                 VARCHAR(255) NOT NULL,
+    RECEIVED                BIGINT       NOT NULL,
+    SENT                    BIGINT       NOT NULL,
+    RECEIVED_WITH_EVIDENCES BIGINT       NOT NULL,
+    SENT_WITH_EVIDENCES     BIGINT       NOT NULL,
+    UPDATED                 DATETIME(6)  NOT NULL,
+    PRIMARY KEY (STAT_DAY, PARTY_ID, SERVICE)
+);
+
+CREATE TABLE DC_EVIDENCE_STATISTIC
+(
+    STAT_DAY      DATE         NOT NULL,
+    PARTY_ID      VARCHAR(255) NOT NULL,
+    SERVICE       VARCHAR(255) NOT NULL,
+    EVIDENCE_TYPE VARCHAR(255) NOT NULL,
+    RECEIVED      BIGINT       NOT NULL,
+    SENT          BIGINT       NOT NULL,
+    UPDATED       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (STAT_DAY, PARTY_ID, SERVICE, EVIDENCE_TYPE)
+);
+
+CREATE TABLE DC_MESSAGE_STATISTIC_STATE
+(
+    STATE_NAME  VARCHAR(255) NOT NULL PRIMARY KEY,
+    STATE_VALUE DATETIME(6)  NULL
+);
+
+CREATE INDEX IDX_DC_MSG_UPDATED ON DOMIBUS_CONNECTOR_MESSAGE (UPDATED);
+CREATE INDEX IDX_DC_MSG_DELIVERED_BACKEND ON DOMIBUS_CONNECTOR_MESSAGE (DELIVERED_BACKEND);
+CREATE INDEX IDX_DC_MSG_DELIVERED_GW ON DOMIBUS_CONNECTOR_MESSAGE (DELIVERED_GW);
+CREATE INDEX IDX_DC_EVIDENCE_UPDATED ON DOMIBUS_CONNECTOR_EVIDENCE (UPDATED);
+
+-- *********************************************************************
+-- create table DC_REVOCATION_CACHE
+--
+-- Holds the OCSP responses and CRLs fetched during the signature validation until they expire,
+-- if the database tier of the revocation cache is enabled.
+
+CREATE TABLE DC_REVOCATION_CACHE
+(
+    REVOCATION_KEY  VARCHAR(255) NOT NULL PRIMARY KEY,
+    REVOCATION_DATA LONGBLOB     NOT NULL,
+    SOURCE_URL      VARCHAR(512) NULL,
+    EXPIRES         DATETIME(6)  NOT NULL
+);
+
+-- *********************************************************************
+-- create indexes on DOMIBUS_CONNECTOR_MESSAGE for the content deletion job
+--
+-- The job reads the messages confirmed or rejected since its previous run and the messages
+-- created within a period.
+
+CREATE INDEX IDX_DC_MSG_CONFIRMED ON DOMIBUS_CONNECTOR_MESSAGE (CONFIRMED);
+CREATE INDEX IDX_DC_MSG_REJECTED ON DOMIBUS_CONNECTOR_MESSAGE (REJECTED);
+CREATE INDEX IDX_DC_MSG_CREATED ON DOMIBUS_CONNECTOR_MESSAGE (CREATED);
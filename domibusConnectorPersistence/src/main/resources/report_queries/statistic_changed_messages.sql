@@ -0,0 +1,18 @@
+select
+  m.DELIVERED_BACKEND,
+  m.DELIVERED_GW
+from
+  DOMIBUS_CONNECTOR_MESSAGE m
+where
+  m.UPDATED >= ?
+  and (m.DELIVERED_BACKEND is not null or m.DELIVERED_GW is not null)
+union
+select
+  m.DELIVERED_BACKEND,
+  m.DELIVERED_GW
+from
+  DOMIBUS_CONNECTOR_EVIDENCE e
+    join DOMIBUS_CONNECTOR_MESSAGE m on m.ID = e.MESSAGE_ID
+where
+  e.UPDATED >= ?
+  and (m.DELIVERED_BACKEND is not null or m.DELIVERED_GW is not null)
@@ -0,0 +1,32 @@
+select
+  party,
+  service,
+  count(DELIVERED_BACKEND) as received,
+  count(DELIVERED_GW) as sent,
+  count(case when evidences > 0 then DELIVERED_BACKEND end) as received_with_evidences,
+  count(case when evidences > 0 then DELIVERED_GW end) as sent_with_evidences
+from
+  (select
+     m.DELIVERED_BACKEND,
+     m.DELIVERED_GW,
+     serviceTable.SERVICE as service,
+     case when m.DELIVERED_BACKEND is null then toParty.PARTY_ID else fromParty.PARTY_ID end as party,
+     (select count(*)
+        from DOMIBUS_CONNECTOR_EVIDENCE e
+        where e.MESSAGE_ID = m.ID
+          and e.TYPE not in ('SUBMISSION_ACCEPTANCE', 'SUBMISSION_REJECTION', 'RELAY_REMMD_FAILURE')
+     ) as evidences
+   from
+     DOMIBUS_CONNECTOR_MESSAGE m
+       join DOMIBUS_CONNECTOR_MESSAGE_INFO i on i.MESSAGE_ID=m.ID
+       join DOMIBUS_CONNECTOR_SERVICE serviceTable on i.FK_SERVICE = serviceTable.ID
+       join DOMIBUS_CONNECTOR_PARTY toParty on i.FK_TO_PARTY_ID = toParty.ID
+       join DOMIBUS_CONNECTOR_PARTY fromParty on i.FK_FROM_PARTY_ID = fromParty.ID
+   where
+     m.DELIVERED_BACKEND >= ? and m.DELIVERED_BACKEND < ?
+     or
+     m.DELIVERED_BACKEND is null and m.DELIVERED_GW >= ? and m.DELIVERED_GW < ?
+  ) x
+group by
+  party,
+  service
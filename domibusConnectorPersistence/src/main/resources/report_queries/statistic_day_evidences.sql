@@ -0,0 +1,31 @@
+select
+  party,
+  service,
+  evidence_type,
+  count(case when DIRECTION_TARGET = 'GATEWAY' then DELIVERED_NAT end) as received,
+  count(case when DIRECTION_TARGET = 'BACKEND' then EVIDENCE_DELIVERED_GW end) as sent
+from
+  (select
+     m.DIRECTION_TARGET,
+     e.TYPE as evidence_type,
+     e.DELIVERED_NAT,
+     e.DELIVERED_GW as EVIDENCE_DELIVERED_GW,
+     serviceTable.SERVICE as service,
+     case when m.DELIVERED_BACKEND is null then toParty.PARTY_ID else fromParty.PARTY_ID end as party
+   from
+     DOMIBUS_CONNECTOR_EVIDENCE e
+       join DOMIBUS_CONNECTOR_MESSAGE m on m.ID = e.MESSAGE_ID
+       join DOMIBUS_CONNECTOR_MESSAGE_INFO i on i.MESSAGE_ID=m.ID
+       join DOMIBUS_CONNECTOR_SERVICE serviceTable on i.FK_SERVICE = serviceTable.ID
+       join DOMIBUS_CONNECTOR_PARTY toParty on i.FK_TO_PARTY_ID = toParty.ID
+       join DOMIBUS_CONNECTOR_PARTY fromParty on i.FK_FROM_PARTY_ID = fromParty.ID
+   where
+     e.TYPE is not null
+     and (m.DELIVERED_BACKEND >= ? and m.DELIVERED_BACKEND < ?
+          or
+          m.DELIVERED_BACKEND is null and m.DELIVERED_GW >= ? and m.DELIVERED_GW < ?)
+  ) x
+group by
+  party,
+  service,
+  evidence_type
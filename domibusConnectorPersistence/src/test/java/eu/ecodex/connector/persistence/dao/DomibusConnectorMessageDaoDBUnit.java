@@ -16,6 +16,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.github.database.rider.core.api.dataset.DataSet;
 import eu.ecodex.connector.domain.enums.MessageTargetSource;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageDeliveryInfo;
 import eu.ecodex.connector.persistence.model.PDomibusConnectorMessage;
 import eu.ecodex.connector.persistence.model.test.util.PersistenceEntityCreator;
 import java.time.Duration;
@@ -28,6 +29,7 @@ import org.dbunit.dataset.ITable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
@@ -159,6 +161,35 @@ class DomibusConnectorMessageDaoDBUnit {
         });
     }
 
+    @Test
+    void testFindOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutDelivery_isPaged() {
+        var now = new Date();
+        List<DomibusConnectorMessageDeliveryInfo> firstPage =
+            messageDao.findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutDelivery(
+                now, 0L, PageRequest.of(0, 1));
+        assertThat(firstPage).hasSize(1);
+
+        List<DomibusConnectorMessageDeliveryInfo> secondPage =
+            messageDao.findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutDelivery(
+                now, firstPage.get(0).getId(), PageRequest.of(0, 1));
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(firstPage.get(0).getId());
+
+        assertThat(messageDao.findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutDelivery(
+            now, secondPage.get(0).getId(), PageRequest.of(0, 1))).isEmpty();
+        assertThat(messageDao.findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutDelivery(
+            new Date(0), 0L, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void testFindOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutRelayREMMD() {
+        List<DomibusConnectorMessageDeliveryInfo> messages =
+            messageDao.findOutgoingDeliveryInfosNotRejectedNorConfirmedAndWithoutRelayREMMD(
+                new Date(), 0L, PageRequest.of(0, 10));
+        assertThat(messages).hasSize(2);
+        assertThat(messages).allSatisfy(m -> assertThat(m.getDeliveredToGateway()).isNotNull());
+    }
+
     @Test
     void testFindIncomingUnconfirmedMessages() {
         Assertions.assertTimeout(Duration.ofSeconds(10), () -> {
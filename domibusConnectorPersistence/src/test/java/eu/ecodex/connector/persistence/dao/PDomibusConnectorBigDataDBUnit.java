@@ -19,6 +19,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import org.dbunit.database.DatabaseDataSourceConnection;
 import org.dbunit.dataset.ITable;
+import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -52,7 +53,9 @@ class PDomibusConnectorBigDataDBUnit {
 
             txTemplate.execute(status -> {
                 Session hibernateSession = entityManager.unwrap(Session.class);
-                bigData.setContent("hallo welt".getBytes(StandardCharsets.UTF_8));
+                bigData.setContent(Hibernate.getLobCreator(hibernateSession)
+                                            .createBlob("hallo welt".getBytes(
+                                                StandardCharsets.UTF_8)));
                 bigData.setMimeType("application/octet-stream");
                 bigData.setName("name");
 
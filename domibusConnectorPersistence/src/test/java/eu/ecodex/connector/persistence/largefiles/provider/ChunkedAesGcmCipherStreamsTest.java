@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.largefiles.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ChunkedAesGcmCipherStreamsTest {
+    private static final int CHUNK_SIZE = 16;
+    private static final byte[] NONCE = new byte[ChunkedAesGcmCipherStreams.NONCE_LENGTH_BYTES];
+    // GCM does not allow to encrypt twice with the same key and nonce, so every test has its key
+    private final SecretKey key = new SecretKeySpec(createData(32), "AES");
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 15, 16, 17, 32, 1000})
+    void testRoundTrip(int length) throws IOException {
+        byte[] plain = createData(length);
+
+        byte[] encrypted = encrypt(plain);
+
+        assertThat(encrypted).hasSize(
+            (length / CHUNK_SIZE + 1) * ChunkedAesGcmCipherStreams.TAG_LENGTH_BYTES + length);
+        assertThat(decrypt(encrypted)).isEqualTo(plain);
+    }
+
+    @Test
+    void testModifiedData_isDetected() throws IOException {
+        byte[] encrypted = encrypt(createData(40));
+        encrypted[20] ^= 1;
+
+        assertThatThrownBy(() -> decrypt(encrypted)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testTruncatedAtChunkBoundary_isDetected() throws IOException {
+        byte[] encrypted = encrypt(createData(40));
+        byte[] truncated = Arrays.copyOf(
+            encrypted, CHUNK_SIZE + ChunkedAesGcmCipherStreams.TAG_LENGTH_BYTES);
+
+        assertThatThrownBy(() -> decrypt(truncated)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testCipherSuite_containsChunkSize() {
+        String cipherSuite = ChunkedAesGcmCipherStreams.getCipherSuite(CHUNK_SIZE);
+
+        assertThat(ChunkedAesGcmCipherStreams.isChunkedCipherSuite(cipherSuite)).isTrue();
+        assertThat(ChunkedAesGcmCipherStreams.isChunkedCipherSuite("AES/CBC/PKCS5Padding"))
+            .isFalse();
+        assertThat(ChunkedAesGcmCipherStreams.getChunkSize(cipherSuite)).isEqualTo(CHUNK_SIZE);
+    }
+
+    private static byte[] createData(int length) {
+        var data = new byte[length];
+        new Random().nextBytes(data);
+        return data;
+    }
+
+    private byte[] encrypt(byte[] plain) throws IOException {
+        var bos = new ByteArrayOutputStream();
+        try (OutputStream os = ChunkedAesGcmCipherStreams.encrypt(bos, key, NONCE, CHUNK_SIZE)) {
+            os.write(plain, 0, Math.min(3, plain.length));
+            for (var i = Math.min(3, plain.length); i < plain.length; i++) {
+                os.write(plain[i]);
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    private byte[] decrypt(byte[] encrypted) throws IOException {
+        try (InputStream is = ChunkedAesGcmCipherStreams.decrypt(
+            new ByteArrayInputStream(encrypted), key, NONCE, CHUNK_SIZE)) {
+            return is.readAllBytes();
+        }
+    }
+}
@@ -16,6 +16,8 @@ import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
 import eu.ecodex.connector.domain.model.LargeFileReference;
 import eu.ecodex.connector.persistence.largefiles.provider.LargeFilePersistenceServiceFilesystemImpl.FileBasedLargeFileReference;
 import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties;
+import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties.DirectoryLayout;
+import eu.ecodex.connector.persistence.spring.DomibusConnectorFilesystemPersistenceProperties.EncryptionMode;
 import eu.ecodex.connector.testutil.assertj.DomibusByteArrayAssert;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -26,8 +28,14 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import javax.crypto.KeyGenerator;
 import javax.crypto.spec.SecretKeySpec;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
@@ -37,6 +45,8 @@ import org.springframework.util.StreamUtils;
 
 class LargeFilePersistenceServiceFilesystemImplTest {
     private LargeFilePersistenceServiceFilesystemImpl filesystemImpl;
+    private ExecutorService scanExecutor;
+    private final AtomicInteger scanTasks = new AtomicInteger();
     private static final byte[] input1 = "Hallo Welt, ich bin ein Testtext".getBytes();
     private File testStorageLocation;
 
@@ -65,8 +75,18 @@ class LargeFilePersistenceServiceFilesystemImplTest {
         fsProps.setStoragePath(Paths.get(testStorageLocation.getAbsolutePath()));
         fsProps.setEncryptionActive(true);
 
+        scanExecutor = Executors.newFixedThreadPool(2);
         filesystemImpl = new LargeFilePersistenceServiceFilesystemImpl();
         filesystemImpl.setFilesystemPersistenceProperties(fsProps);
+        filesystemImpl.setScanExecutor(task -> {
+            scanTasks.incrementAndGet();
+            scanExecutor.execute(task);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scanExecutor.shutdownNow();
     }
 
     @Test
@@ -176,4 +196,144 @@ class LargeFilePersistenceServiceFilesystemImplTest {
         assertThat(allAvailableReferences.get(new DomibusConnectorMessageId("testmsg2"))).hasSize(
             2);
     }
+
+    @Test
+    void testShardedLayout_legacyReferencesStayAvailable() throws IOException {
+        filesystemImpl.getFilesystemPersistenceProperties()
+                      .setDirectoryLayout(DirectoryLayout.SHARDED);
+
+        LargeFileReference largeFileReference =
+            filesystemImpl.createDomibusConnectorBigDataReference(
+                new ByteArrayInputStream(input1), "msg1", "file1", "text/utf-8");
+        String storageIdReference = largeFileReference.getStorageIdReference();
+
+        assertThat(storageIdReference).startsWith(
+            LargeFilePersistenceServiceFilesystemImpl.SHARDED_ROOT_FOLDER_NAME + File.separator);
+        assertThat(Paths.get(storageIdReference).getParent().getFileName())
+            .hasToString("msg1");
+
+        Map<DomibusConnectorMessageId, List<LargeFileReference>> allAvailableReferences =
+            filesystemImpl.getAllAvailableReferences();
+        assertThat(allAvailableReferences).hasSize(3);
+        assertThat(allAvailableReferences.get(new DomibusConnectorMessageId("msg1")))
+            .extracting(LargeFileReference::getStorageIdReference)
+            .containsExactly(storageIdReference);
+
+        // references written with the flat layout are still resolved
+        var legacyReference = new FileBasedLargeFileReference(filesystemImpl);
+        legacyReference.setStorageIdReference("testmsg1" + File.separator + "file1");
+        byte[] bytes = StreamUtils.copyToByteArray(
+            filesystemImpl.getReadableDataSource(legacyReference).getInputStream());
+        DomibusByteArrayAssert.assertThat(bytes).containsUTF8String("Hallo Welt!");
+
+        filesystemImpl.deleteDomibusConnectorBigDataReference(largeFileReference);
+        assertThat(new File(testStorageLocation, storageIdReference).getParentFile())
+            .doesNotExist();
+    }
+
+    @Test
+    void testStreamAllAvailableReferences() {
+        try (Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> references =
+                 filesystemImpl.streamAllAvailableReferences()) {
+            assertThat(references.map(Map.Entry::getKey).toList())
+                .containsExactlyInAnyOrder(
+                    new DomibusConnectorMessageId("testmsg1"),
+                    new DomibusConnectorMessageId("testmsg2")
+                );
+        }
+        assertThat(scanTasks).hasValue(2);
+    }
+
+    @Test
+    void testStreamAllAvailableReferences_sequentialScan_doesNotUseScanExecutor() {
+        filesystemImpl.getFilesystemPersistenceProperties().setParallelScan(false);
+
+        try (Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> references =
+                 filesystemImpl.streamAllAvailableReferences()) {
+            assertThat(references.map(Map.Entry::getKey).toList())
+                .containsExactlyInAnyOrder(
+                    new DomibusConnectorMessageId("testmsg1"),
+                    new DomibusConnectorMessageId("testmsg2")
+                );
+        }
+        assertThat(scanTasks).hasValue(0);
+    }
+
+    @Test
+    void testStreamAllAvailableReferences_messageInBothLayouts_isReturnedOnce() {
+        filesystemImpl.getFilesystemPersistenceProperties()
+                      .setDirectoryLayout(DirectoryLayout.SHARDED);
+        LargeFileReference shardedReference =
+            filesystemImpl.createDomibusConnectorBigDataReference(
+                new ByteArrayInputStream(input1), "testmsg1", "file2", "text/utf-8");
+
+        try (Stream<Map.Entry<DomibusConnectorMessageId, List<LargeFileReference>>> references =
+                 filesystemImpl.streamAllAvailableReferences()) {
+            var referencesByMessage = references.toList();
+
+            assertThat(referencesByMessage)
+                .extracting(Map.Entry::getKey)
+                .containsExactlyInAnyOrder(
+                    new DomibusConnectorMessageId("testmsg1"),
+                    new DomibusConnectorMessageId("testmsg2")
+                );
+            assertThat(referencesByMessage)
+                .filteredOn(entry -> entry.getKey().getConnectorMessageId().equals("testmsg1"))
+                .singleElement()
+                .extracting(Map.Entry::getValue)
+                .asInstanceOf(InstanceOfAssertFactories.list(LargeFileReference.class))
+                .extracting(LargeFileReference::getStorageIdReference)
+                .containsExactlyInAnyOrder(
+                    "testmsg1" + File.separator + "file1",
+                    shardedReference.getStorageIdReference()
+                );
+        }
+    }
+
+    @Test
+    void testStreamAllAvailableReferences_messageNamedLikeShardFolder_isMessageFolder() {
+        filesystemImpl.getFilesystemPersistenceProperties()
+                      .setDirectoryLayout(DirectoryLayout.SHARDED);
+        filesystemImpl.createDomibusConnectorBigDataReference(
+            new ByteArrayInputStream(input1), "msg1", "file1", "text/utf-8");
+        filesystemImpl.getFilesystemPersistenceProperties()
+                      .setDirectoryLayout(DirectoryLayout.FLAT);
+        filesystemImpl.createDomibusConnectorBigDataReference(
+            new ByteArrayInputStream(input1), "sharded", "file1", "text/utf-8");
+
+        assertThat(filesystemImpl.getAllAvailableReferences())
+            .containsOnlyKeys(
+                new DomibusConnectorMessageId("testmsg1"),
+                new DomibusConnectorMessageId("testmsg2"),
+                new DomibusConnectorMessageId("msg1"),
+                new DomibusConnectorMessageId("sharded")
+            );
+    }
+
+    @Test
+    void testEncryptionMode_default_isAesCbc() {
+        var reference = (FileBasedLargeFileReference) filesystemImpl
+            .createDomibusConnectorBigDataReference(
+                new ByteArrayInputStream(input1), "msg1", "file1", "text/utf-8");
+
+        assertThat(reference.getCipherSuite()).isEqualTo("AES/CBC/PKCS5Padding");
+    }
+
+    @Test
+    void testEncryptionMode_switchedBackFromGcmChunked_filesStayReadable() throws IOException {
+        filesystemImpl.getFilesystemPersistenceProperties()
+                      .setEncryptionMode(EncryptionMode.AES_GCM_CHUNKED);
+        var gcmReference = (FileBasedLargeFileReference) filesystemImpl
+            .createDomibusConnectorBigDataReference(
+                new ByteArrayInputStream(input1), "msg1", "file1", "text/utf-8");
+        filesystemImpl.getFilesystemPersistenceProperties()
+                      .setEncryptionMode(EncryptionMode.AES_CBC);
+
+        byte[] bytes = StreamUtils.copyToByteArray(
+            filesystemImpl.getReadableDataSource(gcmReference).getInputStream());
+
+        assertThat(ChunkedAesGcmCipherStreams.isChunkedCipherSuite(gcmReference.getCipherSuite()))
+            .isTrue();
+        assertThat(bytes).isEqualTo(input1);
+    }
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.largefiles.provider;
+
+import eu.ecodex.connector.persistence.dao.CommonPersistenceTest;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration test case for the LargeFilePersistenceServiceJpaImpl class with streaming enabled.
+ */
+@CommonPersistenceTest
+@TestPropertySource(properties = "connector.persistence.jpa-streaming-active=true")
+public class LargeFilePersistenceServiceJpaImplStreamingITCase
+    extends CommonLargeFilePersistenceProviderITCase {
+    @Override
+    protected String getProviderName() {
+        return LargeFilePersistenceServiceJpaImpl.PROVIDER_NAME;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("checkstyle:MissingJavadocType")
+class ConversationBackendAffinityCacheTest {
+    @Test
+    void register_withoutTransaction_isAddedImmediately() {
+        var cache = new ConversationBackendAffinityCache(10);
+        cache.register("conv1", "backend_bob");
+
+        assertThat(cache.getBackendName("conv1")).contains("backend_bob");
+    }
+
+    @Test
+    void register_firstBackendOfConversationWins() {
+        var cache = new ConversationBackendAffinityCache(10);
+        cache.register("conv1", "backend_bob");
+        cache.register("conv1", "backend_alice");
+
+        assertThat(cache.getBackendName("conv1")).contains("backend_bob");
+    }
+
+    @Test
+    void register_emptyValues_areIgnored() {
+        var cache = new ConversationBackendAffinityCache(10);
+        cache.register("conv1", "");
+        cache.register(null, "backend_bob");
+
+        assertThat(cache.getBackendName("conv1")).isEmpty();
+    }
+
+    @Test
+    void leastRecentlyUsedConversation_isEvicted() {
+        var cache = new ConversationBackendAffinityCache(2);
+        cache.register("conv1", "backend_bob");
+        cache.register("conv2", "backend_bob");
+        cache.getBackendName("conv1");
+        cache.register("conv3", "backend_alice");
+
+        assertThat(cache.getBackendName("conv1")).contains("backend_bob");
+        assertThat(cache.getBackendName("conv2")).isEmpty();
+        assertThat(cache.getBackendName("conv3")).contains("backend_alice");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorRevocationData;
+import eu.ecodex.connector.persistence.dao.CommonPersistenceTest;
+import eu.ecodex.connector.persistence.service.DCRevocationCachePersistenceService;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+@CommonPersistenceTest
+class DCRevocationCachePersistenceServiceImplITCase {
+    private static final ZonedDateTime NOW = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    DCRevocationCachePersistenceService persistenceService;
+
+    @Test
+    void testSaveRevocationData_isFoundUntilItExpires() {
+        persistenceService.saveRevocationData(
+            revocationData("CRL:cert1:issuer", new byte[] {1, 2, 3}, NOW.plusHours(1)));
+
+        var found = persistenceService.findRevocationData("CRL:cert1:issuer", NOW);
+
+        assertThat(found).hasValueSatisfying(revocationData -> {
+            assertThat(revocationData.getData()).containsExactly(1, 2, 3);
+            assertThat(revocationData.getSourceUrl()).isEqualTo("http://crl.example.com");
+            assertThat(revocationData.getExpires().toInstant())
+                .isEqualTo(NOW.plusHours(1).toInstant());
+        });
+        assertThat(persistenceService.findRevocationData("CRL:cert1:issuer", NOW.plusHours(2)))
+            .isEmpty();
+    }
+
+    @Test
+    void testSaveRevocationData_sameKey_replacesRevocationData() {
+        persistenceService.saveRevocationData(
+            revocationData("OCSP:cert2:issuer", new byte[] {1}, NOW.plusHours(1)));
+        persistenceService.saveRevocationData(
+            revocationData("OCSP:cert2:issuer", new byte[] {2}, NOW.plusHours(3)));
+
+        var found = persistenceService.findRevocationData("OCSP:cert2:issuer", NOW.plusHours(2));
+
+        assertThat(found).hasValueSatisfying(
+            revocationData -> assertThat(revocationData.getData()).containsExactly(2));
+    }
+
+    @Test
+    void testDeleteExpiredRevocationData_deletesExpiredOnly() {
+        persistenceService.saveRevocationData(
+            revocationData("CRL:cert3:issuer", new byte[] {3}, NOW.minusDays(10)));
+        persistenceService.saveRevocationData(
+            revocationData("CRL:cert4:issuer", new byte[] {4}, NOW.plusDays(10)));
+
+        assertThat(persistenceService.deleteExpiredRevocationData(NOW.minusDays(5)))
+            .isEqualTo(1);
+
+        assertThat(persistenceService.findRevocationData("CRL:cert3:issuer", NOW.minusDays(11)))
+            .isEmpty();
+        assertThat(persistenceService.findRevocationData("CRL:cert4:issuer", NOW)).isPresent();
+    }
+
+    private static DomibusConnectorRevocationData revocationData(
+        String revocationKey, byte[] data, ZonedDateTime expires) {
+        var revocationData = new DomibusConnectorRevocationData();
+        revocationData.setRevocationKey(revocationKey);
+        revocationData.setData(data);
+        revocationData.setSourceUrl("http://crl.example.com");
+        revocationData.setExpires(expires);
+        return revocationData;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.ecodex.connector.domain.model.DomibusConnectorParty;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorAction;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorPModeSet;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorParty;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorService;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PModeSetIndexTest {
+    private final PModeSetIndex index = PModeSetIndex.of(createPModeSet());
+
+    @Test
+    void testFindActions_byName() {
+        assertThat(index.findActions(action("Form_A")))
+            .extracting(PDomibusConnectorAction::getAction)
+            .containsExactly("Form_A");
+        assertThat(index.findActions(action("Form_X"))).isEmpty();
+    }
+
+    @Test
+    void testFindActions_withoutName_matchesAll() {
+        assertThat(index.findActions(action(null))).hasSize(2);
+    }
+
+    @Test
+    void testFindServices_serviceTypeIsOnlyCheckedIfSet() {
+        assertThat(index.findServices(service("service1", null))).hasSize(2);
+        assertThat(index.findServices(service("service1", "urn:e-codex:services:")))
+            .extracting(PDomibusConnectorService::getServiceType)
+            .containsExactly("urn:e-codex:services:");
+        assertThat(index.findServices(service(null, ""))).hasSize(1);
+    }
+
+    @Test
+    void testFindParties_byPartyIdAndRoleType() {
+        assertThat(index.findParties(party("domibus-blue", null))).hasSize(2);
+        assertThat(index.findParties(
+            party("domibus-blue", DomibusConnectorParty.PartyRoleType.RESPONDER)))
+            .extracting(PDomibusConnectorParty::getRoleType)
+            .containsExactly(DomibusConnectorParty.PartyRoleType.RESPONDER);
+        assertThat(index.findParties(
+            party(null, DomibusConnectorParty.PartyRoleType.INITIATOR))).hasSize(2);
+    }
+
+    @Test
+    void testEmpty_findsNothing() {
+        assertThat(PModeSetIndex.EMPTY.findActions(action(null))).isEmpty();
+        assertThat(PModeSetIndex.EMPTY.findServices(service(null, null))).isEmpty();
+        assertThat(PModeSetIndex.EMPTY.findParties(party(null, null))).isEmpty();
+    }
+
+    private static PDomibusConnectorPModeSet createPModeSet() {
+        var pModeSet = new PDomibusConnectorPModeSet();
+        pModeSet.setActions(Set.of(action("Form_A"), action("Form_B")));
+        pModeSet.setServices(Set.of(
+            service("service1", "urn:e-codex:services:"),
+            service("service1", ""),
+            service("service2", "urn:e-codex:services:")
+        ));
+        pModeSet.setParties(Set.of(
+            party("domibus-blue", DomibusConnectorParty.PartyRoleType.INITIATOR),
+            party("domibus-blue", DomibusConnectorParty.PartyRoleType.RESPONDER),
+            party("domibus-red", DomibusConnectorParty.PartyRoleType.INITIATOR)
+        ));
+        return pModeSet;
+    }
+
+    private static PDomibusConnectorAction action(String name) {
+        var action = new PDomibusConnectorAction();
+        action.setAction(name);
+        return action;
+    }
+
+    private static PDomibusConnectorService service(String name, String serviceType) {
+        var service = new PDomibusConnectorService();
+        service.setService(name);
+        service.setServiceType(serviceType);
+        return service;
+    }
+
+    private static PDomibusConnectorParty party(
+        String partyId, DomibusConnectorParty.PartyRoleType roleType) {
+        var party = new PDomibusConnectorParty();
+        party.setPartyId(partyId);
+        party.setRoleType(roleType);
+        return party;
+    }
+}
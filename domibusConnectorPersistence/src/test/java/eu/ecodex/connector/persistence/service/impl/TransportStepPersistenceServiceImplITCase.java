@@ -120,4 +120,81 @@ class TransportStepPersistenceServiceImplITCase {
             transportStepPersistenceService.findPendingStepBy(lp);
         assertThat(pendingStepBy).hasSize(1);
     }
+
+    @Test
+    void findPendingStep_readsTransportedMessageSnapshot() {
+        DomibusConnectorMessage m = DomainEntityCreator.createMessage();
+        m.setConnectorMessageId(new DomibusConnectorMessageId("id005"));
+
+        DomibusConnectorTransportStep step = new DomibusConnectorTransportStep();
+        DomibusConnectorTransportStep.DomibusConnectorTransportStepStatusUpdate statusUpdate =
+            new DomibusConnectorTransportStep.DomibusConnectorTransportStepStatusUpdate();
+        statusUpdate.setTransportState(TransportState.PENDING);
+        statusUpdate.setCreated(LocalDateTime.now());
+        var lp = new DomibusConnectorLinkPartner.LinkPartnerName("link5");
+
+        step.setTransportedMessage(m);
+        step.setLinkPartnerName(lp);
+        step.addStatusUpdate(statusUpdate);
+        transportStepPersistenceService.createNewTransportStep(step);
+
+        List<DomibusConnectorTransportStep> pendingStepBy =
+            transportStepPersistenceService.findPendingStepBy(lp);
+        assertThat(pendingStepBy).hasSize(1);
+        assertThat(pendingStepBy.getFirst().getConnectorMessageId())
+            .isEqualTo(new DomibusConnectorMessageId("id005"));
+        assertThat(pendingStepBy.getFirst().getTransportedMessage())
+            .hasValueSatisfying(msg -> assertThat(msg.getConnectorMessageId())
+                .isEqualTo(new DomibusConnectorMessageId("id005")));
+    }
+
+    @Test
+    void findPendingTransportIds_returnsIdsOfPendingSteps() {
+        DomibusConnectorMessage m = DomainEntityCreator.createMessage();
+        m.setConnectorMessageId(new DomibusConnectorMessageId("id006"));
+
+        DomibusConnectorTransportStep step = new DomibusConnectorTransportStep();
+        DomibusConnectorTransportStep.DomibusConnectorTransportStepStatusUpdate statusUpdate =
+            new DomibusConnectorTransportStep.DomibusConnectorTransportStepStatusUpdate();
+        statusUpdate.setTransportState(TransportState.PENDING);
+        statusUpdate.setCreated(LocalDateTime.now());
+        var lp = new DomibusConnectorLinkPartner.LinkPartnerName("link7");
+
+        step.setTransportedMessage(m);
+        step.setLinkPartnerName(lp);
+        step.addStatusUpdate(statusUpdate);
+        var transportId =
+            transportStepPersistenceService.createNewTransportStep(step).getTransportId();
+
+        assertThat(transportStepPersistenceService.findPendingTransportIdsBy(lp))
+            .containsExactly(transportId);
+    }
+
+    @Test
+    void findPendingStep_withMaxResults_returnsOldestSteps() {
+        var lp = new DomibusConnectorLinkPartner.LinkPartnerName("link6");
+        for (var i = 0; i < 3; i++) {
+            DomibusConnectorMessage m = DomainEntityCreator.createMessage();
+            m.setConnectorMessageId(new DomibusConnectorMessageId("id01" + i));
+
+            DomibusConnectorTransportStep step = new DomibusConnectorTransportStep();
+            DomibusConnectorTransportStep.DomibusConnectorTransportStepStatusUpdate statusUpdate =
+                new DomibusConnectorTransportStep.DomibusConnectorTransportStepStatusUpdate();
+            statusUpdate.setTransportState(TransportState.PENDING);
+            statusUpdate.setCreated(LocalDateTime.now());
+
+            step.setTransportedMessage(m);
+            step.setLinkPartnerName(lp);
+            step.addStatusUpdate(statusUpdate);
+            transportStepPersistenceService.createNewTransportStep(step);
+        }
+
+        List<DomibusConnectorTransportStep> pendingStepBy =
+            transportStepPersistenceService.findPendingStepBy(lp, 2);
+
+        assertThat(pendingStepBy)
+            .extracting(DomibusConnectorTransportStep::getConnectorMessageId)
+            .containsExactly(
+                new DomibusConnectorMessageId("id010"), new DomibusConnectorMessageId("id011"));
+    }
 }
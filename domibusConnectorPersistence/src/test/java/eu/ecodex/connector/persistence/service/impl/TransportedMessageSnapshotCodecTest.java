@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.persistence.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessageId;
+import eu.ecodex.connector.domain.model.json.DomainModeJsonObjectMapperFactoryConfiguration;
+import eu.ecodex.connector.domain.testutil.DomainEntityCreator;
+import org.junit.jupiter.api.Test;
+
+class TransportedMessageSnapshotCodecTest {
+    private final ObjectMapper objectMapper =
+        new DomainModeJsonObjectMapperFactoryConfiguration().getMapper();
+    private final TransportedMessageSnapshotCodec codec =
+        new TransportedMessageSnapshotCodec(objectMapper);
+
+    @Test
+    void testEncodeDecode() throws Exception {
+        DomibusConnectorMessage message = DomainEntityCreator.createMessage();
+        message.setConnectorMessageId(new DomibusConnectorMessageId("msg1"));
+
+        byte[] snapshot = codec.encode(message);
+
+        assertThat(snapshot[0]).isEqualTo(TransportedMessageSnapshotCodec.FORMAT_VERSION_SMILE);
+        assertThat(snapshot.length).isLessThan(objectMapper.writeValueAsBytes(message).length);
+        assertThat(codec.decode(snapshot)).hasValueSatisfying(decoded -> {
+            assertThat(decoded.getConnectorMessageId()).isEqualTo(message.getConnectorMessageId());
+            assertThat(decoded.getMessageDetails().getEbmsMessageId())
+                .isEqualTo(message.getMessageDetails().getEbmsMessageId());
+            assertThat(decoded.getMessageDetails().getConversationId())
+                .isEqualTo(message.getMessageDetails().getConversationId());
+        });
+    }
+
+    @Test
+    void testDecode_unknownVersion_isEmpty() {
+        DomibusConnectorMessage message = DomainEntityCreator.createMessage();
+        message.setConnectorMessageId(new DomibusConnectorMessageId("msg1"));
+        byte[] snapshot = codec.encode(message);
+        snapshot[0] = 99;
+
+        assertThat(codec.decode(snapshot)).isEmpty();
+    }
+
+    @Test
+    void testDecodeJson_olderFormat() throws Exception {
+        DomibusConnectorMessage message = DomainEntityCreator.createMessage();
+        message.setConnectorMessageId(new DomibusConnectorMessageId("msg1"));
+
+        assertThat(codec.decodeJson(objectMapper.writeValueAsString(message)))
+            .hasValueSatisfying(decoded -> assertThat(decoded.getConnectorMessageId())
+                .isEqualTo(message.getConnectorMessageId()));
+        assertThat(codec.decodeJson("{}")).isEmpty();
+        assertThat(codec.decodeJson("[]")).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.dss.service.impl.dss;
+
+import eu.ecodex.dss.model.SignatureCheckers;
+import eu.ecodex.dss.model.token.Token;
+import eu.ecodex.dss.util.TokenStreamUtil;
+import eu.europa.esig.dss.model.DSSDocument;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Measures how long it takes to create the unsigned trustOkToken.pdf of a container, with the
+ * PDFs rendered one after another by the calling thread and rendered concurrently by a thread
+ * pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenPdfBenchmark {
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public String rendering;
+    private ExecutorService executor;
+    private DSSECodexContainerService containerService;
+    private Token token;
+
+    /**
+     * Creates the container service and loads the token.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        var technicalValidationService = new DSSECodexTechnicalValidationService(
+            null, null, null, Optional.empty(), Optional.empty());
+        var signatureCheckers = Mockito.mock(SignatureCheckers.class);
+        if ("PARALLEL".equals(rendering)) {
+            executor = Executors.newFixedThreadPool(3);
+            containerService = new DSSECodexContainerService(
+                technicalValidationService, null, null, null, signatureCheckers, executor);
+        } else {
+            containerService = new DSSECodexContainerService(
+                technicalValidationService, null, null, null, signatureCheckers);
+        }
+        try (InputStream is =
+                 new ClassPathResource("container/ValidContainer.xml").getInputStream()) {
+            token = TokenStreamUtil.decodeXMLStream(is);
+        }
+    }
+
+    /**
+     * Stops the thread pool.
+     */
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public DSSDocument createTokenPdf() throws Exception {
+        return containerService.createTokenPDF(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                       .include(TokenPdfBenchmark.class.getSimpleName())
+                       .build()).run();
+    }
+}
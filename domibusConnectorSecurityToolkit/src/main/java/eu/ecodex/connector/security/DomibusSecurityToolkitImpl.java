@@ -22,6 +22,7 @@ import eu.ecodex.connector.domain.model.builder.DomibusConnectorMessageDocumentB
 import eu.ecodex.connector.persistence.service.LargeFilePersistenceService;
 import eu.ecodex.connector.security.container.service.ECodexContainerFactoryService;
 import eu.ecodex.connector.security.exception.DomibusConnectorSecurityException;
+import eu.ecodex.connector.security.util.LargeFileBasedDssDocument;
 import eu.ecodex.connector.tools.logging.LoggingMarker;
 import eu.ecodex.dss.model.BusinessContent;
 import eu.ecodex.dss.model.ECodexContainer;
@@ -29,6 +30,7 @@ import eu.ecodex.dss.model.checks.CheckProblem;
 import eu.ecodex.dss.model.checks.CheckResult;
 import eu.ecodex.dss.model.token.LegalTrustLevel;
 import eu.ecodex.dss.service.ECodexException;
+import eu.ecodex.dss.util.DocumentStreamUtil;
 import eu.europa.esig.dss.enumerations.MimeType;
 import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.model.DSSDocument;
@@ -195,58 +197,63 @@ public class DomibusSecurityToolkitImpl implements DomibusConnectorSecurityToolk
             message.getMessageAttachments().clear();
             ECodexContainer container = containerService.create(businessContent);
 
-            var token = container.getToken();
-            if (LegalTrustLevel.NOT_SUCCESSFUL.equals(
-                token.getValidation().getLegalResult().getTrustLevel())) {
-                LOGGER.warn(LoggingMarker.BUSINESS_CERT_LOG, "a RedToken was generated!");
-            }
+            try {
+                var token = container.getToken();
+                if (LegalTrustLevel.NOT_SUCCESSFUL.equals(
+                    token.getValidation().getLegalResult().getTrustLevel())) {
+                    LOGGER.warn(LoggingMarker.BUSINESS_CERT_LOG, "a RedToken was generated!");
+                }
 
-            // KlarA: Added check of the container and the respective
-            // error-handling
-            CheckResult results = containerService.check(container);
+                // KlarA: Added check of the container and the respective
+                // error-handling
+                CheckResult results = containerService.check(container);
 
-            if (results.isSuccessful()) {
-                if (container != null) {
-                    DSSDocument asicDocument = container.getAsicDocument();
-                    if (asicDocument != null) {
-                        LOGGER.trace(
-                            "converting asicDocument [{}] to asic message attachment and "
-                                + "appending it to message",
-                            asicDocument
-                        );
-                        DomibusConnectorMessageAttachment asicAttachment =
-                            convertDocumentToMessageAttachment(message, asicDocument,
-                                                               ASICS_CONTAINER_IDENTIFIER
+                if (results.isSuccessful()) {
+                    if (container != null) {
+                        DSSDocument asicDocument = container.getAsicDocument();
+                        if (asicDocument != null) {
+                            LOGGER.trace(
+                                "converting asicDocument [{}] to asic message attachment and "
+                                    + "appending it to message",
+                                asicDocument
                             );
-                        message.addAttachment(asicAttachment);
-                    }
-                    DSSDocument tokenXML = container.getTokenXML();
+                            DomibusConnectorMessageAttachment asicAttachment =
+                                convertDocumentToMessageAttachment(message, asicDocument,
+                                                                   ASICS_CONTAINER_IDENTIFIER
+                                );
+                            message.addAttachment(asicAttachment);
+                        }
+                        DSSDocument tokenXML = container.getTokenXML();
 
-                    if (tokenXML != null) {
-                        LOGGER.trace(
-                            "converting tokenXml {[{}] to message attachment and appending it to "
-                                + "message",
-                            tokenXML
-                        );
-                        tokenXML.setName(TOKEN_XML_FILE_NAME);
-                        tokenXML.setMimeType(MimeTypeEnum.XML);
-                        DomibusConnectorMessageAttachment tokenAttachment =
-                            convertDocumentToMessageAttachment(message, tokenXML,
-                                                               TOKEN_XML_IDENTIFIER
+                        if (tokenXML != null) {
+                            LOGGER.trace(
+                                "converting tokenXml {[{}] to message attachment and appending it "
+                                    + "to message",
+                                tokenXML
                             );
-                        message.addAttachment(tokenAttachment);
+                            tokenXML.setName(TOKEN_XML_FILE_NAME);
+                            tokenXML.setMimeType(MimeTypeEnum.XML);
+                            DomibusConnectorMessageAttachment tokenAttachment =
+                                convertDocumentToMessageAttachment(message, tokenXML,
+                                                                   TOKEN_XML_IDENTIFIER
+                                );
+                            message.addAttachment(tokenAttachment);
+                        }
                     }
+                    return message;
+                } else {
+                    var errormessage = new StringBuilder(
+                        "\nSeveral problems prevented the container from being created:"
+                    );
+                    List<CheckProblem> problems = results.getProblems();
+                    for (CheckProblem curProblem : problems) {
+                        errormessage.append("\n-").append(curProblem.getMessage());
+                    }
+                    throw new DomibusConnectorSecurityException(errormessage.toString());
                 }
-                return message;
-            } else {
-                var errormessage = new StringBuilder(
-                    "\nSeveral problems prevented the container from being created:"
-                );
-                List<CheckProblem> problems = results.getProblems();
-                for (CheckProblem curProblem : problems) {
-                    errormessage.append("\n-").append(curProblem.getMessage());
-                }
-                throw new DomibusConnectorSecurityException(errormessage.toString());
+            } finally {
+                // the signed container is spooled to a temporary file, see SigningUtil
+                deleteTemporaryFile(container.getAsicDocument());
             }
         } catch (ECodexException e) {
             throw new DomibusConnectorSecurityException(
@@ -291,11 +298,12 @@ public class DomibusSecurityToolkitImpl implements DomibusConnectorSecurityToolk
             message.getMessageAttachments().remove(asicsAttachment);
             message.getMessageAttachments().remove(tokenXMLAttachment);
 
+            ECodexContainer container = null;
             try (
                 var asicInputStream = getAsicsContainerInputStream(asicsAttachment);
                 var tokenStream = getTokenXmlStream(tokenXMLAttachment);
             ) {
-                ECodexContainer container = containerService.receive(asicInputStream, tokenStream);
+                container = containerService.receive(asicInputStream, tokenStream);
                 // KlarA: Added check of the container and the respective
                 // error-handling
                 CheckResult results = containerService.check(container);
@@ -506,6 +514,9 @@ public class DomibusSecurityToolkitImpl implements DomibusConnectorSecurityToolk
                 throw new DomibusConnectorSecurityException(e);
             } catch (IOException e) {
                 throw new DomibusConnectorSecurityException(e);
+            } finally {
+                // large documents of the container are spooled to temporary files
+                deleteTemporaryFiles(container);
             }
         }
     }
@@ -623,26 +634,37 @@ public class DomibusSecurityToolkitImpl implements DomibusConnectorSecurityToolk
     }
 
     /**
-     * In later versions this method should return a streaming based DSSDocument so no conversion to
-     * a byte[] is necessary.
+     * Creates a DSSDocument streaming its content from the large file storage, so the content is
+     * not copied into memory.
      *
      * @param dataRef  - the reference to the data, the reference id must be set!
      * @param name     name of the dssDocument
      * @param mimeType mimeType of the dssDocument
-     * @return the created InMemoryDocument
+     * @return the created LargeFileBasedDssDocument
      */
-    @Deprecated
     DSSDocument createLargeFileBasedDssDocument(
         LargeFileReference dataRef, String name, MimeType mimeType) {
-        LargeFileReference readableDataSource =
-            bigDataPersistenceService.getReadableDataSource(dataRef);
-        try (var inputStream = readableDataSource.getInputStream()) {
-            byte[] content = StreamUtils.copyToByteArray(inputStream);
-            inputStream.close();
-            return new InMemoryDocument(content, name, MimeTypeEnum.PDF);
+        return new LargeFileBasedDssDocument(bigDataPersistenceService, dataRef, name, mimeType);
+    }
+
+    private void deleteTemporaryFiles(ECodexContainer container) {
+        if (container == null) {
+            return;
+        }
+        deleteTemporaryFile(container.getAsicDocument());
+        deleteTemporaryFile(container.getTokenPDF());
+        if (container.getBusinessContent() != null) {
+            deleteTemporaryFile(container.getBusinessContent().getDocument());
+            deleteTemporaryFile(container.getBusinessContent().getDetachedSignature());
+            container.getBusinessContent().getAttachments().forEach(this::deleteTemporaryFile);
+        }
+    }
+
+    private void deleteTemporaryFile(DSSDocument document) {
+        try {
+            DocumentStreamUtil.deleteTemporaryFile(document);
         } catch (IOException ioe) {
-            throw new RuntimeException(
-                "error while loading data from bigDataPersistenceService", ioe);
+            LOGGER.warn("Failed to delete temporary file of document [{}]", document, ioe);
         }
     }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.security.configuration;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * This class represents the configuration properties for rendering the trustOkToken.pdf. The
+ * rendering threads are shared by all business domains.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = DCTokenPdfProperties.PREFIX)
+public class DCTokenPdfProperties {
+    public static final String PREFIX = "connector.token-pdf";
+    /**
+     * The number of threads rendering the PDFs of the trustOkToken.pdf concurrently. Default is
+     * 4.
+     */
+    @Positive
+    private int renderingThreads = 4;
+}
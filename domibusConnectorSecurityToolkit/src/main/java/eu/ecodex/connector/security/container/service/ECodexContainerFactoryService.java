@@ -10,8 +10,12 @@
 
 package eu.ecodex.connector.security.container.service;
 
+import eu.ecodex.connector.common.service.BusinessDomainConfigurationChange;
+import eu.ecodex.connector.common.service.CurrentBusinessDomain;
 import eu.ecodex.connector.domain.enums.AdvancedElectronicSystemType;
+import eu.ecodex.connector.domain.model.DomibusConnectorBusinessDomain;
 import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.dss.configuration.CertificateVerifierConfigurationProperties;
 import eu.ecodex.connector.dss.configuration.SignatureConfigurationProperties;
 import eu.ecodex.connector.dss.configuration.SignatureValidationConfigurationProperties;
 import eu.ecodex.connector.dss.service.CertificateSourceFromKeyStoreCreator;
@@ -21,6 +25,7 @@ import eu.ecodex.connector.lib.spring.configuration.StoreConfigurationProperties
 import eu.ecodex.connector.security.aes.DCAuthenticationBasedTechnicalValidationServiceFactory;
 import eu.ecodex.connector.security.configuration.DCBusinessDocumentValidationConfigurationProperties;
 import eu.ecodex.connector.security.configuration.DCEcodexContainerProperties;
+import eu.ecodex.connector.security.configuration.DCTokenPdfProperties;
 import eu.ecodex.dss.model.ECodexContainer;
 import eu.ecodex.dss.model.SignatureCheckers;
 import eu.ecodex.dss.model.SignatureParameters;
@@ -38,16 +43,25 @@ import eu.europa.esig.dss.policy.ValidationPolicyFacade;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.validation.CertificateVerifier;
-import eu.europa.esig.dss.validation.executor.signature.DefaultSignatureProcessExecutor;
+import jakarta.annotation.PreDestroy;
 import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.xml.stream.XMLStreamException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.xml.sax.SAXException;
@@ -72,10 +86,21 @@ import org.xml.sax.SAXException;
  *
  * <p>This class also includes helper methods for loading EtsiValidationPolicy from a validation
  * constraints XML file and for creating signature parameters for signature operations.
+ *
+ * <p>The signature based technical validation service and the signature checkers do not depend on
+ * the message. They are prepared once per business domain, with the validation policy parsed and
+ * the certificate verifier set up, and shared by all messages of the business domain. They are
+ * prepared again if the configuration of the business domain changes or the trusted list source
+ * they use has been replaced.
+ *
+ * <p>The PDFs of the trustOkToken.pdf are rendered concurrently by a bounded thread pool shared by
+ * all created services, its size is configured by {@link DCTokenPdfProperties}. If the pool is
+ * busy, the creating thread renders the PDF itself.
  */
 @Service
 @SuppressWarnings("checkstyle:LineLength")
-public class ECodexContainerFactoryService {
+public class ECodexContainerFactoryService
+    implements ApplicationListener<BusinessDomainConfigurationChange> {
     private static final Logger LOGGER =
         LoggerFactory.getLogger(ECodexContainerFactoryService.class);
     public static final String TOKEN_PDF_SIGNATURE_CHECKER = "TokenPdfSignatureChecker";
@@ -85,6 +110,12 @@ public class ECodexContainerFactoryService {
     private final ApplicationContext applicationContext;
     private final CertificateSourceFromKeyStoreCreator certificateSourceFromKeyStoreCreator;
     private final CommonCertificateVerifierFactory commonCertificateVerifierFactory;
+    private final Map<DomibusConnectorBusinessDomain.BusinessDomainId,
+        PreparedValidation<ECodexTechnicalValidationService>> technicalValidationServices =
+        new ConcurrentHashMap<>();
+    private final Map<DomibusConnectorBusinessDomain.BusinessDomainId,
+        PreparedValidation<SignatureCheckers>> signatureCheckers = new ConcurrentHashMap<>();
+    private final ExecutorService tokenPdfExecutor;
 
     /**
      * The ECodexContainerFactoryService class is responsible for creating instances of various
@@ -96,13 +127,15 @@ public class ECodexContainerFactoryService {
         DSSTrustedListsManager dssTrustedListsManager,
         ApplicationContext applicationContext,
         CertificateSourceFromKeyStoreCreator certificateSourceFromKeyStoreCreator,
-        CommonCertificateVerifierFactory commonCertificateVerifierFactory) {
+        CommonCertificateVerifierFactory commonCertificateVerifierFactory,
+        DCTokenPdfProperties tokenPdfProperties) {
         this.dcBusinessDocConfig = dcBusinessDocConfig;
         this.dcEcodexContainerProperties = dcEcodexContainerProperties;
         this.dssTrustedListsManager = dssTrustedListsManager;
         this.applicationContext = applicationContext;
         this.certificateSourceFromKeyStoreCreator = certificateSourceFromKeyStoreCreator;
         this.commonCertificateVerifierFactory = commonCertificateVerifierFactory;
+        this.tokenPdfExecutor = createTokenPdfExecutor(tokenPdfProperties.getRenderingThreads());
     }
 
     /**
@@ -117,10 +150,78 @@ public class ECodexContainerFactoryService {
             createLegalValidationService(),
             createSignatureParameters(),
             tokenIssuer(message),
-            createSignatureCheckers()
+            getPrepared(
+                signatureCheckers, dcEcodexContainerProperties.getSignatureValidation(),
+                this::createSignatureCheckers
+            ),
+            tokenPdfExecutor
+        );
+    }
+
+    /**
+     * Stops the threads rendering the token PDFs.
+     */
+    @PreDestroy
+    public void shutdown() {
+        tokenPdfExecutor.shutdown();
+    }
+
+    private static ExecutorService createTokenPdfExecutor(int threads) {
+        var threadNumber = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(
+            threads, threads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(threads * 3),
+            runnable -> {
+                var thread =
+                    new Thread(runnable, "token-pdf-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Drops the prepared validations of the changed business domain, the next message prepares
+     * them from the new configuration.
+     */
+    @Override
+    public void onApplicationEvent(BusinessDomainConfigurationChange event) {
+        technicalValidationServices.remove(event.getBusinessDomainId());
+        signatureCheckers.remove(event.getBusinessDomainId());
+        LOGGER.debug(
+            "Configuration of business domain [{}] changed, validations will be prepared again",
+            event.getBusinessDomainId()
         );
     }
 
+    /**
+     * Returns the validation prepared for the current business domain. The validation is prepared
+     * if there is none yet or if the trusted list source of the configuration is no longer the
+     * one the validation has been prepared with.
+     */
+    private <T> T getPrepared(
+        Map<DomibusConnectorBusinessDomain.BusinessDomainId, PreparedValidation<T>> preparedMap,
+        CertificateVerifierConfigurationProperties config, Supplier<T> factory) {
+        var businessDomainId = CurrentBusinessDomain.getCurrentBusinessDomain();
+        if (businessDomainId == null) {
+            return factory.get();
+        }
+        var trustedListSource = Optional.ofNullable(config)
+            .map(CertificateVerifierConfigurationProperties::getTrustedListSource)
+            .flatMap(dssTrustedListsManager::getCertificateSource)
+            .orElse(null);
+        var prepared = preparedMap.get(businessDomainId);
+        // a refreshed trusted list source is a new instance, so the identity is compared
+        if (prepared == null || prepared.trustedListSource() != trustedListSource) {
+            prepared = new PreparedValidation<>(factory.get(), trustedListSource);
+            preparedMap.put(businessDomainId, prepared);
+            LOGGER.debug("Prepared validation for business domain [{}]", businessDomainId);
+        }
+        return prepared.validation();
+    }
+
     /**
      * Creates an instance of ECodexLegalValidationService.
      *
@@ -154,8 +255,11 @@ public class ECodexContainerFactoryService {
         DomibusConnectorMessage message) {
         var advancedElectronicSystemType = getAdvancedSystemType(message);
         return switch (advancedElectronicSystemType) {
-            case SIGNATURE_BASED -> createDSSECodexTechnicalValidationService(
-                dcBusinessDocConfig.getSignatureValidation());
+            case SIGNATURE_BASED -> getPrepared(
+                technicalValidationServices, dcBusinessDocConfig.getSignatureValidation(),
+                () -> createDSSECodexTechnicalValidationService(
+                    dcBusinessDocConfig.getSignatureValidation())
+            );
             case AUTHENTICATION_BASED -> createDSSAuthenticationBasedValidationService(
                 message, dcBusinessDocConfig.getAuthenticationValidation());
         };
@@ -259,7 +363,7 @@ public class ECodexContainerFactoryService {
         return new DSSECodexTechnicalValidationService(
             etsiValidationPolicy,
             businessDocumentCertificateVerifier,
-            new DefaultSignatureProcessExecutor(),
+            null,
             certificateSource,
             Optional.ofNullable(ignoreCertificates)
         );
@@ -278,10 +382,9 @@ public class ECodexContainerFactoryService {
      */
     private EtsiValidationPolicy loadEtsiValidationPolicy(
         SignatureValidationConfigurationProperties signatureValidationConfigurationProperties) {
-        try {
-            var resource = applicationContext.getResource(
-                signatureValidationConfigurationProperties.getValidationConstraintsXml());
-            var policyDataStream = resource.getInputStream();
+        var resource = applicationContext.getResource(
+            signatureValidationConfigurationProperties.getValidationConstraintsXml());
+        try (var policyDataStream = resource.getInputStream()) {
             EtsiValidationPolicy validationPolicy;
             validationPolicy = (EtsiValidationPolicy) ValidationPolicyFacade.newFacade()
                                                                             .getValidationPolicy(
@@ -295,39 +398,41 @@ public class ECodexContainerFactoryService {
     }
 
     private SignatureCheckers createSignatureCheckers() {
+        // the checkers share the certificate verifier, each check uses its own process executor
+        var certificateVerifier = eCodexContainerCertificateVerifier();
         return new SignatureCheckers(
-            asicsSignatureChecker(),
-            xmlTokenSignatureChecker(),
-            pdfTokenSignatureChecker()
+            asicsSignatureChecker(certificateVerifier),
+            xmlTokenSignatureChecker(certificateVerifier),
+            pdfTokenSignatureChecker(certificateVerifier)
         );
     }
 
-    private DSSSignatureChecker<ECodexContainer.TokenPdfTypeECodex> pdfTokenSignatureChecker() {
+    private DSSSignatureChecker<ECodexContainer.TokenPdfTypeECodex> pdfTokenSignatureChecker(
+        CertificateVerifier certificateVerifier) {
         return DSSSignatureChecker.builder()
                                   .withSignatureCheckerName(TOKEN_PDF_SIGNATURE_CHECKER)
-                                  .withCertificateVerifier(eCodexContainerCertificateVerifier())
+                                  .withCertificateVerifier(certificateVerifier)
                                   .withValidationConstraints(signatureValidationConstraintsXml())
-                                  .withProcessExecutor(new DefaultSignatureProcessExecutor())
                                   .build(new ECodexContainer.TokenPdfTypeECodex())
             ;
     }
 
-    private DSSSignatureChecker<ECodexContainer.TokenXmlTypesECodex> xmlTokenSignatureChecker() {
+    private DSSSignatureChecker<ECodexContainer.TokenXmlTypesECodex> xmlTokenSignatureChecker(
+        CertificateVerifier certificateVerifier) {
         return DSSSignatureChecker.builder()
                                   .withSignatureCheckerName(TOKEN_PDF_SIGNATURE_CHECKER)
-                                  .withCertificateVerifier(eCodexContainerCertificateVerifier())
+                                  .withCertificateVerifier(certificateVerifier)
                                   .withValidationConstraints(signatureValidationConstraintsXml())
-                                  .withProcessExecutor(new DefaultSignatureProcessExecutor())
                                   .build(new ECodexContainer.TokenXmlTypesECodex())
             ;
     }
 
-    private DSSSignatureChecker<ECodexContainer.AsicDocumentTypeECodex> asicsSignatureChecker() {
+    private DSSSignatureChecker<ECodexContainer.AsicDocumentTypeECodex> asicsSignatureChecker(
+        CertificateVerifier certificateVerifier) {
         return DSSSignatureChecker.builder()
-                                  .withCertificateVerifier(eCodexContainerCertificateVerifier())
+                                  .withCertificateVerifier(certificateVerifier)
                                   .withSignatureCheckerName(TOKEN_PDF_SIGNATURE_CHECKER)
                                   .withValidationConstraints(signatureValidationConstraintsXml())
-                                  .withProcessExecutor(new DefaultSignatureProcessExecutor())
                                   .withConnectorCertificateSource(connectorCertificateSource())
                                   .build(new ECodexContainer.AsicDocumentTypeECodex())
             ;
@@ -374,4 +479,12 @@ public class ECodexContainerFactoryService {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * A validation prepared for a business domain together with the trusted list source it has
+     * been prepared with.
+     */
+    private record PreparedValidation<T>(
+        T validation, TrustedListsCertificateSource trustedListSource) {
+    }
 }
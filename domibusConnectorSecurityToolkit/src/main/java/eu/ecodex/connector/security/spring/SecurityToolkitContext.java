@@ -11,6 +11,10 @@
 
 package eu.ecodex.connector.security.spring;
 
+import eu.europa.esig.dss.asic.common.SecureContainerHandlerBuilder;
+import eu.europa.esig.dss.asic.common.ZipUtils;
+import eu.europa.esig.dss.signature.resources.TempFileResourcesHandlerBuilder;
+import jakarta.annotation.PostConstruct;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -27,4 +31,15 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 public class SecurityToolkitContext {
+    /**
+     * Lets the ASiC validation of DSS write large container entries to temporary files instead of
+     * keeping them in memory. The container handler of {@link ZipUtils} is shared by the whole
+     * JVM, so it is set once when the context starts.
+     */
+    @PostConstruct
+    public void configureZipContainerHandler() {
+        ZipUtils.getInstance().setZipContainerHandlerBuilder(
+            new SecureContainerHandlerBuilder()
+                .setResourcesHandlerBuilder(new TempFileResourcesHandlerBuilder()));
+    }
 }
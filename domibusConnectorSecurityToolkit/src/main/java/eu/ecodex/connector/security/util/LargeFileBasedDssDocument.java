@@ -15,6 +15,7 @@ import eu.ecodex.connector.persistence.service.LargeFilePersistenceService;
 import eu.europa.esig.dss.enumerations.MimeType;
 import eu.europa.esig.dss.model.CommonDocument;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -39,7 +40,10 @@ import java.io.InputStream;
  * <p>The LargeFileBasedDssDocument class uses the large file persistence service to retrieve a
  * readable data source for the large file reference. It then uses the readable data source to open
  * an input stream to read the contents of the document. The MIME type and name of the document are
- * retrieved from the large file reference.
+ * retrieved from the large file reference, if they are not given.
+ *
+ * <p>Every call of {@link #openStream()} opens a new stream from the storage, so the content is
+ * never held in memory completely.
  */
 public class LargeFileBasedDssDocument extends CommonDocument implements DSSDocument {
     private final LargeFilePersistenceService persistenceService;
@@ -48,28 +52,40 @@ public class LargeFileBasedDssDocument extends CommonDocument implements DSSDocu
     public LargeFileBasedDssDocument(
         LargeFilePersistenceService persistenceService,
         LargeFileReference reference) {
+        this(
+            persistenceService, reference, reference.getName(),
+            MimeType.fromMimeTypeString(reference.getContentType())
+        );
+    }
+
+    /**
+     * Creates a document with the given name and MIME type.
+     *
+     * @param persistenceService the large file persistence service
+     * @param reference          the reference of the content
+     * @param name               the name of the document
+     * @param mimeType           the MIME type of the document
+     */
+    public LargeFileBasedDssDocument(
+        LargeFilePersistenceService persistenceService,
+        LargeFileReference reference, String name, MimeType mimeType) {
         this.persistenceService = persistenceService;
         this.reference = reference;
+        this.name = name;
+        this.mimeType = mimeType;
     }
 
     @Override
     public InputStream openStream() {
         LargeFileReference readableDataSource =
             persistenceService.getReadableDataSource(this.reference);
-        try (var is = readableDataSource.getInputStream()) {
-            return is;
+        try {
+            return readableDataSource.getInputStream();
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new DSSException(String.format(
+                "error while loading data from big data reference %s",
+                reference.getStorageIdReference()
+            ), e);
         }
     }
-
-    @Override
-    public MimeType getMimeType() {
-        return MimeType.fromMimeTypeString(reference.getContentType());
-    }
-
-    @Override
-    public String getName() {
-        return reference.getName();
-    }
 }
@@ -59,6 +59,10 @@ public interface ECodexContainerService {
     /**
      * Uses the inputstream representing the ASiC-S container (file or whatever = a zip).
      *
+     * <p>Large documents of the container may be spooled to temporary files, the caller deletes
+     * them with {@link eu.ecodex.dss.util.DocumentStreamUtil#deleteTemporaryFile} when the
+     * container is not needed anymore.
+     *
      * <p>IMPLEMENTORS: This method is allowed to throw only {@link ECodexException}!
      *
      * @param asicInputStream the stream representing the ASiC-S zip
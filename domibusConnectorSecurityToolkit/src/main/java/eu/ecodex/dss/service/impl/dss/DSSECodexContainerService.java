@@ -50,11 +50,13 @@ import eu.ecodex.dss.util.PDFGeneratorTechnicalSummary;
 import eu.ecodex.dss.util.PDFUtil;
 import eu.ecodex.dss.util.TokenStreamUtil;
 import eu.ecodex.dss.util.XmlStreamUtil;
+import eu.ecodex.dss.util.ZipExtractionLimits;
 import eu.ecodex.dss.util.ZipStreamUtil;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.enumerations.SignaturePackaging;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.xmldsig.jaxb.DigestMethodType;
@@ -62,9 +64,15 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -77,7 +85,6 @@ import javax.xml.transform.Source;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.w3c.dom.Element;
 
@@ -92,6 +99,8 @@ import org.w3c.dom.Element;
 @SuppressWarnings("squid:S1135")
 public class DSSECodexContainerService implements ECodexContainerService {
     private static final LogDelegate LOG = new LogDelegate(DSSECodexContainerService.class);
+    private static final String SIGNED_CONTENT_FILE_PREFIX = "signedContent_";
+    private static final String ASIC_FILE_PREFIX = "asicContainer_";
     private static final BusinessContentChecker CHECKER_BUSINESS_CONTENT =
         new BusinessContentChecker();
     private static final TokenIssuerChecker CHECKER_TOKEN_ISSUER = new TokenIssuerChecker();
@@ -111,9 +120,11 @@ public class DSSECodexContainerService implements ECodexContainerService {
     private final PDFGeneratorLegalSummary pdfGeneratorLegal = new PDFGeneratorLegalSummary();
     private final PDFGeneratorTechnicalSummary pdfGeneratorTechnical =
         new PDFGeneratorTechnicalSummary();
+    private final Executor pdfExecutor;
 
     /**
-     * This class represents a DSSECodexContainerService.
+     * This class represents a DSSECodexContainerService. The PDFs of the trustOkToken.pdf are
+     * rendered one after another by the calling thread.
      *
      * @param technicalValidationService The ECodexTechnicalValidationService used for technical
      *                                   validation.
@@ -130,6 +141,35 @@ public class DSSECodexContainerService implements ECodexContainerService {
         TokenIssuer tokenIssuer,
         SignatureCheckers signatureCheckers
     ) {
+        this(
+            technicalValidationService, legalValidationService, signingParameters, tokenIssuer,
+            signatureCheckers, Runnable::run
+        );
+    }
+
+    /**
+     * This class represents a DSSECodexContainerService, which renders the PDFs of the
+     * trustOkToken.pdf concurrently.
+     *
+     * @param technicalValidationService The ECodexTechnicalValidationService used for technical
+     *                                   validation.
+     * @param legalValidationService     The ECodexLegalValidationService used for legal
+     *                                   validation.
+     * @param signingParameters          The SignatureParameters used for signing.
+     * @param tokenIssuer                The TokenIssuer used for token issuance.
+     * @param signatureCheckers          The SignatureCheckers used for signature checking.
+     * @param pdfExecutor                The Executor rendering the legal summary, the technical
+     *                                   summary and the validation report PDFs.
+     */
+    public DSSECodexContainerService(
+        ECodexTechnicalValidationService technicalValidationService,
+        ECodexLegalValidationService legalValidationService,
+        SignatureParameters signingParameters,
+        TokenIssuer tokenIssuer,
+        SignatureCheckers signatureCheckers,
+        Executor pdfExecutor
+    ) {
+        this.pdfExecutor = pdfExecutor;
         this.technicalValidationService = technicalValidationService;
         this.legalValidationService = legalValidationService;
         this.signingParameters = signingParameters;
@@ -184,9 +224,17 @@ public class DSSECodexContainerService implements ECodexContainerService {
         DSSDocument signedContent = null;
         DSSDocument signatures = null;
 
+        // large entries are spooled to temporary files instead of being read into memory
+        final List<DSSDocument> asicEntries;
+        try {
+            asicEntries = ZipStreamUtil.extract(asicDocument, ZipExtractionLimits.DEFAULT);
+        } catch (IOException e) {
+            throw new ECodexException("The asic document can not be extracted", e);
+        }
+
         try {
             // Retrieve the signed content and the signatures
-            for (final DSSDocument document : ZipStreamUtil.extract(asicDocument)) {
+            for (final DSSDocument document : asicEntries) {
                 final String documentName = document.getName();
                 if (ContainerFileDefinitions.SIGNED_CONTENT_REF.equalsIgnoreCase(documentName)) {
                     signedContent = document;
@@ -195,25 +243,15 @@ public class DSSECodexContainerService implements ECodexContainerService {
                     signatures = document;
                 }
             }
-        } catch (IOException e) {
-            throw new ECodexException("The asic document can not be extracted", e);
-        }
-
-        // check for the existence of these attributes
-        throwIfNull(
-            signedContent, "The file " + ContainerFileDefinitions.SIGNED_CONTENT_REF
-                + " can not be found in the asic container");
-        throwIfNull(
-            signatures, "The file " + ContainerFileDefinitions.SIGNATURES_REF
-                + " can not be found in the asic container");
 
-        InputStream input = null;
-        ZipInputStream zipInput = null;
+            // check for the existence of these attributes
+            throwIfNull(
+                signedContent, "The file " + ContainerFileDefinitions.SIGNED_CONTENT_REF
+                    + " can not be found in the asic container");
+            throwIfNull(
+                signatures, "The file " + ContainerFileDefinitions.SIGNATURES_REF
+                    + " can not be found in the asic container");
 
-        ByteArrayOutputStream output = null;
-        ZipOutputStream zipOutput = null;
-
-        try {
             // create the new XAdES signature
             final var signedContentXAdES = SigningUtil.signXAdES(
                 signingParameters,
@@ -223,37 +261,6 @@ public class DSSECodexContainerService implements ECodexContainerService {
             // add that to the existing ones
             final var signedContentSignatures = appendSignature(signedContentXAdES, signatures);
 
-            // now copy the asic (zip) but replace the old META-INF/signatures.xml with the new one
-            input = asicDocument.openStream();
-            zipInput = new ZipInputStream(input);
-            output = new ByteArrayOutputStream();
-            zipOutput = new ZipOutputStream(output);
-
-            while (true) {
-                final ZipEntry entry = zipInput.getNextEntry();
-                if (entry == null) {
-                    break;
-                }
-
-                final var newEntry = new ZipEntry(entry.getName());
-                zipOutput.putNextEntry(newEntry);
-
-                if (ContainerFileDefinitions.SIGNATURES_REF.equals(entry.getName())) {
-                    zipOutput.write(signedContentSignatures);
-                } else {
-                    zipOutput.write(DSSUtils.toByteArray(zipInput));
-                }
-            }
-        } catch (Exception e) {
-            throw ECodexException.wrap(e);
-        } finally {
-            IOUtils.closeQuietly(zipInput);
-            IOUtils.closeQuietly(input);
-            IOUtils.closeQuietly(zipOutput);
-            IOUtils.closeQuietly(output);
-        }
-
-        try {
             // create a new container
             final var updatedContainer = new ECodexContainer();
             // use the references to the old objects
@@ -263,14 +270,62 @@ public class DSSECodexContainerService implements ECodexContainerService {
             updatedContainer.setTokenXML(container.getTokenXML());
 
             // but with a new asic
-            updatedContainer.setAsicDocument(new InMemoryDocument(
-                output.toByteArray(),
-                ContainerFileDefinitions.SIGNED_CONTENT_ASIC_REF
-            ));
+            updatedContainer.setAsicDocument(
+                replaceSignatures(asicDocument, signedContentSignatures));
 
             return updatedContainer;
+        } catch (ECodexException e) {
+            throw e;
         } catch (Exception e) {
             throw ECodexException.wrap(e);
+        } finally {
+            // the entries are only needed to create the signature
+            for (final DSSDocument asicEntry : asicEntries) {
+                deleteTemporaryFile(asicEntry);
+            }
+        }
+    }
+
+    /**
+     * Copies the asic (zip) document entry by entry into a temporary file, but replaces the old
+     * META-INF/signatures.xml with the new one. The file has to be deleted with
+     * {@link DocumentStreamUtil#deleteTemporaryFile(DSSDocument)} when the document is not needed
+     * anymore.
+     *
+     * @param asicDocument the asic document
+     * @param signatures   the content of the new signatures.xml
+     * @return the new asic document
+     * @throws IOException if the asic document cannot be read or the file cannot be written
+     */
+    private static DSSDocument replaceSignatures(
+        final DSSDocument asicDocument, final byte[] signatures) throws IOException {
+        final Path asicFile = Files.createTempFile(ASIC_FILE_PREFIX, ".asics");
+        try (var zipInput = new ZipInputStream(asicDocument.openStream());
+             var zipOutput = new ZipOutputStream(Files.newOutputStream(asicFile))) {
+            ZipEntry entry;
+            while ((entry = zipInput.getNextEntry()) != null) {
+                zipOutput.putNextEntry(new ZipEntry(entry.getName()));
+                if (ContainerFileDefinitions.SIGNATURES_REF.equals(entry.getName())) {
+                    zipOutput.write(signatures);
+                } else {
+                    zipInput.transferTo(zipOutput);
+                }
+                zipOutput.closeEntry();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(asicFile);
+            throw e;
+        }
+        final var document = new FileDocument(asicFile.toFile());
+        document.setName(ContainerFileDefinitions.SIGNED_CONTENT_ASIC_REF);
+        return document;
+    }
+
+    private static void deleteTemporaryFile(final DSSDocument document) {
+        try {
+            DocumentStreamUtil.deleteTemporaryFile(document);
+        } catch (IOException e) {
+            LOG.lWarn("Failed to delete the temporary file of {}", document.getName(), e);
         }
     }
 
@@ -365,8 +420,7 @@ public class DSSECodexContainerService implements ECodexContainerService {
             tokenDocument.getDigestMethod().getAlgorithm().replaceAll("-", ""));
         final var digestAlgorithm =
             DigestAlgorithm.forName(tokenDocument.getDigestMethod().getAlgorithm());
-        final byte[] documentDigest =
-            DigestUtil.digest(DocumentStreamUtil.getData(businessDocument), digestAlgorithm);
+        final byte[] documentDigest = DigestUtil.digest(businessDocument, digestAlgorithm);
         final byte[] tokenDigest = tokenDocument.getDigestValue();
         if (!Arrays.equals(documentDigest, tokenDigest)) {
             checkResult.addProblem(
@@ -438,25 +492,8 @@ public class DSSECodexContainerService implements ECodexContainerService {
         // Create the token
         final var token = createToken(businessDocument, detachedSignature, issuer);
 
-        // Create the optional appendix.pdf
-        final DSSDocument appendixPDF = technicalValidationService.createReportPDF(token);
-        // Create the mandatory legal summary
-        final DSSDocument summaryLegal = pdfGeneratorLegal.generate(token);
-        throwIfNull(
-            !PDFUtil.isPDFContent(summaryLegal) ? null : Boolean.TRUE,
-            "the legal pdf generator did not create a proper document"
-        );
-        // Create the mandatory technical summary
-        final DSSDocument summaryTechnical = pdfGeneratorTechnical.generate(token);
-        throwIfNull(
-            !PDFUtil.isPDFContent(summaryTechnical) ? null : Boolean.TRUE,
-            "the technical pdf generator did not create a proper document"
-        );
         // Create the trustOkToken.pdf
-        final DSSDocument tokenPDF =
-            PDFUtil.concatenate(ContainerFileDefinitions.TOKEN_PDF_REF, summaryLegal,
-                                summaryTechnical, appendixPDF
-            );
+        final DSSDocument tokenPDF = createTokenPDF(token);
         // Sign trustOkToken.pdf
         final DSSDocument signedTokenPDF = SigningUtil.signPAdES(signingParameters, tokenPDF);
 
@@ -511,6 +548,65 @@ public class DSSECodexContainerService implements ECodexContainerService {
         return container;
     }
 
+    /**
+     * Creates the unsigned trustOkToken.pdf. The legal summary, the technical summary and the
+     * validation report only read the token, so they are rendered concurrently by the executor of
+     * this service and are concatenated in this order afterwards.
+     *
+     * @param token the token of the container
+     * @return the trustOkToken.pdf
+     * @throws Exception from the underlying framework
+     */
+    DSSDocument createTokenPDF(final Token token) throws Exception {
+        final FutureTask<DSSDocument> appendixTask =
+            renderPdf(() -> technicalValidationService.createReportPDF(token));
+        final FutureTask<DSSDocument> summaryLegalTask =
+            renderPdf(() -> pdfGeneratorLegal.generate(token));
+        final FutureTask<DSSDocument> summaryTechnicalTask =
+            renderPdf(() -> pdfGeneratorTechnical.generate(token));
+
+        // Create the optional appendix.pdf
+        final DSSDocument appendixPDF = awaitPdf(appendixTask);
+        // Create the mandatory legal summary
+        final DSSDocument summaryLegal = awaitPdf(summaryLegalTask);
+        throwIfNull(
+            !PDFUtil.isPDFContent(summaryLegal) ? null : Boolean.TRUE,
+            "the legal pdf generator did not create a proper document"
+        );
+        // Create the mandatory technical summary
+        final DSSDocument summaryTechnical = awaitPdf(summaryTechnicalTask);
+        throwIfNull(
+            !PDFUtil.isPDFContent(summaryTechnical) ? null : Boolean.TRUE,
+            "the technical pdf generator did not create a proper document"
+        );
+        // Create the trustOkToken.pdf
+        return PDFUtil.concatenate(
+            ContainerFileDefinitions.TOKEN_PDF_REF, summaryLegal, summaryTechnical, appendixPDF);
+    }
+
+    private FutureTask<DSSDocument> renderPdf(final Callable<DSSDocument> renderer) {
+        final var task = new FutureTask<>(renderer);
+        pdfExecutor.execute(task);
+        return task;
+    }
+
+    private static DSSDocument awaitPdf(final FutureTask<DSSDocument> task) throws Exception {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
     /**
      * create the token with the provided data: issuer, tokenvalidation, tokendocument (including
      * the digest algorithm/method/value) this is also the invocation point for the technical and
@@ -614,8 +710,7 @@ public class DSSECodexContainerService implements ECodexContainerService {
         final var digestMethod = new DigestMethodType();
         digestMethod.setAlgorithm(digestAlgorithmName);
         tokenDocument.setDigestMethod(digestMethod);
-        final byte[] data = DocumentStreamUtil.getData(businessDocument);
-        final byte[] digest = DigestUtil.digest(data, digestAlgorithm);
+        final byte[] digest = DigestUtil.digest(businessDocument, digestAlgorithm);
         tokenDocument.setDigestValue(digest);
         // store in the token
         token.setDocument(tokenDocument);
@@ -645,6 +740,10 @@ public class DSSECodexContainerService implements ECodexContainerService {
      * trustOkToken.pdf It sign the archive in accordance with the standard PAdES and the profile
      * PAdES-BES
      *
+     * <p>The documents are streamed into the archive, which is spooled to a temporary file. The
+     * signed container is written to a temporary file as well, see
+     * {@link SigningUtil#signASiC(SignatureParameters, DSSDocument)}.
+     *
      * @param businessContent the business content
      * @param trustOkTokenPDF the trustOkToken PDF document
      * @param trustOkTokenXML the trustOkToken XML document (currently not included in the signed
@@ -653,77 +752,79 @@ public class DSSECodexContainerService implements ECodexContainerService {
      * @throws java.io.IOException                    from the underlying framework
      * @throws java.security.NoSuchAlgorithmException from the underlying framework
      */
-    private DSSDocument createAsicDocument(
+    DSSDocument createAsicDocument(
         final BusinessContent businessContent, final DSSDocument trustOkTokenPDF,
         final DSSDocument trustOkTokenXML) throws Exception {
 
         final DSSDocument businessDocument = businessContent.getDocument();
 
-        ByteArrayOutputStream signedContentBytes = null;
-        ZipOutputStream signedContentZip = null;
-
+        // the content zip is spooled to a temporary file, so the documents are streamed into it
+        final Path signedContentFile = Files.createTempFile(SIGNED_CONTENT_FILE_PREFIX, ".zip");
         try {
-            // create the content zip
-            signedContentBytes = new ByteArrayOutputStream();
-            signedContentZip = new ZipOutputStream(signedContentBytes);
-            signedContentZip.setLevel(ZipEntry.DEFLATED);
-
-            // Put the main document
-            final String docName =
-                StringUtils.isEmpty(businessDocument.getName()) ? "businessdocument" :
-                    businessDocument.getName();
-            signedContentZip.putNextEntry(new ZipEntry(docName));
-            signedContentZip.write(DSSUtils.toByteArray(businessDocument.openStream()));
-
-            // add an optional detached signature
-            if (businessContent.hasDetachedSignature()) {
-                final DSSDocument detachedSignature = businessContent.getDetachedSignature();
-                final String sigName =
-                    StringUtils.isEmpty(detachedSignature.getName()) ? "detachedsignature" :
-                        detachedSignature.getName();
-                signedContentZip.putNextEntry(new ZipEntry(sigName));
-                signedContentZip.write(DSSUtils.toByteArray(detachedSignature.openStream()));
-            }
-
-            // Put the attachments
-            final List<DSSDocument> attachments = businessContent.getAttachments();
-            for (var i = 0; i < attachments.size(); i++) {
-                final DSSDocument attachment = attachments.get(i);
-                final String attachmentName =
-                    StringUtils.isEmpty(attachment.getName()) ? ("attachment" + i) :
-                        attachment.getName();
-                signedContentZip.putNextEntry(new ZipEntry(attachmentName));
-                signedContentZip.write(DSSUtils.toByteArray(attachment.openStream()));
-            }
+            try (var signedContentZip =
+                     new ZipOutputStream(Files.newOutputStream(signedContentFile))) {
+                signedContentZip.setLevel(ZipEntry.DEFLATED);
+
+                // Put the main document
+                final String docName =
+                    StringUtils.isEmpty(businessDocument.getName()) ? "businessdocument" :
+                        businessDocument.getName();
+                putZipEntry(signedContentZip, docName, businessDocument);
+
+                // add an optional detached signature
+                if (businessContent.hasDetachedSignature()) {
+                    final DSSDocument detachedSignature = businessContent.getDetachedSignature();
+                    final String sigName =
+                        StringUtils.isEmpty(detachedSignature.getName()) ? "detachedsignature" :
+                            detachedSignature.getName();
+                    putZipEntry(signedContentZip, sigName, detachedSignature);
+                }
 
-            // Put the trustOkToken.pdf
-            signedContentZip.putNextEntry(new ZipEntry(ContainerFileDefinitions.TOKEN_PDF_REF));
-            signedContentZip.write(DSSUtils.toByteArray(trustOkTokenPDF.openStream()));
+                // Put the attachments
+                final List<DSSDocument> attachments = businessContent.getAttachments();
+                for (var i = 0; i < attachments.size(); i++) {
+                    final DSSDocument attachment = attachments.get(i);
+                    final String attachmentName =
+                        StringUtils.isEmpty(attachment.getName()) ? ("attachment" + i) :
+                            attachment.getName();
+                    putZipEntry(signedContentZip, attachmentName, attachment);
+                }
 
-            // Put the trustOkToken.xml
-            // noinspection ConstantIfStatement
-            if (false) { // purposely excluded, because the xml shall be shipped in parallel to
-                // the asic-container according to WP4 decision
-                signedContentZip.putNextEntry(new ZipEntry(ContainerFileDefinitions.TOKEN_XML_REF));
-                signedContentZip.write(DSSUtils.toByteArray(trustOkTokenXML.openStream()));
+                // Put the trustOkToken.pdf
+                putZipEntry(
+                    signedContentZip, ContainerFileDefinitions.TOKEN_PDF_REF, trustOkTokenPDF);
+
+                // Put the trustOkToken.xml
+                // noinspection ConstantIfStatement
+                if (false) { // purposely excluded, because the xml shall be shipped in parallel
+                    // to the asic-container according to WP4 decision
+                    putZipEntry(
+                        signedContentZip, ContainerFileDefinitions.TOKEN_XML_REF,
+                        trustOkTokenXML
+                    );
+                }
             }
 
-            // close the content zip
-            signedContentZip.close();
-
             // create asic-s container
-            final DSSDocument toBeSigned = new InMemoryDocument(
-                signedContentBytes.toByteArray(),
-                ContainerFileDefinitions.SIGNED_CONTENT_REF,
-                MimeTypeEnum.BINARY
-            ); // TODO: replace InMemoryDocument with Streaming Document
+            final DSSDocument toBeSigned = new FileDocument(signedContentFile.toFile());
+            toBeSigned.setName(ContainerFileDefinitions.SIGNED_CONTENT_REF);
+            toBeSigned.setMimeType(MimeTypeEnum.BINARY);
             return SigningUtil.signASiC(signingParameters, toBeSigned);
         } finally {
-            IOUtils.closeQuietly(signedContentZip);
-            IOUtils.closeQuietly(signedContentBytes);
+            Files.deleteIfExists(signedContentFile);
         }
     }
 
+    private static void putZipEntry(
+        final ZipOutputStream zip, final String name, final DSSDocument document)
+        throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        try (InputStream in = document.openStream()) {
+            in.transferTo(zip);
+        }
+        zip.closeEntry();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -743,10 +844,21 @@ public class DSSECodexContainerService implements ECodexContainerService {
 
     private ECodexContainer receiveImpl(
         final InputStream asicInputStream, final InputStream tokenStream) throws Exception {
-        final DSSDocument asicDocument = new InMemoryDocument(
-            DSSUtils.toByteArray(asicInputStream),
-            ContainerFileDefinitions.SIGNED_CONTENT_ASIC_REF
+        // large containers are spooled to a temporary file
+        final DSSDocument asicDocument = DocumentStreamUtil.toDocument(
+            asicInputStream, ContainerFileDefinitions.SIGNED_CONTENT_ASIC_REF,
+            ZipExtractionLimits.DEFAULT.inMemoryThreshold()
         );
+        try {
+            return receiveImpl(asicDocument, tokenStream);
+        } catch (Exception e) {
+            DocumentStreamUtil.deleteTemporaryFile(asicDocument);
+            throw e;
+        }
+    }
+
+    private ECodexContainer receiveImpl(
+        final DSSDocument asicDocument, final InputStream tokenStream) throws Exception {
         if (!DocumentStreamUtil.hasData(asicDocument)) {
             throw new ECodexException("The asic data must not be a null/empty data stream");
         }
@@ -778,39 +890,48 @@ public class DSSECodexContainerService implements ECodexContainerService {
         final String businessDocumentName = token.getDocument().getFilename();
         final String detachedSignatureName = token.getDocument().getSignatureFilename();
 
-        final List<DSSDocument> asicDocumentList = ZipStreamUtil.extract(asicDocument);
-        for (final DSSDocument asicEntry : asicDocumentList) {
-            // Create the business content with content of signedContent.zip
-            final String asicEntryName = asicEntry.getName();
+        final List<DSSDocument> asicDocumentList =
+            ZipStreamUtil.extract(asicDocument, ZipExtractionLimits.DEFAULT);
+        try {
+            for (final DSSDocument asicEntry : asicDocumentList) {
+                // Create the business content with content of signedContent.zip
+                final String asicEntryName = asicEntry.getName();
 
-            if (!ContainerFileDefinitions.SIGNED_CONTENT_REF.equalsIgnoreCase(asicEntryName)) {
-                continue;
-            }
+                if (!ContainerFileDefinitions.SIGNED_CONTENT_REF.equalsIgnoreCase(asicEntryName)) {
+                    continue;
+                }
 
-            final var businessContent = new BusinessContent();
-            eCodexContainer.setBusinessContent(businessContent);
-
-            final List<DSSDocument> zipDocumentList = ZipStreamUtil.extract(asicEntry);
-            for (final DSSDocument signedContentEntry : zipDocumentList) {
-                final String signedContentEntryName = signedContentEntry.getName();
-
-                if (ContainerFileDefinitions.TOKEN_PDF_REF.equalsIgnoreCase(
-                    signedContentEntryName)) {
-                    // Set the token pdf
-                    eCodexContainer.setTokenPDF(signedContentEntry);
-                } else if (!StringUtils.isEmpty(businessDocumentName)
-                    && businessDocumentName.equalsIgnoreCase(signedContentEntryName)) {
-                    // Set the main document
-                    businessContent.setDocument(signedContentEntry);
-                } else if (!StringUtils.isEmpty(detachedSignatureName)
-                    && detachedSignatureName.equalsIgnoreCase(signedContentEntryName)) {
-                    // Set the optional detached signature
-                    businessContent.setDetachedSignature(signedContentEntry);
-                } else {
-                    // add an optional the attachment
-                    businessContent.addAttachment(signedContentEntry);
+                final var businessContent = new BusinessContent();
+                eCodexContainer.setBusinessContent(businessContent);
+
+                final List<DSSDocument> zipDocumentList =
+                    ZipStreamUtil.extract(asicEntry, ZipExtractionLimits.DEFAULT);
+                for (final DSSDocument signedContentEntry : zipDocumentList) {
+                    final String signedContentEntryName = signedContentEntry.getName();
+
+                    if (ContainerFileDefinitions.TOKEN_PDF_REF.equalsIgnoreCase(
+                        signedContentEntryName)) {
+                        // Set the token pdf
+                        eCodexContainer.setTokenPDF(signedContentEntry);
+                    } else if (!StringUtils.isEmpty(businessDocumentName)
+                        && businessDocumentName.equalsIgnoreCase(signedContentEntryName)) {
+                        // Set the main document
+                        businessContent.setDocument(signedContentEntry);
+                    } else if (!StringUtils.isEmpty(detachedSignatureName)
+                        && detachedSignatureName.equalsIgnoreCase(signedContentEntryName)) {
+                        // Set the optional detached signature
+                        businessContent.setDetachedSignature(signedContentEntry);
+                    } else {
+                        // add an optional the attachment
+                        businessContent.addAttachment(signedContentEntry);
+                    }
                 }
             }
+        } finally {
+            // the entries of the asic container are only needed to extract the signed content
+            for (final DSSDocument asicEntry : asicDocumentList) {
+                DocumentStreamUtil.deleteTemporaryFile(asicEntry);
+            }
         }
         return eCodexContainer;
     }
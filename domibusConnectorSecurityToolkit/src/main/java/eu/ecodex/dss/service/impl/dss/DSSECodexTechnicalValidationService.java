@@ -80,7 +80,9 @@ public class DSSECodexTechnicalValidationService implements ECodexTechnicalValid
      *
      * @param etsiValidationPolicy          The ETSI validation policy.
      * @param certificateVerifier           The certificate verifier.
-     * @param processExecutor               The document process executor.
+     * @param processExecutor               The document process executor, if null every
+     *                                      validation uses a new default executor, which is
+     *                                      required if the service is shared between threads.
      * @param trustedListCertificatesSource The trusted list certificate source (optional).
      * @param ignoredCertificatesStore      The ignored certificates store (optional).
      */
@@ -16,19 +16,24 @@ import eu.europa.esig.dss.enumerations.Indication;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.jaxb.object.Message;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
 import eu.europa.esig.dss.validation.executor.DocumentProcessExecutor;
 import eu.europa.esig.dss.validation.reports.Reports;
+import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.xml.stream.XMLStreamException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.core.io.Resource;
+import org.xml.sax.SAXException;
 
 /**
  * The DSSSignatureChecker class is responsible for checking the validity of signatures in a
@@ -38,6 +43,10 @@ import org.springframework.core.io.Resource;
  * DocumentProcessExecutor, a CertificateSource, and optionally a validationConstraints Resource.
  * The signatureCheckerName is an optional parameter for identifying the signature checker
  * instance.
+ *
+ * <p>The validation constraints are parsed once when the checker is built. If no
+ * DocumentProcessExecutor is set, every check uses a new default executor, so the checker can be
+ * shared by concurrent checks.
  */
 public class DSSSignatureChecker<T extends ECodexContainer.ECodexDSSDocumentType> {
     private final T retriever;
@@ -63,6 +72,7 @@ public class DSSSignatureChecker<T extends ECodexContainer.ECodexDSSDocumentType
          * @param ecxDocType The document type for the DSSSignatureChecker.
          * @return A new instance of the DSSSignatureChecker class.
          * @throws NullPointerException If the certificateVerifier parameter is null.
+         * @throws RuntimeException     If the validation constraints cannot be loaded.
          */
         public <C extends ECodexContainer.ECodexDSSDocumentType> DSSSignatureChecker<C> build(
             C ecxDocType) {
@@ -75,10 +85,20 @@ public class DSSSignatureChecker<T extends ECodexContainer.ECodexDSSDocumentType
                 processExecutor,
                 connectorCertificateSource,
                 signatureCheckerName,
-                Optional.ofNullable(validationConstraints)
+                Optional.ofNullable(validationConstraints).map(this::loadValidationPolicy)
             );
         }
 
+        private ValidationPolicy loadValidationPolicy(Resource resource) {
+            try (var policyDataStream = resource.getInputStream()) {
+                return ValidationPolicyFacade.newFacade().getValidationPolicy(policyDataStream);
+            } catch (IOException e) {
+                throw new RuntimeException("Cannot open validation constraint", e);
+            } catch (XMLStreamException | JAXBException | SAXException e) {
+                throw new RuntimeException("Cannot parse validation constraint " + resource, e);
+            }
+        }
+
         public DSSSignatureCheckerBuilder withCertificateVerifier(
             CertificateVerifier certificateVerifier) {
             this.certificateVerifier = certificateVerifier;
@@ -114,7 +134,7 @@ public class DSSSignatureChecker<T extends ECodexContainer.ECodexDSSDocumentType
     private final CertificateVerifier certificateVerifier;
     private final DocumentProcessExecutor processExecutor;
     private final CertificateSource connectorCertificateSource;
-    private final Optional<Resource> validationConstraints;
+    private final Optional<ValidationPolicy> validationPolicy;
 
     private DSSSignatureChecker(
         T retriever,
@@ -122,14 +142,14 @@ public class DSSSignatureChecker<T extends ECodexContainer.ECodexDSSDocumentType
         DocumentProcessExecutor documentValidator,
         CertificateSource certificateSource,
         String signatureCheckerName,
-        Optional<Resource> validationConstraints) {
+        Optional<ValidationPolicy> validationPolicy) {
         this.retriever = retriever;
         LOGGER =
             LogManager.getLogger(DSSSignatureChecker.class.getName() + "." + signatureCheckerName);
         this.certificateVerifier = certificateVerifier;
         this.processExecutor = documentValidator;
         this.connectorCertificateSource = certificateSource;
-        this.validationConstraints = validationConstraints;
+        this.validationPolicy = validationPolicy;
     }
 
     /**
@@ -154,24 +174,16 @@ public class DSSSignatureChecker<T extends ECodexContainer.ECodexDSSDocumentType
         final var checkResult = new CheckResult();
 
         final var validator = SignedDocumentValidator.fromDocument(dssDocument);
-        validator.setProcessExecutor(processExecutor);
+        if (processExecutor != null) {
+            validator.setProcessExecutor(processExecutor);
+        }
 
         validator.setCertificateVerifier(certificateVerifier);
 
         Reports reports;
-        if (validationConstraints.isPresent()) {
-            try {
-                final var resourceAsStream = validationConstraints
-                    .get()
-                    .getInputStream();
-                LOGGER.debug(
-                    "Validating document with validation constraints [{}]",
-                    validationConstraints.get()
-                );
-                reports = validator.validateDocument(resourceAsStream);
-            } catch (IOException e) {
-                throw new RuntimeException("Cannot open validation constraint", e);
-            }
+        if (validationPolicy.isPresent()) {
+            LOGGER.debug("Validating document with the configured validation constraints");
+            reports = validator.validateDocument(validationPolicy.get());
         } else {
             reports = validator.validateDocument();
         }
@@ -183,7 +183,9 @@ class DSSTokenValidationCreator {
             validator = SignedDocumentValidator.fromDocument(businessDocument);
         }
 
-        validator.setProcessExecutor(processExecutor);
+        if (processExecutor != null) {
+            validator.setProcessExecutor(processExecutor);
+        }
         validator.setCertificateVerifier(certificateVerifier);
 
         // Validate the document and generate the validation report
@@ -33,10 +33,10 @@ import eu.europa.esig.dss.pades.PAdESSignatureParameters;
 import eu.europa.esig.dss.pades.PAdESTimestampParameters;
 import eu.europa.esig.dss.pades.signature.PAdESService;
 import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.signature.resources.TempFileResourcesHandlerBuilder;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.CommonCertificateVerifier;
 import eu.europa.esig.dss.xades.XAdESSignatureParameters;
-import eu.europa.esig.dss.xades.XAdESTimestampParameters;
 import eu.europa.esig.dss.xades.signature.XAdESService;
 import java.util.Date;
 import lombok.experimental.UtilityClass;
@@ -57,6 +57,10 @@ class SigningUtil {
     /**
      * Signs a document with an ASiC_S_BES/DETACHED signature.
      *
+     * <p>The container is written to a temporary file, so the returned document is a
+     * {@link eu.europa.esig.dss.model.FileDocument}. The caller is responsible for deleting the
+     * file once the container has been stored.
+     *
      * @param signingParameters the signing parameters (algorithms, certificates and private key)
      * @param document          the to be signed document
      * @return a new document based on the input and signed
@@ -73,8 +77,9 @@ class SigningUtil {
         params.setCertificateChain(signingParameters.getPrivateKey().getCertificateChain());
         params.setSigningCertificate(signingParameters.getPrivateKey().getCertificate());
 
-        final DocumentSignatureService<ASiCWithXAdESSignatureParameters, XAdESTimestampParameters>
-            signatureService = new ASiCWithXAdESService(certificateVerifier);
+        final var signatureService = new ASiCWithXAdESService(certificateVerifier);
+        // the container may be as large as the business content, so it is not kept in memory
+        signatureService.setResourcesHandlerBuilder(new TempFileResourcesHandlerBuilder());
 
         ToBeSigned bytesToSign = signatureService.getDataToSign(document, params);
 
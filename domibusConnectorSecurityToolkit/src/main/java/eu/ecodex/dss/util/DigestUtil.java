@@ -22,6 +22,11 @@
 package eu.ecodex.dss.util;
 
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import lombok.experimental.UtilityClass;
@@ -80,4 +85,24 @@ public class DigestUtil {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Generate a hash value for the content of the document using the specified
+     * {@link DigestAlgorithm}. The content is streamed, so it is never held in memory completely.
+     * The hash value is encoded using the base64 algorithm.
+     *
+     * @param document  The document to be digested
+     * @param algorithm The {@link DigestAlgorithm}
+     * @return The result
+     */
+    public static byte[] digest(final DSSDocument document, final DigestAlgorithm algorithm) {
+        try (InputStream in = document.openStream();
+             var digestInput = new DigestInputStream(
+                 in, MessageDigest.getInstance(algorithm.getName()))) {
+            digestInput.transferTo(OutputStream.nullOutputStream());
+            return Base64.encode(digestInput.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
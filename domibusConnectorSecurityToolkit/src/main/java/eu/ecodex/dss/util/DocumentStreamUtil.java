@@ -20,8 +20,17 @@
 
 package eu.ecodex.dss.util;
 
+import eu.europa.esig.dss.enumerations.MimeType;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.io.IOUtils;
 
@@ -37,9 +46,13 @@ import org.apache.commons.io.IOUtils;
  */
 @UtilityClass
 public class DocumentStreamUtil {
+    private static final String TEMPORARY_FILE_PREFIX = "ecodex-document_";
+    private static final int BUFFER_SIZE = 8192;
+
     /**
      * checks whether the document provides data; read: at least 1 byte. note that exceptions are
-     * swallowed in order to determine only the final result.
+     * swallowed in order to determine only the final result. the byte is read, because streams of
+     * large files (e.g. decrypting ones) may report no available bytes before the first read.
      *
      * @param document the value
      * @return the result
@@ -48,7 +61,7 @@ public class DocumentStreamUtil {
         InputStream in = null;
         try {
             in = document.openStream();
-            return in.available() > 0;
+            return in.read() != -1;
         } catch (final RuntimeException e) {
             // swallow
             return false;
@@ -80,4 +93,89 @@ public class DocumentStreamUtil {
             IOUtils.closeQuietly(in);
         }
     }
+
+    /**
+     * reads the stream into a document. content up to the threshold is kept in memory, larger
+     * content is spooled to a temporary file, which has to be deleted with
+     * {@link #deleteTemporaryFile(DSSDocument)} when the document is not needed anymore.
+     *
+     * @param in                the stream, it is not closed
+     * @param name              the name of the document
+     * @param inMemoryThreshold the maximum number of bytes kept in memory
+     * @return the document, either an {@link InMemoryDocument} or a {@link FileDocument}
+     * @throws IOException if the stream cannot be read or the temporary file cannot be written
+     */
+    public static DSSDocument toDocument(
+        final InputStream in, final String name, final long inMemoryThreshold)
+        throws IOException {
+        return toDocument(in, name, inMemoryThreshold, bytesRead -> {
+        });
+    }
+
+    /**
+     * reads the stream into a document, see {@link #toDocument(InputStream, String, long)}.
+     *
+     * @param in                the stream, it is not closed
+     * @param name              the name of the document
+     * @param inMemoryThreshold the maximum number of bytes kept in memory
+     * @param progress          called with the number of bytes read so far after each read, it
+     *                          may throw a runtime exception to abort the reading
+     * @return the document, either an {@link InMemoryDocument} or a {@link FileDocument}
+     * @throws IOException if the stream cannot be read or the temporary file cannot be written
+     */
+    static DSSDocument toDocument(
+        final InputStream in, final String name, final long inMemoryThreshold,
+        final LongConsumer progress) throws IOException {
+        final var memory = new ByteArrayOutputStream();
+        final var buffer = new byte[BUFFER_SIZE];
+        long bytesRead = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            bytesRead += read;
+            progress.accept(bytesRead);
+            if (bytesRead > inMemoryThreshold) {
+                return spool(in, name, memory, buffer, read, bytesRead, progress);
+            }
+            memory.write(buffer, 0, read);
+        }
+        return new InMemoryDocument(memory.toByteArray(), name);
+    }
+
+    private static DSSDocument spool(
+        final InputStream in, final String name, final ByteArrayOutputStream memory,
+        final byte[] buffer, final int pending, final long bytesReadBefore,
+        final LongConsumer progress) throws IOException {
+        final Path file = Files.createTempFile(TEMPORARY_FILE_PREFIX, null);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            memory.writeTo(out);
+            out.write(buffer, 0, pending);
+            long bytesRead = bytesReadBefore;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytesRead += read;
+                progress.accept(bytesRead);
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        final var document = new FileDocument(file.toFile());
+        document.setName(name);
+        document.setMimeType(MimeType.fromFileName(name));
+        return document;
+    }
+
+    /**
+     * deletes the file of a document, which has been spooled to a temporary file. documents which
+     * are not file based are ignored.
+     *
+     * @param document the document, may be null
+     * @throws IOException if the file cannot be deleted
+     */
+    public static void deleteTemporaryFile(final DSSDocument document) throws IOException {
+        if (document instanceof FileDocument fileDocument) {
+            Files.deleteIfExists(fileDocument.getFile().toPath());
+        }
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.dss.util;
+
+/**
+ * The limits applied by {@link ZipStreamUtil} when a zip document is extracted.
+ *
+ * @param inMemoryThreshold  entries up to this size in bytes are kept in memory, larger ones are
+ *                           spooled to temporary files
+ * @param maxEntries         the maximum number of entries of the zip document
+ * @param maxExpansionRatio  the maximum ratio of the extracted bytes to the bytes of the zip
+ *                           document, it is checked once more than 10 MB have been extracted
+ */
+public record ZipExtractionLimits(long inMemoryThreshold, int maxEntries, int maxExpansionRatio) {
+    /**
+     * Spools entries larger than 4 MB, and allows 10000 entries and an expansion ratio of 200.
+     */
+    public static final ZipExtractionLimits DEFAULT =
+        new ZipExtractionLimits(4L * 1024 * 1024, 10_000, 200);
+    /**
+     * Keeps all entries in memory, with the entry count and expansion ratio of {@link #DEFAULT}.
+     */
+    public static final ZipExtractionLimits IN_MEMORY = new ZipExtractionLimits(
+        Integer.MAX_VALUE - 8, DEFAULT.maxEntries(), DEFAULT.maxExpansionRatio());
+}
@@ -21,16 +21,16 @@
 package eu.ecodex.dss.util;
 
 import eu.europa.esig.dss.model.DSSDocument;
-import eu.europa.esig.dss.model.InMemoryDocument;
 import java.io.BufferedInputStream;
 import java.io.DataInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import lombok.experimental.UtilityClass;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 
 /**
@@ -43,14 +43,34 @@ import org.apache.commons.lang.StringUtils;
  */
 @UtilityClass
 public class ZipStreamUtil {
+    private static final long EXPANSION_RATIO_CHECK_THRESHOLD = 10L * 1024 * 1024;
+
     /**
-     * Extracts the documents contained in the zip document.
+     * Extracts the documents contained in the zip document. All documents are kept in memory, the
+     * entry count and the expansion ratio are limited like {@link ZipExtractionLimits#IN_MEMORY}.
      *
      * @param zipDocument the zip document
      * @return the result
      * @throws java.io.IOException The exception
      */
     public static List<DSSDocument> extract(final DSSDocument zipDocument) throws IOException {
+        return extract(zipDocument, ZipExtractionLimits.IN_MEMORY);
+    }
+
+    /**
+     * Extracts the documents contained in the zip document. Documents larger than the in memory
+     * threshold of the limits are spooled to temporary files, they have to be deleted with
+     * {@link DocumentStreamUtil#deleteTemporaryFile(DSSDocument)} when they are not needed
+     * anymore. The returned documents open their content lazily.
+     *
+     * @param zipDocument the zip document
+     * @param limits      the limits protecting against zip bombs
+     * @return the result
+     * @throws java.io.IOException The exception
+     * @throws IllegalArgumentException if the zip document exceeds the limits
+     */
+    public static List<DSSDocument> extract(
+        final DSSDocument zipDocument, final ZipExtractionLimits limits) throws IOException {
 
         if (!isZipFile(zipDocument)) {
             throw new IllegalArgumentException("The document in parameter is not in zip format!");
@@ -59,9 +79,10 @@ public class ZipStreamUtil {
         final List<DSSDocument> documents = new ArrayList<>();
 
         try (
-            var parentStream = zipDocument.openStream();
+            var parentStream = new CountingInputStream(zipDocument.openStream());
             var zipStream = new ZipInputStream(parentStream)
         ) {
+            final var guard = new ZipBombGuard(parentStream, limits);
             while (true) {
                 final ZipEntry entry = zipStream.getNextEntry();
                 if (entry == null) {
@@ -72,18 +93,24 @@ public class ZipStreamUtil {
                     throw new IllegalArgumentException(
                         "The zip document in parameter contains an entry with an empty name.");
                 }
+                guard.nextEntry();
 
-                final var doc =
-                    new InMemoryDocument(IOUtils.toByteArray(zipStream), entry.getName());
-                documents.add(doc);
+                documents.add(guard.extract(zipStream, entry.getName()));
                 zipStream.closeEntry();
             }
             return documents;
+        } catch (IOException | RuntimeException e) {
+            for (final DSSDocument document : documents) {
+                DocumentStreamUtil.deleteTemporaryFile(document);
+            }
+            throw e;
         }
     }
 
     /**
-     * Extracts the document with the requested name contained in the zip document.
+     * Extracts the document with the requested name contained in the zip document. The document
+     * is kept in memory, the entry count and the expansion ratio are limited like
+     * {@link ZipExtractionLimits#IN_MEMORY}.
      *
      * @param zipDocument the zip document
      * @param name        the name of the requested file (including the path)
@@ -101,18 +128,19 @@ public class ZipStreamUtil {
         }
 
         try (
-            var parentStream = zipDocument.openStream();
+            var parentStream = new CountingInputStream(zipDocument.openStream());
             var zipStream = new ZipInputStream(parentStream)
         ) {
+            final var guard = new ZipBombGuard(parentStream, ZipExtractionLimits.IN_MEMORY);
             while (true) {
                 final ZipEntry entry = zipStream.getNextEntry();
                 if (entry == null) {
                     break;
                 }
+                guard.nextEntry();
 
                 if (name.equals(entry.getName())) {
-                    final var doc =
-                        new InMemoryDocument(IOUtils.toByteArray(zipStream), entry.getName());
+                    final DSSDocument doc = guard.extract(zipStream, entry.getName());
                     zipStream.closeEntry();
                     return doc;
                 }
@@ -141,4 +169,87 @@ public class ZipStreamUtil {
             return false;
         }
     }
+
+    /**
+     * Counts the bytes read from the zip document.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * Checks the entry count and the expansion ratio while a zip document is extracted.
+     */
+    private static class ZipBombGuard {
+        private final CountingInputStream zipInput;
+        private final ZipExtractionLimits limits;
+        private int entries;
+        private long extractedBefore;
+        private long extractedOfEntry;
+
+        ZipBombGuard(final CountingInputStream zipInput, final ZipExtractionLimits limits) {
+            this.zipInput = zipInput;
+            this.limits = limits;
+        }
+
+        void nextEntry() {
+            entries++;
+            if (entries > limits.maxEntries()) {
+                throw new IllegalArgumentException(
+                    "The zip document in parameter contains more than " + limits.maxEntries()
+                        + " entries.");
+            }
+        }
+
+        DSSDocument extract(final ZipInputStream zipStream, final String name)
+            throws IOException {
+            extractedOfEntry = 0;
+            final DSSDocument document = DocumentStreamUtil.toDocument(
+                zipStream, name, limits.inMemoryThreshold(), entryBytes -> {
+                    extractedOfEntry = entryBytes;
+                    checkExpansion(extractedBefore + entryBytes);
+                }
+            );
+            extractedBefore += extractedOfEntry;
+            return document;
+        }
+
+        private void checkExpansion(final long extracted) {
+            if (extracted > EXPANSION_RATIO_CHECK_THRESHOLD
+                && extracted > zipInput.count * limits.maxExpansionRatio()) {
+                throw new IllegalArgumentException(
+                    "The zip document in parameter expands more than "
+                        + limits.maxExpansionRatio() + " times.");
+            }
+        }
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.security.container.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.ecodex.connector.common.service.BusinessDomainConfigurationChange;
+import eu.ecodex.connector.common.service.CurrentBusinessDomain;
+import eu.ecodex.connector.domain.enums.AdvancedElectronicSystemType;
+import eu.ecodex.connector.domain.model.DCMessageProcessSettings;
+import eu.ecodex.connector.domain.model.DomibusConnectorBusinessDomain;
+import eu.ecodex.connector.domain.model.DomibusConnectorMessage;
+import eu.ecodex.connector.domain.model.builder.DomibusConnectorMessageBuilder;
+import eu.ecodex.connector.domain.model.builder.DomibusConnectorMessageDetailsBuilder;
+import eu.ecodex.connector.dss.configuration.SignatureValidationConfigurationProperties;
+import eu.ecodex.connector.dss.service.CertificateSourceFromKeyStoreCreator;
+import eu.ecodex.connector.dss.service.CommonCertificateVerifierFactory;
+import eu.ecodex.connector.dss.service.DSSTrustedListsManager;
+import eu.ecodex.connector.security.configuration.DCBusinessDocumentValidationConfigurationProperties;
+import eu.ecodex.connector.security.configuration.DCEcodexContainerProperties;
+import eu.ecodex.connector.security.configuration.DCTokenPdfProperties;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+class ECodexContainerFactoryServiceTest {
+    private static final String TRUSTED_LIST_SOURCE = "list1";
+    private DSSTrustedListsManager trustedListsManager;
+    private CommonCertificateVerifierFactory certificateVerifierFactory;
+    private ECodexContainerFactoryService factoryService;
+
+    @BeforeEach
+    void setUp() {
+        var signatureValidation = new SignatureValidationConfigurationProperties();
+        signatureValidation.setTrustedListSource(TRUSTED_LIST_SOURCE);
+        var businessDocConfig = new DCBusinessDocumentValidationConfigurationProperties();
+        businessDocConfig.setSignatureValidation(signatureValidation);
+
+        var applicationContext = Mockito.mock(ApplicationContext.class);
+        when(applicationContext.getResource(anyString()))
+            .thenReturn(new ClassPathResource("102853/constraint.xml"));
+        trustedListsManager = Mockito.mock(DSSTrustedListsManager.class);
+        when(trustedListsManager.getCertificateSource(TRUSTED_LIST_SOURCE))
+            .thenReturn(Optional.of(new TrustedListsCertificateSource()));
+        certificateVerifierFactory = Mockito.mock(CommonCertificateVerifierFactory.class);
+        when(certificateVerifierFactory.createCommonCertificateVerifier(any()))
+            .thenReturn(new CommonCertificateVerifier());
+
+        factoryService = new ECodexContainerFactoryService(
+            businessDocConfig,
+            new DCEcodexContainerProperties(),
+            trustedListsManager,
+            applicationContext,
+            Mockito.mock(CertificateSourceFromKeyStoreCreator.class),
+            certificateVerifierFactory,
+            new DCTokenPdfProperties()
+        );
+        CurrentBusinessDomain.setCurrentBusinessDomain(
+            DomibusConnectorBusinessDomain.getDefaultMessageLaneId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        CurrentBusinessDomain.setCurrentBusinessDomain(null);
+    }
+
+    @Test
+    void testSignatureBasedValidation_isPreparedOnce() {
+        var first = factoryService.createTechnicalBusinessDocumentValidationService(message());
+        var second = factoryService.createTechnicalBusinessDocumentValidationService(message());
+
+        assertThat(second).isSameAs(first);
+        verify(certificateVerifierFactory, times(1)).createCommonCertificateVerifier(any());
+    }
+
+    @Test
+    void testSignatureBasedValidation_otherBusinessDomain_isPreparedAgain() {
+        var first = factoryService.createTechnicalBusinessDocumentValidationService(message());
+        CurrentBusinessDomain.setCurrentBusinessDomain(
+            new DomibusConnectorBusinessDomain.BusinessDomainId("other"));
+
+        var second = factoryService.createTechnicalBusinessDocumentValidationService(message());
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void testSignatureBasedValidation_configurationChanged_isPreparedAgain() {
+        var first = factoryService.createTechnicalBusinessDocumentValidationService(message());
+        factoryService.onApplicationEvent(new BusinessDomainConfigurationChange(
+            this, DomibusConnectorBusinessDomain.getDefaultMessageLaneId(), Map.of()));
+
+        var second = factoryService.createTechnicalBusinessDocumentValidationService(message());
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void testSignatureBasedValidation_trustedListReplaced_isPreparedAgain() {
+        var first = factoryService.createTechnicalBusinessDocumentValidationService(message());
+        when(trustedListsManager.getCertificateSource(TRUSTED_LIST_SOURCE))
+            .thenReturn(Optional.of(new TrustedListsCertificateSource()));
+
+        var second = factoryService.createTechnicalBusinessDocumentValidationService(message());
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    private static DomibusConnectorMessage message() {
+        var settings = new DCMessageProcessSettings();
+        settings.setValidationServiceName(AdvancedElectronicSystemType.SIGNATURE_BASED);
+        var message = DomibusConnectorMessageBuilder
+            .createBuilder()
+            .setMessageDetails(DomibusConnectorMessageDetailsBuilder.create().build())
+            .build();
+        message.setDcMessageProcessSettings(settings);
+        return message;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.dss.service.impl.dss;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.ecodex.connector.security.spring.SecurityToolkitContext;
+import eu.ecodex.connector.wp4.testenvironment.configurations.ValidConfig_SignatureParameters;
+import eu.ecodex.dss.model.BusinessContent;
+import eu.ecodex.dss.model.ECodexContainer;
+import eu.ecodex.dss.model.SignatureCheckers;
+import eu.ecodex.dss.model.checks.CheckProblem;
+import eu.ecodex.dss.util.DocumentStreamUtil;
+import eu.ecodex.dss.util.ZipStreamUtil;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Builds, signs, validates and receives an ASiC-S container which is larger than the heap of the
+ * test JVM. The failsafe plugin of this module runs this test in a separate execution with a
+ * small -Xmx.
+ */
+class DSSECodexContainerServiceStreamingITCase {
+    private static final long ATTACHMENT_SIZE = 300L * 1024 * 1024;
+    // the business document name matches the document of the example token
+    private static final String BUSINESS_DOCUMENT_NAME = "Form_A.pdf";
+    private static final String TOKEN_XML_RESOURCE = "/examples/asic-s_trustoktoken.xml";
+
+    private final DSSECodexContainerService containerService = new DSSECodexContainerService(
+        null, null, ValidConfig_SignatureParameters.getJKSConfiguration(), null,
+        Mockito.mock(SignatureCheckers.class)
+    );
+
+    @BeforeAll
+    static void configureZipContainerHandler() {
+        // done by the spring context of the security toolkit in the connector
+        new SecurityToolkitContext().configureZipContainerHandler();
+    }
+
+    @Test
+    void testCreateAsicDocument_largeAttachment_isStreamedToTemporaryFile() throws Exception {
+        DSSDocument asicDocument = createLargeAsicDocument();
+
+        try {
+            assertThat(asicDocument).isInstanceOf(FileDocument.class);
+            var asicFile = ((FileDocument) asicDocument).getFile();
+            assertThat(asicFile.length()).isGreaterThan(ATTACHMENT_SIZE);
+            assertThat(ZipStreamUtil.isZipFile(asicDocument)).isTrue();
+        } finally {
+            DocumentStreamUtil.deleteTemporaryFile(asicDocument);
+        }
+    }
+
+    @Test
+    void testAddSignatureCheckAndReceive_largeAttachment_isStreamedToTemporaryFiles()
+        throws Exception {
+        List<DSSDocument> temporaryDocuments = new ArrayList<>();
+        try {
+            var container = new ECodexContainer();
+            container.setAsicDocument(createLargeAsicDocument());
+            temporaryDocuments.add(container.getAsicDocument());
+
+            // add a signature
+            var signedContainer = containerService.addSignature(container);
+            temporaryDocuments.add(signedContainer.getAsicDocument());
+
+            assertThat(signedContainer.getAsicDocument()).isInstanceOf(FileDocument.class);
+            assertThat(ZipStreamUtil.isZipFile(signedContainer.getAsicDocument())).isTrue();
+
+            // validate the signatures of the asic container, the signing certificate is not
+            // trusted here, only the signatures have to be found
+            var asicsSignatureChecker = DSSSignatureChecker
+                .builder()
+                .withCertificateVerifier(new CommonCertificateVerifier())
+                .build(new ECodexContainer.AsicDocumentTypeECodex());
+            var checkResult = asicsSignatureChecker.checkSignature(signedContainer);
+
+            assertThat(checkResult.getProblems())
+                .extracting(CheckProblem::getMessage)
+                .noneMatch(message -> message.contains("does not contain any signature"));
+
+            // receive the signed container
+            ECodexContainer receivedContainer;
+            try (var asicStream = signedContainer.getAsicDocument().openStream();
+                 var tokenStream = getClass().getResourceAsStream(TOKEN_XML_RESOURCE)) {
+                receivedContainer = containerService.receive(asicStream, tokenStream);
+            }
+            temporaryDocuments.add(receivedContainer.getAsicDocument());
+            temporaryDocuments.add(receivedContainer.getBusinessDocument());
+            temporaryDocuments.addAll(receivedContainer.getBusinessContent().getAttachments());
+
+            assertThat(receivedContainer.getAsicDocument()).isInstanceOf(FileDocument.class);
+            assertThat(receivedContainer.getBusinessDocument().getName())
+                .isEqualTo(BUSINESS_DOCUMENT_NAME);
+            assertThat(receivedContainer.getBusinessContent().getAttachments())
+                .singleElement()
+                .isInstanceOf(FileDocument.class)
+                .satisfies(attachment -> assertThat(((FileDocument) attachment).getFile())
+                    .hasSize(ATTACHMENT_SIZE));
+        } finally {
+            for (var document : temporaryDocuments) {
+                DocumentStreamUtil.deleteTemporaryFile(document);
+            }
+        }
+    }
+
+    private DSSDocument createLargeAsicDocument() throws Exception {
+        var businessContent = new BusinessContent();
+        businessContent.setDocument(new InMemoryDocument(
+            "business".getBytes(StandardCharsets.UTF_8), BUSINESS_DOCUMENT_NAME,
+            MimeTypeEnum.PDF
+        ));
+        businessContent.addAttachment(new RandomDocument("attachment.bin", ATTACHMENT_SIZE));
+        var tokenPdf = new InMemoryDocument(
+            "token".getBytes(StandardCharsets.UTF_8), "token.pdf", MimeTypeEnum.PDF);
+
+        return containerService.createAsicDocument(businessContent, tokenPdf, null);
+    }
+
+    /**
+     * A document with incompressible content, which is generated while it is read.
+     */
+    private static class RandomDocument extends CommonDocument {
+        private final long size;
+
+        RandomDocument(String name, long size) {
+            this.name = name;
+            this.mimeType = MimeTypeEnum.BINARY;
+            this.size = size;
+        }
+
+        @Override
+        public InputStream openStream() {
+            var random = new Random(size);
+            return new InputStream() {
+                private long remaining = size;
+
+                @Override
+                public int read() {
+                    var b = new byte[1];
+                    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    if (remaining == 0) {
+                        return -1;
+                    }
+                    var chunk = new byte[(int) Math.min(length, remaining)];
+                    random.nextBytes(chunk);
+                    System.arraycopy(chunk, 0, buffer, offset, chunk.length);
+                    remaining -= chunk.length;
+                    return chunk.length;
+                }
+            };
+        }
+    }
+}
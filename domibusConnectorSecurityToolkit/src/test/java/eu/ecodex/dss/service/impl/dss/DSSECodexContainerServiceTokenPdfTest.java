@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.dss.service.impl.dss;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import eu.ecodex.dss.model.SignatureCheckers;
+import eu.ecodex.dss.model.token.Token;
+import eu.ecodex.dss.util.TokenStreamUtil;
+import eu.europa.esig.dss.model.DSSDocument;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.io.ClassPathResource;
+
+class DSSECodexContainerServiceTokenPdfTest {
+    private static final List<String> TOKENS = List.of(
+        "container/ValidContainer.xml",
+        "container/RandomContainer.xml",
+        "examples/asic-s_trustoktoken.xml"
+    );
+    private static final int RENDERINGS_PER_TOKEN = 4;
+    private ExecutorService pdfExecutor;
+    private ExecutorService callerExecutor;
+    private DSSECodexContainerService sequentialService;
+    private DSSECodexContainerService concurrentService;
+
+    @BeforeEach
+    void setUp() {
+        var technicalValidationService = new DSSECodexTechnicalValidationService(
+            null, null, null, Optional.empty(), Optional.empty());
+        var signatureCheckers = Mockito.mock(SignatureCheckers.class);
+        pdfExecutor = Executors.newFixedThreadPool(3);
+        callerExecutor = Executors.newFixedThreadPool(TOKENS.size() * RENDERINGS_PER_TOKEN);
+        sequentialService = new DSSECodexContainerService(
+            technicalValidationService, null, null, null, signatureCheckers);
+        concurrentService = new DSSECodexContainerService(
+            technicalValidationService, null, null, null, signatureCheckers, pdfExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callerExecutor.shutdownNow();
+        pdfExecutor.shutdownNow();
+    }
+
+    @Test
+    void testCreateTokenPdf_severalTokensConcurrently_matchesSequentialRendering()
+        throws Exception {
+        List<Future<List<String>>> renderings = new ArrayList<>();
+        for (var tokenResource : TOKENS) {
+            var token = loadToken(tokenResource);
+            for (var i = 0; i < RENDERINGS_PER_TOKEN; i++) {
+                Callable<List<String>> rendering =
+                    () -> extractPageTexts(concurrentService.createTokenPDF(token));
+                renderings.add(callerExecutor.submit(rendering));
+            }
+        }
+
+        for (var tokenIndex = 0; tokenIndex < TOKENS.size(); tokenIndex++) {
+            var token = loadToken(TOKENS.get(tokenIndex));
+            var expected = extractPageTexts(sequentialService.createTokenPDF(token));
+
+            assertThat(expected).isNotEmpty();
+            for (var i = 0; i < RENDERINGS_PER_TOKEN; i++) {
+                assertThat(renderings.get(tokenIndex * RENDERINGS_PER_TOKEN + i).get())
+                    .as("rendering %d of %s", i, TOKENS.get(tokenIndex))
+                    .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    private static Token loadToken(String resource) throws Exception {
+        try (InputStream is = new ClassPathResource(resource).getInputStream()) {
+            return TokenStreamUtil.decodeXMLStream(is);
+        }
+    }
+
+    /**
+     * Extracts the text of each page, the binary PDF contains creation dates and ids.
+     */
+    private static List<String> extractPageTexts(DSSDocument pdf) throws IOException {
+        try (InputStream is = pdf.openStream()) {
+            var reader = new PdfReader(is);
+            try {
+                var extractor = new PdfTextExtractor(reader);
+                List<String> pages = new ArrayList<>();
+                for (var page = 1; page <= reader.getNumberOfPages(); page++) {
+                    pages.add(extractor.getTextFromPage(page));
+                }
+                return pages;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+}
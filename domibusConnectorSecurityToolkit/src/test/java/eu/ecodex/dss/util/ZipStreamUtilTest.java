@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.dss.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+
+class ZipStreamUtilTest {
+    private static final ZipExtractionLimits LIMITS = new ZipExtractionLimits(1024, 3, 200);
+
+    @Test
+    void testExtract_largeEntry_isSpooledToTemporaryFile() throws IOException {
+        var small = "small".getBytes();
+        var large = new byte[4096];
+        for (var i = 0; i < large.length; i++) {
+            large[i] = (byte) i;
+        }
+        var entries = new LinkedHashMap<String, byte[]>();
+        entries.put("small.txt", small);
+        entries.put("large.bin", large);
+
+        List<DSSDocument> documents = ZipStreamUtil.extract(zip(entries), LIMITS);
+
+        try {
+            assertThat(documents).extracting(DSSDocument::getName)
+                                 .containsExactly("small.txt", "large.bin");
+            assertThat(documents.get(0)).isInstanceOf(InMemoryDocument.class);
+            assertThat(documents.get(1)).isInstanceOf(FileDocument.class);
+            assertThat(DocumentStreamUtil.getData(documents.get(0))).isEqualTo(small);
+            assertThat(DocumentStreamUtil.getData(documents.get(1))).isEqualTo(large);
+        } finally {
+            for (var document : documents) {
+                DocumentStreamUtil.deleteTemporaryFile(document);
+            }
+        }
+        assertThat(((FileDocument) documents.get(1)).getFile()).doesNotExist();
+    }
+
+    @Test
+    void testExtract_tooManyEntries_isRejected() throws IOException {
+        var entries = new LinkedHashMap<String, byte[]>();
+        for (var i = 0; i < 4; i++) {
+            entries.put("entry" + i, new byte[] {(byte) i});
+        }
+        var zipDocument = zip(entries);
+
+        assertThatThrownBy(() -> ZipStreamUtil.extract(zipDocument, LIMITS))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("entries");
+    }
+
+    @Test
+    void testExtract_highExpansionRatio_isRejected() throws IOException {
+        var zipDocument = zip(Map.of("zeros.bin", new byte[20 * 1024 * 1024]));
+
+        assertThatThrownBy(() -> ZipStreamUtil.extract(zipDocument, LIMITS))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("expands");
+    }
+
+    private static DSSDocument zip(Map<String, byte[]> entries) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(output)) {
+            for (var entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return new InMemoryDocument(output.toByteArray(), "test.zip");
+    }
+}
@@ -36,9 +36,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.vaadin.firitin.components.grid.PagingGrid;
 
 /**
@@ -56,8 +56,10 @@ public class WebMessagesGrid extends PagingGrid<WebMessage> implements AfterNavi
     private Map<String, Column<WebMessage>> hideableColumns = new HashMap<>();
     private final MessageDetails details;
     private final DomibusConnectorWebMessagePersistenceService dcMessagePersistenceService;
+    // position of the last message before each page, used to read the page with a keyset query
+    private final Map<Integer, KeysetScrollPosition> pageStartPositions = new HashMap<>();
     WebMessage exampleWebMessage;
-    Page<WebMessage> currentPage;
+    Window<WebMessage> currentPage;
     CallbackDataProvider<WebMessage, WebMessage> callbackDataProvider;
 
     /**
@@ -224,6 +226,8 @@ public class WebMessagesGrid extends PagingGrid<WebMessage> implements AfterNavi
             .getSortOrder()
             .stream()
             .map(SortOrder::getDirection);
+        // the positions are only valid for the sort order they have been read with
+        pageStartPositions.clear();
     }
 
     private Example<WebMessage> createExample() {
@@ -257,18 +261,28 @@ public class WebMessagesGrid extends PagingGrid<WebMessage> implements AfterNavi
         }
         var sort = Sort.by(collect.toArray(new Sort.Order[] {}));
 
-        // creating page request with sort order and offset
-        var pageRequest = PageRequest.of(offset / getPageSize(), getPageSize(), sort);
-        LOGGER.debug("PageRequest: {}", pageRequest);
-        var all = dcMessagePersistenceService.findAll(createExample(), pageRequest);
-        LOGGER.debug("Page requested size: {}", all.getSize());
+        // continue after the last message of the previous page if it has been read before
+        int page = offset / getPageSize();
+        var position = pageStartPositions.get(page);
+        LOGGER.debug("Page: {}, sort: {}, position: {}", page, sort, position);
+        var all = dcMessagePersistenceService.findAll(
+            createExample(), sort, offset, position, getPageSize());
+        LOGGER.debug("Page requested size: {}", all.size());
+        if (!all.isEmpty()) {
+            pageStartPositions.put(
+                page + 1, (KeysetScrollPosition) all.positionAt(all.size() - 1));
+        }
         this.currentPage = all;
 
         return all.stream();
     }
 
+    /**
+     * Reloads the messages, starting again with offset based queries.
+     */
     public void reloadList() {
         LOGGER.debug("#reloadList");
+        pageStartPositions.clear();
         getCallbackDataProvider().refreshAll();
     }
 
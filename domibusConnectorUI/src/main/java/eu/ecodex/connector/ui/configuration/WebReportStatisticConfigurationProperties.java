@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.ui.configuration;
+
+import eu.ecodex.connector.lib.spring.DomibusConnectorDuration;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the job maintaining the daily message statistic, which is read by
+ * the report of the web interface.
+ */
+@Data
+@Component(WebReportStatisticConfigurationProperties.BEAN_NAME)
+@ConfigurationProperties(prefix = WebReportStatisticConfigurationProperties.PREFIX)
+@Validated
+public class WebReportStatisticConfigurationProperties {
+    public static final String BEAN_NAME = "WebReportStatisticConfigurationProperties";
+    public static final String PREFIX = "connector.ui.report.statistic";
+    /**
+     * Should the statistic be maintained by this connector instance.
+     */
+    private boolean enabled = true;
+    /**
+     * This property defines the delay between two runs of the job. Each run refreshes the days of
+     * the messages and evidences changed since the previous run.
+     * The default value is 5 minutes
+     */
+    @NotNull
+    private DomibusConnectorDuration interval = DomibusConnectorDuration.valueOf("5m");
+    /**
+     * This property defines how many days of the messages existing before the first run are added
+     * to the statistic per run. The backfill starts with the latest day.
+     * The default value is 31
+     */
+    @Positive
+    private int backfillDaysPerRun = 31;
+}
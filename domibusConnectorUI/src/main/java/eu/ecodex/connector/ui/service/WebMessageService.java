@@ -38,10 +38,6 @@ public class WebMessageService {
         this.messagePersistenceService = messagePersistenceService;
     }
 
-    public LinkedList<WebMessage> getInitialList() {
-        return messagePersistenceService.getAllMessages();
-    }
-
     public Optional<WebMessage> getMessageByConnectorId(String connectorMessageId) {
         return messagePersistenceService.getMessageByConnectorId(connectorMessageId);
     }
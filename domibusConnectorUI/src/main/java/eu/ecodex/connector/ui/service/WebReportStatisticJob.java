@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.ui.service;
+
+import eu.ecodex.connector.persistence.model.PDomibusConnectorPersistenceModel;
+import eu.ecodex.connector.ui.configuration.WebReportStatisticConfigurationProperties;
+import eu.ecodex.connector.ui.persistence.service.DomibusConnectorWebReportPersistenceService;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * This job maintains the daily message statistic read by the web report.
+ *
+ * <p>Each run refreshes the days of all messages which have been delivered or received an
+ * evidence since the start of the previous run, less
+ * {@link PDomibusConnectorPersistenceModel#WATERMARK_OVERLAP}. The first run also starts the
+ * backfill: every run refreshes some of the days before the first run, starting with the latest
+ * day, until the day of the first delivered message has been reached. The progress is stored
+ * in the database, so a restart continues where the previous instance stopped.
+ *
+ * <p>Refreshing a day replaces its statistic, so a day refreshed twice, e.g. by two connector
+ * instances, stays correct. If two instances refresh the same day at the same time, one of them
+ * fails and the day is refreshed again with the next change.
+ */
+@Service
+@ConditionalOnProperty(
+    prefix = WebReportStatisticConfigurationProperties.PREFIX,
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class WebReportStatisticJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebReportStatisticJob.class);
+    static final String WATERMARK_STATE = "WATERMARK";
+    static final String BACKFILL_STATE = "BACKFILL";
+    private final DomibusConnectorWebReportPersistenceService reportPersistenceService;
+    private final WebReportStatisticConfigurationProperties configurationProperties;
+
+    /**
+     * Creates the job.
+     */
+    public WebReportStatisticJob(
+        DomibusConnectorWebReportPersistenceService reportPersistenceService,
+        WebReportStatisticConfigurationProperties configurationProperties) {
+        this.reportPersistenceService = reportPersistenceService;
+        this.configurationProperties = configurationProperties;
+    }
+
+    /**
+     * Refreshes the changed days and continues the backfill. A day which could not be refreshed
+     * is refreshed again with the next change of one of its messages.
+     */
+    @Scheduled(
+        fixedDelayString = "#{" + WebReportStatisticConfigurationProperties.BEAN_NAME
+            + ".interval.milliseconds}"
+    )
+    public void updateStatistic() {
+        var runStart = Instant.now();
+        Optional<Instant> watermark = reportPersistenceService.loadStatisticState(WATERMARK_STATE);
+        if (watermark.isPresent()) {
+            refreshChangedDays(watermark.get());
+        } else {
+            // all days up to today are covered by the backfill, which starts with today
+            var tomorrow = LocalDate.now().plusDays(1);
+            reportPersistenceService.saveStatisticState(BACKFILL_STATE, toInstant(tomorrow));
+        }
+        reportPersistenceService.saveStatisticState(
+            WATERMARK_STATE, runStart.minus(PDomibusConnectorPersistenceModel.WATERMARK_OVERLAP));
+        backfill();
+    }
+
+    private void refreshChangedDays(Instant since) {
+        var days = new TreeSet<>(reportPersistenceService.findStatisticDaysChangedSince(since));
+        LOGGER.debug("Refreshing the message statistic of the days {} changed since [{}]",
+                     days, since
+        );
+        days.forEach(this::refreshDay);
+    }
+
+    private void backfill() {
+        Optional<LocalDate> firstDay = reportPersistenceService.findFirstStatisticDay();
+        Optional<LocalDate> backfilledFrom = reportPersistenceService
+            .loadStatisticState(BACKFILL_STATE)
+            .map(instant -> instant.atZone(ZoneId.systemDefault()).toLocalDate());
+        if (firstDay.isEmpty() || backfilledFrom.isEmpty()
+            || !backfilledFrom.get().isAfter(firstDay.get())) {
+            return;
+        }
+        var day = backfilledFrom.get();
+        for (var i = 0;
+             i < configurationProperties.getBackfillDaysPerRun() && day.isAfter(firstDay.get());
+             i++) {
+            day = day.minusDays(1);
+            refreshDay(day);
+        }
+        LOGGER.info("Message statistic has been backfilled from [{}], first day is [{}]",
+                    day, firstDay.get()
+        );
+        reportPersistenceService.saveStatisticState(BACKFILL_STATE, toInstant(day));
+    }
+
+    private void refreshDay(LocalDate day) {
+        try {
+            reportPersistenceService.refreshStatistic(day);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Failed to refresh the message statistic of [{}]", day, e);
+        }
+    }
+
+    private static Instant toInstant(LocalDate day) {
+        return day.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -32,13 +32,14 @@ import eu.ecodex.connector.ui.view.areas.tools.ToolsLayout;
 import eu.ecodex.dss.model.BusinessContent;
 import eu.ecodex.dss.model.ECodexContainer;
 import eu.ecodex.dss.service.ECodexException;
+import eu.ecodex.dss.util.DocumentStreamUtil;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
@@ -104,6 +105,7 @@ public class ECodexContainerCreatorView extends VerticalLayout {
     }
 
     private void processUploadedFile(MemoryBuffer buffer, NativeLabel uploadResultLabel) {
+        ECodexContainer container = null;
         try {
             CurrentBusinessDomain.setCurrentBusinessDomain(
                 DomibusConnectorBusinessDomain.getDefaultMessageLaneId());
@@ -126,7 +128,7 @@ public class ECodexContainerCreatorView extends VerticalLayout {
             var businessContent = new BusinessContent();
             businessContent.setDocument(document);
 
-            var container = containerService.create(businessContent);
+            container = containerService.create(businessContent);
             writeFilesToTemp(container);
 
             uploadResultLabel.setText(
@@ -160,23 +162,35 @@ public class ECodexContainerCreatorView extends VerticalLayout {
             uploadResultLabel.getStyle().set("color", "red");
         } finally {
             CurrentBusinessDomain.setCurrentBusinessDomain(null);
+            // the asic document may be spooled to a temporary file, the download uses its own copy
+            deleteTemporaryFile(container);
+        }
+    }
+
+    private void deleteTemporaryFile(ECodexContainer container) {
+        if (container == null) {
+            return;
+        }
+        try {
+            DocumentStreamUtil.deleteTemporaryFile(container.getAsicDocument());
+        } catch (IOException e) {
+            LOGGER.warn("IOException occurred while deleting temporary asic container", e);
         }
     }
 
     private void writeFilesToTemp(ECodexContainer container) {
         try {
             var asicsContainer = Files.createTempFile("asicsContainer_", null);
-            Files.write(
-                asicsContainer,
-                StreamUtils.copyToByteArray(container.getAsicDocument().openStream()),
-                StandardOpenOption.WRITE
-            );
+            try (InputStream in = container.getAsicDocument().openStream()) {
+                Files.copy(in, asicsContainer, StandardCopyOption.REPLACE_EXISTING);
+            }
+            asicsContainer.toFile().deleteOnExit();
 
             var xmlToken = Files.createTempFile("xmlToken_", null);
-            Files.write(
-                xmlToken, StreamUtils.copyToByteArray(container.getTokenXML().openStream()),
-                StandardOpenOption.WRITE
-            );
+            try (InputStream in = container.getTokenXML().openStream()) {
+                Files.copy(in, xmlToken, StandardCopyOption.REPLACE_EXISTING);
+            }
+            xmlToken.toFile().deleteOnExit();
 
             var downloadAsicsContainer = new Anchor(
                 getStreamResource("ecodex.asics", asicsContainer),
@@ -199,7 +213,7 @@ public class ECodexContainerCreatorView extends VerticalLayout {
     private StreamResource getStreamResource(String s, Path file) {
         return new StreamResource(s, () -> {
             try {
-                return new ByteArrayInputStream(Files.readAllBytes(file));
+                return Files.newInputStream(file);
             } catch (IOException exception) {
                 LOGGER.warn(
                     LoggingMarker.Log4jMarker.UI_LOG, "IOException occurred while reading "
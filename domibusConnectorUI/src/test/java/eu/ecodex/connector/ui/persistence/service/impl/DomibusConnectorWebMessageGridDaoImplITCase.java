@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.ui.persistence.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.ecodex.connector.persistence.model.PDomibusConnectorEvidence;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorMessage;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorPersistenceModel;
+import eu.ecodex.connector.persistence.model.enums.EvidenceType;
+import eu.ecodex.connector.ui.dto.WebMessage;
+import eu.ecodex.connector.ui.dto.WebMessageEvidence;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Runs the grid queries against the H2 schema created by the liquibase changelog.
+ */
+@DataJpaTest(properties = "spring.liquibase.change-log=classpath:db/changelog/install.xml")
+@ContextConfiguration(classes = DomibusConnectorWebMessageGridDaoImplITCase.TestContext.class)
+class DomibusConnectorWebMessageGridDaoImplITCase {
+    private static final Sort CREATED_ASC = Sort.by(Sort.Order.asc("created"));
+    private static final Sort CREATED_DESC = Sort.by(Sort.Order.desc("created"));
+    private static final Date T1 = new Date(1_700_000_000_000L);
+    private static final Date T2 = new Date(1_700_000_060_000L);
+    private static final Date T3 = new Date(1_700_000_120_000L);
+
+    @Configuration
+    @EntityScan(basePackageClasses = PDomibusConnectorPersistenceModel.class)
+    @Import(DomibusConnectorWebMessageGridDaoImpl.class)
+    static class TestContext {
+    }
+
+    @Autowired
+    TestEntityManager entityManager;
+    @Autowired
+    DomibusConnectorWebMessageGridDaoImpl gridDao;
+
+    @BeforeEach
+    void setUp() {
+        // msg2, msg3 and msg4 share the same creation date, only the id orders them
+        var msg1 = persistMessage("msg1", "alice", T1);
+        persistMessage("msg2", "bob", T2);
+        persistMessage("msg3", "alice", T2);
+        persistMessage("msg4", "bob", T2);
+        persistMessage("msg5", "alice", T3);
+        persistEvidence(msg1, EvidenceType.DELIVERY);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findWebMessages_withExample_returnsMatchingMessagesOnly() {
+        var probe = new PDomibusConnectorMessage();
+        probe.setBackendName("bob");
+
+        Window<WebMessage> window =
+            gridDao.findWebMessages(Example.of(probe), CREATED_ASC, 0, null, 10);
+
+        assertThat(window.getContent())
+            .extracting(WebMessage::getConnectorMessageId)
+            .containsExactly("msg2", "msg4");
+        assertThat(window.hasNext()).isFalse();
+    }
+
+    @Test
+    void findWebMessages_sortedAscendingAndDescending_returnsMessagesInSortOrder() {
+        Window<WebMessage> ascending = gridDao.findWebMessages(null, CREATED_ASC, 0, null, 10);
+        Window<WebMessage> descending = gridDao.findWebMessages(null, CREATED_DESC, 0, null, 10);
+
+        assertThat(ascending.getContent())
+            .extracting(WebMessage::getConnectorMessageId)
+            .containsExactly("msg1", "msg2", "msg3", "msg4", "msg5");
+        assertThat(descending.getContent())
+            .extracting(WebMessage::getConnectorMessageId)
+            .containsExactly("msg5", "msg4", "msg3", "msg2", "msg1");
+    }
+
+    @Test
+    void findWebMessages_withOffset_returnsPagesWithoutGapsOrDuplicates() {
+        Window<WebMessage> first = gridDao.findWebMessages(null, CREATED_ASC, 0, null, 2);
+        Window<WebMessage> second = gridDao.findWebMessages(null, CREATED_ASC, 2, null, 2);
+        Window<WebMessage> last = gridDao.findWebMessages(null, CREATED_ASC, 4, null, 2);
+
+        assertThat(first.getContent())
+            .extracting(WebMessage::getConnectorMessageId)
+            .containsExactly("msg1", "msg2");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent())
+            .extracting(WebMessage::getConnectorMessageId)
+            .containsExactly("msg3", "msg4");
+        assertThat(second.hasNext()).isTrue();
+        assertThat(last.getContent())
+            .extracting(WebMessage::getConnectorMessageId)
+            .containsExactly("msg5");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void findWebMessages_withPositionAscending_breaksCreatedTiesById() {
+        assertThat(readAllByPosition(CREATED_ASC, 1))
+            .containsExactly("msg1", "msg2", "msg3", "msg4", "msg5");
+        assertThat(readAllByPosition(CREATED_ASC, 2))
+            .containsExactly("msg1", "msg2", "msg3", "msg4", "msg5");
+    }
+
+    @Test
+    void findWebMessages_withPositionDescending_breaksCreatedTiesById() {
+        assertThat(readAllByPosition(CREATED_DESC, 1))
+            .containsExactly("msg5", "msg4", "msg3", "msg2", "msg1");
+        assertThat(readAllByPosition(CREATED_DESC, 2))
+            .containsExactly("msg5", "msg4", "msg3", "msg2", "msg1");
+    }
+
+    @Test
+    void findWebMessages_messageWithEvidence_returnsEvidence() {
+        Window<WebMessage> window = gridDao.findWebMessages(null, CREATED_ASC, 0, null, 1);
+
+        assertThat(window.getContent().getFirst().getEvidences())
+            .extracting(WebMessageEvidence::getEvidenceType)
+            .containsExactly(EvidenceType.DELIVERY.name());
+    }
+
+    private List<String> readAllByPosition(Sort sort, int pageSize) {
+        List<String> ids = new ArrayList<>();
+        KeysetScrollPosition position = null;
+        Window<WebMessage> window;
+        do {
+            window = gridDao.findWebMessages(null, sort, 0, position, pageSize);
+            window.getContent().forEach(msg -> ids.add(msg.getConnectorMessageId()));
+            if (!window.isEmpty()) {
+                position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+        return ids;
+    }
+
+    private PDomibusConnectorMessage persistMessage(
+        String connectorMessageId, String backendName, Date created) {
+        var message = new PDomibusConnectorMessage();
+        message.setConnectorMessageId(connectorMessageId);
+        message.setBackendName(backendName);
+        message.setCreated(created);
+        return entityManager.persist(message);
+    }
+
+    private void persistEvidence(PDomibusConnectorMessage message, EvidenceType type) {
+        var evidence = new PDomibusConnectorEvidence();
+        evidence.setBusinessMessage(message);
+        evidence.setType(type);
+        entityManager.persist(evidence);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.ui.persistence.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import eu.ecodex.connector.domain.enums.MessageTargetSource;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorEvidence;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorMessage;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorMessageInfo;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorPModeSet;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorParty;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorPersistenceModel;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorService;
+import eu.ecodex.connector.persistence.model.enums.EvidenceType;
+import eu.ecodex.connector.ui.dto.WebReportEntry;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Runs the statistic and report queries against the H2 schema created by the liquibase
+ * changelog.
+ */
+@DataJpaTest(properties = "spring.liquibase.change-log=classpath:db/changelog/install.xml")
+@ContextConfiguration(classes = DomibusConnectorWebReportDaoImplITCase.TestContext.class)
+class DomibusConnectorWebReportDaoImplITCase {
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+    private static final Date DAY_NOON = toDate(DAY, 12);
+    private static final Date NEXT_DAY_NOON = toDate(DAY.plusDays(1), 12);
+
+    @Configuration
+    @EntityScan(basePackageClasses = PDomibusConnectorPersistenceModel.class)
+    @Import(DomibusConnectorWebReportDaoImpl.class)
+    static class TestContext {
+    }
+
+    @Autowired
+    TestEntityManager entityManager;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    DomibusConnectorWebReportDaoImpl reportDao;
+
+    @BeforeEach
+    void setUp() {
+        var pModeSet = new PDomibusConnectorPModeSet();
+        pModeSet.setActive(true);
+        entityManager.persist(pModeSet);
+        var home = persistParty(pModeSet, "DE");
+        var remote = persistParty(pModeSet, "AT");
+        var service = persistService(pModeSet, "EPO");
+
+        // received from AT, delivered to the backend on DAY
+        var received = persistMessage("received", MessageTargetSource.BACKEND, remote, home,
+                                      service);
+        received.setDeliveredToNationalSystem(DAY_NOON);
+        persistEvidence(received, EvidenceType.SUBMISSION_ACCEPTANCE, null, DAY_NOON);
+        persistEvidence(received, EvidenceType.DELIVERY, null, DAY_NOON);
+        persistEvidence(received, EvidenceType.RETRIEVAL, null, DAY_NOON);
+
+        // sent to AT, delivered to the gateway on DAY
+        var sent = persistMessage("sent", MessageTargetSource.GATEWAY, home, remote, service);
+        sent.setDeliveredToGateway(DAY_NOON);
+        persistEvidence(sent, EvidenceType.SUBMISSION_ACCEPTANCE, DAY_NOON, null);
+        persistEvidence(sent, EvidenceType.RELAY_REMMD_ACCEPTANCE, DAY_NOON, null);
+
+        // sent to AT on DAY, only the excluded submission acceptance has been received
+        var sentWithoutEvidences =
+            persistMessage("sentWithoutEvidences", MessageTargetSource.GATEWAY, home, remote,
+                           service);
+        sentWithoutEvidences.setDeliveredToGateway(DAY_NOON);
+        persistEvidence(sentWithoutEvidences, EvidenceType.SUBMISSION_ACCEPTANCE, DAY_NOON, null);
+
+        // received on the next day, not part of DAY
+        var receivedNextDay = persistMessage("receivedNextDay", MessageTargetSource.BACKEND,
+                                             remote, home, service);
+        receivedNextDay.setDeliveredToNationalSystem(NEXT_DAY_NOON);
+        persistEvidence(receivedNextDay, EvidenceType.DELIVERY, null, NEXT_DAY_NOON);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void refreshStatistic_countsMessagesOfTheDay() {
+        reportDao.refreshStatistic(DAY);
+
+        var rows = new JdbcTemplate(dataSource).queryForList(
+            "SELECT PARTY_ID, SERVICE, RECEIVED, SENT, RECEIVED_WITH_EVIDENCES, "
+                + "SENT_WITH_EVIDENCES FROM DC_MESSAGE_STATISTIC WHERE STAT_DAY = ?",
+            java.sql.Date.valueOf(DAY)
+        );
+
+        assertThat(rows)
+            .extracting(
+                r -> r.get("PARTY_ID"), r -> r.get("SERVICE"),
+                r -> ((Number) r.get("RECEIVED")).longValue(),
+                r -> ((Number) r.get("SENT")).longValue(),
+                r -> ((Number) r.get("RECEIVED_WITH_EVIDENCES")).longValue(),
+                r -> ((Number) r.get("SENT_WITH_EVIDENCES")).longValue()
+            )
+            .containsExactly(tuple("AT", "EPO", 1L, 2L, 1L, 1L));
+    }
+
+    @Test
+    void refreshStatistic_countsEvidencesPerType() {
+        reportDao.refreshStatistic(DAY);
+
+        var rows = new JdbcTemplate(dataSource).queryForList(
+            "SELECT PARTY_ID, SERVICE, EVIDENCE_TYPE, RECEIVED, SENT FROM DC_EVIDENCE_STATISTIC "
+                + "WHERE STAT_DAY = ?",
+            java.sql.Date.valueOf(DAY)
+        );
+
+        assertThat(rows)
+            .extracting(
+                r -> r.get("PARTY_ID"), r -> r.get("SERVICE"), r -> r.get("EVIDENCE_TYPE"),
+                r -> ((Number) r.get("RECEIVED")).longValue(),
+                r -> ((Number) r.get("SENT")).longValue()
+            )
+            .containsExactlyInAnyOrder(
+                tuple("AT", "EPO", "SUBMISSION_ACCEPTANCE", 2L, 1L),
+                tuple("AT", "EPO", "RELAY_REMMD_ACCEPTANCE", 1L, 0L),
+                tuple("AT", "EPO", "DELIVERY", 0L, 1L),
+                tuple("AT", "EPO", "RETRIEVAL", 0L, 1L)
+            );
+    }
+
+    @Test
+    void refreshStatistic_twice_replacesTheDay() {
+        reportDao.refreshStatistic(DAY);
+        reportDao.refreshStatistic(DAY);
+
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM DC_MESSAGE_STATISTIC", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM DC_EVIDENCE_STATISTIC", Long.class)).isEqualTo(4L);
+    }
+
+    @Test
+    void loadReport_countsMessagesOnly() {
+        reportDao.refreshStatistic(DAY);
+        reportDao.refreshStatistic(DAY.plusDays(1));
+
+        List<WebReportEntry> report = reportDao.loadReport(DAY_NOON, DAY_NOON);
+
+        assertThat(report)
+            .extracting(WebReportEntry::getParty, WebReportEntry::getService,
+                        WebReportEntry::getReceived, WebReportEntry::getSent)
+            .containsExactly(tuple("AT", "EPO", 1, 2));
+    }
+
+    @Test
+    void loadReportWithEvidences_addsEvidencesOfMessagesWithEvidences() {
+        reportDao.refreshStatistic(DAY);
+        reportDao.refreshStatistic(DAY.plusDays(1));
+
+        List<WebReportEntry> report = reportDao.loadReportWithEvidences(DAY_NOON, DAY_NOON);
+
+        // the message without evidences and the submission acceptances are not counted
+        assertThat(report)
+            .extracting(WebReportEntry::getYear, WebReportEntry::getMonth,
+                        WebReportEntry::getParty, WebReportEntry::getService,
+                        WebReportEntry::getReceived, WebReportEntry::getSent)
+            .containsExactly(tuple("2024", "3", "AT", "EPO", 1 + 1, 1 + 2));
+    }
+
+    private static Date toDate(LocalDate day, int hour) {
+        return Date.from(day.atTime(hour, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private PDomibusConnectorParty persistParty(PDomibusConnectorPModeSet pModeSet,
+                                                String partyId) {
+        var party = new PDomibusConnectorParty();
+        party.setpModeSet(pModeSet);
+        party.setPartyId(partyId);
+        party.setPartyIdType("urn:oasis:names:tc:ebcore:partyid-type:iso3166-1");
+        party.setRole("GW");
+        return entityManager.persist(party);
+    }
+
+    private PDomibusConnectorService persistService(PDomibusConnectorPModeSet pModeSet,
+                                                    String serviceName) {
+        var service = new PDomibusConnectorService();
+        service.setpModeSet(pModeSet);
+        service.setService(serviceName);
+        service.setServiceType("urn:e-codex:services:");
+        return entityManager.persist(service);
+    }
+
+    private PDomibusConnectorMessage persistMessage(
+        String connectorMessageId, MessageTargetSource directionTarget,
+        PDomibusConnectorParty from, PDomibusConnectorParty to,
+        PDomibusConnectorService service) {
+        var message = new PDomibusConnectorMessage();
+        message.setConnectorMessageId(connectorMessageId);
+        message.setDirectionTarget(directionTarget);
+        entityManager.persist(message);
+        var messageInfo = new PDomibusConnectorMessageInfo();
+        messageInfo.setMessage(message);
+        messageInfo.setFrom(from);
+        messageInfo.setTo(to);
+        messageInfo.setService(service);
+        entityManager.persist(messageInfo);
+        return message;
+    }
+
+    private void persistEvidence(PDomibusConnectorMessage message, EvidenceType type,
+                                 Date deliveredToBackend, Date deliveredToGateway) {
+        var evidence = new PDomibusConnectorEvidence();
+        evidence.setBusinessMessage(message);
+        evidence.setType(type);
+        evidence.setDeliveredToBackend(deliveredToBackend);
+        evidence.setDeliveredToGateway(deliveredToGateway);
+        entityManager.persist(evidence);
+    }
+}
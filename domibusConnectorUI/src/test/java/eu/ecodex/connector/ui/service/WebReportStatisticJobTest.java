@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.ui.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.ecodex.connector.ui.configuration.WebReportStatisticConfigurationProperties;
+import eu.ecodex.connector.ui.persistence.service.DomibusConnectorWebReportPersistenceService;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class WebReportStatisticJobTest {
+    private static final LocalDate TODAY = LocalDate.now();
+    private DomibusConnectorWebReportPersistenceService reportPersistenceService;
+    private WebReportStatisticJob job;
+
+    @BeforeEach
+    void setUp() {
+        reportPersistenceService = Mockito.mock(DomibusConnectorWebReportPersistenceService.class);
+        var properties = new WebReportStatisticConfigurationProperties();
+        properties.setBackfillDaysPerRun(2);
+        job = new WebReportStatisticJob(reportPersistenceService, properties);
+    }
+
+    @Test
+    void testFirstRun_startsBackfillWithToday() {
+        when(reportPersistenceService.loadStatisticState(WebReportStatisticJob.WATERMARK_STATE))
+            .thenReturn(Optional.empty());
+        when(reportPersistenceService.loadStatisticState(WebReportStatisticJob.BACKFILL_STATE))
+            .thenReturn(Optional.of(toInstant(TODAY.plusDays(1))));
+        when(reportPersistenceService.findFirstStatisticDay())
+            .thenReturn(Optional.of(TODAY.minusDays(10)));
+
+        job.updateStatistic();
+
+        verify(reportPersistenceService).saveStatisticState(
+            WebReportStatisticJob.BACKFILL_STATE, toInstant(TODAY.plusDays(1)));
+        verify(reportPersistenceService, never()).findStatisticDaysChangedSince(any());
+        verify(reportPersistenceService).refreshStatistic(TODAY);
+        verify(reportPersistenceService).refreshStatistic(TODAY.minusDays(1));
+        verify(reportPersistenceService, never()).refreshStatistic(TODAY.minusDays(2));
+        verify(reportPersistenceService).saveStatisticState(
+            WebReportStatisticJob.BACKFILL_STATE, toInstant(TODAY.minusDays(1)));
+    }
+
+    @Test
+    void testNextRun_refreshesChangedDays() {
+        var watermark = Instant.now().minusSeconds(600);
+        var changedDay = TODAY.minusDays(3);
+        when(reportPersistenceService.loadStatisticState(WebReportStatisticJob.WATERMARK_STATE))
+            .thenReturn(Optional.of(watermark));
+        when(reportPersistenceService.findStatisticDaysChangedSince(watermark))
+            .thenReturn(Set.of(changedDay));
+        when(reportPersistenceService.loadStatisticState(WebReportStatisticJob.BACKFILL_STATE))
+            .thenReturn(Optional.of(toInstant(TODAY.minusDays(10))));
+        when(reportPersistenceService.findFirstStatisticDay())
+            .thenReturn(Optional.of(TODAY.minusDays(10)));
+
+        job.updateStatistic();
+
+        verify(reportPersistenceService).refreshStatistic(changedDay);
+        verify(reportPersistenceService).saveStatisticState(
+            eq(WebReportStatisticJob.WATERMARK_STATE), any());
+        verify(reportPersistenceService, never()).saveStatisticState(
+            eq(WebReportStatisticJob.BACKFILL_STATE), any());
+    }
+
+    private static Instant toInstant(LocalDate day) {
+        return day.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+}
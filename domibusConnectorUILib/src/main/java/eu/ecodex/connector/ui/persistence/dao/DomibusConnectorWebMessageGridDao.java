@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.ui.persistence.dao;
+
+import eu.ecodex.connector.persistence.model.PDomibusConnectorMessage;
+import eu.ecodex.connector.ui.dto.WebMessage;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.Nullable;
+
+/**
+ * The DomibusConnectorWebMessageGridDao interface provides methods to load the messages shown in
+ * the message grid as projections, without loading the message entities and their evidences.
+ */
+public interface DomibusConnectorWebMessageGridDao {
+    /**
+     * Loads one page of messages. The message info, parties, service and action are selected
+     * with one query, the evidences of all messages of the page with a second one.
+     *
+     * <p>If a position is given and the messages are only sorted by their creation date, the
+     * page is read after the position (keyset pagination), otherwise the offset is used.
+     *
+     * @param example  the example the messages must match, null matches all messages
+     * @param sort     the sort order, the database id is always added as last order
+     * @param offset   the number of messages to skip, ignored if the position is used
+     * @param position the position of the last message of the previous page
+     * @param limit    the maximum number of returned messages
+     * @return the messages, the positions of the messages can be used to read the next page
+     */
+    Window<WebMessage> findWebMessages(
+        @Nullable Example<PDomibusConnectorMessage> example, Sort sort, long offset,
+        @Nullable KeysetScrollPosition position, int limit);
+
+    /**
+     * Returns if the given sort order can be used for keyset pagination.
+     *
+     * @param sort the sort order
+     * @return true if a position returned by
+     *      {@link #findWebMessages(Example, Sort, long, KeysetScrollPosition, int)} can be used
+     */
+    boolean isKeysetSort(Sort sort);
+}
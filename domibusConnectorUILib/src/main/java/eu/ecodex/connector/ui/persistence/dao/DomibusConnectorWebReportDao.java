@@ -11,15 +11,48 @@
 package eu.ecodex.connector.ui.persistence.dao;
 
 import eu.ecodex.connector.ui.dto.WebReportEntry;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * The DomibusConnectorWebReportDao interface provides methods to load web-based reports from the
- * database.
+ * database. The reports are read from the daily message statistic, which is maintained with the
+ * remaining methods.
  */
 public interface DomibusConnectorWebReportDao {
     List<WebReportEntry> loadReportWithEvidences(Date fromDate, Date toDate);
 
     List<WebReportEntry> loadReport(Date fromDate, Date toDate);
+
+    /**
+     * Returns the statistic days of all messages which have been updated or received an
+     * evidence since the given instant.
+     *
+     * @param since the instant
+     * @return the days whose statistic must be refreshed
+     */
+    Set<LocalDate> findStatisticDaysChangedSince(Instant since);
+
+    /**
+     * Returns the day of the first message delivered to the backend or the gateway.
+     *
+     * @return the first day or an empty Optional if no message has been delivered
+     */
+    Optional<LocalDate> findFirstStatisticDay();
+
+    /**
+     * Replaces the statistic of the given day with the statistic calculated from the messages
+     * delivered on this day.
+     *
+     * @param day the day
+     */
+    void refreshStatistic(LocalDate day);
+
+    Optional<Instant> loadStatisticState(String name);
+
+    void saveStatisticState(String name, Instant value);
 }
@@ -16,16 +16,18 @@ import java.util.Date;
 import java.util.LinkedList;
 import java.util.Optional;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.Nullable;
 
 /**
  * The DomibusConnectorWebMessagePersistenceService interface defines the methods for retrieving and
  * manipulating web messages from the Domibus Connector persistence.
  */
 public interface DomibusConnectorWebMessagePersistenceService {
-    LinkedList<WebMessage> getAllMessages();
-
     Optional<WebMessage> getMessageByConnectorId(String connectorMessageId);
 
     LinkedList<WebMessage> getMessagesWithinPeriod(Date from, Date to);
@@ -40,6 +42,22 @@ public interface DomibusConnectorWebMessagePersistenceService {
 
     Page<WebMessage> findAll(Example<WebMessage> example, Pageable pageable);
 
+    /**
+     * Loads one page of messages for the message grid. If the messages are only sorted by their
+     * creation date and the position of the last message of the previous page is given, the page
+     * is read after this position instead of skipping the offset.
+     *
+     * @param example  the example the messages must match
+     * @param sort     the sort order
+     * @param offset   the number of messages to skip, ignored if the position is used
+     * @param position the position of the last message of the previous page
+     * @param limit    the maximum number of returned messages
+     * @return the messages, the positions of the messages can be used to read the next page
+     */
+    Window<WebMessage> findAll(
+        Example<WebMessage> example, Sort sort, long offset,
+        @Nullable KeysetScrollPosition position, int limit);
+
     long count(Example<WebMessage> example);
 
     Optional<WebMessage> getOutgoingMessageByBackendMessageId(String backendMessageId);
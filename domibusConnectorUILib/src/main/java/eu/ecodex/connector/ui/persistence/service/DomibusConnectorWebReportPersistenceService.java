@@ -11,16 +11,38 @@
 package eu.ecodex.connector.ui.persistence.service;
 
 import eu.ecodex.connector.ui.dto.WebReportEntry;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * The DomibusConnectorWebReportPersistenceService interface provides methods to load web-based
  * reports from the database. It has two methods to load reports: one with evidence and another one
  * without evidence.
+ *
+ * <p>The reports are read from a daily message statistic. The remaining methods are used by the
+ * job maintaining this statistic.
  */
 public interface DomibusConnectorWebReportPersistenceService {
     List<WebReportEntry> loadReportWithEvidences(Date fromDate, Date toDate);
 
     List<WebReportEntry> loadReport(Date fromDate, Date toDate);
+
+    Set<LocalDate> findStatisticDaysChangedSince(Instant since);
+
+    Optional<LocalDate> findFirstStatisticDay();
+
+    /**
+     * Replaces the statistic of the given day within one transaction.
+     *
+     * @param day the day
+     */
+    void refreshStatistic(LocalDate day);
+
+    Optional<Instant> loadStatisticState(String name);
+
+    void saveStatisticState(String name, Instant value);
 }
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2024 European Union Agency for the Operational Management of Large-Scale IT Systems
+ * in the Area of Freedom, Security and Justice (eu-LISA)
+ *
+ * Licensed under the EUPL, Version 1.2 or – as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy at: https://joinup.ec.europa.eu/software/page/eupl
+ */
+
+package eu.ecodex.connector.ui.persistence.service.impl;
+
+import eu.ecodex.connector.domain.enums.MessageTargetSource;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorAction;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorMessage;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorMessageInfo;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorParty;
+import eu.ecodex.connector.persistence.model.PDomibusConnectorService;
+import eu.ecodex.connector.persistence.model.enums.EvidenceType;
+import eu.ecodex.connector.ui.dto.WebMessage;
+import eu.ecodex.connector.ui.dto.WebMessageDetail;
+import eu.ecodex.connector.ui.dto.WebMessageEvidence;
+import eu.ecodex.connector.ui.persistence.dao.DomibusConnectorWebMessageGridDao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of the {@link DomibusConnectorWebMessageGridDao} interface, which selects the
+ * columns shown in the message grid with the JPA criteria API.
+ */
+@Repository
+public class DomibusConnectorWebMessageGridDaoImpl implements DomibusConnectorWebMessageGridDao {
+    static final String KEYSET_PROPERTY = "created";
+    static final String ID_PROPERTY = "id";
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<WebMessage> findWebMessages(
+        @Nullable Example<PDomibusConnectorMessage> example, Sort sort, long offset,
+        @Nullable KeysetScrollPosition position, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<PDomibusConnectorMessage> message = query.from(PDomibusConnectorMessage.class);
+        var columns = new GridColumns(message);
+        query.multiselect(columns.selections());
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (example != null) {
+            Predicate examplePredicate =
+                QueryByExamplePredicateBuilder.getPredicate(message, cb, example);
+            if (examplePredicate != null) {
+                predicates.add(examplePredicate);
+            }
+        }
+        boolean descending = isDescending(sort);
+        boolean useKeyset = position != null && isKeysetSort(sort);
+        if (useKeyset) {
+            predicates.add(createKeysetPredicate(cb, message, position, descending));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, message, cb));
+        // the id makes the order unique, which is required for the keyset
+        Path<Long> idPath = message.get(ID_PROPERTY);
+        orders.add(descending ? cb.desc(idPath) : cb.asc(idPath));
+        query.orderBy(orders);
+
+        var typedQuery = entityManager.createQuery(query).setMaxResults(limit + 1);
+        if (!useKeyset) {
+            typedQuery.setFirstResult(Math.toIntExact(offset));
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<Long> ids = rows.stream().map(row -> row.get(columns.id)).toList();
+        Map<Long, List<WebMessageEvidence>> evidences = findEvidences(ids);
+        List<WebMessage> webMessages = rows.stream()
+            .map(row -> columns.toWebMessage(
+                row, evidences.getOrDefault(row.get(columns.id), List.of())))
+            .toList();
+        List<Date> created = rows.stream().map(row -> row.get(columns.created)).toList();
+        return Window.from(
+            webMessages,
+            index -> ScrollPosition.forward(Map.of(
+                KEYSET_PROPERTY, created.get(index), ID_PROPERTY, ids.get(index))),
+            hasNext
+        );
+    }
+
+    @Override
+    public boolean isKeysetSort(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && KEYSET_PROPERTY.equals(orders.getFirst().getProperty());
+    }
+
+    private static boolean isDescending(Sort sort) {
+        return sort.stream().findFirst().map(Sort.Order::isDescending).orElse(false);
+    }
+
+    private static Predicate createKeysetPredicate(
+        CriteriaBuilder cb, Root<PDomibusConnectorMessage> message,
+        KeysetScrollPosition position, boolean descending) {
+        var created = (Date) position.getKeys().get(KEYSET_PROPERTY);
+        var id = ((Number) position.getKeys().get(ID_PROPERTY)).longValue();
+        Path<Date> createdPath = message.get(KEYSET_PROPERTY);
+        Path<Long> idPath = message.get(ID_PROPERTY);
+        if (descending) {
+            return cb.or(
+                cb.lessThan(createdPath, created),
+                cb.and(cb.equal(createdPath, created), cb.lessThan(idPath, id))
+            );
+        }
+        return cb.or(
+            cb.greaterThan(createdPath, created),
+            cb.and(cb.equal(createdPath, created), cb.greaterThan(idPath, id))
+        );
+    }
+
+    /**
+     * Loads the evidences of all given messages with one query, without the evidence content.
+     */
+    private Map<Long, List<WebMessageEvidence>> findEvidences(List<Long> messageIds) {
+        Map<Long, List<WebMessageEvidence>> evidences = new HashMap<>();
+        if (messageIds.isEmpty()) {
+            return evidences;
+        }
+        entityManager
+            .createQuery(
+                "SELECT e.businessMessage.id AS messageId, e.type AS type, "
+                    + "e.deliveredToGateway AS deliveredToGateway, "
+                    + "e.deliveredToBackend AS deliveredToBackend "
+                    + "FROM PDomibusConnectorEvidence e WHERE e.businessMessage.id IN :ids",
+                Tuple.class
+            )
+            .setParameter("ids", messageIds)
+            .getResultList()
+            .forEach(row -> {
+                var evidence = new WebMessageEvidence();
+                evidence.setEvidenceType(row.get("type", EvidenceType.class).name());
+                evidence.setDeliveredToGateway(row.get("deliveredToGateway", Date.class));
+                evidence.setDeliveredToBackend(row.get("deliveredToBackend", Date.class));
+                evidences
+                    .computeIfAbsent(row.get("messageId", Long.class), id -> new ArrayList<>())
+                    .add(evidence);
+            });
+        return evidences;
+    }
+
+    @Nullable
+    private static ZonedDateTime toZonedDateTime(@Nullable Date date) {
+        return date != null
+            ? ZonedDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault())
+            : null;
+    }
+
+    @Nullable
+    private static ZonedDateTime toZonedDateTime(@Nullable ZonedDateTime dateTime) {
+        return dateTime != null ? dateTime.withZoneSameInstant(ZoneId.systemDefault()) : null;
+    }
+
+    /**
+     * The selected columns of the message and its left joined message info, parties, service and
+     * action.
+     */
+    private static final class GridColumns {
+        private final Path<Long> id;
+        private final Path<String> connectorMessageId;
+        private final Path<String> ebmsMessageId;
+        private final Path<String> backendMessageId;
+        private final Path<String> conversationId;
+        private final Path<String> backendName;
+        private final Path<MessageTargetSource> directionSource;
+        private final Path<MessageTargetSource> directionTarget;
+        private final Path<Date> deliveredToNationalSystem;
+        private final Path<Date> deliveredToGateway;
+        private final Path<Date> created;
+        private final Path<ZonedDateTime> confirmed;
+        private final Path<ZonedDateTime> rejected;
+        private final Path<String> originalSender;
+        private final Path<String> finalRecipient;
+        private final Path<String> action;
+        private final Path<String> service;
+        private final Path<String> serviceType;
+        private final PartyColumns from;
+        private final PartyColumns to;
+
+        GridColumns(Root<PDomibusConnectorMessage> message) {
+            Join<PDomibusConnectorMessage, PDomibusConnectorMessageInfo> info =
+                message.join("messageInfo", JoinType.LEFT);
+            Join<PDomibusConnectorMessageInfo, PDomibusConnectorAction> actionJoin =
+                info.join("action", JoinType.LEFT);
+            Join<PDomibusConnectorMessageInfo, PDomibusConnectorService> serviceJoin =
+                info.join("service", JoinType.LEFT);
+            this.id = message.get(ID_PROPERTY);
+            this.connectorMessageId = message.get("connectorMessageId");
+            this.ebmsMessageId = message.get("ebmsMessageId");
+            this.backendMessageId = message.get("backendMessageId");
+            this.conversationId = message.get("conversationId");
+            this.backendName = message.get("backendName");
+            this.directionSource = message.get("directionSource");
+            this.directionTarget = message.get("directionTarget");
+            this.deliveredToNationalSystem = message.get("deliveredToNationalSystem");
+            this.deliveredToGateway = message.get("deliveredToGateway");
+            this.created = message.get(KEYSET_PROPERTY);
+            this.confirmed = message.get("confirmed");
+            this.rejected = message.get("rejected");
+            this.originalSender = info.get("originalSender");
+            this.finalRecipient = info.get("finalRecipient");
+            this.action = actionJoin.get("action");
+            this.service = serviceJoin.get("service");
+            this.serviceType = serviceJoin.get("serviceType");
+            this.from = new PartyColumns(info.join("from", JoinType.LEFT));
+            this.to = new PartyColumns(info.join("to", JoinType.LEFT));
+        }
+
+        List<Selection<?>> selections() {
+            return List.of(
+                id, connectorMessageId, ebmsMessageId, backendMessageId, conversationId,
+                backendName, directionSource, directionTarget, deliveredToNationalSystem,
+                deliveredToGateway, created, confirmed, rejected, originalSender, finalRecipient,
+                action, service, serviceType, from.partyId, from.partyIdType, from.role,
+                to.partyId, to.partyIdType, to.role
+            );
+        }
+
+        WebMessage toWebMessage(Tuple row, List<WebMessageEvidence> evidences) {
+            var webMessage = new WebMessage();
+            webMessage.setConnectorMessageId(row.get(connectorMessageId));
+            webMessage.setEbmsMessageId(row.get(ebmsMessageId));
+            webMessage.setBackendMessageId(row.get(backendMessageId));
+            webMessage.setConversationId(row.get(conversationId));
+            webMessage.setBackendName(row.get(backendName));
+            MessageTargetSource source = row.get(directionSource);
+            webMessage.setDirectionSource(source != null ? source.getDbName() : null);
+            MessageTargetSource target = row.get(directionTarget);
+            webMessage.setDirectionTarget(target != null ? target.getDbName() : null);
+            webMessage.setDeliveredToNationalSystem(
+                toZonedDateTime(row.get(deliveredToNationalSystem)));
+            webMessage.setDeliveredToGateway(toZonedDateTime(row.get(deliveredToGateway)));
+            webMessage.setCreated(toZonedDateTime(row.get(created)));
+            webMessage.setConfirmed(toZonedDateTime(row.get(confirmed)));
+            webMessage.setRejected(toZonedDateTime(row.get(rejected)));
+
+            WebMessageDetail detail = webMessage.getMessageInfo();
+            detail.setOriginalSender(row.get(originalSender));
+            detail.setFinalRecipient(row.get(finalRecipient));
+            if (row.get(action) != null) {
+                detail.setAction(new WebMessageDetail.Action(row.get(action)));
+            }
+            if (row.get(service) != null) {
+                detail.setService(
+                    new WebMessageDetail.Service(row.get(service), row.get(serviceType)));
+            }
+            detail.setFrom(from.toParty(row));
+            detail.setTo(to.toParty(row));
+
+            webMessage.getEvidences().addAll(evidences);
+            return webMessage;
+        }
+    }
+
+    private static final class PartyColumns {
+        private final Path<String> partyId;
+        private final Path<String> partyIdType;
+        private final Path<String> role;
+
+        PartyColumns(From<?, PDomibusConnectorParty> party) {
+            this.partyId = party.get("partyId");
+            this.partyIdType = party.get("partyIdType");
+            this.role = party.get("role");
+        }
+
+        @Nullable
+        WebMessageDetail.Party toParty(Tuple row) {
+            if (row.get(partyId) == null) {
+                return null;
+            }
+            return new WebMessageDetail.Party(
+                row.get(partyId), row.get(partyIdType), row.get(role));
+        }
+    }
+}
@@ -21,6 +21,7 @@ import eu.ecodex.connector.persistence.model.PDomibusConnectorService;
 import eu.ecodex.connector.ui.dto.WebMessage;
 import eu.ecodex.connector.ui.dto.WebMessageDetail;
 import eu.ecodex.connector.ui.dto.WebMessageEvidence;
+import eu.ecodex.connector.ui.persistence.dao.DomibusConnectorWebMessageGridDao;
 import eu.ecodex.connector.ui.persistence.service.DomibusConnectorWebMessagePersistenceService;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -34,8 +35,12 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -51,6 +56,7 @@ public class DomibusConnectorWebMessagePersistenceServiceImpl
     private static final Logger LOGGER =
         LoggerFactory.getLogger(DomibusConnectorWebMessagePersistenceServiceImpl.class);
     private DomibusConnectorMessageDao messageDao;
+    private DomibusConnectorWebMessageGridDao messageGridDao;
 
     /*
      * DAO SETTER
@@ -60,10 +66,9 @@ public class DomibusConnectorWebMessagePersistenceServiceImpl
         this.messageDao = messageDao;
     }
 
-    @Override
-    public LinkedList<WebMessage> getAllMessages() {
-        Iterable<PDomibusConnectorMessage> allMessages = messageDao.findAllByOrderByCreatedDesc();
-        return mapDbMessagesToWebMessages(allMessages);
+    @Autowired
+    public void setMessageGridDao(DomibusConnectorWebMessageGridDao messageGridDao) {
+        this.messageGridDao = messageGridDao;
     }
 
     @Override
@@ -135,11 +140,30 @@ public class DomibusConnectorWebMessagePersistenceServiceImpl
         Example<PDomibusConnectorMessage> exampleDbMsg =
             getpDomibusConnectorMessageExample(example);
 
-        var connectorMessages = messageDao.findAll(exampleDbMsg, pageable);
+        var webMessages = messageGridDao.findWebMessages(
+            exampleDbMsg, pageable.getSort(), pageable.getOffset(), null,
+            pageable.getPageSize()
+        );
+
+        LOGGER.debug("Returned {} results.", webMessages.size());
+
+        return new PageImpl<>(
+            webMessages.getContent(), pageable, messageDao.count(exampleDbMsg));
+    }
+
+    @Override
+    public Window<WebMessage> findAll(
+        Example<WebMessage> example, Sort sort, long offset,
+        @Nullable KeysetScrollPosition position, int limit) {
+        Example<PDomibusConnectorMessage> exampleDbMsg =
+            getpDomibusConnectorMessageExample(example);
+
+        var webMessages =
+            messageGridDao.findWebMessages(exampleDbMsg, sort, offset, position, limit);
 
-        LOGGER.debug("Returned {} results.", connectorMessages.getSize());
+        LOGGER.debug("Returned {} results.", webMessages.size());
 
-        return connectorMessages.map(c -> new DBMessageToWebMessageConverter().convert(c));
+        return webMessages;
     }
 
     @Override
@@ -16,10 +16,16 @@ import java.io.BufferedReader;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import javax.sql.DataSource;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,15 +41,43 @@ import org.springframework.stereotype.Repository;
  * Implementation of the {@link DomibusConnectorWebReportDao} interface that provides methods to
  * load web-based reports from the database. It extends the {@link JdbcDaoSupport} class and
  * implements the {@link InitializingBean} interface.
+ *
+ * <p>The reports are read from the table DC_MESSAGE_STATISTIC, which holds the number of messages
+ * per day, party and service, and the table DC_EVIDENCE_STATISTIC, which holds the number of
+ * evidences per day, party, service and evidence type. A message is counted on the day it has been
+ * delivered to the backend, or if it has not been delivered to the backend, on the day it has been
+ * delivered to the gateway. Its evidences are counted on the same day. The days are calculated in
+ * the default time zone.
  */
 @Repository
 public class DomibusConnectorWebReportDaoImpl extends JdbcDaoSupport
     implements DomibusConnectorWebReportDao, InitializingBean {
     protected final Log logger = LogFactory.getLog(getClass());
-    private static final SimpleDateFormat
-        SIMPLE_DATE_FORMAT = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss");
+    private static final String DELETE_STATISTIC_SQL =
+        "DELETE FROM DC_MESSAGE_STATISTIC WHERE STAT_DAY = ?";
+    private static final String INSERT_STATISTIC_SQL =
+        "INSERT INTO DC_MESSAGE_STATISTIC (STAT_DAY, PARTY_ID, SERVICE, RECEIVED, SENT, "
+            + "RECEIVED_WITH_EVIDENCES, SENT_WITH_EVIDENCES, UPDATED) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_EVIDENCE_STATISTIC_SQL =
+        "DELETE FROM DC_EVIDENCE_STATISTIC WHERE STAT_DAY = ?";
+    private static final String INSERT_EVIDENCE_STATISTIC_SQL =
+        "INSERT INTO DC_EVIDENCE_STATISTIC (STAT_DAY, PARTY_ID, SERVICE, EVIDENCE_TYPE, RECEIVED, "
+            + "SENT, UPDATED) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String FIRST_DAY_SQL =
+        "SELECT MIN(DELIVERED_BACKEND) AS FIRST_BACKEND, MIN(DELIVERED_GW) AS FIRST_GW "
+            + "FROM DOMIBUS_CONNECTOR_MESSAGE";
+    private static final String LOAD_STATE_SQL =
+        "SELECT STATE_VALUE FROM DC_MESSAGE_STATISTIC_STATE WHERE STATE_NAME = ?";
+    private static final String UPDATE_STATE_SQL =
+        "UPDATE DC_MESSAGE_STATISTIC_STATE SET STATE_VALUE = ? WHERE STATE_NAME = ?";
+    private static final String INSERT_STATE_SQL =
+        "INSERT INTO DC_MESSAGE_STATISTIC_STATE (STATE_NAME, STATE_VALUE) VALUES (?, ?)";
     private String reportIncludingEvidencesSQL;
     private String reportExcludingEvidencesSQL;
+    private String statisticDaySQL;
+    private String statisticDayEvidencesSQL;
+    private String statisticChangedMessagesSQL;
 
     @Autowired
     public DomibusConnectorWebReportDaoImpl(DataSource ds) {
@@ -56,17 +90,10 @@ public class DomibusConnectorWebReportDaoImpl extends JdbcDaoSupport
             loadQueries();
         }
 
-        toDate = convertToDate(toDate);
-
-        var parameter = new Date[4];
-        parameter[0] = fromDate;
-        parameter[1] = toDate;
-        parameter[2] = fromDate;
-        parameter[3] = toDate;
-
         return getJdbcTemplate().query(
-            this.reportIncludingEvidencesSQL, parameter,
-            new BeanPropertyRowMapper<>(WebReportEntry.class)
+            this.reportIncludingEvidencesSQL,
+            new BeanPropertyRowMapper<>(WebReportEntry.class),
+            toSqlDate(fromDate), toSqlDate(toDate), toSqlDate(fromDate), toSqlDate(toDate)
         );
     }
 
@@ -76,30 +103,130 @@ public class DomibusConnectorWebReportDaoImpl extends JdbcDaoSupport
             loadQueries();
         }
 
-        toDate = convertToDate(toDate);
+        return getJdbcTemplate().query(
+            this.reportExcludingEvidencesSQL,
+            new BeanPropertyRowMapper<>(WebReportEntry.class),
+            toSqlDate(fromDate), toSqlDate(toDate)
+        );
+    }
 
-        var parameter = new Date[4];
-        parameter[0] = fromDate;
-        parameter[1] = toDate;
-        parameter[2] = fromDate;
-        parameter[3] = toDate;
+    @Override
+    public Set<LocalDate> findStatisticDaysChangedSince(Instant since) {
+        if (this.statisticChangedMessagesSQL == null) {
+            loadQueries();
+        }
 
-        return getJdbcTemplate().query(
-            this.reportExcludingEvidencesSQL, parameter,
-            new BeanPropertyRowMapper<>(WebReportEntry.class)
+        Set<LocalDate> days = new HashSet<>();
+        var sinceTimestamp = Timestamp.from(since);
+        getJdbcTemplate().query(
+            this.statisticChangedMessagesSQL,
+            (ResultSet rs) -> {
+                // the old day of a message delivered to the backend after the gateway is
+                // refreshed as well
+                toLocalDate(rs.getTimestamp(1)).ifPresent(days::add);
+                toLocalDate(rs.getTimestamp(2)).ifPresent(days::add);
+            },
+            sinceTimestamp, sinceTimestamp
         );
+        return days;
     }
 
-    private Date convertToDate(Date toDate) {
-        var dateString = SIMPLE_DATE_FORMAT.format(toDate);
-        var newDateString = dateString.substring(0, dateString.indexOf(" ") + 1) + "23:59:59";
-        Date newToDate;
-        try {
-            newToDate = SIMPLE_DATE_FORMAT.parse(newDateString);
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
+    @Override
+    public Optional<LocalDate> findFirstStatisticDay() {
+        return getJdbcTemplate().query(FIRST_DAY_SQL, (ResultSet rs) -> {
+            if (!rs.next()) {
+                return Optional.<LocalDate>empty();
+            }
+            var firstBackend = toLocalDate(rs.getTimestamp(1));
+            var firstGateway = toLocalDate(rs.getTimestamp(2));
+            if (firstBackend.isPresent() && firstGateway.isPresent()) {
+                return Optional.of(
+                    firstBackend.get().isBefore(firstGateway.get())
+                        ? firstBackend.get()
+                        : firstGateway.get());
+            }
+            return firstBackend.or(() -> firstGateway);
+        });
+    }
+
+    @Override
+    public void refreshStatistic(LocalDate day) {
+        if (this.statisticDaySQL == null) {
+            loadQueries();
         }
-        return newToDate;
+
+        var dayStart = Timestamp.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        var dayEnd =
+            Timestamp.from(day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        var statDay = java.sql.Date.valueOf(day);
+        var updated = Timestamp.from(Instant.now());
+
+        List<Object[]> rows = getJdbcTemplate().query(
+            this.statisticDaySQL,
+            (rs, rowNum) -> new Object[] {
+                statDay,
+                rs.getString("party"),
+                rs.getString("service"),
+                rs.getLong("received"),
+                rs.getLong("sent"),
+                rs.getLong("received_with_evidences"),
+                rs.getLong("sent_with_evidences"),
+                updated
+            },
+            dayStart, dayEnd, dayStart, dayEnd
+        );
+        List<Object[]> evidenceRows = getJdbcTemplate().query(
+            this.statisticDayEvidencesSQL,
+            (rs, rowNum) -> new Object[] {
+                statDay,
+                rs.getString("party"),
+                rs.getString("service"),
+                rs.getString("evidence_type"),
+                rs.getLong("received"),
+                rs.getLong("sent"),
+                updated
+            },
+            dayStart, dayEnd, dayStart, dayEnd
+        );
+        getJdbcTemplate().update(DELETE_STATISTIC_SQL, statDay);
+        getJdbcTemplate().update(DELETE_EVIDENCE_STATISTIC_SQL, statDay);
+        if (!rows.isEmpty()) {
+            getJdbcTemplate().batchUpdate(INSERT_STATISTIC_SQL, rows);
+        }
+        if (!evidenceRows.isEmpty()) {
+            getJdbcTemplate().batchUpdate(INSERT_EVIDENCE_STATISTIC_SQL, evidenceRows);
+        }
+        logger.debug(String.format(
+            "Refreshed the message statistic of [%s] with [%d] message and [%d] evidence entries",
+            day, rows.size(), evidenceRows.size()
+        ));
+    }
+
+    @Override
+    public Optional<Instant> loadStatisticState(String name) {
+        return getJdbcTemplate()
+            .query(LOAD_STATE_SQL, (rs, rowNum) -> rs.getTimestamp(1), name)
+            .stream()
+            .findFirst()
+            .map(Timestamp::toInstant);
+    }
+
+    @Override
+    public void saveStatisticState(String name, Instant value) {
+        var timestamp = Timestamp.from(value);
+        if (getJdbcTemplate().update(UPDATE_STATE_SQL, timestamp, name) == 0) {
+            getJdbcTemplate().update(INSERT_STATE_SQL, name, timestamp);
+        }
+    }
+
+    private static java.sql.Date toSqlDate(Date date) {
+        return java.sql.Date.valueOf(
+            date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    private static Optional<LocalDate> toLocalDate(Timestamp timestamp) {
+        return Optional.ofNullable(timestamp)
+                       .map(t -> t.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
     }
 
     private void loadQueries() {
@@ -107,8 +234,17 @@ public class DomibusConnectorWebReportDaoImpl extends JdbcDaoSupport
 
         String query2 = loadQueryFile("/report_queries/report_incl_evidences.sql");
 
+        String query3 = loadQueryFile("/report_queries/statistic_day.sql");
+
+        String query4 = loadQueryFile("/report_queries/statistic_changed_messages.sql");
+
+        String query5 = loadQueryFile("/report_queries/statistic_day_evidences.sql");
+
         this.reportExcludingEvidencesSQL = query1;
         this.reportIncludingEvidencesSQL = query2;
+        this.statisticDaySQL = query3;
+        this.statisticChangedMessagesSQL = query4;
+        this.statisticDayEvidencesSQL = query5;
     }
 
     private String loadQueryFile(String pathToResource) {
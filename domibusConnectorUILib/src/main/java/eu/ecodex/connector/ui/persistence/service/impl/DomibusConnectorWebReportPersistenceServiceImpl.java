@@ -13,9 +13,14 @@ package eu.ecodex.connector.ui.persistence.service.impl;
 import eu.ecodex.connector.ui.dto.WebReportEntry;
 import eu.ecodex.connector.ui.persistence.dao.DomibusConnectorWebReportDao;
 import eu.ecodex.connector.ui.persistence.service.DomibusConnectorWebReportPersistenceService;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * The DomibusConnectorWebReportPersistenceServiceImpl class is an implementation of the
@@ -39,6 +44,33 @@ public class DomibusConnectorWebReportPersistenceServiceImpl
         return reportDao.loadReport(fromDate, toDate);
     }
 
+    @Override
+    public Set<LocalDate> findStatisticDaysChangedSince(Instant since) {
+        return reportDao.findStatisticDaysChangedSince(since);
+    }
+
+    @Override
+    public Optional<LocalDate> findFirstStatisticDay() {
+        return reportDao.findFirstStatisticDay();
+    }
+
+    @Override
+    @Transactional
+    public void refreshStatistic(LocalDate day) {
+        reportDao.refreshStatistic(day);
+    }
+
+    @Override
+    public Optional<Instant> loadStatisticState(String name) {
+        return reportDao.loadStatisticState(name);
+    }
+
+    @Override
+    @Transactional
+    public void saveStatisticState(String name, Instant value) {
+        reportDao.saveStatisticState(name, value);
+    }
+
     @Autowired
     public void setReportDao(DomibusConnectorWebReportDao reportDao) {
         this.reportDao = reportDao;